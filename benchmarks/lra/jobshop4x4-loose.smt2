@@ -0,0 +1,78 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |job shop, 4 jobs on 4 machines, makespan at most 79 (the sum of the durations)|)
+(set-info :status sat)
+(declare-fun t_0_0 () Real)
+(declare-fun t_0_1 () Real)
+(declare-fun t_0_2 () Real)
+(declare-fun t_0_3 () Real)
+(declare-fun t_1_0 () Real)
+(declare-fun t_1_1 () Real)
+(declare-fun t_1_2 () Real)
+(declare-fun t_1_3 () Real)
+(declare-fun t_2_0 () Real)
+(declare-fun t_2_1 () Real)
+(declare-fun t_2_2 () Real)
+(declare-fun t_2_3 () Real)
+(declare-fun t_3_0 () Real)
+(declare-fun t_3_1 () Real)
+(declare-fun t_3_2 () Real)
+(declare-fun t_3_3 () Real)
+(assert (>= t_0_0 0))
+(assert (>= t_0_1 0))
+(assert (>= (- t_0_1 t_0_0) 6))
+(assert (>= t_0_2 0))
+(assert (>= (- t_0_2 t_0_1) 9))
+(assert (>= t_0_3 0))
+(assert (>= (- t_0_3 t_0_2) 4))
+(assert (>= t_1_0 0))
+(assert (>= t_1_1 0))
+(assert (>= (- t_1_1 t_1_0) 4))
+(assert (>= t_1_2 0))
+(assert (>= (- t_1_2 t_1_1) 7))
+(assert (>= t_1_3 0))
+(assert (>= (- t_1_3 t_1_2) 9))
+(assert (>= t_2_0 0))
+(assert (>= t_2_1 0))
+(assert (>= (- t_2_1 t_2_0) 4))
+(assert (>= t_2_2 0))
+(assert (>= (- t_2_2 t_2_1) 3))
+(assert (>= t_2_3 0))
+(assert (>= (- t_2_3 t_2_2) 4))
+(assert (>= t_3_0 0))
+(assert (>= t_3_1 0))
+(assert (>= (- t_3_1 t_3_0) 9))
+(assert (>= t_3_2 0))
+(assert (>= (- t_3_2 t_3_1) 2))
+(assert (>= t_3_3 0))
+(assert (>= (- t_3_3 t_3_2) 5))
+(assert (<= (+ t_0_3 2) 79))
+(assert (<= (+ t_1_3 4) 79))
+(assert (<= (+ t_2_3 3) 79))
+(assert (<= (+ t_3_3 4) 79))
+(assert (or (>= (- t_1_1 t_0_0) 6) (>= (- t_0_0 t_1_1) 7)))
+(assert (or (>= (- t_2_3 t_0_0) 6) (>= (- t_0_0 t_2_3) 3)))
+(assert (or (>= (- t_3_2 t_0_0) 6) (>= (- t_0_0 t_3_2) 5)))
+(assert (or (>= (- t_1_2 t_0_1) 9) (>= (- t_0_1 t_1_2) 9)))
+(assert (or (>= (- t_2_0 t_0_1) 9) (>= (- t_0_1 t_2_0) 4)))
+(assert (or (>= (- t_3_3 t_0_1) 9) (>= (- t_0_1 t_3_3) 4)))
+(assert (or (>= (- t_1_3 t_0_2) 4) (>= (- t_0_2 t_1_3) 4)))
+(assert (or (>= (- t_2_2 t_0_2) 4) (>= (- t_0_2 t_2_2) 4)))
+(assert (or (>= (- t_3_0 t_0_2) 4) (>= (- t_0_2 t_3_0) 9)))
+(assert (or (>= (- t_1_0 t_0_3) 2) (>= (- t_0_3 t_1_0) 4)))
+(assert (or (>= (- t_2_1 t_0_3) 2) (>= (- t_0_3 t_2_1) 3)))
+(assert (or (>= (- t_3_1 t_0_3) 2) (>= (- t_0_3 t_3_1) 2)))
+(assert (or (>= (- t_2_1 t_1_0) 4) (>= (- t_1_0 t_2_1) 3)))
+(assert (or (>= (- t_3_1 t_1_0) 4) (>= (- t_1_0 t_3_1) 2)))
+(assert (or (>= (- t_2_3 t_1_1) 7) (>= (- t_1_1 t_2_3) 3)))
+(assert (or (>= (- t_3_2 t_1_1) 7) (>= (- t_1_1 t_3_2) 5)))
+(assert (or (>= (- t_2_0 t_1_2) 9) (>= (- t_1_2 t_2_0) 4)))
+(assert (or (>= (- t_3_3 t_1_2) 9) (>= (- t_1_2 t_3_3) 4)))
+(assert (or (>= (- t_2_2 t_1_3) 4) (>= (- t_1_3 t_2_2) 4)))
+(assert (or (>= (- t_3_0 t_1_3) 4) (>= (- t_1_3 t_3_0) 9)))
+(assert (or (>= (- t_3_3 t_2_0) 4) (>= (- t_2_0 t_3_3) 4)))
+(assert (or (>= (- t_3_1 t_2_1) 3) (>= (- t_2_1 t_3_1) 2)))
+(assert (or (>= (- t_3_0 t_2_2) 4) (>= (- t_2_2 t_3_0) 9)))
+(assert (or (>= (- t_3_2 t_2_3) 3) (>= (- t_2_3 t_3_2) 5)))
+(check-sat)
+(exit)
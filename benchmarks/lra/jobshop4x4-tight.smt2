@@ -0,0 +1,78 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |job shop, 4 jobs on 4 machines, makespan at most 40|)
+(set-info :status unknown)
+(declare-fun t_0_0 () Real)
+(declare-fun t_0_1 () Real)
+(declare-fun t_0_2 () Real)
+(declare-fun t_0_3 () Real)
+(declare-fun t_1_0 () Real)
+(declare-fun t_1_1 () Real)
+(declare-fun t_1_2 () Real)
+(declare-fun t_1_3 () Real)
+(declare-fun t_2_0 () Real)
+(declare-fun t_2_1 () Real)
+(declare-fun t_2_2 () Real)
+(declare-fun t_2_3 () Real)
+(declare-fun t_3_0 () Real)
+(declare-fun t_3_1 () Real)
+(declare-fun t_3_2 () Real)
+(declare-fun t_3_3 () Real)
+(assert (>= t_0_0 0))
+(assert (>= t_0_1 0))
+(assert (>= (- t_0_1 t_0_0) 5))
+(assert (>= t_0_2 0))
+(assert (>= (- t_0_2 t_0_1) 2))
+(assert (>= t_0_3 0))
+(assert (>= (- t_0_3 t_0_2) 3))
+(assert (>= t_1_0 0))
+(assert (>= t_1_1 0))
+(assert (>= (- t_1_1 t_1_0) 8))
+(assert (>= t_1_2 0))
+(assert (>= (- t_1_2 t_1_1) 9))
+(assert (>= t_1_3 0))
+(assert (>= (- t_1_3 t_1_2) 2))
+(assert (>= t_2_0 0))
+(assert (>= t_2_1 0))
+(assert (>= (- t_2_1 t_2_0) 9))
+(assert (>= t_2_2 0))
+(assert (>= (- t_2_2 t_2_1) 4))
+(assert (>= t_2_3 0))
+(assert (>= (- t_2_3 t_2_2) 6))
+(assert (>= t_3_0 0))
+(assert (>= t_3_1 0))
+(assert (>= (- t_3_1 t_3_0) 8))
+(assert (>= t_3_2 0))
+(assert (>= (- t_3_2 t_3_1) 2))
+(assert (>= t_3_3 0))
+(assert (>= (- t_3_3 t_3_2) 9))
+(assert (<= (+ t_0_3 2) 40))
+(assert (<= (+ t_1_3 8) 40))
+(assert (<= (+ t_2_3 7) 40))
+(assert (<= (+ t_3_3 5) 40))
+(assert (or (>= (- t_1_2 t_0_0) 5) (>= (- t_0_0 t_1_2) 2)))
+(assert (or (>= (- t_2_3 t_0_0) 5) (>= (- t_0_0 t_2_3) 7)))
+(assert (or (>= (- t_3_1 t_0_0) 5) (>= (- t_0_0 t_3_1) 2)))
+(assert (or (>= (- t_1_3 t_0_1) 2) (>= (- t_0_1 t_1_3) 8)))
+(assert (or (>= (- t_2_2 t_0_1) 2) (>= (- t_0_1 t_2_2) 6)))
+(assert (or (>= (- t_3_2 t_0_1) 2) (>= (- t_0_1 t_3_2) 9)))
+(assert (or (>= (- t_1_1 t_0_2) 3) (>= (- t_0_2 t_1_1) 9)))
+(assert (or (>= (- t_2_0 t_0_2) 3) (>= (- t_0_2 t_2_0) 9)))
+(assert (or (>= (- t_3_3 t_0_2) 3) (>= (- t_0_2 t_3_3) 5)))
+(assert (or (>= (- t_1_0 t_0_3) 2) (>= (- t_0_3 t_1_0) 8)))
+(assert (or (>= (- t_2_1 t_0_3) 2) (>= (- t_0_3 t_2_1) 4)))
+(assert (or (>= (- t_3_0 t_0_3) 2) (>= (- t_0_3 t_3_0) 8)))
+(assert (or (>= (- t_2_1 t_1_0) 8) (>= (- t_1_0 t_2_1) 4)))
+(assert (or (>= (- t_3_0 t_1_0) 8) (>= (- t_1_0 t_3_0) 8)))
+(assert (or (>= (- t_2_0 t_1_1) 9) (>= (- t_1_1 t_2_0) 9)))
+(assert (or (>= (- t_3_3 t_1_1) 9) (>= (- t_1_1 t_3_3) 5)))
+(assert (or (>= (- t_2_3 t_1_2) 2) (>= (- t_1_2 t_2_3) 7)))
+(assert (or (>= (- t_3_1 t_1_2) 2) (>= (- t_1_2 t_3_1) 2)))
+(assert (or (>= (- t_2_2 t_1_3) 8) (>= (- t_1_3 t_2_2) 6)))
+(assert (or (>= (- t_3_2 t_1_3) 8) (>= (- t_1_3 t_3_2) 9)))
+(assert (or (>= (- t_3_3 t_2_0) 9) (>= (- t_2_0 t_3_3) 5)))
+(assert (or (>= (- t_3_0 t_2_1) 4) (>= (- t_2_1 t_3_0) 8)))
+(assert (or (>= (- t_3_2 t_2_2) 6) (>= (- t_2_2 t_3_2) 9)))
+(assert (or (>= (- t_3_1 t_2_3) 7) (>= (- t_2_3 t_3_1) 2)))
+(check-sat)
+(exit)
@@ -0,0 +1,138 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |job shop, 6 jobs on 4 machines, makespan at most 128 (the sum of the durations)|)
+(set-info :status sat)
+(declare-fun t_0_0 () Real)
+(declare-fun t_0_1 () Real)
+(declare-fun t_0_2 () Real)
+(declare-fun t_0_3 () Real)
+(declare-fun t_1_0 () Real)
+(declare-fun t_1_1 () Real)
+(declare-fun t_1_2 () Real)
+(declare-fun t_1_3 () Real)
+(declare-fun t_2_0 () Real)
+(declare-fun t_2_1 () Real)
+(declare-fun t_2_2 () Real)
+(declare-fun t_2_3 () Real)
+(declare-fun t_3_0 () Real)
+(declare-fun t_3_1 () Real)
+(declare-fun t_3_2 () Real)
+(declare-fun t_3_3 () Real)
+(declare-fun t_4_0 () Real)
+(declare-fun t_4_1 () Real)
+(declare-fun t_4_2 () Real)
+(declare-fun t_4_3 () Real)
+(declare-fun t_5_0 () Real)
+(declare-fun t_5_1 () Real)
+(declare-fun t_5_2 () Real)
+(declare-fun t_5_3 () Real)
+(assert (>= t_0_0 0))
+(assert (>= t_0_1 0))
+(assert (>= (- t_0_1 t_0_0) 2))
+(assert (>= t_0_2 0))
+(assert (>= (- t_0_2 t_0_1) 5))
+(assert (>= t_0_3 0))
+(assert (>= (- t_0_3 t_0_2) 7))
+(assert (>= t_1_0 0))
+(assert (>= t_1_1 0))
+(assert (>= (- t_1_1 t_1_0) 9))
+(assert (>= t_1_2 0))
+(assert (>= (- t_1_2 t_1_1) 3))
+(assert (>= t_1_3 0))
+(assert (>= (- t_1_3 t_1_2) 6))
+(assert (>= t_2_0 0))
+(assert (>= t_2_1 0))
+(assert (>= (- t_2_1 t_2_0) 6))
+(assert (>= t_2_2 0))
+(assert (>= (- t_2_2 t_2_1) 4))
+(assert (>= t_2_3 0))
+(assert (>= (- t_2_3 t_2_2) 3))
+(assert (>= t_3_0 0))
+(assert (>= t_3_1 0))
+(assert (>= (- t_3_1 t_3_0) 9))
+(assert (>= t_3_2 0))
+(assert (>= (- t_3_2 t_3_1) 7))
+(assert (>= t_3_3 0))
+(assert (>= (- t_3_3 t_3_2) 7))
+(assert (>= t_4_0 0))
+(assert (>= t_4_1 0))
+(assert (>= (- t_4_1 t_4_0) 7))
+(assert (>= t_4_2 0))
+(assert (>= (- t_4_2 t_4_1) 1))
+(assert (>= t_4_3 0))
+(assert (>= (- t_4_3 t_4_2) 4))
+(assert (>= t_5_0 0))
+(assert (>= t_5_1 0))
+(assert (>= (- t_5_1 t_5_0) 9))
+(assert (>= t_5_2 0))
+(assert (>= (- t_5_2 t_5_1) 5))
+(assert (>= t_5_3 0))
+(assert (>= (- t_5_3 t_5_2) 2))
+(assert (<= (+ t_0_3 9) 128))
+(assert (<= (+ t_1_3 6) 128))
+(assert (<= (+ t_2_3 2) 128))
+(assert (<= (+ t_3_3 8) 128))
+(assert (<= (+ t_4_3 5) 128))
+(assert (<= (+ t_5_3 2) 128))
+(assert (or (>= (- t_1_0 t_0_0) 2) (>= (- t_0_0 t_1_0) 9)))
+(assert (or (>= (- t_2_0 t_0_0) 2) (>= (- t_0_0 t_2_0) 6)))
+(assert (or (>= (- t_3_1 t_0_0) 2) (>= (- t_0_0 t_3_1) 7)))
+(assert (or (>= (- t_4_0 t_0_0) 2) (>= (- t_0_0 t_4_0) 7)))
+(assert (or (>= (- t_5_1 t_0_0) 2) (>= (- t_0_0 t_5_1) 5)))
+(assert (or (>= (- t_1_2 t_0_1) 5) (>= (- t_0_1 t_1_2) 6)))
+(assert (or (>= (- t_2_2 t_0_1) 5) (>= (- t_0_1 t_2_2) 3)))
+(assert (or (>= (- t_3_0 t_0_1) 5) (>= (- t_0_1 t_3_0) 9)))
+(assert (or (>= (- t_4_2 t_0_1) 5) (>= (- t_0_1 t_4_2) 4)))
+(assert (or (>= (- t_5_0 t_0_1) 5) (>= (- t_0_1 t_5_0) 9)))
+(assert (or (>= (- t_1_1 t_0_2) 7) (>= (- t_0_2 t_1_1) 3)))
+(assert (or (>= (- t_2_1 t_0_2) 7) (>= (- t_0_2 t_2_1) 4)))
+(assert (or (>= (- t_3_2 t_0_2) 7) (>= (- t_0_2 t_3_2) 7)))
+(assert (or (>= (- t_4_1 t_0_2) 7) (>= (- t_0_2 t_4_1) 1)))
+(assert (or (>= (- t_5_3 t_0_2) 7) (>= (- t_0_2 t_5_3) 2)))
+(assert (or (>= (- t_1_3 t_0_3) 9) (>= (- t_0_3 t_1_3) 6)))
+(assert (or (>= (- t_2_3 t_0_3) 9) (>= (- t_0_3 t_2_3) 2)))
+(assert (or (>= (- t_3_3 t_0_3) 9) (>= (- t_0_3 t_3_3) 8)))
+(assert (or (>= (- t_4_3 t_0_3) 9) (>= (- t_0_3 t_4_3) 5)))
+(assert (or (>= (- t_5_2 t_0_3) 9) (>= (- t_0_3 t_5_2) 2)))
+(assert (or (>= (- t_2_0 t_1_0) 9) (>= (- t_1_0 t_2_0) 6)))
+(assert (or (>= (- t_3_1 t_1_0) 9) (>= (- t_1_0 t_3_1) 7)))
+(assert (or (>= (- t_4_0 t_1_0) 9) (>= (- t_1_0 t_4_0) 7)))
+(assert (or (>= (- t_5_1 t_1_0) 9) (>= (- t_1_0 t_5_1) 5)))
+(assert (or (>= (- t_2_1 t_1_1) 3) (>= (- t_1_1 t_2_1) 4)))
+(assert (or (>= (- t_3_2 t_1_1) 3) (>= (- t_1_1 t_3_2) 7)))
+(assert (or (>= (- t_4_1 t_1_1) 3) (>= (- t_1_1 t_4_1) 1)))
+(assert (or (>= (- t_5_3 t_1_1) 3) (>= (- t_1_1 t_5_3) 2)))
+(assert (or (>= (- t_2_2 t_1_2) 6) (>= (- t_1_2 t_2_2) 3)))
+(assert (or (>= (- t_3_0 t_1_2) 6) (>= (- t_1_2 t_3_0) 9)))
+(assert (or (>= (- t_4_2 t_1_2) 6) (>= (- t_1_2 t_4_2) 4)))
+(assert (or (>= (- t_5_0 t_1_2) 6) (>= (- t_1_2 t_5_0) 9)))
+(assert (or (>= (- t_2_3 t_1_3) 6) (>= (- t_1_3 t_2_3) 2)))
+(assert (or (>= (- t_3_3 t_1_3) 6) (>= (- t_1_3 t_3_3) 8)))
+(assert (or (>= (- t_4_3 t_1_3) 6) (>= (- t_1_3 t_4_3) 5)))
+(assert (or (>= (- t_5_2 t_1_3) 6) (>= (- t_1_3 t_5_2) 2)))
+(assert (or (>= (- t_3_1 t_2_0) 6) (>= (- t_2_0 t_3_1) 7)))
+(assert (or (>= (- t_4_0 t_2_0) 6) (>= (- t_2_0 t_4_0) 7)))
+(assert (or (>= (- t_5_1 t_2_0) 6) (>= (- t_2_0 t_5_1) 5)))
+(assert (or (>= (- t_3_2 t_2_1) 4) (>= (- t_2_1 t_3_2) 7)))
+(assert (or (>= (- t_4_1 t_2_1) 4) (>= (- t_2_1 t_4_1) 1)))
+(assert (or (>= (- t_5_3 t_2_1) 4) (>= (- t_2_1 t_5_3) 2)))
+(assert (or (>= (- t_3_0 t_2_2) 3) (>= (- t_2_2 t_3_0) 9)))
+(assert (or (>= (- t_4_2 t_2_2) 3) (>= (- t_2_2 t_4_2) 4)))
+(assert (or (>= (- t_5_0 t_2_2) 3) (>= (- t_2_2 t_5_0) 9)))
+(assert (or (>= (- t_3_3 t_2_3) 2) (>= (- t_2_3 t_3_3) 8)))
+(assert (or (>= (- t_4_3 t_2_3) 2) (>= (- t_2_3 t_4_3) 5)))
+(assert (or (>= (- t_5_2 t_2_3) 2) (>= (- t_2_3 t_5_2) 2)))
+(assert (or (>= (- t_4_2 t_3_0) 9) (>= (- t_3_0 t_4_2) 4)))
+(assert (or (>= (- t_5_0 t_3_0) 9) (>= (- t_3_0 t_5_0) 9)))
+(assert (or (>= (- t_4_0 t_3_1) 7) (>= (- t_3_1 t_4_0) 7)))
+(assert (or (>= (- t_5_1 t_3_1) 7) (>= (- t_3_1 t_5_1) 5)))
+(assert (or (>= (- t_4_1 t_3_2) 7) (>= (- t_3_2 t_4_1) 1)))
+(assert (or (>= (- t_5_3 t_3_2) 7) (>= (- t_3_2 t_5_3) 2)))
+(assert (or (>= (- t_4_3 t_3_3) 8) (>= (- t_3_3 t_4_3) 5)))
+(assert (or (>= (- t_5_2 t_3_3) 8) (>= (- t_3_3 t_5_2) 2)))
+(assert (or (>= (- t_5_1 t_4_0) 7) (>= (- t_4_0 t_5_1) 5)))
+(assert (or (>= (- t_5_3 t_4_1) 1) (>= (- t_4_1 t_5_3) 2)))
+(assert (or (>= (- t_5_0 t_4_2) 4) (>= (- t_4_2 t_5_0) 9)))
+(assert (or (>= (- t_5_2 t_4_3) 5) (>= (- t_4_3 t_5_2) 2)))
+(check-sat)
+(exit)
@@ -0,0 +1,266 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |job shop, 8 jobs on 5 machines, makespan at most 185 (the sum of the durations)|)
+(set-info :status sat)
+(declare-fun t_0_0 () Real)
+(declare-fun t_0_1 () Real)
+(declare-fun t_0_2 () Real)
+(declare-fun t_0_3 () Real)
+(declare-fun t_0_4 () Real)
+(declare-fun t_1_0 () Real)
+(declare-fun t_1_1 () Real)
+(declare-fun t_1_2 () Real)
+(declare-fun t_1_3 () Real)
+(declare-fun t_1_4 () Real)
+(declare-fun t_2_0 () Real)
+(declare-fun t_2_1 () Real)
+(declare-fun t_2_2 () Real)
+(declare-fun t_2_3 () Real)
+(declare-fun t_2_4 () Real)
+(declare-fun t_3_0 () Real)
+(declare-fun t_3_1 () Real)
+(declare-fun t_3_2 () Real)
+(declare-fun t_3_3 () Real)
+(declare-fun t_3_4 () Real)
+(declare-fun t_4_0 () Real)
+(declare-fun t_4_1 () Real)
+(declare-fun t_4_2 () Real)
+(declare-fun t_4_3 () Real)
+(declare-fun t_4_4 () Real)
+(declare-fun t_5_0 () Real)
+(declare-fun t_5_1 () Real)
+(declare-fun t_5_2 () Real)
+(declare-fun t_5_3 () Real)
+(declare-fun t_5_4 () Real)
+(declare-fun t_6_0 () Real)
+(declare-fun t_6_1 () Real)
+(declare-fun t_6_2 () Real)
+(declare-fun t_6_3 () Real)
+(declare-fun t_6_4 () Real)
+(declare-fun t_7_0 () Real)
+(declare-fun t_7_1 () Real)
+(declare-fun t_7_2 () Real)
+(declare-fun t_7_3 () Real)
+(declare-fun t_7_4 () Real)
+(assert (>= t_0_0 0))
+(assert (>= t_0_1 0))
+(assert (>= (- t_0_1 t_0_0) 4))
+(assert (>= t_0_2 0))
+(assert (>= (- t_0_2 t_0_1) 8))
+(assert (>= t_0_3 0))
+(assert (>= (- t_0_3 t_0_2) 1))
+(assert (>= t_0_4 0))
+(assert (>= (- t_0_4 t_0_3) 1))
+(assert (>= t_1_0 0))
+(assert (>= t_1_1 0))
+(assert (>= (- t_1_1 t_1_0) 8))
+(assert (>= t_1_2 0))
+(assert (>= (- t_1_2 t_1_1) 2))
+(assert (>= t_1_3 0))
+(assert (>= (- t_1_3 t_1_2) 2))
+(assert (>= t_1_4 0))
+(assert (>= (- t_1_4 t_1_3) 3))
+(assert (>= t_2_0 0))
+(assert (>= t_2_1 0))
+(assert (>= (- t_2_1 t_2_0) 8))
+(assert (>= t_2_2 0))
+(assert (>= (- t_2_2 t_2_1) 1))
+(assert (>= t_2_3 0))
+(assert (>= (- t_2_3 t_2_2) 4))
+(assert (>= t_2_4 0))
+(assert (>= (- t_2_4 t_2_3) 5))
+(assert (>= t_3_0 0))
+(assert (>= t_3_1 0))
+(assert (>= (- t_3_1 t_3_0) 6))
+(assert (>= t_3_2 0))
+(assert (>= (- t_3_2 t_3_1) 5))
+(assert (>= t_3_3 0))
+(assert (>= (- t_3_3 t_3_2) 7))
+(assert (>= t_3_4 0))
+(assert (>= (- t_3_4 t_3_3) 5))
+(assert (>= t_4_0 0))
+(assert (>= t_4_1 0))
+(assert (>= (- t_4_1 t_4_0) 8))
+(assert (>= t_4_2 0))
+(assert (>= (- t_4_2 t_4_1) 1))
+(assert (>= t_4_3 0))
+(assert (>= (- t_4_3 t_4_2) 2))
+(assert (>= t_4_4 0))
+(assert (>= (- t_4_4 t_4_3) 4))
+(assert (>= t_5_0 0))
+(assert (>= t_5_1 0))
+(assert (>= (- t_5_1 t_5_0) 1))
+(assert (>= t_5_2 0))
+(assert (>= (- t_5_2 t_5_1) 8))
+(assert (>= t_5_3 0))
+(assert (>= (- t_5_3 t_5_2) 4))
+(assert (>= t_5_4 0))
+(assert (>= (- t_5_4 t_5_3) 9))
+(assert (>= t_6_0 0))
+(assert (>= t_6_1 0))
+(assert (>= (- t_6_1 t_6_0) 2))
+(assert (>= t_6_2 0))
+(assert (>= (- t_6_2 t_6_1) 4))
+(assert (>= t_6_3 0))
+(assert (>= (- t_6_3 t_6_2) 4))
+(assert (>= t_6_4 0))
+(assert (>= (- t_6_4 t_6_3) 9))
+(assert (>= t_7_0 0))
+(assert (>= t_7_1 0))
+(assert (>= (- t_7_1 t_7_0) 2))
+(assert (>= t_7_2 0))
+(assert (>= (- t_7_2 t_7_1) 1))
+(assert (>= t_7_3 0))
+(assert (>= (- t_7_3 t_7_2) 4))
+(assert (>= t_7_4 0))
+(assert (>= (- t_7_4 t_7_3) 5))
+(assert (<= (+ t_0_4 9) 185))
+(assert (<= (+ t_1_4 1) 185))
+(assert (<= (+ t_2_4 8) 185))
+(assert (<= (+ t_3_4 6) 185))
+(assert (<= (+ t_4_4 5) 185))
+(assert (<= (+ t_5_4 7) 185))
+(assert (<= (+ t_6_4 3) 185))
+(assert (<= (+ t_7_4 8) 185))
+(assert (or (>= (- t_1_4 t_0_0) 4) (>= (- t_0_0 t_1_4) 1)))
+(assert (or (>= (- t_2_3 t_0_0) 4) (>= (- t_0_0 t_2_3) 5)))
+(assert (or (>= (- t_3_1 t_0_0) 4) (>= (- t_0_0 t_3_1) 5)))
+(assert (or (>= (- t_4_3 t_0_0) 4) (>= (- t_0_0 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_0_0) 4) (>= (- t_0_0 t_5_4) 7)))
+(assert (or (>= (- t_6_0 t_0_0) 4) (>= (- t_0_0 t_6_0) 2)))
+(assert (or (>= (- t_7_3 t_0_0) 4) (>= (- t_0_0 t_7_3) 5)))
+(assert (or (>= (- t_1_0 t_0_1) 8) (>= (- t_0_1 t_1_0) 8)))
+(assert (or (>= (- t_2_0 t_0_1) 8) (>= (- t_0_1 t_2_0) 8)))
+(assert (or (>= (- t_3_2 t_0_1) 8) (>= (- t_0_1 t_3_2) 7)))
+(assert (or (>= (- t_4_2 t_0_1) 8) (>= (- t_0_1 t_4_2) 2)))
+(assert (or (>= (- t_5_3 t_0_1) 8) (>= (- t_0_1 t_5_3) 9)))
+(assert (or (>= (- t_6_2 t_0_1) 8) (>= (- t_0_1 t_6_2) 4)))
+(assert (or (>= (- t_7_2 t_0_1) 8) (>= (- t_0_1 t_7_2) 4)))
+(assert (or (>= (- t_1_1 t_0_2) 1) (>= (- t_0_2 t_1_1) 2)))
+(assert (or (>= (- t_2_1 t_0_2) 1) (>= (- t_0_2 t_2_1) 1)))
+(assert (or (>= (- t_3_0 t_0_2) 1) (>= (- t_0_2 t_3_0) 6)))
+(assert (or (>= (- t_4_4 t_0_2) 1) (>= (- t_0_2 t_4_4) 5)))
+(assert (or (>= (- t_5_0 t_0_2) 1) (>= (- t_0_2 t_5_0) 1)))
+(assert (or (>= (- t_6_4 t_0_2) 1) (>= (- t_0_2 t_6_4) 3)))
+(assert (or (>= (- t_7_1 t_0_2) 1) (>= (- t_0_2 t_7_1) 1)))
+(assert (or (>= (- t_1_2 t_0_3) 1) (>= (- t_0_3 t_1_2) 2)))
+(assert (or (>= (- t_2_4 t_0_3) 1) (>= (- t_0_3 t_2_4) 8)))
+(assert (or (>= (- t_3_4 t_0_3) 1) (>= (- t_0_3 t_3_4) 6)))
+(assert (or (>= (- t_4_0 t_0_3) 1) (>= (- t_0_3 t_4_0) 8)))
+(assert (or (>= (- t_5_2 t_0_3) 1) (>= (- t_0_3 t_5_2) 4)))
+(assert (or (>= (- t_6_1 t_0_3) 1) (>= (- t_0_3 t_6_1) 4)))
+(assert (or (>= (- t_7_0 t_0_3) 1) (>= (- t_0_3 t_7_0) 2)))
+(assert (or (>= (- t_1_3 t_0_4) 9) (>= (- t_0_4 t_1_3) 3)))
+(assert (or (>= (- t_2_2 t_0_4) 9) (>= (- t_0_4 t_2_2) 4)))
+(assert (or (>= (- t_3_3 t_0_4) 9) (>= (- t_0_4 t_3_3) 5)))
+(assert (or (>= (- t_4_1 t_0_4) 9) (>= (- t_0_4 t_4_1) 1)))
+(assert (or (>= (- t_5_1 t_0_4) 9) (>= (- t_0_4 t_5_1) 8)))
+(assert (or (>= (- t_6_3 t_0_4) 9) (>= (- t_0_4 t_6_3) 9)))
+(assert (or (>= (- t_7_4 t_0_4) 9) (>= (- t_0_4 t_7_4) 8)))
+(assert (or (>= (- t_2_0 t_1_0) 8) (>= (- t_1_0 t_2_0) 8)))
+(assert (or (>= (- t_3_2 t_1_0) 8) (>= (- t_1_0 t_3_2) 7)))
+(assert (or (>= (- t_4_2 t_1_0) 8) (>= (- t_1_0 t_4_2) 2)))
+(assert (or (>= (- t_5_3 t_1_0) 8) (>= (- t_1_0 t_5_3) 9)))
+(assert (or (>= (- t_6_2 t_1_0) 8) (>= (- t_1_0 t_6_2) 4)))
+(assert (or (>= (- t_7_2 t_1_0) 8) (>= (- t_1_0 t_7_2) 4)))
+(assert (or (>= (- t_2_1 t_1_1) 2) (>= (- t_1_1 t_2_1) 1)))
+(assert (or (>= (- t_3_0 t_1_1) 2) (>= (- t_1_1 t_3_0) 6)))
+(assert (or (>= (- t_4_4 t_1_1) 2) (>= (- t_1_1 t_4_4) 5)))
+(assert (or (>= (- t_5_0 t_1_1) 2) (>= (- t_1_1 t_5_0) 1)))
+(assert (or (>= (- t_6_4 t_1_1) 2) (>= (- t_1_1 t_6_4) 3)))
+(assert (or (>= (- t_7_1 t_1_1) 2) (>= (- t_1_1 t_7_1) 1)))
+(assert (or (>= (- t_2_4 t_1_2) 2) (>= (- t_1_2 t_2_4) 8)))
+(assert (or (>= (- t_3_4 t_1_2) 2) (>= (- t_1_2 t_3_4) 6)))
+(assert (or (>= (- t_4_0 t_1_2) 2) (>= (- t_1_2 t_4_0) 8)))
+(assert (or (>= (- t_5_2 t_1_2) 2) (>= (- t_1_2 t_5_2) 4)))
+(assert (or (>= (- t_6_1 t_1_2) 2) (>= (- t_1_2 t_6_1) 4)))
+(assert (or (>= (- t_7_0 t_1_2) 2) (>= (- t_1_2 t_7_0) 2)))
+(assert (or (>= (- t_2_2 t_1_3) 3) (>= (- t_1_3 t_2_2) 4)))
+(assert (or (>= (- t_3_3 t_1_3) 3) (>= (- t_1_3 t_3_3) 5)))
+(assert (or (>= (- t_4_1 t_1_3) 3) (>= (- t_1_3 t_4_1) 1)))
+(assert (or (>= (- t_5_1 t_1_3) 3) (>= (- t_1_3 t_5_1) 8)))
+(assert (or (>= (- t_6_3 t_1_3) 3) (>= (- t_1_3 t_6_3) 9)))
+(assert (or (>= (- t_7_4 t_1_3) 3) (>= (- t_1_3 t_7_4) 8)))
+(assert (or (>= (- t_2_3 t_1_4) 1) (>= (- t_1_4 t_2_3) 5)))
+(assert (or (>= (- t_3_1 t_1_4) 1) (>= (- t_1_4 t_3_1) 5)))
+(assert (or (>= (- t_4_3 t_1_4) 1) (>= (- t_1_4 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_1_4) 1) (>= (- t_1_4 t_5_4) 7)))
+(assert (or (>= (- t_6_0 t_1_4) 1) (>= (- t_1_4 t_6_0) 2)))
+(assert (or (>= (- t_7_3 t_1_4) 1) (>= (- t_1_4 t_7_3) 5)))
+(assert (or (>= (- t_3_2 t_2_0) 8) (>= (- t_2_0 t_3_2) 7)))
+(assert (or (>= (- t_4_2 t_2_0) 8) (>= (- t_2_0 t_4_2) 2)))
+(assert (or (>= (- t_5_3 t_2_0) 8) (>= (- t_2_0 t_5_3) 9)))
+(assert (or (>= (- t_6_2 t_2_0) 8) (>= (- t_2_0 t_6_2) 4)))
+(assert (or (>= (- t_7_2 t_2_0) 8) (>= (- t_2_0 t_7_2) 4)))
+(assert (or (>= (- t_3_0 t_2_1) 1) (>= (- t_2_1 t_3_0) 6)))
+(assert (or (>= (- t_4_4 t_2_1) 1) (>= (- t_2_1 t_4_4) 5)))
+(assert (or (>= (- t_5_0 t_2_1) 1) (>= (- t_2_1 t_5_0) 1)))
+(assert (or (>= (- t_6_4 t_2_1) 1) (>= (- t_2_1 t_6_4) 3)))
+(assert (or (>= (- t_7_1 t_2_1) 1) (>= (- t_2_1 t_7_1) 1)))
+(assert (or (>= (- t_3_3 t_2_2) 4) (>= (- t_2_2 t_3_3) 5)))
+(assert (or (>= (- t_4_1 t_2_2) 4) (>= (- t_2_2 t_4_1) 1)))
+(assert (or (>= (- t_5_1 t_2_2) 4) (>= (- t_2_2 t_5_1) 8)))
+(assert (or (>= (- t_6_3 t_2_2) 4) (>= (- t_2_2 t_6_3) 9)))
+(assert (or (>= (- t_7_4 t_2_2) 4) (>= (- t_2_2 t_7_4) 8)))
+(assert (or (>= (- t_3_1 t_2_3) 5) (>= (- t_2_3 t_3_1) 5)))
+(assert (or (>= (- t_4_3 t_2_3) 5) (>= (- t_2_3 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_2_3) 5) (>= (- t_2_3 t_5_4) 7)))
+(assert (or (>= (- t_6_0 t_2_3) 5) (>= (- t_2_3 t_6_0) 2)))
+(assert (or (>= (- t_7_3 t_2_3) 5) (>= (- t_2_3 t_7_3) 5)))
+(assert (or (>= (- t_3_4 t_2_4) 8) (>= (- t_2_4 t_3_4) 6)))
+(assert (or (>= (- t_4_0 t_2_4) 8) (>= (- t_2_4 t_4_0) 8)))
+(assert (or (>= (- t_5_2 t_2_4) 8) (>= (- t_2_4 t_5_2) 4)))
+(assert (or (>= (- t_6_1 t_2_4) 8) (>= (- t_2_4 t_6_1) 4)))
+(assert (or (>= (- t_7_0 t_2_4) 8) (>= (- t_2_4 t_7_0) 2)))
+(assert (or (>= (- t_4_4 t_3_0) 6) (>= (- t_3_0 t_4_4) 5)))
+(assert (or (>= (- t_5_0 t_3_0) 6) (>= (- t_3_0 t_5_0) 1)))
+(assert (or (>= (- t_6_4 t_3_0) 6) (>= (- t_3_0 t_6_4) 3)))
+(assert (or (>= (- t_7_1 t_3_0) 6) (>= (- t_3_0 t_7_1) 1)))
+(assert (or (>= (- t_4_3 t_3_1) 5) (>= (- t_3_1 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_3_1) 5) (>= (- t_3_1 t_5_4) 7)))
+(assert (or (>= (- t_6_0 t_3_1) 5) (>= (- t_3_1 t_6_0) 2)))
+(assert (or (>= (- t_7_3 t_3_1) 5) (>= (- t_3_1 t_7_3) 5)))
+(assert (or (>= (- t_4_2 t_3_2) 7) (>= (- t_3_2 t_4_2) 2)))
+(assert (or (>= (- t_5_3 t_3_2) 7) (>= (- t_3_2 t_5_3) 9)))
+(assert (or (>= (- t_6_2 t_3_2) 7) (>= (- t_3_2 t_6_2) 4)))
+(assert (or (>= (- t_7_2 t_3_2) 7) (>= (- t_3_2 t_7_2) 4)))
+(assert (or (>= (- t_4_1 t_3_3) 5) (>= (- t_3_3 t_4_1) 1)))
+(assert (or (>= (- t_5_1 t_3_3) 5) (>= (- t_3_3 t_5_1) 8)))
+(assert (or (>= (- t_6_3 t_3_3) 5) (>= (- t_3_3 t_6_3) 9)))
+(assert (or (>= (- t_7_4 t_3_3) 5) (>= (- t_3_3 t_7_4) 8)))
+(assert (or (>= (- t_4_0 t_3_4) 6) (>= (- t_3_4 t_4_0) 8)))
+(assert (or (>= (- t_5_2 t_3_4) 6) (>= (- t_3_4 t_5_2) 4)))
+(assert (or (>= (- t_6_1 t_3_4) 6) (>= (- t_3_4 t_6_1) 4)))
+(assert (or (>= (- t_7_0 t_3_4) 6) (>= (- t_3_4 t_7_0) 2)))
+(assert (or (>= (- t_5_2 t_4_0) 8) (>= (- t_4_0 t_5_2) 4)))
+(assert (or (>= (- t_6_1 t_4_0) 8) (>= (- t_4_0 t_6_1) 4)))
+(assert (or (>= (- t_7_0 t_4_0) 8) (>= (- t_4_0 t_7_0) 2)))
+(assert (or (>= (- t_5_1 t_4_1) 1) (>= (- t_4_1 t_5_1) 8)))
+(assert (or (>= (- t_6_3 t_4_1) 1) (>= (- t_4_1 t_6_3) 9)))
+(assert (or (>= (- t_7_4 t_4_1) 1) (>= (- t_4_1 t_7_4) 8)))
+(assert (or (>= (- t_5_3 t_4_2) 2) (>= (- t_4_2 t_5_3) 9)))
+(assert (or (>= (- t_6_2 t_4_2) 2) (>= (- t_4_2 t_6_2) 4)))
+(assert (or (>= (- t_7_2 t_4_2) 2) (>= (- t_4_2 t_7_2) 4)))
+(assert (or (>= (- t_5_4 t_4_3) 4) (>= (- t_4_3 t_5_4) 7)))
+(assert (or (>= (- t_6_0 t_4_3) 4) (>= (- t_4_3 t_6_0) 2)))
+(assert (or (>= (- t_7_3 t_4_3) 4) (>= (- t_4_3 t_7_3) 5)))
+(assert (or (>= (- t_5_0 t_4_4) 5) (>= (- t_4_4 t_5_0) 1)))
+(assert (or (>= (- t_6_4 t_4_4) 5) (>= (- t_4_4 t_6_4) 3)))
+(assert (or (>= (- t_7_1 t_4_4) 5) (>= (- t_4_4 t_7_1) 1)))
+(assert (or (>= (- t_6_4 t_5_0) 1) (>= (- t_5_0 t_6_4) 3)))
+(assert (or (>= (- t_7_1 t_5_0) 1) (>= (- t_5_0 t_7_1) 1)))
+(assert (or (>= (- t_6_3 t_5_1) 8) (>= (- t_5_1 t_6_3) 9)))
+(assert (or (>= (- t_7_4 t_5_1) 8) (>= (- t_5_1 t_7_4) 8)))
+(assert (or (>= (- t_6_1 t_5_2) 4) (>= (- t_5_2 t_6_1) 4)))
+(assert (or (>= (- t_7_0 t_5_2) 4) (>= (- t_5_2 t_7_0) 2)))
+(assert (or (>= (- t_6_2 t_5_3) 9) (>= (- t_5_3 t_6_2) 4)))
+(assert (or (>= (- t_7_2 t_5_3) 9) (>= (- t_5_3 t_7_2) 4)))
+(assert (or (>= (- t_6_0 t_5_4) 7) (>= (- t_5_4 t_6_0) 2)))
+(assert (or (>= (- t_7_3 t_5_4) 7) (>= (- t_5_4 t_7_3) 5)))
+(assert (or (>= (- t_7_3 t_6_0) 2) (>= (- t_6_0 t_7_3) 5)))
+(assert (or (>= (- t_7_0 t_6_1) 4) (>= (- t_6_1 t_7_0) 2)))
+(assert (or (>= (- t_7_2 t_6_2) 4) (>= (- t_6_2 t_7_2) 4)))
+(assert (or (>= (- t_7_4 t_6_3) 9) (>= (- t_6_3 t_7_4) 8)))
+(assert (or (>= (- t_7_1 t_6_4) 3) (>= (- t_6_4 t_7_1) 1)))
+(check-sat)
+(exit)
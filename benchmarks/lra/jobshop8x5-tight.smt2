@@ -0,0 +1,266 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |job shop, 8 jobs on 5 machines, makespan at most 88|)
+(set-info :status unknown)
+(declare-fun t_0_0 () Real)
+(declare-fun t_0_1 () Real)
+(declare-fun t_0_2 () Real)
+(declare-fun t_0_3 () Real)
+(declare-fun t_0_4 () Real)
+(declare-fun t_1_0 () Real)
+(declare-fun t_1_1 () Real)
+(declare-fun t_1_2 () Real)
+(declare-fun t_1_3 () Real)
+(declare-fun t_1_4 () Real)
+(declare-fun t_2_0 () Real)
+(declare-fun t_2_1 () Real)
+(declare-fun t_2_2 () Real)
+(declare-fun t_2_3 () Real)
+(declare-fun t_2_4 () Real)
+(declare-fun t_3_0 () Real)
+(declare-fun t_3_1 () Real)
+(declare-fun t_3_2 () Real)
+(declare-fun t_3_3 () Real)
+(declare-fun t_3_4 () Real)
+(declare-fun t_4_0 () Real)
+(declare-fun t_4_1 () Real)
+(declare-fun t_4_2 () Real)
+(declare-fun t_4_3 () Real)
+(declare-fun t_4_4 () Real)
+(declare-fun t_5_0 () Real)
+(declare-fun t_5_1 () Real)
+(declare-fun t_5_2 () Real)
+(declare-fun t_5_3 () Real)
+(declare-fun t_5_4 () Real)
+(declare-fun t_6_0 () Real)
+(declare-fun t_6_1 () Real)
+(declare-fun t_6_2 () Real)
+(declare-fun t_6_3 () Real)
+(declare-fun t_6_4 () Real)
+(declare-fun t_7_0 () Real)
+(declare-fun t_7_1 () Real)
+(declare-fun t_7_2 () Real)
+(declare-fun t_7_3 () Real)
+(declare-fun t_7_4 () Real)
+(assert (>= t_0_0 0))
+(assert (>= t_0_1 0))
+(assert (>= (- t_0_1 t_0_0) 4))
+(assert (>= t_0_2 0))
+(assert (>= (- t_0_2 t_0_1) 3))
+(assert (>= t_0_3 0))
+(assert (>= (- t_0_3 t_0_2) 5))
+(assert (>= t_0_4 0))
+(assert (>= (- t_0_4 t_0_3) 9))
+(assert (>= t_1_0 0))
+(assert (>= t_1_1 0))
+(assert (>= (- t_1_1 t_1_0) 5))
+(assert (>= t_1_2 0))
+(assert (>= (- t_1_2 t_1_1) 8))
+(assert (>= t_1_3 0))
+(assert (>= (- t_1_3 t_1_2) 8))
+(assert (>= t_1_4 0))
+(assert (>= (- t_1_4 t_1_3) 7))
+(assert (>= t_2_0 0))
+(assert (>= t_2_1 0))
+(assert (>= (- t_2_1 t_2_0) 7))
+(assert (>= t_2_2 0))
+(assert (>= (- t_2_2 t_2_1) 1))
+(assert (>= t_2_3 0))
+(assert (>= (- t_2_3 t_2_2) 2))
+(assert (>= t_2_4 0))
+(assert (>= (- t_2_4 t_2_3) 8))
+(assert (>= t_3_0 0))
+(assert (>= t_3_1 0))
+(assert (>= (- t_3_1 t_3_0) 5))
+(assert (>= t_3_2 0))
+(assert (>= (- t_3_2 t_3_1) 8))
+(assert (>= t_3_3 0))
+(assert (>= (- t_3_3 t_3_2) 8))
+(assert (>= t_3_4 0))
+(assert (>= (- t_3_4 t_3_3) 6))
+(assert (>= t_4_0 0))
+(assert (>= t_4_1 0))
+(assert (>= (- t_4_1 t_4_0) 7))
+(assert (>= t_4_2 0))
+(assert (>= (- t_4_2 t_4_1) 3))
+(assert (>= t_4_3 0))
+(assert (>= (- t_4_3 t_4_2) 5))
+(assert (>= t_4_4 0))
+(assert (>= (- t_4_4 t_4_3) 4))
+(assert (>= t_5_0 0))
+(assert (>= t_5_1 0))
+(assert (>= (- t_5_1 t_5_0) 1))
+(assert (>= t_5_2 0))
+(assert (>= (- t_5_2 t_5_1) 4))
+(assert (>= t_5_3 0))
+(assert (>= (- t_5_3 t_5_2) 8))
+(assert (>= t_5_4 0))
+(assert (>= (- t_5_4 t_5_3) 1))
+(assert (>= t_6_0 0))
+(assert (>= t_6_1 0))
+(assert (>= (- t_6_1 t_6_0) 4))
+(assert (>= t_6_2 0))
+(assert (>= (- t_6_2 t_6_1) 9))
+(assert (>= t_6_3 0))
+(assert (>= (- t_6_3 t_6_2) 5))
+(assert (>= t_6_4 0))
+(assert (>= (- t_6_4 t_6_3) 5))
+(assert (>= t_7_0 0))
+(assert (>= t_7_1 0))
+(assert (>= (- t_7_1 t_7_0) 5))
+(assert (>= t_7_2 0))
+(assert (>= (- t_7_2 t_7_1) 3))
+(assert (>= t_7_3 0))
+(assert (>= (- t_7_3 t_7_2) 1))
+(assert (>= t_7_4 0))
+(assert (>= (- t_7_4 t_7_3) 4))
+(assert (<= (+ t_0_4 5) 88))
+(assert (<= (+ t_1_4 1) 88))
+(assert (<= (+ t_2_4 1) 88))
+(assert (<= (+ t_3_4 3) 88))
+(assert (<= (+ t_4_4 6) 88))
+(assert (<= (+ t_5_4 8) 88))
+(assert (<= (+ t_6_4 4) 88))
+(assert (<= (+ t_7_4 6) 88))
+(assert (or (>= (- t_1_1 t_0_0) 4) (>= (- t_0_0 t_1_1) 8)))
+(assert (or (>= (- t_2_0 t_0_0) 4) (>= (- t_0_0 t_2_0) 7)))
+(assert (or (>= (- t_3_4 t_0_0) 4) (>= (- t_0_0 t_3_4) 3)))
+(assert (or (>= (- t_4_2 t_0_0) 4) (>= (- t_0_0 t_4_2) 5)))
+(assert (or (>= (- t_5_2 t_0_0) 4) (>= (- t_0_0 t_5_2) 8)))
+(assert (or (>= (- t_6_2 t_0_0) 4) (>= (- t_0_0 t_6_2) 5)))
+(assert (or (>= (- t_7_4 t_0_0) 4) (>= (- t_0_0 t_7_4) 6)))
+(assert (or (>= (- t_1_2 t_0_1) 3) (>= (- t_0_1 t_1_2) 8)))
+(assert (or (>= (- t_2_4 t_0_1) 3) (>= (- t_0_1 t_2_4) 1)))
+(assert (or (>= (- t_3_3 t_0_1) 3) (>= (- t_0_1 t_3_3) 6)))
+(assert (or (>= (- t_4_0 t_0_1) 3) (>= (- t_0_1 t_4_0) 7)))
+(assert (or (>= (- t_5_3 t_0_1) 3) (>= (- t_0_1 t_5_3) 1)))
+(assert (or (>= (- t_6_3 t_0_1) 3) (>= (- t_0_1 t_6_3) 5)))
+(assert (or (>= (- t_7_3 t_0_1) 3) (>= (- t_0_1 t_7_3) 4)))
+(assert (or (>= (- t_1_0 t_0_2) 5) (>= (- t_0_2 t_1_0) 5)))
+(assert (or (>= (- t_2_3 t_0_2) 5) (>= (- t_0_2 t_2_3) 8)))
+(assert (or (>= (- t_3_1 t_0_2) 5) (>= (- t_0_2 t_3_1) 8)))
+(assert (or (>= (- t_4_4 t_0_2) 5) (>= (- t_0_2 t_4_4) 6)))
+(assert (or (>= (- t_5_0 t_0_2) 5) (>= (- t_0_2 t_5_0) 1)))
+(assert (or (>= (- t_6_1 t_0_2) 5) (>= (- t_0_2 t_6_1) 9)))
+(assert (or (>= (- t_7_0 t_0_2) 5) (>= (- t_0_2 t_7_0) 5)))
+(assert (or (>= (- t_1_4 t_0_3) 9) (>= (- t_0_3 t_1_4) 1)))
+(assert (or (>= (- t_2_1 t_0_3) 9) (>= (- t_0_3 t_2_1) 1)))
+(assert (or (>= (- t_3_2 t_0_3) 9) (>= (- t_0_3 t_3_2) 8)))
+(assert (or (>= (- t_4_1 t_0_3) 9) (>= (- t_0_3 t_4_1) 3)))
+(assert (or (>= (- t_5_1 t_0_3) 9) (>= (- t_0_3 t_5_1) 4)))
+(assert (or (>= (- t_6_4 t_0_3) 9) (>= (- t_0_3 t_6_4) 4)))
+(assert (or (>= (- t_7_1 t_0_3) 9) (>= (- t_0_3 t_7_1) 3)))
+(assert (or (>= (- t_1_3 t_0_4) 5) (>= (- t_0_4 t_1_3) 7)))
+(assert (or (>= (- t_2_2 t_0_4) 5) (>= (- t_0_4 t_2_2) 2)))
+(assert (or (>= (- t_3_0 t_0_4) 5) (>= (- t_0_4 t_3_0) 5)))
+(assert (or (>= (- t_4_3 t_0_4) 5) (>= (- t_0_4 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_0_4) 5) (>= (- t_0_4 t_5_4) 8)))
+(assert (or (>= (- t_6_0 t_0_4) 5) (>= (- t_0_4 t_6_0) 4)))
+(assert (or (>= (- t_7_2 t_0_4) 5) (>= (- t_0_4 t_7_2) 1)))
+(assert (or (>= (- t_2_3 t_1_0) 5) (>= (- t_1_0 t_2_3) 8)))
+(assert (or (>= (- t_3_1 t_1_0) 5) (>= (- t_1_0 t_3_1) 8)))
+(assert (or (>= (- t_4_4 t_1_0) 5) (>= (- t_1_0 t_4_4) 6)))
+(assert (or (>= (- t_5_0 t_1_0) 5) (>= (- t_1_0 t_5_0) 1)))
+(assert (or (>= (- t_6_1 t_1_0) 5) (>= (- t_1_0 t_6_1) 9)))
+(assert (or (>= (- t_7_0 t_1_0) 5) (>= (- t_1_0 t_7_0) 5)))
+(assert (or (>= (- t_2_0 t_1_1) 8) (>= (- t_1_1 t_2_0) 7)))
+(assert (or (>= (- t_3_4 t_1_1) 8) (>= (- t_1_1 t_3_4) 3)))
+(assert (or (>= (- t_4_2 t_1_1) 8) (>= (- t_1_1 t_4_2) 5)))
+(assert (or (>= (- t_5_2 t_1_1) 8) (>= (- t_1_1 t_5_2) 8)))
+(assert (or (>= (- t_6_2 t_1_1) 8) (>= (- t_1_1 t_6_2) 5)))
+(assert (or (>= (- t_7_4 t_1_1) 8) (>= (- t_1_1 t_7_4) 6)))
+(assert (or (>= (- t_2_4 t_1_2) 8) (>= (- t_1_2 t_2_4) 1)))
+(assert (or (>= (- t_3_3 t_1_2) 8) (>= (- t_1_2 t_3_3) 6)))
+(assert (or (>= (- t_4_0 t_1_2) 8) (>= (- t_1_2 t_4_0) 7)))
+(assert (or (>= (- t_5_3 t_1_2) 8) (>= (- t_1_2 t_5_3) 1)))
+(assert (or (>= (- t_6_3 t_1_2) 8) (>= (- t_1_2 t_6_3) 5)))
+(assert (or (>= (- t_7_3 t_1_2) 8) (>= (- t_1_2 t_7_3) 4)))
+(assert (or (>= (- t_2_2 t_1_3) 7) (>= (- t_1_3 t_2_2) 2)))
+(assert (or (>= (- t_3_0 t_1_3) 7) (>= (- t_1_3 t_3_0) 5)))
+(assert (or (>= (- t_4_3 t_1_3) 7) (>= (- t_1_3 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_1_3) 7) (>= (- t_1_3 t_5_4) 8)))
+(assert (or (>= (- t_6_0 t_1_3) 7) (>= (- t_1_3 t_6_0) 4)))
+(assert (or (>= (- t_7_2 t_1_3) 7) (>= (- t_1_3 t_7_2) 1)))
+(assert (or (>= (- t_2_1 t_1_4) 1) (>= (- t_1_4 t_2_1) 1)))
+(assert (or (>= (- t_3_2 t_1_4) 1) (>= (- t_1_4 t_3_2) 8)))
+(assert (or (>= (- t_4_1 t_1_4) 1) (>= (- t_1_4 t_4_1) 3)))
+(assert (or (>= (- t_5_1 t_1_4) 1) (>= (- t_1_4 t_5_1) 4)))
+(assert (or (>= (- t_6_4 t_1_4) 1) (>= (- t_1_4 t_6_4) 4)))
+(assert (or (>= (- t_7_1 t_1_4) 1) (>= (- t_1_4 t_7_1) 3)))
+(assert (or (>= (- t_3_4 t_2_0) 7) (>= (- t_2_0 t_3_4) 3)))
+(assert (or (>= (- t_4_2 t_2_0) 7) (>= (- t_2_0 t_4_2) 5)))
+(assert (or (>= (- t_5_2 t_2_0) 7) (>= (- t_2_0 t_5_2) 8)))
+(assert (or (>= (- t_6_2 t_2_0) 7) (>= (- t_2_0 t_6_2) 5)))
+(assert (or (>= (- t_7_4 t_2_0) 7) (>= (- t_2_0 t_7_4) 6)))
+(assert (or (>= (- t_3_2 t_2_1) 1) (>= (- t_2_1 t_3_2) 8)))
+(assert (or (>= (- t_4_1 t_2_1) 1) (>= (- t_2_1 t_4_1) 3)))
+(assert (or (>= (- t_5_1 t_2_1) 1) (>= (- t_2_1 t_5_1) 4)))
+(assert (or (>= (- t_6_4 t_2_1) 1) (>= (- t_2_1 t_6_4) 4)))
+(assert (or (>= (- t_7_1 t_2_1) 1) (>= (- t_2_1 t_7_1) 3)))
+(assert (or (>= (- t_3_0 t_2_2) 2) (>= (- t_2_2 t_3_0) 5)))
+(assert (or (>= (- t_4_3 t_2_2) 2) (>= (- t_2_2 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_2_2) 2) (>= (- t_2_2 t_5_4) 8)))
+(assert (or (>= (- t_6_0 t_2_2) 2) (>= (- t_2_2 t_6_0) 4)))
+(assert (or (>= (- t_7_2 t_2_2) 2) (>= (- t_2_2 t_7_2) 1)))
+(assert (or (>= (- t_3_1 t_2_3) 8) (>= (- t_2_3 t_3_1) 8)))
+(assert (or (>= (- t_4_4 t_2_3) 8) (>= (- t_2_3 t_4_4) 6)))
+(assert (or (>= (- t_5_0 t_2_3) 8) (>= (- t_2_3 t_5_0) 1)))
+(assert (or (>= (- t_6_1 t_2_3) 8) (>= (- t_2_3 t_6_1) 9)))
+(assert (or (>= (- t_7_0 t_2_3) 8) (>= (- t_2_3 t_7_0) 5)))
+(assert (or (>= (- t_3_3 t_2_4) 1) (>= (- t_2_4 t_3_3) 6)))
+(assert (or (>= (- t_4_0 t_2_4) 1) (>= (- t_2_4 t_4_0) 7)))
+(assert (or (>= (- t_5_3 t_2_4) 1) (>= (- t_2_4 t_5_3) 1)))
+(assert (or (>= (- t_6_3 t_2_4) 1) (>= (- t_2_4 t_6_3) 5)))
+(assert (or (>= (- t_7_3 t_2_4) 1) (>= (- t_2_4 t_7_3) 4)))
+(assert (or (>= (- t_4_3 t_3_0) 5) (>= (- t_3_0 t_4_3) 4)))
+(assert (or (>= (- t_5_4 t_3_0) 5) (>= (- t_3_0 t_5_4) 8)))
+(assert (or (>= (- t_6_0 t_3_0) 5) (>= (- t_3_0 t_6_0) 4)))
+(assert (or (>= (- t_7_2 t_3_0) 5) (>= (- t_3_0 t_7_2) 1)))
+(assert (or (>= (- t_4_4 t_3_1) 8) (>= (- t_3_1 t_4_4) 6)))
+(assert (or (>= (- t_5_0 t_3_1) 8) (>= (- t_3_1 t_5_0) 1)))
+(assert (or (>= (- t_6_1 t_3_1) 8) (>= (- t_3_1 t_6_1) 9)))
+(assert (or (>= (- t_7_0 t_3_1) 8) (>= (- t_3_1 t_7_0) 5)))
+(assert (or (>= (- t_4_1 t_3_2) 8) (>= (- t_3_2 t_4_1) 3)))
+(assert (or (>= (- t_5_1 t_3_2) 8) (>= (- t_3_2 t_5_1) 4)))
+(assert (or (>= (- t_6_4 t_3_2) 8) (>= (- t_3_2 t_6_4) 4)))
+(assert (or (>= (- t_7_1 t_3_2) 8) (>= (- t_3_2 t_7_1) 3)))
+(assert (or (>= (- t_4_0 t_3_3) 6) (>= (- t_3_3 t_4_0) 7)))
+(assert (or (>= (- t_5_3 t_3_3) 6) (>= (- t_3_3 t_5_3) 1)))
+(assert (or (>= (- t_6_3 t_3_3) 6) (>= (- t_3_3 t_6_3) 5)))
+(assert (or (>= (- t_7_3 t_3_3) 6) (>= (- t_3_3 t_7_3) 4)))
+(assert (or (>= (- t_4_2 t_3_4) 3) (>= (- t_3_4 t_4_2) 5)))
+(assert (or (>= (- t_5_2 t_3_4) 3) (>= (- t_3_4 t_5_2) 8)))
+(assert (or (>= (- t_6_2 t_3_4) 3) (>= (- t_3_4 t_6_2) 5)))
+(assert (or (>= (- t_7_4 t_3_4) 3) (>= (- t_3_4 t_7_4) 6)))
+(assert (or (>= (- t_5_3 t_4_0) 7) (>= (- t_4_0 t_5_3) 1)))
+(assert (or (>= (- t_6_3 t_4_0) 7) (>= (- t_4_0 t_6_3) 5)))
+(assert (or (>= (- t_7_3 t_4_0) 7) (>= (- t_4_0 t_7_3) 4)))
+(assert (or (>= (- t_5_1 t_4_1) 3) (>= (- t_4_1 t_5_1) 4)))
+(assert (or (>= (- t_6_4 t_4_1) 3) (>= (- t_4_1 t_6_4) 4)))
+(assert (or (>= (- t_7_1 t_4_1) 3) (>= (- t_4_1 t_7_1) 3)))
+(assert (or (>= (- t_5_2 t_4_2) 5) (>= (- t_4_2 t_5_2) 8)))
+(assert (or (>= (- t_6_2 t_4_2) 5) (>= (- t_4_2 t_6_2) 5)))
+(assert (or (>= (- t_7_4 t_4_2) 5) (>= (- t_4_2 t_7_4) 6)))
+(assert (or (>= (- t_5_4 t_4_3) 4) (>= (- t_4_3 t_5_4) 8)))
+(assert (or (>= (- t_6_0 t_4_3) 4) (>= (- t_4_3 t_6_0) 4)))
+(assert (or (>= (- t_7_2 t_4_3) 4) (>= (- t_4_3 t_7_2) 1)))
+(assert (or (>= (- t_5_0 t_4_4) 6) (>= (- t_4_4 t_5_0) 1)))
+(assert (or (>= (- t_6_1 t_4_4) 6) (>= (- t_4_4 t_6_1) 9)))
+(assert (or (>= (- t_7_0 t_4_4) 6) (>= (- t_4_4 t_7_0) 5)))
+(assert (or (>= (- t_6_1 t_5_0) 1) (>= (- t_5_0 t_6_1) 9)))
+(assert (or (>= (- t_7_0 t_5_0) 1) (>= (- t_5_0 t_7_0) 5)))
+(assert (or (>= (- t_6_4 t_5_1) 4) (>= (- t_5_1 t_6_4) 4)))
+(assert (or (>= (- t_7_1 t_5_1) 4) (>= (- t_5_1 t_7_1) 3)))
+(assert (or (>= (- t_6_2 t_5_2) 8) (>= (- t_5_2 t_6_2) 5)))
+(assert (or (>= (- t_7_4 t_5_2) 8) (>= (- t_5_2 t_7_4) 6)))
+(assert (or (>= (- t_6_3 t_5_3) 1) (>= (- t_5_3 t_6_3) 5)))
+(assert (or (>= (- t_7_3 t_5_3) 1) (>= (- t_5_3 t_7_3) 4)))
+(assert (or (>= (- t_6_0 t_5_4) 8) (>= (- t_5_4 t_6_0) 4)))
+(assert (or (>= (- t_7_2 t_5_4) 8) (>= (- t_5_4 t_7_2) 1)))
+(assert (or (>= (- t_7_2 t_6_0) 4) (>= (- t_6_0 t_7_2) 1)))
+(assert (or (>= (- t_7_0 t_6_1) 9) (>= (- t_6_1 t_7_0) 5)))
+(assert (or (>= (- t_7_4 t_6_2) 5) (>= (- t_6_2 t_7_4) 6)))
+(assert (or (>= (- t_7_3 t_6_3) 5) (>= (- t_6_3 t_7_3) 4)))
+(assert (or (>= (- t_7_1 t_6_4) 4) (>= (- t_6_4 t_7_1) 3)))
+(check-sat)
+(exit)
@@ -0,0 +1,26 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |5 pairwise disjoint unit intervals within [0, 4]|)
+(set-info :status unsat)
+(declare-fun s0 () Real)
+(declare-fun s1 () Real)
+(declare-fun s2 () Real)
+(declare-fun s3 () Real)
+(declare-fun s4 () Real)
+(assert (and (>= s0 0) (<= (+ s0 1) 4)))
+(assert (and (>= s1 0) (<= (+ s1 1) 4)))
+(assert (and (>= s2 0) (<= (+ s2 1) 4)))
+(assert (and (>= s3 0) (<= (+ s3 1) 4)))
+(assert (and (>= s4 0) (<= (+ s4 1) 4)))
+(assert (or (<= (+ s0 1) s1) (<= (+ s1 1) s0)))
+(assert (or (<= (+ s0 1) s2) (<= (+ s2 1) s0)))
+(assert (or (<= (+ s0 1) s3) (<= (+ s3 1) s0)))
+(assert (or (<= (+ s0 1) s4) (<= (+ s4 1) s0)))
+(assert (or (<= (+ s1 1) s2) (<= (+ s2 1) s1)))
+(assert (or (<= (+ s1 1) s3) (<= (+ s3 1) s1)))
+(assert (or (<= (+ s1 1) s4) (<= (+ s4 1) s1)))
+(assert (or (<= (+ s2 1) s3) (<= (+ s3 1) s2)))
+(assert (or (<= (+ s2 1) s4) (<= (+ s4 1) s2)))
+(assert (or (<= (+ s3 1) s4) (<= (+ s4 1) s3)))
+(check-sat)
+(exit)
@@ -0,0 +1,33 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |6 pairwise disjoint unit intervals within [0, 5]|)
+(set-info :status unsat)
+(declare-fun s0 () Real)
+(declare-fun s1 () Real)
+(declare-fun s2 () Real)
+(declare-fun s3 () Real)
+(declare-fun s4 () Real)
+(declare-fun s5 () Real)
+(assert (and (>= s0 0) (<= (+ s0 1) 5)))
+(assert (and (>= s1 0) (<= (+ s1 1) 5)))
+(assert (and (>= s2 0) (<= (+ s2 1) 5)))
+(assert (and (>= s3 0) (<= (+ s3 1) 5)))
+(assert (and (>= s4 0) (<= (+ s4 1) 5)))
+(assert (and (>= s5 0) (<= (+ s5 1) 5)))
+(assert (or (<= (+ s0 1) s1) (<= (+ s1 1) s0)))
+(assert (or (<= (+ s0 1) s2) (<= (+ s2 1) s0)))
+(assert (or (<= (+ s0 1) s3) (<= (+ s3 1) s0)))
+(assert (or (<= (+ s0 1) s4) (<= (+ s4 1) s0)))
+(assert (or (<= (+ s0 1) s5) (<= (+ s5 1) s0)))
+(assert (or (<= (+ s1 1) s2) (<= (+ s2 1) s1)))
+(assert (or (<= (+ s1 1) s3) (<= (+ s3 1) s1)))
+(assert (or (<= (+ s1 1) s4) (<= (+ s4 1) s1)))
+(assert (or (<= (+ s1 1) s5) (<= (+ s5 1) s1)))
+(assert (or (<= (+ s2 1) s3) (<= (+ s3 1) s2)))
+(assert (or (<= (+ s2 1) s4) (<= (+ s4 1) s2)))
+(assert (or (<= (+ s2 1) s5) (<= (+ s5 1) s2)))
+(assert (or (<= (+ s3 1) s4) (<= (+ s4 1) s3)))
+(assert (or (<= (+ s3 1) s5) (<= (+ s5 1) s3)))
+(assert (or (<= (+ s4 1) s5) (<= (+ s5 1) s4)))
+(check-sat)
+(exit)
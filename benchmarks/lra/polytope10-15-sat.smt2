@@ -0,0 +1,41 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |random polytope containing a planted point, 10 variables, 15 constraints|)
+(set-info :status sat)
+(declare-fun x0 () Real)
+(declare-fun x1 () Real)
+(declare-fun x2 () Real)
+(declare-fun x3 () Real)
+(declare-fun x4 () Real)
+(declare-fun x5 () Real)
+(declare-fun x6 () Real)
+(declare-fun x7 () Real)
+(declare-fun x8 () Real)
+(declare-fun x9 () Real)
+(assert (<= x3 10))
+(assert (<= x5 7))
+(assert (<= x5 7))
+(assert (<= x9 (- 10)))
+(assert (<= (+ (* (- 2) x3) (* (- 1) x4) (* (- 2) x5) (* (- 2) x8)) (- 15)))
+(assert (<= x7 (- 4)))
+(assert (<= x5 6))
+(assert (<= (* (- 2) x8) 1))
+(assert (<= (+ (* 2 x6) x7) 10))
+(assert (<= (* (- 2) x9) 22))
+(assert (<= (+ (* (- 2) x2) x4) (- 6)))
+(assert (<= (+ (* (- 2) x2) (* (- 1) x4) (* (- 1) x5) (* (- 1) x6)) 0))
+(assert (<= (+ (* 2 x0) (* (- 2) x3)) (- 7)))
+(assert (<= (+ x2 (* (- 1) x3) x6) (- 2)))
+(assert (<= (+ (* 2 x2) (* (- 1) x3) (* 2 x4) (* 2 x7) (* (- 1) x8) (* 2 x9)) (- 59)))
+(assert (and (>= x0 (- 50)) (<= x0 50)))
+(assert (and (>= x1 (- 50)) (<= x1 50)))
+(assert (and (>= x2 (- 50)) (<= x2 50)))
+(assert (and (>= x3 (- 50)) (<= x3 50)))
+(assert (and (>= x4 (- 50)) (<= x4 50)))
+(assert (and (>= x5 (- 50)) (<= x5 50)))
+(assert (and (>= x6 (- 50)) (<= x6 50)))
+(assert (and (>= x7 (- 50)) (<= x7 50)))
+(assert (and (>= x8 (- 50)) (<= x8 50)))
+(assert (and (>= x9 (- 50)) (<= x9 50)))
+(check-sat)
+(exit)
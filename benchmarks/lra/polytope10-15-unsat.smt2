@@ -0,0 +1,42 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |random polytope made empty by a Farkas combination, 10 variables, 15 constraints|)
+(set-info :status unsat)
+(declare-fun x0 () Real)
+(declare-fun x1 () Real)
+(declare-fun x2 () Real)
+(declare-fun x3 () Real)
+(declare-fun x4 () Real)
+(declare-fun x5 () Real)
+(declare-fun x6 () Real)
+(declare-fun x7 () Real)
+(declare-fun x8 () Real)
+(declare-fun x9 () Real)
+(assert (<= (* 2 x0) 2))
+(assert (<= (+ (* 2 x7) (* (- 1) x9)) 0))
+(assert (<= (+ (* (- 1) x2) (* 2 x6) (* (- 2) x8) x9) 2))
+(assert (<= (+ (* 2 x1) (* (- 1) x4) (* 2 x9)) 5))
+(assert (<= (+ (* (- 1) x2) (* 2 x3)) (- 17)))
+(assert (<= (+ x3 (* (- 1) x8)) (- 3)))
+(assert (<= (+ (* (- 1) x2) (* 2 x8)) (- 4)))
+(assert (<= (+ (* (- 1) x1) (* 2 x5) x6 (* (- 1) x9)) (- 19)))
+(assert (<= (* 2 x1) 13))
+(assert (<= (+ (* 2 x1) (* 2 x3) (* (- 2) x4) x5 (* (- 1) x6) x9) (- 20)))
+(assert (<= (+ x0 x8) 0))
+(assert (<= (+ x6 (* 2 x7)) (- 2)))
+(assert (<= x5 (- 7)))
+(assert (<= x5 (- 8)))
+(assert (<= (+ (* 2 x7) (* 2 x9)) (- 6)))
+(assert (and (>= x0 (- 50)) (<= x0 50)))
+(assert (and (>= x1 (- 50)) (<= x1 50)))
+(assert (and (>= x2 (- 50)) (<= x2 50)))
+(assert (and (>= x3 (- 50)) (<= x3 50)))
+(assert (and (>= x4 (- 50)) (<= x4 50)))
+(assert (and (>= x5 (- 50)) (<= x5 50)))
+(assert (and (>= x6 (- 50)) (<= x6 50)))
+(assert (and (>= x7 (- 50)) (<= x7 50)))
+(assert (and (>= x8 (- 50)) (<= x8 50)))
+(assert (and (>= x9 (- 50)) (<= x9 50)))
+(assert (<= (+ (* (- 2) x1) x2 (* (- 4) x3) (* 2 x4) (* (- 2) x5) x6 (* (- 2) x7) (* (- 3) x9)) 50))
+(check-sat)
+(exit)
@@ -0,0 +1,76 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |random polytope containing a planted point, 20 variables, 30 constraints|)
+(set-info :status sat)
+(declare-fun x0 () Real)
+(declare-fun x1 () Real)
+(declare-fun x2 () Real)
+(declare-fun x3 () Real)
+(declare-fun x4 () Real)
+(declare-fun x5 () Real)
+(declare-fun x6 () Real)
+(declare-fun x7 () Real)
+(declare-fun x8 () Real)
+(declare-fun x9 () Real)
+(declare-fun x10 () Real)
+(declare-fun x11 () Real)
+(declare-fun x12 () Real)
+(declare-fun x13 () Real)
+(declare-fun x14 () Real)
+(declare-fun x15 () Real)
+(declare-fun x16 () Real)
+(declare-fun x17 () Real)
+(declare-fun x18 () Real)
+(declare-fun x19 () Real)
+(assert (<= (+ x10 (* 2 x11) (* (- 2) x13)) 18))
+(assert (<= (+ x1 (* (- 1) x3) (* 2 x6) (* 2 x7)) 2))
+(assert (<= (+ (* 2 x7) (* 2 x12)) (- 8)))
+(assert (<= (+ (* 2 x10) (* (- 1) x16)) 21))
+(assert (<= (+ x0 (* (- 1) x7) (* 2 x10)) 21))
+(assert (<= (+ (* (- 2) x0) x7 (* (- 1) x10) (* (- 2) x11)) (- 13)))
+(assert (<= (+ (* 2 x0) (* 2 x4) (* (- 1) x6) (* (- 2) x7) (* (- 1) x12) (* (- 1) x14) (* (- 1) x18)) 16))
+(assert (<= (+ (* (- 1) x0) (* (- 2) x2) (* 2 x11) (* (- 1) x19)) 35))
+(assert (<= (+ x2 (* (- 2) x4) (* (- 1) x10) x11) (- 22)))
+(assert (<= (+ (* (- 2) x2) (* (- 2) x7) (* 2 x8) (* (- 2) x9) x10 (* 2 x18)) 35))
+(assert (<= (+ (* 2 x1) (* 2 x9) (* 2 x18)) 36))
+(assert (<= (+ (* 2 x13) (* (- 2) x15) (* 2 x17) x18) (- 2)))
+(assert (<= (+ (* (- 2) x4) x8 x16) (- 13)))
+(assert (<= (+ x0 (* 2 x3) (* (- 1) x7)) 24))
+(assert (<= (+ (* (- 1) x0) (* (- 1) x4) (* 2 x7) (* (- 1) x9) x13 (* 2 x14) (* (- 2) x16) (* (- 2) x17)) (- 9)))
+(assert (<= (+ x8 (* 2 x14)) (- 11)))
+(assert (<= (+ x3 (* 2 x8) (* (- 2) x10) x17) (- 5)))
+(assert (<= (+ (* (- 2) x1) (* (- 1) x3) (* (- 2) x5) (* (- 2) x9) (* (- 1) x14) (* (- 1) x15)) (- 30)))
+(assert (<= (+ (* (- 2) x5) (* 2 x11)) (- 2)))
+(assert (<= (+ (* (- 1) x0) (* (- 1) x4)) (- 2)))
+(assert (<= (+ (* 2 x5) (* (- 1) x6)) 7))
+(assert (<= (+ (* (- 1) x14) (* (- 1) x15)) 12))
+(assert (<= (+ (* (- 2) x10) (* (- 2) x14)) 1))
+(assert (<= (+ (* 2 x12) (* (- 2) x18)) (- 10)))
+(assert (<= (+ x0 (* 2 x2) (* (- 1) x3) (* 2 x7) x11 (* 2 x19)) (- 43)))
+(assert (<= (+ x1 (* (- 2) x2) (* (- 2) x4) (* 2 x13) (* 2 x17) x19) (- 2)))
+(assert (<= (+ (* (- 2) x0) (* (- 1) x3) x5 (* (- 2) x8) x14 (* (- 2) x15) (* (- 2) x16) (* (- 2) x17)) 15))
+(assert (<= (+ x0 (* (- 2) x1) x4 x7 x8 (* (- 2) x14)) 5))
+(assert (<= (+ x1 (* 2 x10)) 26))
+(assert (<= (+ (* (- 2) x10) (* (- 2) x12) (* 2 x16) (* (- 2) x17)) (- 10)))
+(assert (and (>= x0 (- 50)) (<= x0 50)))
+(assert (and (>= x1 (- 50)) (<= x1 50)))
+(assert (and (>= x2 (- 50)) (<= x2 50)))
+(assert (and (>= x3 (- 50)) (<= x3 50)))
+(assert (and (>= x4 (- 50)) (<= x4 50)))
+(assert (and (>= x5 (- 50)) (<= x5 50)))
+(assert (and (>= x6 (- 50)) (<= x6 50)))
+(assert (and (>= x7 (- 50)) (<= x7 50)))
+(assert (and (>= x8 (- 50)) (<= x8 50)))
+(assert (and (>= x9 (- 50)) (<= x9 50)))
+(assert (and (>= x10 (- 50)) (<= x10 50)))
+(assert (and (>= x11 (- 50)) (<= x11 50)))
+(assert (and (>= x12 (- 50)) (<= x12 50)))
+(assert (and (>= x13 (- 50)) (<= x13 50)))
+(assert (and (>= x14 (- 50)) (<= x14 50)))
+(assert (and (>= x15 (- 50)) (<= x15 50)))
+(assert (and (>= x16 (- 50)) (<= x16 50)))
+(assert (and (>= x17 (- 50)) (<= x17 50)))
+(assert (and (>= x18 (- 50)) (<= x18 50)))
+(assert (and (>= x19 (- 50)) (<= x19 50)))
+(check-sat)
+(exit)
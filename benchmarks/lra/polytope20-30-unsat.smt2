@@ -0,0 +1,77 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |random polytope made empty by a Farkas combination, 20 variables, 30 constraints|)
+(set-info :status unsat)
+(declare-fun x0 () Real)
+(declare-fun x1 () Real)
+(declare-fun x2 () Real)
+(declare-fun x3 () Real)
+(declare-fun x4 () Real)
+(declare-fun x5 () Real)
+(declare-fun x6 () Real)
+(declare-fun x7 () Real)
+(declare-fun x8 () Real)
+(declare-fun x9 () Real)
+(declare-fun x10 () Real)
+(declare-fun x11 () Real)
+(declare-fun x12 () Real)
+(declare-fun x13 () Real)
+(declare-fun x14 () Real)
+(declare-fun x15 () Real)
+(declare-fun x16 () Real)
+(declare-fun x17 () Real)
+(declare-fun x18 () Real)
+(declare-fun x19 () Real)
+(assert (<= (+ (* (- 1) x2) x5 x9 (* 2 x10) (* 2 x11) (* 2 x17)) (- 16)))
+(assert (<= (+ (* (- 1) x2) (* (- 2) x15) (* (- 1) x17)) (- 23)))
+(assert (<= (+ (* (- 1) x1) (* (- 2) x3) (* 2 x5) (* (- 2) x6) (* 2 x8) x17 (* 2 x19)) 34))
+(assert (<= (+ (* 2 x0) (* (- 1) x3) (* (- 1) x8) x10 (* (- 2) x11)) (- 30)))
+(assert (<= (+ (* 2 x3) (* (- 2) x4) (* (- 1) x11) (* (- 1) x15) (* (- 2) x16)) (- 13)))
+(assert (<= (+ (* 2 x0) x6 x8 (* (- 2) x9)) (- 5)))
+(assert (<= (+ (* (- 1) x0) (* 2 x1) x2 (* 2 x4) x6 (* (- 1) x7) x10 (* 2 x12) (* (- 2) x15)) (- 19)))
+(assert (<= (+ (* 2 x9) (* (- 1) x18)) (- 14)))
+(assert (<= (+ (* (- 1) x3) (* 2 x6) (* 2 x16) (* (- 1) x18)) (- 19)))
+(assert (<= (+ (* 2 x0) (* 2 x15)) (- 2)))
+(assert (<= (+ (* (- 1) x1) x8) 9))
+(assert (<= (+ x3 (* 2 x9) (* (- 2) x17)) (- 15)))
+(assert (<= (+ (* 2 x4) (* (- 2) x7) (* (- 2) x8)) (- 21)))
+(assert (<= (+ (* (- 2) x1) (* 2 x5) x8 (* (- 2) x9) (* (- 1) x10) (* (- 2) x16)) 10))
+(assert (<= (+ (* (- 1) x1) (* (- 2) x2) (* 2 x4) (* (- 2) x8) (* 2 x13) (* 2 x18)) (- 15)))
+(assert (<= (+ x1 x2 (* (- 1) x5) (* (- 2) x6) (* (- 1) x11)) 29))
+(assert (<= (+ (* 2 x4) (* (- 2) x7) x11 (* (- 1) x16) (* (- 1) x19)) (- 16)))
+(assert (<= (+ (* (- 1) x3) (* 2 x8) (* (- 2) x10) (* (- 1) x13) (* (- 1) x18) (* (- 1) x19)) 12))
+(assert (<= (+ x2 x8 (* 2 x10) (* 2 x11) (* (- 2) x14)) 20))
+(assert (<= (+ (* (- 1) x2) (* 2 x18)) 7))
+(assert (<= (+ x1 (* (- 2) x10)) 14))
+(assert (<= (+ (* 2 x0) (* (- 1) x9) x13 (* (- 1) x15) (* 2 x18)) (- 4)))
+(assert (<= (+ x1 x14) (- 7)))
+(assert (<= (+ (* 2 x0) x6 (* 2 x7) x11) (- 7)))
+(assert (<= (+ (* (- 2) x2) (* 2 x7) (* 2 x18)) 17))
+(assert (<= (+ (* (- 1) x0) x13 (* 2 x14) (* (- 2) x17) (* (- 1) x19)) (- 24)))
+(assert (<= (+ (* (- 2) x1) (* 2 x4) (* (- 1) x6) x7 (* (- 2) x15)) 13))
+(assert (<= (+ (* (- 1) x6) (* (- 1) x7) x12 (* (- 2) x15) (* (- 1) x17) (* (- 2) x19)) (- 33)))
+(assert (<= (+ (* (- 1) x7) (* (- 2) x11) (* (- 2) x12) (* (- 2) x13) (* 2 x19)) 26))
+(assert (<= (+ x0 (* (- 2) x5) x9) (- 8)))
+(assert (and (>= x0 (- 50)) (<= x0 50)))
+(assert (and (>= x1 (- 50)) (<= x1 50)))
+(assert (and (>= x2 (- 50)) (<= x2 50)))
+(assert (and (>= x3 (- 50)) (<= x3 50)))
+(assert (and (>= x4 (- 50)) (<= x4 50)))
+(assert (and (>= x5 (- 50)) (<= x5 50)))
+(assert (and (>= x6 (- 50)) (<= x6 50)))
+(assert (and (>= x7 (- 50)) (<= x7 50)))
+(assert (and (>= x8 (- 50)) (<= x8 50)))
+(assert (and (>= x9 (- 50)) (<= x9 50)))
+(assert (and (>= x10 (- 50)) (<= x10 50)))
+(assert (and (>= x11 (- 50)) (<= x11 50)))
+(assert (and (>= x12 (- 50)) (<= x12 50)))
+(assert (and (>= x13 (- 50)) (<= x13 50)))
+(assert (and (>= x14 (- 50)) (<= x14 50)))
+(assert (and (>= x15 (- 50)) (<= x15 50)))
+(assert (and (>= x16 (- 50)) (<= x16 50)))
+(assert (and (>= x17 (- 50)) (<= x17 50)))
+(assert (and (>= x18 (- 50)) (<= x18 50)))
+(assert (and (>= x19 (- 50)) (<= x19 50)))
+(assert (<= (+ (* (- 2) x0) x1 x2 (* 2 x3) (* (- 2) x4) (* (- 3) x5) (* 2 x6) (* 2 x7) (* (- 2) x10) (* (- 2) x11) (* (- 1) x13) x15 (* (- 3) x17) (* (- 2) x18) (* (- 2) x19)) 6))
+(check-sat)
+(exit)
@@ -0,0 +1,111 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |random polytope containing a planted point, 30 variables, 45 constraints|)
+(set-info :status sat)
+(declare-fun x0 () Real)
+(declare-fun x1 () Real)
+(declare-fun x2 () Real)
+(declare-fun x3 () Real)
+(declare-fun x4 () Real)
+(declare-fun x5 () Real)
+(declare-fun x6 () Real)
+(declare-fun x7 () Real)
+(declare-fun x8 () Real)
+(declare-fun x9 () Real)
+(declare-fun x10 () Real)
+(declare-fun x11 () Real)
+(declare-fun x12 () Real)
+(declare-fun x13 () Real)
+(declare-fun x14 () Real)
+(declare-fun x15 () Real)
+(declare-fun x16 () Real)
+(declare-fun x17 () Real)
+(declare-fun x18 () Real)
+(declare-fun x19 () Real)
+(declare-fun x20 () Real)
+(declare-fun x21 () Real)
+(declare-fun x22 () Real)
+(declare-fun x23 () Real)
+(declare-fun x24 () Real)
+(declare-fun x25 () Real)
+(declare-fun x26 () Real)
+(declare-fun x27 () Real)
+(declare-fun x28 () Real)
+(declare-fun x29 () Real)
+(assert (<= (+ (* (- 2) x18) (* 2 x20) (* (- 2) x25) x27) 19))
+(assert (<= (+ (* 2 x1) (* (- 1) x3) (* (- 2) x4) (* (- 2) x25)) 34))
+(assert (<= (+ (* (- 2) x2) (* (- 1) x5) (* (- 2) x19) x20 x21 (* 2 x23)) 5))
+(assert (<= (+ (* (- 2) x1) (* (- 1) x2) (* (- 2) x4) (* (- 2) x8) x9 x10 (* 2 x16) (* 2 x17) (* 2 x19) (* (- 1) x23) (* (- 1) x24) x28) 80))
+(assert (<= (+ (* (- 2) x4) (* (- 2) x6) x9 (* (- 1) x25) (* (- 2) x29)) 25))
+(assert (<= (+ (* (- 1) x0) (* 2 x3) (* 2 x4) (* (- 1) x6) (* 2 x8) (* (- 2) x12) (* 2 x13) (* (- 1) x19) (* (- 1) x24)) (- 62)))
+(assert (<= (+ (* 2 x0) (* (- 1) x1) (* (- 1) x4) (* (- 1) x17) (* 2 x20)) 17))
+(assert (<= (+ (* (- 2) x1) (* 2 x2) x9 (* (- 1) x24) (* (- 2) x28)) (- 14)))
+(assert (<= (+ (* 2 x4) (* (- 1) x5) x11 (* 2 x17) x19 (* (- 1) x21) (* (- 2) x25) (* (- 2) x28)) 12))
+(assert (<= (+ (* (- 1) x0) (* (- 1) x1) x3 x5 (* 2 x10) (* (- 2) x17) x18 x21 (* (- 1) x28) x29) 10))
+(assert (<= (+ (* (- 2) x3) (* (- 1) x8) (* (- 2) x20) x28) 42))
+(assert (<= (+ (* 2 x0) x1 (* 2 x5) (* (- 1) x14) x17 (* (- 1) x18) (* (- 1) x24) x26) 16))
+(assert (<= (+ x1 x5 (* 2 x10) (* 2 x12) (* (- 2) x13) (* (- 1) x18) (* 2 x20)) (- 8)))
+(assert (<= (+ (* 2 x17) (* (- 1) x19)) (- 5)))
+(assert (<= (+ x1 (* (- 2) x4) (* 2 x6) (* (- 1) x7) (* (- 2) x8) (* 2 x11) (* 2 x12) (* 2 x16) x23 (* 2 x25)) 12))
+(assert (<= (+ x4 (* 2 x7) (* 2 x9) (* (- 1) x12) (* 2 x18) (* (- 2) x21) (* 2 x24) (* (- 1) x28)) (- 32)))
+(assert (<= (+ x0 (* (- 1) x6) (* 2 x9) (* 2 x12) (* 2 x19) x24 (* 2 x26)) 22))
+(assert (<= (+ (* 2 x12) (* 2 x16) (* (- 1) x22) (* (- 2) x23) (* 2 x24) (* 2 x26) (* (- 2) x29)) 3))
+(assert (<= (+ (* (- 1) x2) (* 2 x3) (* (- 1) x7) (* (- 1) x20) (* (- 2) x22) x25 (* (- 1) x29)) 4))
+(assert (<= (+ x1 x14 (* 2 x29)) (- 5)))
+(assert (<= (+ (* (- 2) x0) (* 2 x1) (* 2 x3) (* 2 x8) (* (- 1) x9) (* 2 x14) (* (- 1) x16) (* (- 2) x17) (* (- 2) x20) (* 2 x22)) (- 78)))
+(assert (<= (+ x4 (* (- 2) x13) x14 (* 2 x16) (* (- 2) x29)) (- 14)))
+(assert (<= (+ (* (- 2) x5) (* (- 1) x7) x15 x18 (* (- 2) x19) (* 2 x27)) 6))
+(assert (<= (+ x0 x1 (* 2 x11) x17 (* 2 x25) x26 (* (- 2) x27)) (- 9)))
+(assert (<= (+ (* (- 2) x1) (* (- 2) x3) (* (- 2) x8) (* (- 2) x25)) 69))
+(assert (<= (+ x14 (* 2 x15) x16 (* (- 2) x20) (* (- 1) x22) (* 2 x25) x29) (- 6)))
+(assert (<= (+ x13 (* (- 1) x15) (* (- 1) x19) (* (- 1) x21)) (- 20)))
+(assert (<= (+ (* 2 x6) x8 x11 (* (- 2) x14) (* (- 1) x20) x24 x25) 13))
+(assert (<= (+ (* (- 2) x2) (* 2 x3) x4 (* (- 2) x6) (* (- 1) x12) x14 (* 2 x23)) (- 3)))
+(assert (<= (+ (* 2 x2) (* (- 2) x19) x20 (* (- 2) x21) x26 (* (- 2) x27)) (- 70)))
+(assert (<= (+ (* (- 1) x2) (* (- 1) x4) (* (- 1) x20) (* 2 x22) (* (- 1) x27)) 10))
+(assert (<= (* (- 1) x23) 5))
+(assert (<= (+ (* (- 2) x5) (* 2 x13) (* (- 2) x21) (* 2 x22) (* 2 x29)) (- 24)))
+(assert (<= (+ x4 (* (- 2) x12) (* (- 1) x16) (* (- 2) x19) (* 2 x23) (* (- 2) x29)) (- 30)))
+(assert (<= (+ x0 x7 x8 (* (- 1) x14) (* 2 x16) (* (- 2) x20)) 22))
+(assert (<= (+ (* 2 x2) x13 (* 2 x15) (* (- 1) x22) (* 2 x23) (* (- 2) x25)) (- 7)))
+(assert (<= (+ (* (- 2) x4) (* 2 x12) x14 x22 (* (- 1) x24) x28 (* (- 2) x29)) (- 22)))
+(assert (<= (+ (* 2 x4) x8 x24) (- 18)))
+(assert (<= (+ (* 2 x4) (* 2 x9) x11 (* 2 x13) x17 x18 (* 2 x23)) (- 27)))
+(assert (<= (+ (* (- 1) x1) x7 (* (- 1) x9) (* 2 x15) (* (- 2) x25)) 21))
+(assert (<= (+ (* (- 1) x0) (* (- 2) x3) x4 (* 2 x7) x16 (* (- 2) x18) (* (- 1) x20) (* (- 2) x21)) (- 13)))
+(assert (<= (+ (* 2 x3) x4 x8 (* 2 x10) (* (- 2) x23) x25 x26 (* (- 2) x28)) (- 27)))
+(assert (<= (+ x0 (* (- 1) x5) x14 x19 x20 (* (- 1) x22)) 7))
+(assert (<= (+ x1 (* (- 2) x7) x19 x21 x27 x28) 29))
+(assert (<= (+ (* 2 x4) x7 (* (- 2) x10) (* (- 2) x11) (* 2 x14) (* 2 x17) (* (- 2) x27)) (- 78)))
+(assert (and (>= x0 (- 50)) (<= x0 50)))
+(assert (and (>= x1 (- 50)) (<= x1 50)))
+(assert (and (>= x2 (- 50)) (<= x2 50)))
+(assert (and (>= x3 (- 50)) (<= x3 50)))
+(assert (and (>= x4 (- 50)) (<= x4 50)))
+(assert (and (>= x5 (- 50)) (<= x5 50)))
+(assert (and (>= x6 (- 50)) (<= x6 50)))
+(assert (and (>= x7 (- 50)) (<= x7 50)))
+(assert (and (>= x8 (- 50)) (<= x8 50)))
+(assert (and (>= x9 (- 50)) (<= x9 50)))
+(assert (and (>= x10 (- 50)) (<= x10 50)))
+(assert (and (>= x11 (- 50)) (<= x11 50)))
+(assert (and (>= x12 (- 50)) (<= x12 50)))
+(assert (and (>= x13 (- 50)) (<= x13 50)))
+(assert (and (>= x14 (- 50)) (<= x14 50)))
+(assert (and (>= x15 (- 50)) (<= x15 50)))
+(assert (and (>= x16 (- 50)) (<= x16 50)))
+(assert (and (>= x17 (- 50)) (<= x17 50)))
+(assert (and (>= x18 (- 50)) (<= x18 50)))
+(assert (and (>= x19 (- 50)) (<= x19 50)))
+(assert (and (>= x20 (- 50)) (<= x20 50)))
+(assert (and (>= x21 (- 50)) (<= x21 50)))
+(assert (and (>= x22 (- 50)) (<= x22 50)))
+(assert (and (>= x23 (- 50)) (<= x23 50)))
+(assert (and (>= x24 (- 50)) (<= x24 50)))
+(assert (and (>= x25 (- 50)) (<= x25 50)))
+(assert (and (>= x26 (- 50)) (<= x26 50)))
+(assert (and (>= x27 (- 50)) (<= x27 50)))
+(assert (and (>= x28 (- 50)) (<= x28 50)))
+(assert (and (>= x29 (- 50)) (<= x29 50)))
+(check-sat)
+(exit)
@@ -0,0 +1,112 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_LRA)
+(set-info :source |random polytope made empty by a Farkas combination, 30 variables, 45 constraints|)
+(set-info :status unsat)
+(declare-fun x0 () Real)
+(declare-fun x1 () Real)
+(declare-fun x2 () Real)
+(declare-fun x3 () Real)
+(declare-fun x4 () Real)
+(declare-fun x5 () Real)
+(declare-fun x6 () Real)
+(declare-fun x7 () Real)
+(declare-fun x8 () Real)
+(declare-fun x9 () Real)
+(declare-fun x10 () Real)
+(declare-fun x11 () Real)
+(declare-fun x12 () Real)
+(declare-fun x13 () Real)
+(declare-fun x14 () Real)
+(declare-fun x15 () Real)
+(declare-fun x16 () Real)
+(declare-fun x17 () Real)
+(declare-fun x18 () Real)
+(declare-fun x19 () Real)
+(declare-fun x20 () Real)
+(declare-fun x21 () Real)
+(declare-fun x22 () Real)
+(declare-fun x23 () Real)
+(declare-fun x24 () Real)
+(declare-fun x25 () Real)
+(declare-fun x26 () Real)
+(declare-fun x27 () Real)
+(declare-fun x28 () Real)
+(declare-fun x29 () Real)
+(assert (<= (+ (* 2 x0) (* (- 1) x2) x8 (* 2 x9) (* (- 2) x10) x11 (* (- 2) x17) (* (- 2) x19) (* (- 1) x21) (* (- 1) x27) (* 2 x28)) (- 44)))
+(assert (<= (+ x1 (* 2 x3) (* (- 2) x21) (* 2 x22) (* 2 x25)) (- 18)))
+(assert (<= (+ x11 x14 (* 2 x19) (* (- 1) x21) x29) 10))
+(assert (<= (+ (* 2 x0) (* (- 1) x5) (* 2 x13) (* 2 x14) (* (- 2) x20) (* (- 1) x26) x28) 20))
+(assert (<= (+ x2 x3 (* 2 x16) (* (- 2) x20) (* (- 1) x23) (* (- 1) x24) (* 2 x25)) 5))
+(assert (<= (+ x1 (* (- 2) x5) (* (- 2) x9) (* 2 x12) (* (- 1) x16)) (- 22)))
+(assert (<= (+ (* 2 x5) (* (- 2) x12) x19 x22) 25))
+(assert (<= (+ x2 (* (- 1) x4) x13 (* (- 1) x14) x24 (* (- 2) x27) (* 2 x28) (* (- 1) x29)) 2))
+(assert (<= (+ x7 (* (- 2) x13) x17 (* 2 x22) (* 2 x26) (* 2 x27)) (- 21)))
+(assert (<= (+ (* (- 2) x2) (* (- 1) x10) (* (- 2) x19) (* (- 2) x25)) 27))
+(assert (<= (+ x6 (* 2 x7) x14 (* (- 1) x16) (* 2 x18) (* (- 1) x20) (* 2 x21) (* (- 2) x23) (* (- 1) x24) x26 (* 2 x27)) 3))
+(assert (<= (+ (* (- 2) x1) x10 (* 2 x13) (* (- 2) x15) x17 x18 (* (- 1) x23) x26 x27) 18))
+(assert (<= (+ (* (- 2) x8) (* 2 x17) (* (- 1) x22) (* (- 1) x26) x29) 39))
+(assert (<= (+ (* (- 1) x1) (* (- 1) x5) (* 2 x16) (* 2 x20) x22) (- 7)))
+(assert (<= (+ (* (- 2) x1) (* (- 1) x6) x15 (* 2 x21) (* (- 2) x24) x26) (- 3)))
+(assert (<= (+ (* (- 2) x4) (* 2 x9) (* 2 x10) (* 2 x11) (* 2 x13) x15 (* (- 2) x18) x28) 11))
+(assert (<= (+ (* (- 1) x1) (* (- 1) x3) (* (- 2) x5) (* (- 2) x7) (* (- 2) x18) (* (- 1) x21) (* 2 x27)) (- 2)))
+(assert (<= (+ (* (- 2) x4) (* (- 2) x9) (* (- 2) x11) (* 2 x13) (* (- 2) x17) x24 (* (- 2) x29)) 22))
+(assert (<= (+ x1 (* (- 1) x5) (* (- 1) x7) (* (- 2) x9) (* (- 1) x10) (* (- 1) x22) (* 2 x29)) 21))
+(assert (<= (+ (* 2 x3) (* 2 x4) (* 2 x7) x12 (* (- 2) x15)) (- 38)))
+(assert (<= (+ (* (- 1) x5) x8 (* 2 x14) x16 (* 2 x20) (* 2 x23) x26 (* 2 x27)) (- 5)))
+(assert (<= (* (- 1) x23) 2))
+(assert (<= (+ x12 x18 (* (- 2) x22) (* 2 x25)) (- 1)))
+(assert (<= (+ (* (- 1) x2) (* 2 x3) (* (- 2) x5) (* 2 x13) x15 (* 2 x20) (* 2 x23)) 14))
+(assert (<= (+ (* 2 x5) (* 2 x10) (* (- 1) x16) (* 2 x23) (* (- 2) x26)) 30))
+(assert (<= (+ (* (- 1) x13) (* 2 x15) (* (- 1) x20) (* 2 x21) (* (- 2) x29)) 17))
+(assert (<= (+ x4 x5 (* 2 x10) (* 2 x21) (* (- 2) x28)) (- 1)))
+(assert (<= (+ x3 (* 2 x4) (* (- 1) x11) (* 2 x17) (* (- 1) x18) x19 x21 x28) 11))
+(assert (<= (+ (* 2 x1) (* (- 1) x2) (* (- 2) x12) (* 2 x13) (* 2 x25) (* (- 1) x26)) 19))
+(assert (<= (+ (* (- 1) x0) (* 2 x11) (* (- 1) x12) x14 x15 (* 2 x17) (* 2 x22) (* 2 x23) (* (- 2) x25)) 42))
+(assert (<= (+ (* (- 1) x1) x9 (* 2 x10) (* (- 2) x11) x14 (* (- 2) x15) (* (- 1) x20) x25 x26) (- 25)))
+(assert (<= (+ (* 2 x1) (* (- 1) x3) (* (- 2) x9) (* (- 2) x15) x22 x24) (- 15)))
+(assert (<= (+ (* (- 2) x2) (* 2 x26)) 0))
+(assert (<= (+ x5 (* (- 1) x9) x12 (* (- 1) x14) (* (- 2) x21) (* (- 2) x26)) 25))
+(assert (<= (+ (* 2 x7) (* 2 x12) (* (- 2) x28) x29) (- 38)))
+(assert (<= (+ (* (- 1) x1) x2 (* (- 2) x3) (* (- 1) x4) (* (- 2) x9) x12 x13 (* (- 1) x24) x25 (* 2 x26)) (- 36)))
+(assert (<= (+ (* (- 1) x0) (* (- 1) x1) (* 2 x4) (* (- 2) x5) (* (- 1) x7) (* 2 x13) (* 2 x14) (* 2 x15) (* (- 2) x20) (* (- 2) x23)) 26))
+(assert (<= (+ x1 (* (- 1) x5) (* (- 2) x6) (* (- 1) x9) x12 (* (- 1) x13) (* 2 x15) (* (- 2) x19) (* (- 1) x20)) 13))
+(assert (<= (+ (* (- 2) x1) (* (- 2) x4) x5 (* 2 x9) (* (- 2) x10) (* (- 1) x16)) (- 8)))
+(assert (<= (+ x2 (* (- 2) x6) (* 2 x9) (* (- 1) x11) (* (- 1) x22) (* (- 1) x27) x28) (- 12)))
+(assert (<= (+ x0 (* (- 2) x10) (* 2 x12)) (- 30)))
+(assert (<= (+ x5 (* (- 1) x6) (* (- 2) x22) (* 2 x23) (* (- 1) x24) (* (- 2) x28)) 8))
+(assert (<= (+ (* 2 x5) (* (- 1) x6) x15 (* (- 2) x16) (* 2 x17) (* (- 1) x18) x25 (* (- 1) x27)) 4))
+(assert (<= (+ (* (- 2) x1) (* (- 2) x5) (* (- 2) x8) (* (- 2) x10) (* (- 2) x11) (* (- 2) x13) (* (- 1) x15) (* (- 2) x16) (* (- 2) x18) (* (- 2) x20) (* (- 1) x24) (* 2 x27)) (- 41)))
+(assert (<= (+ (* 2 x0) (* 2 x1) (* (- 2) x4) (* (- 1) x9) (* (- 1) x12) (* (- 1) x22) (* (- 2) x23) (* 2 x25) (* (- 2) x26)) 29))
+(assert (and (>= x0 (- 50)) (<= x0 50)))
+(assert (and (>= x1 (- 50)) (<= x1 50)))
+(assert (and (>= x2 (- 50)) (<= x2 50)))
+(assert (and (>= x3 (- 50)) (<= x3 50)))
+(assert (and (>= x4 (- 50)) (<= x4 50)))
+(assert (and (>= x5 (- 50)) (<= x5 50)))
+(assert (and (>= x6 (- 50)) (<= x6 50)))
+(assert (and (>= x7 (- 50)) (<= x7 50)))
+(assert (and (>= x8 (- 50)) (<= x8 50)))
+(assert (and (>= x9 (- 50)) (<= x9 50)))
+(assert (and (>= x10 (- 50)) (<= x10 50)))
+(assert (and (>= x11 (- 50)) (<= x11 50)))
+(assert (and (>= x12 (- 50)) (<= x12 50)))
+(assert (and (>= x13 (- 50)) (<= x13 50)))
+(assert (and (>= x14 (- 50)) (<= x14 50)))
+(assert (and (>= x15 (- 50)) (<= x15 50)))
+(assert (and (>= x16 (- 50)) (<= x16 50)))
+(assert (and (>= x17 (- 50)) (<= x17 50)))
+(assert (and (>= x18 (- 50)) (<= x18 50)))
+(assert (and (>= x19 (- 50)) (<= x19 50)))
+(assert (and (>= x20 (- 50)) (<= x20 50)))
+(assert (and (>= x21 (- 50)) (<= x21 50)))
+(assert (and (>= x22 (- 50)) (<= x22 50)))
+(assert (and (>= x23 (- 50)) (<= x23 50)))
+(assert (and (>= x24 (- 50)) (<= x24 50)))
+(assert (and (>= x25 (- 50)) (<= x25 50)))
+(assert (and (>= x26 (- 50)) (<= x26 50)))
+(assert (and (>= x27 (- 50)) (<= x27 50)))
+(assert (and (>= x28 (- 50)) (<= x28 50)))
+(assert (and (>= x29 (- 50)) (<= x29 50)))
+(assert (<= (+ (* (- 2) x0) x1 (* 2 x6) (* (- 2) x7) (* (- 1) x8) (* (- 5) x9) (* 2 x11) (* (- 2) x12) (* (- 1) x14) (* 2 x15) (* 2 x17) (* 2 x19) x20 x21 x22 (* (- 1) x25) (* (- 1) x26) (* 2 x27) (* (- 1) x28) (* (- 1) x29)) 118))
+(check-sat)
+(exit)
@@ -212,8 +212,7 @@ public abstract class Core implements IScope, IEnv {
     }
 
     public ArithItem sub(final ArithItem... ais) {
-        Lin l = new Lin();
-        l.add(ais[0].l);
+        Lin l = new Lin(ais[0].l);
         boolean is_real = ais[0].type.name.equals(REAL);
         for (int i = 1; i < ais.length; i++) {
             l.sub(ais[i].l);
@@ -225,13 +224,23 @@ public abstract class Core implements IScope, IEnv {
     }
 
     public ArithItem mult(final ArithItem... ais) {
-        Lin l = new Lin();
+        // at most one of the factors can be a non-constant expression, which is multiplied by the values of the others..
+        int xpr = 0;
+        for (int i = 0; i < ais.length; i++) {
+            if (!ais[i].l.isEmpty()) {
+                xpr = i;
+                break;
+            }
+        }
+        Lin l = new Lin(ais[xpr].l);
         boolean is_real = false;
-        for (ArithItem ai : ais) {
-            assert la_theory.lb(ai.l).eq(la_theory.ub(ai.l)) : "non-linear expression..";
-            assert la_theory.value(ai.l).inf.eq(0);
-            l.mult(la_theory.value(ai.l).rat);
-            if (ai.type.name.equals(REAL)) {
+        for (int i = 0; i < ais.length; i++) {
+            if (i != xpr) {
+                assert la_theory.lb(ais[i].l).eq(la_theory.ub(ais[i].l)) : "non-linear expression..";
+                assert la_theory.value(ais[i].l).inf.eq(0);
+                l.mult(la_theory.value(ais[i].l).rat);
+            }
+            if (ais[i].type.name.equals(REAL)) {
                 is_real = true;
             }
         }
@@ -239,8 +248,7 @@ public abstract class Core implements IScope, IEnv {
     }
 
     public ArithItem div(final ArithItem... ais) {
-        Lin l = new Lin();
-        l.add(ais[0].l);
+        Lin l = new Lin(ais[0].l);
         boolean is_real = ais[0].type.name.equals(REAL);
         for (int i = 1; i < ais.length; i++) {
             assert la_theory.lb(ais[i].l).eq(la_theory.ub(ais[i].l)) : "non-linear expression..";
@@ -468,8 +476,9 @@ public abstract class Core implements IScope, IEnv {
                             break;
                         case Type.INT:
                         case Type.REAL:
-                            for (Map.Entry<Integer, Rational> term : ((Item.ArithItem) atm.get(field.getKey())).l.vars.entrySet()) {
-                                la_theory.listen(term.getKey(), l);
+                            final Lin lin = ((Item.ArithItem) atm.get(field.getKey())).l;
+                            for (int i = 0; i < lin.size(); i++) {
+                                la_theory.listen(lin.var(i), l);
                             }
                             break;
                         case Type.STRING:
@@ -499,8 +508,9 @@ public abstract class Core implements IScope, IEnv {
                             break;
                         case Type.INT:
                         case Type.REAL:
-                            for (Map.Entry<Integer, Rational> term : ((Item.ArithItem) atm.get(field.getKey())).l.vars.entrySet()) {
-                                la_theory.forget(term.getKey(), l);
+                            final Lin lin = ((Item.ArithItem) atm.get(field.getKey())).l;
+                            for (int i = 0; i < lin.size(); i++) {
+                                la_theory.forget(lin.var(i), l);
                             }
                             break;
                         case Type.STRING:
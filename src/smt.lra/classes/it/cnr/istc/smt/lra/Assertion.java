@@ -58,20 +58,20 @@ class Assertion {
                     switch (th.sat_core.value(b)) {
                         case True:                                                          // we have a propositional inconsistency..
                             cnfl.add(new Lit(b, false));                                    // either the literal 'b' is false ..
-                            cnfl.add(th.assigns.get(LRATheory.lb_index(x_i)).reason.not()); // or what asserted the lower bound is false..
+                            cnfl.add(th.reason(LRATheory.lb_index(x_i)).not()); // or what asserted the lower bound is false..
                             return false;
                         case Undefined: // we propagate information to the sat core..
-                            th.sat_core.record(new Lit(b, false), th.assigns.get(LRATheory.lb_index(x_i)).reason.not());
+                            th.sat_core.record(new Lit(b, false), th.reason(LRATheory.lb_index(x_i)).not());
                     }
                     break;
                 case GEq: // the assertion is satisfied; [x_i >= lb(x_i)] -> [x_i >= v]..
                     switch (th.sat_core.value(b)) {
                         case False:                                                         // we have a propositional inconsistency..
                             cnfl.add(new Lit(b));                                           // either the literal 'b' is true ..
-                            cnfl.add(th.assigns.get(LRATheory.lb_index(x_i)).reason.not()); // or what asserted the lower bound is false..
+                            cnfl.add(th.reason(LRATheory.lb_index(x_i)).not()); // or what asserted the lower bound is false..
                             return false;
                         case Undefined: // we propagate information to the sat core..
-                            th.sat_core.record(new Lit(b), th.assigns.get(LRATheory.lb_index(x_i)).reason.not());
+                            th.sat_core.record(new Lit(b), th.reason(LRATheory.lb_index(x_i)).not());
                     }
                     break;
             }
@@ -96,20 +96,20 @@ class Assertion {
                     switch (th.sat_core.value(b)) {
                         case False:                                                         // we have a propositional inconsistency..
                             cnfl.add(new Lit(b));                                           // either the literal 'b' is true ..
-                            cnfl.add(th.assigns.get(LRATheory.ub_index(x_i)).reason.not()); // or what asserted the upper bound is false..
+                            cnfl.add(th.reason(LRATheory.ub_index(x_i)).not()); // or what asserted the upper bound is false..
                             return false;
                         case Undefined: // we propagate information to the sat core..
-                            th.sat_core.record(new Lit(b), th.assigns.get(LRATheory.ub_index(x_i)).reason.not());
+                            th.sat_core.record(new Lit(b), th.reason(LRATheory.ub_index(x_i)).not());
                     }
                     break;
                 case GEq: // the assertion is unsatisfable; [x_i <= ub(x_i)] -> ![x_i >= v]..
                     switch (th.sat_core.value(b)) {
                         case True:                                                          // we have a propositional inconsistency..
                             cnfl.add(new Lit(b, false));                                    // either the literal 'b' is false ..
-                            cnfl.add(th.assigns.get(LRATheory.ub_index(x_i)).reason.not()); // or what asserted the upper bound is false..
+                            cnfl.add(th.reason(LRATheory.ub_index(x_i)).not()); // or what asserted the upper bound is false..
                             return false;
                         case Undefined: // we propagate information to the sat core..
-                            th.sat_core.record(new Lit(b, false), th.assigns.get(LRATheory.ub_index(x_i)).reason.not());
+                            th.sat_core.record(new Lit(b, false), th.reason(LRATheory.ub_index(x_i)).not());
                     }
                     break;
             }
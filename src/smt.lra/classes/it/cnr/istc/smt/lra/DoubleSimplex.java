@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt.lra;
+
+import java.util.Arrays;
+
+/**
+ * A double-precision simplex used as a heuristic by {@link LRATheory}. A copy
+ * of the exact tableau, of the bounds and of the values is approximated with
+ * doubles and pivoted, according to Bland's rule, until every basic variable
+ * is within its bounds (up to a tolerance), until a row admits no pivot or
+ * until a maximum number of pivots is reached. The outcome is never trusted:
+ * the theory moves its exact tableau to the basis found here and lets its
+ * exact simplex verify (and, if needed, repair) the result, so that
+ * rounding errors may cost some exact pivots but never a wrong answer.
+ * <p>
+ * Strict bounds are approximated by moving them by {@link #DELTA} for each
+ * infinitesimal.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+class DoubleSimplex {
+
+    private static final double DELTA = 1e-6; // the value of an infinitesimal..
+    private static final double EPS = 1e-9; // the feasibility tolerance..
+    private static final double PIV_EPS = 1e-9; // the smallest (absolute) coefficient we are willing to pivot on..
+    private final double[] lbs; // for each variable, its lower bound..
+    private final double[] ubs; // for each variable, its upper bound..
+    private final double[] vals; // for each variable, its value..
+    private final Row[] rows; // for each variable, its row (null if the variable is not basic)..
+    private int[] tmp_vars = new int[16]; // a scratch buffer for the variables of the rows being updated..
+    private double[] tmp_coeffs = new double[16]; // a scratch buffer for the coefficients of the rows being updated..
+    private long n_pivots = 0; // the number of pivots..
+
+    DoubleSimplex(final int n_vars) {
+        this.lbs = new double[n_vars];
+        this.ubs = new double[n_vars];
+        this.vals = new double[n_vars];
+        this.rows = new Row[n_vars];
+    }
+
+    /**
+     * Sets the bounds and the value of variable {@code v}.
+     *
+     * @param v the variable.
+     * @param lb the lower bound of the variable.
+     * @param ub the upper bound of the variable.
+     * @param val the value of the variable.
+     */
+    void set(final int v, final InfRational lb, final InfRational ub, final InfRational val) {
+        lbs[v] = approx(lb);
+        ubs[v] = approx(ub);
+        vals[v] = approx(val);
+    }
+
+    /**
+     * Adds the row {@code x = l} to the tableau.
+     *
+     * @param x the basic variable of the row.
+     * @param l the linear expression of the row (whose known term is ignored).
+     */
+    void add_row(final int x, final Lin l) {
+        final Row row = new Row(x, l.size());
+        for (int i = 0; i < l.size(); i++) {
+            row.vars[i] = l.var(i);
+            row.coeffs[i] = l.coeff(i).doubleValue();
+        }
+        row.size = l.size();
+        rows[x] = row;
+    }
+
+    boolean is_basic(final int v) {
+        return rows[v] != null;
+    }
+
+    boolean at_lb(final int v) {
+        return vals[v] <= lbs[v];
+    }
+
+    boolean at_ub(final int v) {
+        return vals[v] >= ubs[v];
+    }
+
+    long getPivots() {
+        return n_pivots;
+    }
+
+    /**
+     * Pivots the tableau until every basic variable is within its bounds,
+     * until a violated row admits no pivot or until {@code max_pivots} pivots
+     * have been performed.
+     *
+     * @param max_pivots the maximum number of pivots.
+     * @return {@code true} if every basic variable is within its bounds.
+     */
+    boolean solve(final long max_pivots) {
+        for (long n = 0; n < max_pivots; n++) {
+            // we find the smallest basic variable whose value is outside its bounds (Bland's rule)..
+            int x_i = -1;
+            for (int v = 0; v < rows.length; v++) {
+                if (rows[v] != null && (vals[v] < lbs[v] - EPS * (1 + Math.abs(lbs[v])) || vals[v] > ubs[v] + EPS * (1 + Math.abs(ubs[v])))) {
+                    x_i = v;
+                    break;
+                }
+            }
+            if (x_i == -1) {
+                return true;
+            }
+            final Row row = rows[x_i];
+            final boolean increase = vals[x_i] < lbs[x_i];
+            int x_j = -1;
+            for (int i = 0; i < row.size; i++) {
+                final int v = row.vars[i];
+                final double c = row.coeffs[i];
+                if (Math.abs(c) > PIV_EPS && ((c > 0) == increase ? vals[v] < ubs[v] : vals[v] > lbs[v])) {
+                    x_j = v;
+                    break;
+                }
+            }
+            if (x_j == -1) {
+                return false; // the row is (likely) infeasible..
+            }
+            pivot_and_update(x_i, x_j, increase ? lbs[x_i] : ubs[x_i]);
+        }
+        return false;
+    }
+
+    private void pivot_and_update(final int x_i, final int x_j, final double v) {
+        final double theta = (v - vals[x_i]) / rows[x_i].get(x_j);
+        vals[x_i] = v;
+        vals[x_j] += theta;
+        for (Row row : rows) {
+            if (row != null && row.x != x_i) {
+                // x_k += a_kj * theta..
+                vals[row.x] += row.get(x_j) * theta;
+            }
+        }
+        pivot(x_i, x_j);
+    }
+
+    private void pivot(final int x_i, final int x_j) {
+        n_pivots++;
+        // the exiting row becomes the expression of x_j..
+        final Row xpr = rows[x_i];
+        rows[x_i] = null;
+        final double c = xpr.remove(x_j);
+        for (int i = 0; i < xpr.size; i++) {
+            xpr.coeffs[i] /= -c;
+        }
+        xpr.add(x_i, 1 / c);
+        xpr.x = x_j;
+
+        for (Row row : rows) {
+            if (row != null) {
+                final int idx = row.index(x_j);
+                if (idx >= 0) {
+                    final double a = row.coeffs[idx];
+                    row.remove(x_j);
+                    axpy(row, a, xpr);
+                }
+            }
+        }
+        rows[x_j] = xpr;
+    }
+
+    /**
+     * Computes {@code row += a * xpr}, merging the two (sorted) rows into the
+     * scratch buffers, which are then swapped with the arrays of the row.
+     * Coefficients which become negligible are dropped.
+     */
+    private void axpy(final Row row, final double a, final Row xpr) {
+        final int cap = row.size + xpr.size;
+        if (tmp_vars.length < cap) {
+            tmp_vars = new int[Math.max(cap, tmp_vars.length << 1)];
+            tmp_coeffs = new double[tmp_vars.length];
+        }
+        int i = 0, j = 0, k = 0;
+        while (i < row.size || j < xpr.size) {
+            final int v;
+            final double c;
+            if (j == xpr.size || (i < row.size && row.vars[i] < xpr.vars[j])) {
+                v = row.vars[i];
+                c = row.coeffs[i++];
+            } else if (i == row.size || xpr.vars[j] < row.vars[i]) {
+                v = xpr.vars[j];
+                c = a * xpr.coeffs[j++];
+            } else {
+                v = row.vars[i];
+                c = row.coeffs[i++] + a * xpr.coeffs[j++];
+            }
+            if (Math.abs(c) > PIV_EPS) {
+                tmp_vars[k] = v;
+                tmp_coeffs[k++] = c;
+            }
+        }
+        final int[] vs = row.vars;
+        final double[] cs = row.coeffs;
+        row.vars = tmp_vars;
+        row.coeffs = tmp_coeffs;
+        row.size = k;
+        tmp_vars = vs;
+        tmp_coeffs = cs;
+    }
+
+    private static double approx(final InfRational v) {
+        if (v.rat.isInfinite()) {
+            return v.rat.isPositive() ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        return v.rat.doubleValue() + v.inf.doubleValue() * DELTA;
+    }
+
+    /**
+     * A sparse row of the double tableau, whose variables are kept sorted.
+     */
+    private static class Row {
+
+        private int x; // the basic variable..
+        private int[] vars; // the (sorted) variables of the row..
+        private double[] coeffs; // the coefficients of the variables..
+        private int size; // the number of terms..
+
+        private Row(final int x, final int capacity) {
+            this.x = x;
+            this.vars = new int[Math.max(capacity, 4)];
+            this.coeffs = new double[vars.length];
+        }
+
+        private int index(final int v) {
+            return Arrays.binarySearch(vars, 0, size, v);
+        }
+
+        private double get(final int v) {
+            final int idx = index(v);
+            return idx >= 0 ? coeffs[idx] : 0;
+        }
+
+        private double remove(final int v) {
+            final int idx = index(v);
+            final double c = coeffs[idx];
+            System.arraycopy(vars, idx + 1, vars, idx, size - idx - 1);
+            System.arraycopy(coeffs, idx + 1, coeffs, idx, size - idx - 1);
+            size--;
+            return c;
+        }
+
+        private void add(final int v, final double c) {
+            final int idx = -index(v) - 1;
+            if (size == vars.length) {
+                vars = Arrays.copyOf(vars, size << 1);
+                coeffs = Arrays.copyOf(coeffs, size << 1);
+            }
+            System.arraycopy(vars, idx, vars, idx + 1, size - idx);
+            System.arraycopy(coeffs, idx, coeffs, idx + 1, size - idx);
+            vars[idx] = v;
+            coeffs[idx] = c;
+            size++;
+        }
+    }
+}
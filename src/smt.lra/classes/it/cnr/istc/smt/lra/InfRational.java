@@ -63,7 +63,7 @@ public class InfRational implements Comparable<InfRational> {
     }
 
     public boolean neq(final InfRational rhs) {
-        return rat.neq(rhs.rat) && inf.neq(rhs.inf);
+        return rat.neq(rhs.rat) || inf.neq(rhs.inf);
     }
 
     public boolean lt(final InfRational rhs) {
@@ -87,51 +87,51 @@ public class InfRational implements Comparable<InfRational> {
     }
 
     public boolean neq(final Rational rhs) {
-        return rat != rhs || inf.num != 0;
+        return rat.neq(rhs) || inf.neq(0);
     }
 
     public boolean lt(final Rational rhs) {
-        return rat.lt(rhs) || (rat.eq(rhs) && inf.num < 0);
+        return rat.lt(rhs) || (rat.eq(rhs) && inf.isNegative());
     }
 
     public boolean leq(final Rational rhs) {
-        return rat.leq(rhs) || (rat.eq(rhs) && inf.num <= 0);
+        return rat.leq(rhs) || (rat.eq(rhs) && !inf.isPositive());
     }
 
     public boolean eq(final Rational rhs) {
-        return rat.eq(rhs) && inf.num == 0;
+        return rat.eq(rhs) && inf.eq(0);
     }
 
     public boolean geq(final Rational rhs) {
-        return rat.geq(rhs) || (rat.eq(rhs) && inf.num >= 0);
+        return rat.geq(rhs) || (rat.eq(rhs) && !inf.isNegative());
     }
 
     public boolean gt(final Rational rhs) {
-        return rat.gt(rhs) || (rat.eq(rhs) && inf.num > 0);
+        return rat.gt(rhs) || (rat.eq(rhs) && inf.isPositive());
     }
 
     public boolean neq(final long rhs) {
-        return rat.neq(rhs) || inf.num != 0;
+        return rat.neq(rhs) || inf.neq(0);
     }
 
     public boolean lt(final long rhs) {
-        return rat.lt(rhs) || (rat.eq(rhs) && inf.num < 0);
+        return rat.lt(rhs) || (rat.eq(rhs) && inf.isNegative());
     }
 
     public boolean leq(final long rhs) {
-        return rat.leq(rhs) || (rat.eq(rhs) && inf.num <= 0);
+        return rat.leq(rhs) || (rat.eq(rhs) && !inf.isPositive());
     }
 
     public boolean eq(final long rhs) {
-        return rat.eq(rhs) && inf.num == 0;
+        return rat.eq(rhs) && inf.eq(0);
     }
 
     public boolean geq(final long rhs) {
-        return rat.geq(rhs) || (rat.eq(rhs) && inf.num >= 0);
+        return rat.geq(rhs) || (rat.eq(rhs) && !inf.isNegative());
     }
 
     public boolean gt(final long rhs) {
-        return rat.gt(rhs) || (rat.eq(rhs) && inf.num > 0);
+        return rat.gt(rhs) || (rat.eq(rhs) && inf.isPositive());
     }
 
     public InfRational plus(final InfRational rhs) {
@@ -193,11 +193,13 @@ public class InfRational implements Comparable<InfRational> {
     }
 
     public void mult(final Rational rhs) {
-        rat.add(rhs);
+        rat.mult(rhs);
+        inf.mult(rhs);
     }
 
     public void div(final Rational rhs) {
-        rat.sub(rhs);
+        rat.div(rhs);
+        inf.div(rhs);
     }
 
     public void add(final long rhs) {
@@ -209,11 +211,13 @@ public class InfRational implements Comparable<InfRational> {
     }
 
     public void mult(final long rhs) {
-        rat.add(rhs);
+        rat.mult(rhs);
+        inf.mult(rhs);
     }
 
     public void div(final long rhs) {
-        rat.sub(rhs);
+        rat.div(rhs);
+        inf.div(rhs);
     }
 
     public InfRational minus() {
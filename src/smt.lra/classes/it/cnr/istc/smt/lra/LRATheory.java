@@ -18,20 +18,20 @@ package it.cnr.istc.smt.lra;
 
 import static it.cnr.istc.smt.lra.Rational.NEGATIVE_INFINITY;
 import static it.cnr.istc.smt.lra.Rational.POSITIVE_INFINITY;
+import it.cnr.istc.smt.ExprTable;
 import it.cnr.istc.smt.Lit;
 import it.cnr.istc.smt.SatCore;
 import static it.cnr.istc.smt.SatCore.FALSE_var;
 import static it.cnr.istc.smt.SatCore.TRUE_var;
 import it.cnr.istc.smt.Theory;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -42,42 +42,94 @@ import java.util.TreeMap;
 public class LRATheory implements Theory {
 
     final SatCore sat_core;
-    final List<Bound> assigns = new ArrayList<>(); // the current assignments..
+    private InfRational[] bounds = new InfRational[16]; // for each bound (see lb_index and ub_index), its current value (bound values are never modified, hence they can be shared)..
+    private Lit[] reasons = new Lit[16]; // for each bound, the literal which has asserted its current value (null, if none)..
     private final List<InfRational> vals = new ArrayList<>(); // the current values..
     private final Map<Integer, Row> tableau = new TreeMap<>(); // the sparse matrix..
-    private final Map<String, Integer> exprs = new HashMap<>(); // the expressions (string to numeric variable) for which already exist slack variables..
-    private final Map<String, Integer> s_asrts = new HashMap<>(); // the assertions (string to boolean variable) used for reducing the number of boolean variables..
+    private final BitSet violated; // the basic variables which might be outside their bounds (a superset of those actually outside their bounds)..
+    private final ExprTable exprs; // the expressions (structural key to numeric variable) for which already exist slack variables..
+    private final ExprTable s_asrts; // the assertions (structural key to boolean variable) used for reducing the number of boolean variables..
     private final Map<Integer, Assertion> v_asrts = new HashMap<>(); // the assertions (boolean variable to assertion) used for enforcing (negating) assertions..
     final List<Collection<Assertion>> a_watches = new ArrayList<>(); // for each variable 'v', a list of assertions watching 'v'..
     final List<Set<Row>> t_watches = new ArrayList<>(); // for each variable 'v', a list of tableau rows watching 'v'..
-    private final Deque<Map<Integer, Bound>> layers = new ArrayDeque<>(); // we store the updated bounds..
+    private int[] b_trail = new int[16]; // the indexes of the updated bounds, in chronological order..
+    private InfRational[] b_trail_vals = new InfRational[16]; // the values of the bounds before their update..
+    private Lit[] b_trail_reasons = new Lit[16]; // the reasons of the bounds before their update..
+    private int b_trail_sz = 0; // the number of updated bounds..
+    private int[] b_trail_lim = new int[16]; // for each layer, the size of the bound trail when the layer has been pushed..
+    private int b_trail_lim_sz = 0; // the number of layers..
+    private boolean dirty = false; // whether some bound has been updated since the last successful check..
+    private long n_pivots = 0; // the number of pivots..
+    private int fp_threshold = -1; // the number of exact pivots of a check after which the double-precision simplex is tried (never, if negative)..
+    private long n_fp_pivots = 0; // the number of pivots performed by the double-precision simplex..
     private final Map<Integer, Collection<LRAValueListener>> listeners = new HashMap<>();
 
     public LRATheory(final SatCore core) {
         this.sat_core = core;
+        this.violated = new BitSet();
+        this.exprs = new ExprTable();
+        this.s_asrts = new ExprTable();
         core.addTheory(this);
     }
 
+    private LRATheory(final SatCore core, final LRATheory th) {
+        this.sat_core = core;
+        // bound values are never modified, hence they can be shared..
+        this.bounds = Arrays.copyOf(th.bounds, th.bounds.length);
+        this.reasons = Arrays.copyOf(th.reasons, th.reasons.length);
+        for (InfRational val : th.vals) {
+            vals.add(new InfRational(val));
+            a_watches.add(new ArrayList<>());
+            t_watches.add(new HashSet<>());
+        }
+        // rows are modified by pivoting, hence they are copied..
+        for (Row row : th.tableau.values()) {
+            tableau.put(row.x, new Row(this, row.x, new Lin(row.l)));
+        }
+        this.violated = (BitSet) th.violated.clone();
+        this.exprs = new ExprTable(th.exprs);
+        this.s_asrts = new ExprTable(th.s_asrts);
+        for (Assertion a : th.v_asrts.values()) {
+            v_asrts.put(a.b, new Assertion(this, a.op, a.b, a.x, a.v));
+        }
+        this.b_trail = Arrays.copyOf(th.b_trail, th.b_trail.length);
+        this.b_trail_vals = Arrays.copyOf(th.b_trail_vals, th.b_trail_vals.length);
+        this.b_trail_reasons = Arrays.copyOf(th.b_trail_reasons, th.b_trail_reasons.length);
+        this.b_trail_sz = th.b_trail_sz;
+        this.b_trail_lim = Arrays.copyOf(th.b_trail_lim, th.b_trail_lim.length);
+        this.b_trail_lim_sz = th.b_trail_lim_sz;
+        this.dirty = th.dirty;
+        this.n_pivots = th.n_pivots;
+        this.fp_threshold = th.fp_threshold;
+        this.n_fp_pivots = th.n_fp_pivots;
+    }
+
     public int newVar() {
         final int id = vals.size();
-        assigns.add(new Bound(new InfRational(NEGATIVE_INFINITY), null));
-        assigns.add(new Bound(new InfRational(POSITIVE_INFINITY), null));
+        if (ub_index(id) >= bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length << 1);
+            reasons = Arrays.copyOf(reasons, reasons.length << 1);
+        }
+        bounds[lb_index(id)] = new InfRational(NEGATIVE_INFINITY);
+        bounds[ub_index(id)] = new InfRational(POSITIVE_INFINITY);
         vals.add(new InfRational(0));
-        exprs.put("x" + id, id);
         a_watches.add(new ArrayList<>());
         t_watches.add(new HashSet<>());
         return id;
     }
 
     public int newVar(final Lin l) {
-        final String s_xpr = l.toString();
-        Integer sl_xpr = exprs.get(s_xpr);
-        if (sl_xpr != null) {
+        if (l.size() == 1 && l.known_term.eq(0) && l.coeff(0).eq(1)) {
+            return l.var(0); // the expression is a variable..
+        }
+        final int[] key = key(l);
+        final int sl_xpr = exprs.get(key, key.length);
+        if (sl_xpr != -1) {
             return sl_xpr; // the expression already exists..
         } else {
             // we need to create a new slack variable..
             final int slack = newVar();
-            exprs.put(s_xpr, slack);
+            exprs.put(key, key.length, slack);
             vals.set(slack, value(l)); // we set the initial value of the new slack variable..
             tableau.put(slack, new Row(this, slack, l)); // we add a new row into the tableau..
             return slack;
@@ -86,10 +138,10 @@ public class LRATheory implements Theory {
 
     public int newLt(final Lin left, final Lin right) {
         Lin xpr = left.minus(right);
-        for (Map.Entry<Integer, Rational> term : new HashMap<>(xpr.vars).entrySet()) {
-            Row row = tableau.get(term.getKey());
+        for (int x : xpr.vars()) {
+            Row row = tableau.get(x);
             if (row != null) {
-                xpr.add(row.l.times(xpr.vars.remove(term.getKey())));
+                xpr.axpy(xpr.remove(x), row.l);
             }
         }
 
@@ -103,14 +155,14 @@ public class LRATheory implements Theory {
         }
 
         final int slack = newVar(xpr);
-        final String s_assertion = "x" + slack + " <= " + c_right.toString();
-        final Integer asrt_var = s_asrts.get(s_assertion);
-        if (asrt_var != null) {
+        final int[] key = key(Assertion.Op.LEq, slack, c_right);
+        final int asrt_var = s_asrts.get(key, key.length);
+        if (asrt_var != -1) {
             return asrt_var; // this assertion already exists..
         } else {
             final int ctr = sat_core.newVar();
             sat_core.bind(ctr, this);
-            s_asrts.put(s_assertion, ctr);
+            s_asrts.put(key, key.length, ctr);
             v_asrts.put(ctr, new Assertion(this, Assertion.Op.LEq, ctr, slack, c_right));
             return ctr;
         }
@@ -118,10 +170,10 @@ public class LRATheory implements Theory {
 
     public int newLEq(final Lin left, final Lin right) {
         Lin xpr = left.minus(right);
-        for (Map.Entry<Integer, Rational> term : new HashMap<>(xpr.vars).entrySet()) {
-            Row row = tableau.get(term.getKey());
+        for (int x : xpr.vars()) {
+            Row row = tableau.get(x);
             if (row != null) {
-                xpr.add(row.l.times(xpr.vars.remove(term.getKey())));
+                xpr.axpy(xpr.remove(x), row.l);
             }
         }
 
@@ -135,14 +187,14 @@ public class LRATheory implements Theory {
         }
 
         final int slack = newVar(xpr);
-        final String s_assertion = "x" + slack + " <= " + c_right.toString();
-        final Integer asrt_var = s_asrts.get(s_assertion);
-        if (asrt_var != null) {
+        final int[] key = key(Assertion.Op.LEq, slack, c_right);
+        final int asrt_var = s_asrts.get(key, key.length);
+        if (asrt_var != -1) {
             return asrt_var; // this assertion already exists..
         } else {
             final int ctr = sat_core.newVar();
             sat_core.bind(ctr, this);
-            s_asrts.put(s_assertion, ctr);
+            s_asrts.put(key, key.length, ctr);
             v_asrts.put(ctr, new Assertion(this, Assertion.Op.LEq, ctr, slack, c_right));
             return ctr;
         }
@@ -154,10 +206,10 @@ public class LRATheory implements Theory {
 
     public int newGEq(final Lin left, final Lin right) {
         Lin xpr = left.minus(right);
-        for (Map.Entry<Integer, Rational> term : new HashMap<>(xpr.vars).entrySet()) {
-            Row row = tableau.get(term.getKey());
+        for (int x : xpr.vars()) {
+            Row row = tableau.get(x);
             if (row != null) {
-                xpr.add(row.l.times(xpr.vars.remove(term.getKey())));
+                xpr.axpy(xpr.remove(x), row.l);
             }
         }
 
@@ -171,14 +223,14 @@ public class LRATheory implements Theory {
         }
 
         final int slack = newVar(xpr);
-        final String s_assertion = "x" + slack + " >= " + c_right.toString();
-        final Integer asrt_var = s_asrts.get(s_assertion);
-        if (asrt_var != null) {
+        final int[] key = key(Assertion.Op.GEq, slack, c_right);
+        final int asrt_var = s_asrts.get(key, key.length);
+        if (asrt_var != -1) {
             return asrt_var; // this assertion already exists..
         } else {
             final int ctr = sat_core.newVar();
             sat_core.bind(ctr, this);
-            s_asrts.put(s_assertion, ctr);
+            s_asrts.put(key, key.length, ctr);
             v_asrts.put(ctr, new Assertion(this, Assertion.Op.GEq, ctr, slack, c_right));
             return ctr;
         }
@@ -186,10 +238,10 @@ public class LRATheory implements Theory {
 
     public int newGt(final Lin left, final Lin right) {
         Lin xpr = left.minus(right);
-        for (Map.Entry<Integer, Rational> term : new HashMap<>(xpr.vars).entrySet()) {
-            Row row = tableau.get(term.getKey());
+        for (int x : xpr.vars()) {
+            Row row = tableau.get(x);
             if (row != null) {
-                xpr.add(row.l.times(xpr.vars.remove(term.getKey())));
+                xpr.axpy(xpr.remove(x), row.l);
             }
         }
 
@@ -203,19 +255,60 @@ public class LRATheory implements Theory {
         }
 
         final int slack = newVar(xpr);
-        final String s_assertion = "x" + slack + " >= " + c_right.toString();
-        final Integer asrt_var = s_asrts.get(s_assertion);
-        if (asrt_var != null) {
+        final int[] key = key(Assertion.Op.GEq, slack, c_right);
+        final int asrt_var = s_asrts.get(key, key.length);
+        if (asrt_var != -1) {
             return asrt_var; // this assertion already exists..
         } else {
             final int ctr = sat_core.newVar();
             sat_core.bind(ctr, this);
-            s_asrts.put(s_assertion, ctr);
+            s_asrts.put(key, key.length, ctr);
             v_asrts.put(ctr, new Assertion(this, Assertion.Op.GEq, ctr, slack, c_right));
             return ctr;
         }
     }
 
+    /**
+     * Returns the structural key of the linear expression {@code l} (i.e., the
+     * number of terms followed, for each term, in increasing order of
+     * variable, by the variable and by the key of its coefficient, and then by
+     * the key of the known term).
+     *
+     * @param l the linear expression.
+     * @return the structural key of the linear expression.
+     */
+    private static int[] key(final Lin l) {
+        int size = 1 + l.size() + l.known_term.key_size();
+        for (int j = 0; j < l.size(); j++) {
+            size += l.coeff(j).key_size();
+        }
+        final int[] key = new int[size];
+        int i = 0;
+        key[i++] = l.size();
+        for (int j = 0; j < l.size(); j++) {
+            key[i++] = l.var(j);
+            i = l.coeff(j).key(key, i);
+        }
+        l.known_term.key(key, i);
+        return key;
+    }
+
+    /**
+     * Returns the structural key of the assertion {@code x op c}.
+     *
+     * @param op the operator of the assertion.
+     * @param x the variable of the assertion.
+     * @param c the constant of the assertion.
+     * @return the structural key of the assertion.
+     */
+    private static int[] key(final Assertion.Op op, final int x, final InfRational c) {
+        final int[] key = new int[2 + c.rat.key_size() + c.inf.key_size()];
+        key[0] = op.ordinal();
+        key[1] = x;
+        c.inf.key(key, c.rat.key(key, 2));
+        return key;
+    }
+
     /**
      * Returns the current lower bound of variable 'v'.
      *
@@ -223,7 +316,7 @@ public class LRATheory implements Theory {
      * @return the lower bound of variable 'v'.
      */
     public InfRational lb(final int v) {
-        return assigns.get(lb_index(v)).value;
+        return bounds[lb_index(v)];
     }
 
     /**
@@ -233,7 +326,7 @@ public class LRATheory implements Theory {
      * @return the upper bound of variable 'v'.
      */
     public InfRational ub(final int v) {
-        return assigns.get(ub_index(v)).value;
+        return bounds[ub_index(v)];
     }
 
     /**
@@ -254,8 +347,8 @@ public class LRATheory implements Theory {
      */
     public InfRational lb(final Lin l) {
         InfRational v = new InfRational(l.known_term);
-        for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-            v.add((term.getValue().isPositive() ? lb(term.getKey()) : ub(term.getKey())).times(term.getValue()));
+        for (int i = 0; i < l.size(); i++) {
+            v.add((l.coeff(i).isPositive() ? lb(l.var(i)) : ub(l.var(i))).times(l.coeff(i)));
         }
         return v;
     }
@@ -268,8 +361,8 @@ public class LRATheory implements Theory {
      */
     public InfRational ub(final Lin l) {
         InfRational v = new InfRational(l.known_term);
-        for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-            v.add((term.getValue().isPositive() ? ub(term.getKey()) : lb(term.getKey())).times(term.getValue()));
+        for (int i = 0; i < l.size(); i++) {
+            v.add((l.coeff(i).isPositive() ? ub(l.var(i)) : lb(l.var(i))).times(l.coeff(i)));
         }
         return v;
     }
@@ -282,8 +375,8 @@ public class LRATheory implements Theory {
      */
     public InfRational value(final Lin l) {
         InfRational v = new InfRational(l.known_term);
-        for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-            v.add(value(term.getKey()).times(term.getValue()));
+        for (int i = 0; i < l.size(); i++) {
+            v.add(value(l.var(i)).times(l.coeff(i)));
         }
         return v;
     }
@@ -294,9 +387,9 @@ public class LRATheory implements Theory {
         Assertion a = v_asrts.get(p.v);
         switch (a.op) {
             case LEq:
-                return p.sign ? assert_upper(a.x, new InfRational(a.v), p, cnfl) : assert_lower(a.x, new InfRational(a.v), p, cnfl);
+                return p.sign ? assert_upper(a.x, a.v, p, cnfl) : assert_lower(a.x, a.v, p, cnfl);
             case GEq:
-                return p.sign ? assert_lower(a.x, new InfRational(a.v), p, cnfl) : assert_upper(a.x, new InfRational(a.v), p, cnfl);
+                return p.sign ? assert_lower(a.x, a.v, p, cnfl) : assert_upper(a.x, a.v, p, cnfl);
             default:
                 throw new AssertionError(a.op.name());
         }
@@ -305,82 +398,230 @@ public class LRATheory implements Theory {
     @Override
     public boolean check(Collection<Lit> cnfl) {
         assert cnfl.isEmpty();
+        final long start = n_pivots;
+        boolean fp_pending = fp_threshold >= 0;
         while (true) {
-            // we find a basic variable whose value is outside its bounds..
-            Optional<Map.Entry<Integer, Row>> x_i = tableau.entrySet().stream().filter(row -> value(row.getKey()).lt(lb(row.getKey())) || value(row.getKey()).gt(ub(row.getKey()))).findFirst();
-            if (!x_i.isPresent()) {
+            // we find the smallest basic variable whose value is outside its bounds (Bland's rule)..
+            final int x_i = violated.nextSetBit(0);
+            if (x_i < 0) {
+                dirty = false;
                 return true;
             }
-            if (value(x_i.get().getKey()).lt(lb(x_i.get().getKey()))) {
+            final Row row = tableau.get(x_i);
+            if (row == null) {
+                // the variable has left the basis..
+                violated.clear(x_i);
+                continue;
+            }
+            final boolean below = vals.get(x_i).lt(lb(x_i));
+            if (!below && !vals.get(x_i).gt(ub(x_i))) {
+                // the variable is within its bounds..
+                violated.clear(x_i);
+                continue;
+            }
+            if (fp_pending && n_pivots - start >= fp_threshold) {
+                // we let the double-precision simplex look for a better basis, which the exact simplex will then verify..
+                fp_pending = false;
+                fp_solve();
+                continue;
+            }
+            if (below) {
                 // the current value is lower than the lower bound..
-                Optional<Map.Entry<Integer, Rational>> x_j = x_i.get().getValue().l.vars.entrySet().stream().filter(term -> (term.getValue().isPositive() && value(term.getKey()).lt(ub(term.getKey()))) || (term.getValue().isNegative() && value(term.getKey()).gt(lb(term.getKey())))).findFirst();
-                if (x_j.isPresent()) {
+                final Lin l = row.l;
+                int x_j = -1;
+                for (int i = 0; i < l.size(); i++) { // the variables of a row are sorted, hence the first suitable one is the smallest..
+                    if ((l.coeff(i).isPositive() && vals.get(l.var(i)).lt(ub(l.var(i)))) || (l.coeff(i).isNegative() && vals.get(l.var(i)).gt(lb(l.var(i))))) {
+                        x_j = l.var(i);
+                        break;
+                    }
+                }
+                if (x_j != -1) {
                     // var x_j can be used to increase the value of x_i..
-                    pivot_and_update(x_i.get().getKey(), x_j.get().getKey(), new InfRational(lb(x_i.get().getKey())));
+                    violated.clear(x_i);
+                    pivot_and_update(x_i, x_j, new InfRational(lb(x_i)));
                 } else {
                     // we generate an explanation for the conflict..
-                    for (Map.Entry<Integer, Rational> term : x_i.get().getValue().l.vars.entrySet()) {
-                        if (term.getValue().isPositive()) {
-                            cnfl.add(assigns.get(ub_index(term.getKey())).reason.not());
-                        } else if (term.getValue().isNegative()) {
-                            cnfl.add(assigns.get(lb_index(term.getKey())).reason.not());
+                    for (int i = 0; i < l.size(); i++) {
+                        if (l.coeff(i).isPositive()) {
+                            cnfl.add(reasons[ub_index(l.var(i))].not());
+                        } else if (l.coeff(i).isNegative()) {
+                            cnfl.add(reasons[lb_index(l.var(i))].not());
                         }
                     }
-                    cnfl.add(assigns.get(lb_index(x_i.get().getKey())).reason.not());
+                    cnfl.add(reasons[lb_index(x_i)].not());
                     return false;
                 }
-            }
-            if (value(x_i.get().getKey()).gt(ub(x_i.get().getKey()))) {
+            } else {
                 // the current value is greater than the upper bound..
-                Optional<Map.Entry<Integer, Rational>> x_j = x_i.get().getValue().l.vars.entrySet().stream().filter(term -> (term.getValue().isNegative() && value(term.getKey()).lt(ub(term.getKey()))) || (term.getValue().isPositive() && value(term.getKey()).gt(lb(term.getKey())))).findFirst();
-                if (x_j.isPresent()) {
+                final Lin l = row.l;
+                int x_j = -1;
+                for (int i = 0; i < l.size(); i++) { // the variables of a row are sorted, hence the first suitable one is the smallest..
+                    if ((l.coeff(i).isNegative() && vals.get(l.var(i)).lt(ub(l.var(i)))) || (l.coeff(i).isPositive() && vals.get(l.var(i)).gt(lb(l.var(i))))) {
+                        x_j = l.var(i);
+                        break;
+                    }
+                }
+                if (x_j != -1) {
                     // var x_j can be used to decrease the value of x_i..
-                    pivot_and_update(x_i.get().getKey(), x_j.get().getKey(), new InfRational(ub(x_i.get().getKey())));
+                    violated.clear(x_i);
+                    pivot_and_update(x_i, x_j, new InfRational(ub(x_i)));
                 } else {
                     // we generate an explanation for the conflict..
-                    for (Map.Entry<Integer, Rational> term : x_i.get().getValue().l.vars.entrySet()) {
-                        if (term.getValue().isPositive()) {
-                            cnfl.add(assigns.get(lb_index(term.getKey())).reason.not());
-                        } else if (term.getValue().isNegative()) {
-                            cnfl.add(assigns.get(ub_index(term.getKey())).reason.not());
+                    for (int i = 0; i < l.size(); i++) {
+                        if (l.coeff(i).isPositive()) {
+                            cnfl.add(reasons[lb_index(l.var(i))].not());
+                        } else if (l.coeff(i).isNegative()) {
+                            cnfl.add(reasons[ub_index(l.var(i))].not());
                         }
                     }
-                    cnfl.add(assigns.get(ub_index(x_i.get().getKey())).reason.not());
+                    cnfl.add(reasons[ub_index(x_i)].not());
                     return false;
                 }
             }
         }
     }
 
+    /**
+     * Runs the double-precision simplex on an approximation of the current
+     * tableau and moves the exact tableau to the basis it finds. The exact
+     * tableau is pivoted, one basis exchange at a time, towards the found
+     * basis (exchanges which are not possible in exact arithmetic, because of
+     * rounding errors, are skipped) and the non-basic variables are moved to
+     * the bounds they have been moved to by the double-precision simplex.
+     * Nothing is trusted: the exact simplex takes over from the resulting
+     * basis, verifying its feasibility and, if needed, repairing it or
+     * explaining its infeasibility.
+     */
+    private void fp_solve() {
+        final DoubleSimplex fp = new DoubleSimplex(vals.size());
+        for (int v = 0; v < vals.size(); v++) {
+            fp.set(v, lb(v), ub(v), vals.get(v));
+        }
+        for (Row row : tableau.values()) {
+            fp.add_row(row.x, row.l);
+        }
+        fp.solve(16L * vals.size());
+        n_fp_pivots += fp.getPivots();
+
+        // we move the exact tableau towards the found basis..
+        for (int x_i : tableau.keySet().toArray(new Integer[tableau.size()])) {
+            if (!fp.is_basic(x_i)) {
+                final Lin l = tableau.get(x_i).l;
+                for (int i = 0; i < l.size(); i++) {
+                    if (fp.is_basic(l.var(i))) {
+                        final int x_j = l.var(i);
+                        pivot(x_i, x_j);
+                        violated.set(x_j);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // we move the non-basic variables to their bounds (x_i, in particular, might have left the basis outside its bounds)..
+        for (int v = 0; v < vals.size(); v++) {
+            if (!tableau.containsKey(v)) {
+                final InfRational val = vals.get(v);
+                InfRational c_val = null;
+                if (val.lt(lb(v)) || (fp.at_lb(v) && !lb(v).rat.isInfinite() && val.neq(lb(v)))) {
+                    c_val = lb(v);
+                } else if (val.gt(ub(v)) || (fp.at_ub(v) && !ub(v).rat.isInfinite() && val.neq(ub(v)))) {
+                    c_val = ub(v);
+                }
+                if (c_val != null) {
+                    update(v, new InfRational(c_val));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether some bound has been tightened since the last successful
+     * check. Retracting bounds does not make the theory dirty, since the
+     * values which satisfy the tighter bounds satisfy the looser ones as well.
+     *
+     * @return whether some bound has been updated since the last successful
+     * check.
+     */
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
     @Override
     public void push() {
-        layers.addFirst(new HashMap<>());
+        if (b_trail_lim_sz == b_trail_lim.length) {
+            b_trail_lim = Arrays.copyOf(b_trail_lim, b_trail_lim_sz << 1);
+        }
+        b_trail_lim[b_trail_lim_sz++] = b_trail_sz;
     }
 
     @Override
     public void pop() {
-        // we restore the variables' bounds and their reason..
-        for (Map.Entry<Integer, Bound> bound : layers.pollFirst().entrySet()) {
-            assigns.set(bound.getKey(), bound.getValue());
+        // we restore the variables' bounds and their reason, in reverse chronological order..
+        final int lim = b_trail_lim[--b_trail_lim_sz];
+        while (b_trail_sz > lim) {
+            b_trail_sz--;
+            bounds[b_trail[b_trail_sz]] = b_trail_vals[b_trail_sz];
+            reasons[b_trail[b_trail_sz]] = b_trail_reasons[b_trail_sz];
+            b_trail_vals[b_trail_sz] = null;
+            b_trail_reasons[b_trail_sz] = null;
         }
     }
 
+    /**
+     * Returns a copy of this theory, including its tableau and its current
+     * bounds and values, working on the given fork of its SAT core. The
+     * listeners are not copied.
+     *
+     * @param core the fork of the SAT core this theory works on.
+     * @return a copy of this theory.
+     */
+    @Override
+    public LRATheory fork(final SatCore core) {
+        return new LRATheory(core, this);
+    }
+
+    /**
+     * Sets the bound of index {@code b_index} to {@code val}, as a consequence
+     * of {@code reason}. Bound values are shared and never modified, hence
+     * neither the new value nor the previous one, which is stored on the
+     * bound trail for subsequent backtracking, need to be copied.
+     */
+    private void set_bound(final int b_index, final InfRational val, final Lit reason) {
+        if (b_trail_lim_sz > 0) {
+            // we store the current bound for subsequent backtracking..
+            if (b_trail_sz == b_trail.length) {
+                b_trail = Arrays.copyOf(b_trail, b_trail_sz << 1);
+                b_trail_vals = Arrays.copyOf(b_trail_vals, b_trail_sz << 1);
+                b_trail_reasons = Arrays.copyOf(b_trail_reasons, b_trail_sz << 1);
+            }
+            b_trail[b_trail_sz] = b_index;
+            b_trail_vals[b_trail_sz] = bounds[b_index];
+            b_trail_reasons[b_trail_sz++] = reasons[b_index];
+        }
+        bounds[b_index] = val;
+        reasons[b_index] = reason;
+        dirty = true;
+    }
+
     private boolean assert_lower(final int x_i, final InfRational val, final Lit p, final Collection<Lit> cnfl) {
         assert cnfl.isEmpty();
         if (val.leq(lb(x_i))) {
             return true;
         } else if (val.gt(ub(x_i))) {
             cnfl.add(p.not());                                 // either the literal 'p' is false ..
-            cnfl.add(assigns.get(ub_index(x_i)).reason.not()); // or what asserted the upper bound is false..
+            cnfl.add(reasons[ub_index(x_i)].not()); // or what asserted the upper bound is false..
             return false;
         } else {
-            if (!layers.isEmpty() && !layers.peekFirst().containsKey(lb_index(x_i))) {
-                layers.peekFirst().put(lb_index(x_i), new Bound(lb(x_i), assigns.get(lb_index(x_i)).reason));
-            }
-            assigns.set(lb_index(x_i), new Bound(val, p));
+            set_bound(lb_index(x_i), val, p);
 
-            if (vals.get(x_i).lt(val) && !tableau.containsKey(x_i)) {
-                update(x_i, new InfRational(val));
+            if (vals.get(x_i).lt(val)) {
+                if (tableau.containsKey(x_i)) {
+                    violated.set(x_i);
+                } else {
+                    update(x_i, new InfRational(val));
+                }
             }
 
             // unate propagation..
@@ -406,16 +647,17 @@ public class LRATheory implements Theory {
             return true;
         } else if (val.lt(lb(x_i))) {
             cnfl.add(p.not());                                 // either the literal 'p' is false ..
-            cnfl.add(assigns.get(lb_index(x_i)).reason.not()); // or what asserted the lower bound is false..
+            cnfl.add(reasons[lb_index(x_i)].not()); // or what asserted the lower bound is false..
             return false;
         } else {
-            if (!layers.isEmpty() && !layers.peekFirst().containsKey(ub_index(x_i))) {
-                layers.peekFirst().put(ub_index(x_i), new Bound(ub(x_i), assigns.get(ub_index(x_i)).reason));
-            }
-            assigns.set(ub_index(x_i), new Bound(val, p));
+            set_bound(ub_index(x_i), val, p);
 
-            if (vals.get(x_i).gt(val) && !tableau.containsKey(x_i)) {
-                update(x_i, new InfRational(val));
+            if (vals.get(x_i).gt(val)) {
+                if (tableau.containsKey(x_i)) {
+                    violated.set(x_i);
+                } else {
+                    update(x_i, new InfRational(val));
+                }
             }
 
             // unate propagation..
@@ -439,7 +681,8 @@ public class LRATheory implements Theory {
         assert !tableau.containsKey(x_i) : "x_i should be a non-basic variable..";
         for (Row row : t_watches.get(x_i)) {
             // x_j = x_j + a_ji(v - x_i)..
-            vals.get(row.x).add(v.minus(vals.get(x_i)).times(row.l.vars.get(x_i)));
+            vals.get(row.x).add(v.minus(vals.get(x_i)).times(row.l.get(x_i)));
+            violated.set(row.x);
             Collection<LRAValueListener> ls = listeners.get(row.x);
             if (ls != null) {
                 for (LRAValueListener l : ls) {
@@ -460,9 +703,9 @@ public class LRATheory implements Theory {
     private void pivot_and_update(final int x_i, final int x_j, final InfRational v) {
         assert tableau.containsKey(x_i) : "x_i should be a basic variable..";
         assert !tableau.containsKey(x_j) : "x_j should be a non-basic variable..";
-        assert tableau.get(x_i).l.vars.containsKey(x_j);
+        assert tableau.get(x_i).l.contains(x_j);
 
-        final InfRational theta = v.minus(vals.get(x_i)).divide(tableau.get(x_i).l.vars.get(x_j));
+        final InfRational theta = v.minus(vals.get(x_i)).divide(tableau.get(x_i).l.get(x_j));
         assert !theta.rat.isInfinite();
 
         // x_i = v
@@ -485,7 +728,8 @@ public class LRATheory implements Theory {
         for (Row row : t_watches.get(x_j)) {
             if (row.x != x_i) {
                 // x_k += a_kj * theta..
-                vals.get(row.x).add(theta.times(row.l.vars.get(x_j)));
+                vals.get(row.x).add(theta.times(row.l.get(x_j)));
+                violated.set(row.x);
                 Collection<LRAValueListener> x_k_ls = listeners.get(x_j);
                 if (x_k_ls != null) {
                     for (LRAValueListener l : x_k_ls) {
@@ -496,27 +740,33 @@ public class LRATheory implements Theory {
         }
 
         pivot(x_i, x_j);
+        // x_j has entered the basis..
+        violated.set(x_j);
     }
 
     private void pivot(final int x_i, final int x_j) {
+        n_pivots++;
         // the exiting row..
         Row row = tableau.remove(x_i);
-        for (Map.Entry<Integer, Rational> term : row.l.vars.entrySet()) {
-            t_watches.get(term.getKey()).remove(row);
+        for (int i = 0; i < row.l.size(); i++) {
+            t_watches.get(row.l.var(i)).remove(row);
         }
 
         final Lin xpr = row.l;
-        final Rational c = xpr.vars.remove(x_j);
+        final Rational c = xpr.remove(x_j);
         xpr.div(c.minus());
-        xpr.vars.put(x_i, new Rational(1).divide(c));
+        xpr.add(x_i, new Rational(1).divide(c));
 
         for (Row r : new ArrayList<>(t_watches.get(x_j))) {
-            for (Map.Entry<Integer, Rational> term : r.l.vars.entrySet()) {
-                t_watches.get(term.getKey()).remove(r);
-            }
-            r.l.add(xpr.times(r.l.vars.remove(x_j)));
-            for (Map.Entry<Integer, Rational> term : r.l.vars.entrySet()) {
-                t_watches.get(term.getKey()).add(r);
+            t_watches.get(x_j).remove(r);
+            // x_j is replaced by its expression, hence only the variables of 'xpr' may enter or leave the row..
+            r.l.axpy(r.l.remove(x_j), xpr);
+            for (int i = 0; i < xpr.size(); i++) {
+                if (r.l.contains(xpr.var(i))) {
+                    t_watches.get(xpr.var(i)).add(r);
+                } else {
+                    t_watches.get(xpr.var(i)).remove(r);
+                }
             }
         }
 
@@ -524,6 +774,42 @@ public class LRATheory implements Theory {
         tableau.put(x_j, new Row(this, x_j, xpr));
     }
 
+    /**
+     * Returns the number of (exact) pivots performed so far.
+     *
+     * @return the number of pivots.
+     */
+    public long getPivots() {
+        return n_pivots;
+    }
+
+    /**
+     * Returns the number of pivots performed so far by the double-precision
+     * simplex.
+     *
+     * @return the number of double-precision pivots.
+     */
+    public long getFloatingPointPivots() {
+        return n_fp_pivots;
+    }
+
+    /**
+     * Sets the number of exact pivots a check can perform before a
+     * double-precision simplex is asked for a feasible basis. The basis it
+     * finds is never trusted: the exact simplex resumes from it, verifying
+     * its feasibility and, if needed, repairing it (or explaining its
+     * infeasibility) in exact arithmetic, so that the outcome of the checks
+     * does not depend on rounding errors. Worth enabling on large tableaux
+     * whose checks require many pivots.
+     *
+     * @param threshold the number of exact pivots of a check after which the
+     * double-precision simplex is tried, or a negative value for never trying
+     * it.
+     */
+    public void setFloatingPointThreshold(final int threshold) {
+        this.fp_threshold = threshold;
+    }
+
     public void listen(final int v, final LRAValueListener l) {
         Collection<LRAValueListener> ls = listeners.get(v);
         if (ls == null) {
@@ -541,6 +827,19 @@ public class LRATheory implements Theory {
         }
     }
 
+    /**
+     * Returns the literal which has asserted the current value of the bound of
+     * index {@code b_index}.
+     *
+     * @param b_index the index of the bound (see {@link #lb_index(int)} and
+     * {@link #ub_index(int)}).
+     * @return the reason of the bound, or {@code null} if the bound has not
+     * been asserted.
+     */
+    Lit reason(final int b_index) {
+        return reasons[b_index];
+    }
+
     static int lb_index(final int v) {
         return v << 1;
     }
@@ -553,22 +852,8 @@ public class LRATheory implements Theory {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < vals.size(); i++) {
-            sb.append("x").append(i).append(": [").append(assigns.get(lb_index(i)).value).append(", ").append(assigns.get(ub_index(i)).value).append("] ").append(vals.get(i)).append('\n');
+            sb.append("x").append(i).append(": [").append(bounds[lb_index(i)]).append(", ").append(bounds[ub_index(i)]).append("] ").append(vals.get(i)).append('\n');
         }
         return sb.toString();
     }
-
-    /**
-     * Represents the bound of a variable and the reason for its existence.
-     */
-    static class Bound {
-
-        final InfRational value; // the value of the bound..
-        final Lit reason; // the reason for the value..
-
-        private Bound(InfRational value, Lit reason) {
-            this.value = value;
-            this.reason = reason;
-        }
-    }
 }
@@ -16,72 +16,262 @@
  */
 package it.cnr.istc.smt.lra;
 
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Arrays;
 
 /**
+ * This class is used for representing linear expressions. Terms are stored
+ * sparsely, in increasing order of variable, into an array of variables and a
+ * parallel array of coefficients so that sums of linear expressions are
+ * performed by merging the two arrays. Coefficients are owned by the linear
+ * expression and are updated in place; the slots beyond the last term hold
+ * spare coefficients, left by cancelled terms, which are reused by new terms.
  *
  * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
  */
 public class Lin {
 
-    public final Map<Integer, Rational> vars = new TreeMap<>();
+    private static final Rational ZERO = new Rational();
+    private static final Rational ONE = new Rational(1);
+    private static final Rational MINUS_ONE = new Rational(-1);
+    private int[] vars; // the variables, in increasing order..
+    private Rational[] coeffs; // for each variable, its coefficient (spare coefficients beyond 'size')..
+    private int size = 0; // the number of terms..
     public Rational known_term;
 
     public Lin() {
+        this.vars = new int[4];
+        this.coeffs = new Rational[4];
         this.known_term = new Rational();
     }
 
     public Lin(final int v) {
-        vars.put(v, new Rational(1));
-        this.known_term = new Rational();
+        this(v, ONE);
     }
 
     public Lin(final Rational known_term) {
-        this.known_term = known_term;
+        this.vars = new int[4];
+        this.coeffs = new Rational[4];
+        this.known_term = new Rational(known_term);
     }
 
     public Lin(final int v, final Rational c) {
-        vars.put(v, c);
-        this.known_term = new Rational();
+        this();
+        if (c.neq(0)) {
+            vars[0] = v;
+            coeffs[0] = new Rational(c);
+            size = 1;
+        }
+    }
+
+    public Lin(final Lin l) {
+        this.vars = Arrays.copyOf(l.vars, Math.max(l.size, 4));
+        this.coeffs = new Rational[vars.length];
+        for (int i = 0; i < l.size; i++) {
+            coeffs[i] = new Rational(l.coeffs[i]);
+        }
+        this.size = l.size;
+        this.known_term = new Rational(l.known_term);
+    }
+
+    /**
+     * Returns the number of terms of this linear expression.
+     *
+     * @return the number of terms.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this linear expression has no terms (i.e., whether it
+     * is a constant).
+     *
+     * @return {@code true} if this linear expression has no terms.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the variable of the {@code i}-th term, terms being sorted in
+     * increasing order of variable.
+     *
+     * @param i the index of the term.
+     * @return the variable of the {@code i}-th term.
+     */
+    public int var(final int i) {
+        assert i < size;
+        return vars[i];
+    }
+
+    /**
+     * Returns the coefficient of the {@code i}-th term, terms being sorted in
+     * increasing order of variable. The returned coefficient should not be
+     * modified.
+     *
+     * @param i the index of the term.
+     * @return the coefficient of the {@code i}-th term.
+     */
+    public Rational coeff(final int i) {
+        assert i < size;
+        return coeffs[i];
+    }
+
+    /**
+     * Returns the variables of this linear expression, in increasing order.
+     *
+     * @return a copy of the variables of this linear expression.
+     */
+    public int[] vars() {
+        return Arrays.copyOf(vars, size);
+    }
+
+    public boolean contains(final int v) {
+        return Arrays.binarySearch(vars, 0, size, v) >= 0;
+    }
+
+    /**
+     * Returns the coefficient of variable {@code v}, or {@code null} if
+     * {@code v} does not appear in this linear expression. The returned
+     * coefficient should not be modified.
+     *
+     * @param v the variable whose coefficient we are interested in.
+     * @return the coefficient of variable {@code v}.
+     */
+    public Rational get(final int v) {
+        final int i = Arrays.binarySearch(vars, 0, size, v);
+        return i >= 0 ? coeffs[i] : null;
+    }
+
+    /**
+     * Removes variable {@code v} from this linear expression, returning its
+     * coefficient, or {@code null} if {@code v} does not appear in this linear
+     * expression.
+     *
+     * @param v the variable to remove.
+     * @return the coefficient of the removed variable.
+     */
+    public Rational remove(final int v) {
+        final int i = Arrays.binarySearch(vars, 0, size, v);
+        if (i < 0) {
+            return null;
+        }
+        final Rational c = coeffs[i];
+        System.arraycopy(vars, i + 1, vars, i, size - i - 1);
+        System.arraycopy(coeffs, i + 1, coeffs, i, size - i - 1);
+        coeffs[--size] = null; // the removed coefficient is now owned by the caller..
+        return c;
     }
 
     public void add(final int v, final Rational c) {
-        Rational rat = vars.get(v);
-        if (rat != null) {
-            rat.add(c);
-            if (rat.eq(0)) {
-                vars.remove(v);
+        final int i = Arrays.binarySearch(vars, 0, size, v);
+        if (i >= 0) {
+            coeffs[i].add(c);
+            if (coeffs[i].eq(0)) {
+                // we keep the cancelled coefficient as a spare one..
+                final Rational spare = coeffs[i];
+                System.arraycopy(vars, i + 1, vars, i, size - i - 1);
+                System.arraycopy(coeffs, i + 1, coeffs, i, size - i - 1);
+                coeffs[--size] = spare;
             }
-        } else {
-            vars.put(v, new Rational(c));
+        } else if (c.neq(0)) {
+            final int ins = -i - 1;
+            ensure_capacity(size + 1);
+            Rational spare = coeffs[size];
+            System.arraycopy(vars, ins, vars, ins + 1, size - ins);
+            System.arraycopy(coeffs, ins, coeffs, ins + 1, size - ins);
+            if (spare == null) {
+                spare = new Rational();
+            }
+            spare.set(c);
+            vars[ins] = v;
+            coeffs[ins] = spare;
+            size++;
         }
     }
 
     public void add(final Lin rhs) {
-        for (Map.Entry<Integer, Rational> entry : rhs.vars.entrySet()) {
-            Rational rat = vars.get(entry.getKey());
-            if (rat != null) {
-                rat.add(entry.getValue());
+        axpy(ONE, rhs);
+    }
+
+    public void sub(final Lin rhs) {
+        axpy(MINUS_ONE, rhs);
+    }
+
+    /**
+     * Adds {@code a * rhs} to this linear expression. The terms of the two
+     * linear expressions are merged backwards, in place, hence no allocation
+     * takes place besides growing the arrays and creating the coefficients of
+     * new terms when no spare coefficient is available.
+     *
+     * @param a the coefficient which multiplies {@code rhs}.
+     * @param rhs the linear expression to add.
+     */
+    public void axpy(final Rational a, final Lin rhs) {
+        assert !a.isInfinite();
+        if (a.eq(0)) {
+            return;
+        }
+        if (rhs == this) {
+            final Rational f = new Rational(1);
+            f.add(a);
+            mult(f);
+            return;
+        }
+
+        // we count the variables of 'rhs' which do not appear in this linear expression..
+        int fill = 0;
+        for (int i = 0, j = 0; j < rhs.size;) {
+            if (i == size || vars[i] > rhs.vars[j]) {
+                fill++;
+                j++;
+            } else if (vars[i] < rhs.vars[j]) {
+                i++;
             } else {
-                vars.put(entry.getKey(), new Rational(entry.getValue()));
+                i++;
+                j++;
             }
         }
-        vars.entrySet().removeIf(term -> term.getValue().eq(0));
-        known_term.add(rhs.known_term);
-    }
+        ensure_capacity(size + fill);
 
-    public void sub(final Lin rhs) {
-        for (Map.Entry<Integer, Rational> entry : rhs.vars.entrySet()) {
-            Rational rat = vars.get(entry.getKey());
-            if (rat != null) {
-                rat.sub(entry.getValue());
+        // we merge the terms, starting from the greatest variables, so that no term is overwritten before being moved..
+        boolean cancelled = false;
+        int i = size - 1, j = rhs.size - 1, k = size + fill - 1;
+        while (j >= 0) {
+            if (i >= 0 && vars[i] > rhs.vars[j]) {
+                move(i--, k--);
+            } else if (i >= 0 && vars[i] == rhs.vars[j]) {
+                coeffs[i].addMul(a, rhs.coeffs[j--]);
+                if (coeffs[i].eq(0)) {
+                    cancelled = true;
+                }
+                move(i--, k--);
             } else {
-                vars.put(entry.getKey(), entry.getValue().minus());
+                // a new term, whose coefficient is taken from the spare ones, if any..
+                Rational c = coeffs[k];
+                if (c == null) {
+                    c = new Rational();
+                    coeffs[k] = c;
+                } else {
+                    c.set(ZERO);
+                }
+                c.addMul(a, rhs.coeffs[j]);
+                vars[k--] = rhs.vars[j--];
             }
         }
-        vars.entrySet().removeIf(term -> term.getValue().eq(0));
-        known_term.sub(rhs.known_term);
+        size += fill;
+
+        if (cancelled) {
+            // we remove the cancelled terms, keeping their coefficients as spare ones..
+            int n_size = 0;
+            for (int t = 0; t < size; t++) {
+                if (coeffs[t].neq(0)) {
+                    move(t, n_size++);
+                }
+            }
+            size = n_size;
+        }
+        known_term.addMul(a, rhs.known_term);
     }
 
     public void add(final Rational rhs) {
@@ -93,19 +283,20 @@ public class Lin {
     }
 
     public void mult(final Rational rhs) {
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            vars.get(entry.getKey()).mult(rhs);
+        assert !rhs.isInfinite();
+        if (rhs.eq(0)) {
+            size = 0;
+        } else {
+            for (int i = 0; i < size; i++) {
+                coeffs[i].mult(rhs);
+            }
         }
-        vars.entrySet().removeIf(term -> term.getValue().eq(0));
         known_term.mult(rhs);
     }
 
     public void div(final Rational rhs) {
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            vars.get(entry.getKey()).div(rhs);
-        }
-        vars.entrySet().removeIf(term -> term.getValue().eq(0));
-        known_term.div(rhs);
+        assert rhs.neq(0);
+        mult(new Rational(1).divide(rhs));
     }
 
     public void add(final long rhs) {
@@ -117,155 +308,133 @@ public class Lin {
     }
 
     public void mult(final long rhs) {
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            vars.get(entry.getKey()).mult(rhs);
+        if (rhs == 0) {
+            size = 0;
+        } else {
+            for (int i = 0; i < size; i++) {
+                coeffs[i].mult(rhs);
+            }
         }
-        vars.entrySet().removeIf(term -> term.getValue().eq(0));
         known_term.mult(rhs);
     }
 
     public void div(final long rhs) {
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            vars.get(entry.getKey()).div(rhs);
-        }
-        vars.entrySet().removeIf(term -> term.getValue().eq(0));
-        known_term.div(rhs);
+        assert rhs != 0;
+        mult(new Rational(1, rhs));
     }
 
     public Lin plus(final Lin rhs) {
-        Lin lin = new Lin(known_term.plus(rhs.known_term));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), new Rational(entry.getValue()));
-        }
-        for (Map.Entry<Integer, Rational> entry : rhs.vars.entrySet()) {
-            Rational rat = lin.vars.get(entry.getKey());
-            if (rat != null) {
-                rat.add(entry.getKey());
-            } else {
-                lin.vars.put(entry.getKey(), new Rational(entry.getValue()));
-            }
-        }
+        Lin lin = new Lin(this);
+        lin.add(rhs);
         return lin;
     }
 
     public Lin minus(final Lin rhs) {
-        Lin lin = new Lin(known_term.minus(rhs.known_term));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), new Rational(entry.getValue()));
-        }
-        for (Map.Entry<Integer, Rational> entry : rhs.vars.entrySet()) {
-            Rational rat = lin.vars.get(entry.getKey());
-            if (rat != null) {
-                rat.sub(entry.getKey());
-            } else {
-                lin.vars.put(entry.getKey(), entry.getValue().minus());
-            }
-        }
+        Lin lin = new Lin(this);
+        lin.sub(rhs);
         return lin;
     }
 
     public Lin plus(final Rational rhs) {
-        Lin lin = new Lin(known_term.plus(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), new Rational(entry.getValue()));
-        }
+        Lin lin = new Lin(this);
+        lin.add(rhs);
         return lin;
     }
 
     public Lin minus(final Rational rhs) {
-        Lin lin = new Lin(known_term.minus(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), new Rational(entry.getValue()));
-        }
+        Lin lin = new Lin(this);
+        lin.sub(rhs);
         return lin;
     }
 
     public Lin times(final Rational rhs) {
-        Lin lin = new Lin(known_term.times(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().times(rhs));
-        }
+        Lin lin = new Lin(this);
+        lin.mult(rhs);
         return lin;
     }
 
     public Lin divide(final Rational rhs) {
-        Lin lin = new Lin(known_term.divide(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().divide(rhs));
-        }
+        Lin lin = new Lin(this);
+        lin.div(rhs);
         return lin;
     }
 
     public Lin plus(final long rhs) {
-        Lin lin = new Lin(known_term.plus(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().divide(rhs));
-        }
+        Lin lin = new Lin(this);
+        lin.add(rhs);
         return lin;
     }
 
     public Lin minus(final long rhs) {
-        Lin lin = new Lin(known_term.minus(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().divide(rhs));
-        }
+        Lin lin = new Lin(this);
+        lin.sub(rhs);
         return lin;
     }
 
     public Lin times(final long rhs) {
-        Lin lin = new Lin(known_term.times(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().divide(rhs));
-        }
+        Lin lin = new Lin(this);
+        lin.mult(rhs);
         return lin;
     }
 
     public Lin divide(final long rhs) {
-        Lin lin = new Lin(known_term.divide(rhs));
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().divide(rhs));
-        }
+        Lin lin = new Lin(this);
+        lin.div(rhs);
         return lin;
     }
 
     public Lin minus() {
-        Lin lin = new Lin(known_term.minus());
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            lin.vars.put(entry.getKey(), entry.getValue().minus());
-        }
+        Lin lin = new Lin(this);
+        lin.mult(-1);
         return lin;
     }
 
+    private void move(final int from, final int to) {
+        if (from != to) {
+            // the coefficient at 'to' is a spare one, hence we swap them..
+            final Rational c = coeffs[to];
+            vars[to] = vars[from];
+            coeffs[to] = coeffs[from];
+            coeffs[from] = c;
+        }
+    }
+
+    private void ensure_capacity(final int capacity) {
+        if (capacity > vars.length) {
+            final int n_capacity = Math.max(capacity, vars.length << 1);
+            vars = Arrays.copyOf(vars, n_capacity);
+            coeffs = Arrays.copyOf(coeffs, n_capacity);
+        }
+    }
+
     @Override
     public String toString() {
-        if (vars.isEmpty()) {
+        if (size == 0) {
             return known_term.toString();
         }
 
         StringBuilder str = new StringBuilder();
-        Map.Entry<Integer, Rational> first = vars.entrySet().iterator().next();
-        for (Map.Entry<Integer, Rational> entry : vars.entrySet()) {
-            if (entry == first) {
-                if (entry.getValue().eq(1)) {
+        for (int i = 0; i < size; i++) {
+            if (i == 0) {
+                if (coeffs[i].eq(1)) {
                     str.append("x");
-                } else if (entry.getValue().eq(-1)) {
+                } else if (coeffs[i].eq(-1)) {
                     str.append("-x");
                 } else {
-                    str.append(entry.getValue().toString()).append("*x");
+                    str.append(coeffs[i].toString()).append("*x");
                 }
-                str.append(entry.getKey());
             } else {
-                if (entry.getValue().eq(1)) {
+                if (coeffs[i].eq(1)) {
                     str.append(" + x");
-                } else if (entry.getValue().eq(-1)) {
+                } else if (coeffs[i].eq(-1)) {
                     str.append(" - x");
-                } else if (entry.getValue().isPositive()) {
-                    str.append(" + ").append(entry.getValue().toString()).append("*x");
+                } else if (coeffs[i].isPositive()) {
+                    str.append(" + ").append(coeffs[i].toString()).append("*x");
                 } else {
-                    str.append(" - ").append(entry.getValue().toString()).append("*x");
+                    str.append(" - ").append(coeffs[i].minus().toString()).append("*x");
                 }
-                str.append(entry.getKey());
             }
+            str.append(vars[i]);
         }
         if (known_term.isPositive()) {
             str.append(" + ").append(known_term.toString());
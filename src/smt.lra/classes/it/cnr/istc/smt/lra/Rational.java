@@ -16,7 +16,19 @@
  */
 package it.cnr.istc.smt.lra;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
 /**
+ * This class is used for representing (mutable) exact rational numbers,
+ * including the positive and the negative infinity. Rationals are kept
+ * normalized and are stored, in the common case, as a pair of {@code long}s.
+ * Operations on such rationals are performed on primitive values, checking
+ * for overflows, and promote the result to a pair of {@link BigInteger}s only
+ * in case of overflow. Results are demoted back to {@code long}s as soon as
+ * they fit, so that each value has a single representation.
  *
  * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
  */
@@ -24,8 +36,11 @@ public class Rational extends Number implements Comparable<Rational> {
 
     public static final Rational POSITIVE_INFINITY = new Rational(1, 0);
     public static final Rational NEGATIVE_INFINITY = new Rational(-1, 0);
-    public long num; // the numerator..
-    public long den; // the denominator..
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private long num; // the numerator, if the rational is small..
+    private long den; // the denominator, if the rational is small (0 for the infinities), -1 if the rational is big..
+    private BigInteger big_num; // the numerator, if the rational is big..
+    private BigInteger big_den; // the denominator, if the rational is big..
 
     public Rational() {
         this.num = 0;
@@ -33,27 +48,59 @@ public class Rational extends Number implements Comparable<Rational> {
     }
 
     public Rational(final Rational r) {
-        this.num = r.num;
-        this.den = r.den;
+        set(r);
     }
 
     public Rational(final long n) {
-        this.num = n;
-        this.den = 1;
+        if (n != Long.MIN_VALUE) {
+            this.num = n;
+            this.den = 1;
+        } else {
+            set(BigInteger.valueOf(n), BigInteger.ONE);
+        }
     }
 
     public Rational(final long n, final long d) {
-        this.num = n;
-        this.den = d;
-        normalize();
+        if (d == 0) {
+            assert n != 0;
+            this.num = n > 0 ? 1 : -1;
+            this.den = 0;
+        } else if (n != Long.MIN_VALUE && d != Long.MIN_VALUE) {
+            final long c_gcd = gcd(n, d);
+            this.num = d > 0 ? n / c_gcd : -n / c_gcd;
+            this.den = d > 0 ? d / c_gcd : -d / c_gcd;
+        } else {
+            set(BigInteger.valueOf(n), BigInteger.valueOf(d));
+        }
+    }
+
+    public Rational(final BigInteger n, final BigInteger d) {
+        if (d.signum() == 0) {
+            assert n.signum() != 0;
+            this.num = n.signum();
+            this.den = 0;
+        } else {
+            set(n, d);
+        }
+    }
+
+    /**
+     * Returns whether this rational is stored as a pair of {@link BigInteger}s
+     * since either its numerator or its denominator does not fit into a
+     * {@code long}.
+     *
+     * @return {@code true} if this rational is a big one.
+     */
+    public boolean isBig() {
+        return den < 0;
     }
 
     public boolean isPositive() {
-        return num > 0;
+        return den >= 0 ? num > 0 : big_num.signum() > 0;
     }
 
     public boolean isNegative() {
-        return num < 0;
+        return den >= 0 ? num < 0 : big_num.signum() < 0;
     }
 
     public boolean isInfinite() {
@@ -69,325 +116,559 @@ public class Rational extends Number implements Comparable<Rational> {
     }
 
     public boolean neq(final Rational rhs) {
-        return num != rhs.num || den != rhs.den;
+        return !eq(rhs);
     }
 
     public boolean lt(final Rational rhs) {
-        return (den == 0 && rhs.den == 0) ? num < rhs.num : num * rhs.den < den * rhs.num;
+        return compareTo(rhs) < 0;
     }
 
     public boolean leq(final Rational rhs) {
-        return num * rhs.den <= den * rhs.num;
+        return compareTo(rhs) <= 0;
     }
 
     public boolean eq(final Rational rhs) {
-        return num == rhs.num && den == rhs.den;
+        // each value has a single representation, hence a small rational is never equal to a big one..
+        return num == rhs.num && den == rhs.den && (den >= 0 || (big_num.equals(rhs.big_num) && big_den.equals(rhs.big_den)));
     }
 
     public boolean geq(final Rational rhs) {
-        return num * rhs.den >= den * rhs.num;
+        return compareTo(rhs) >= 0;
     }
 
     public boolean gt(final Rational rhs) {
-        return (den == 0 && rhs.den == 0) ? num > rhs.num : num * rhs.den > den * rhs.num;
+        return compareTo(rhs) > 0;
     }
 
     public boolean neq(final long rhs) {
-        return num != rhs || den != 1;
+        return !eq(rhs);
     }
 
     public boolean lt(final long rhs) {
-        return num < den * rhs;
+        return compareTo(rhs) < 0;
     }
 
     public boolean leq(final long rhs) {
-        return num <= den * rhs;
+        return compareTo(rhs) <= 0;
     }
 
     public boolean eq(final long rhs) {
-        return num == rhs && den == 1;
+        return den >= 0 ? num == rhs && den == 1 : rhs == Long.MIN_VALUE && big_den.equals(BigInteger.ONE) && big_num.equals(LONG_MIN);
     }
 
     public boolean geq(final long rhs) {
-        return num >= den * rhs;
+        return compareTo(rhs) >= 0;
     }
 
     public boolean gt(final long rhs) {
-        return num > den * rhs;
+        return compareTo(rhs) > 0;
     }
 
     @Override
-    public int compareTo(Rational o) {
-        if (eq(o)) {
-            return 0;
+    public int compareTo(final Rational o) {
+        if ((den | o.den) > 0) {
+            // both the rationals are small and, unless both are infinite, cross-multiplying them handles the infinities as well..
+            try {
+                return Long.compare(Math.multiplyExact(num, o.den), Math.multiplyExact(den, o.num));
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
         }
-        if (lt(o)) {
-            return -1;
+        return compare(o);
+    }
+
+    private int compare(final Rational o) {
+        if ((den | o.den) >= 0) {
+            if (den == o.den) {
+                // this includes the integers and the infinities of the same sign..
+                return Long.compare(num, o.num);
+            }
+            if (den == 0) {
+                return num > 0 ? 1 : -1;
+            }
+            if (o.den == 0) {
+                return o.num > 0 ? -1 : 1;
+            }
+            try {
+                return Long.compare(Math.multiplyExact(num, o.den), Math.multiplyExact(den, o.num));
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        } else if (isInfinite()) {
+            return num > 0 ? 1 : -1;
+        } else if (o.isInfinite()) {
+            return o.num > 0 ? -1 : 1;
         }
-        if (gt(o)) {
-            return 1;
+        return big_num().multiply(o.big_den()).compareTo(big_den().multiply(o.big_num()));
+    }
+
+    private int compareTo(final long rhs) {
+        if (den >= 0) {
+            if (den == 1) {
+                return Long.compare(num, rhs);
+            }
+            if (den == 0) {
+                return num > 0 ? 1 : -1;
+            }
+            try {
+                return Long.compare(num, Math.multiplyExact(den, rhs));
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
         }
-        throw new AssertionError();
+        return big_num().compareTo(big_den().multiply(BigInteger.valueOf(rhs)));
     }
 
     public void add(final Rational rhs) {
-        assert den != 0 || rhs.den != 0 || num == rhs.num; // inf + -inf or -inf + inf..
+        add(rhs, false);
+    }
+
+    public void sub(final Rational rhs) {
+        add(rhs, true);
+    }
+
+    private void add(final Rational rhs, final boolean negate) {
+        assert !isInfinite() || !rhs.isInfinite() || (negate ? num != rhs.num : num == rhs.num); // inf + -inf or -inf + inf..
 
         // special cases..
-        if (num == 0 || rhs.isInfinite()) {
-            num = rhs.num;
-            den = rhs.den;
+        if (den == 1 && rhs.den == 1) {
+            try {
+                set_small(negate ? Math.subtractExact(num, rhs.num) : Math.addExact(num, rhs.num), 1);
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        }
+        if (rhs.isInfinite()) {
+            num = negate ? -rhs.num : rhs.num;
+            den = 0;
+            big_num = big_den = null;
             return;
         }
-        if (rhs.num == 0 || isInfinite()) {
+        if (rhs.eq(0) || isInfinite()) {
             return;
         }
-        if (den == 1 && rhs.den == 1) {
-            num += rhs.num;
+        if ((den | rhs.den) >= 0) {
+            try {
+                add(negate ? -rhs.num : rhs.num, rhs.den);
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        }
+        add(negate ? rhs.big_num().negate() : rhs.big_num(), rhs.big_den());
+    }
+
+    /**
+     * Adds the finite and normalized fraction {@code n/d} to this small and
+     * finite rational.
+     *
+     * @param n the numerator of the fraction.
+     * @param d the (positive) denominator of the fraction.
+     * @throws ArithmeticException if the result does not fit into
+     * {@code long}s, in which case this rational is left unchanged.
+     */
+    private void add(final long n, final long d) {
+        if (num == 0) {
+            set_small(n, d);
+            return;
+        }
+        if (den == 1 && d == 1) {
+            set_small(Math.addExact(num, n), 1);
             return;
         }
 
-        long f = gcd(num, rhs.num);
-        long g = gcd(den, rhs.den);
+        final long f = gcd(num, n);
+        final long g = gcd(den, d);
 
-        num = (num / f) * (rhs.den / g) + (rhs.num / f) * (den / g);
-        den = lcm(den, rhs.den);
-        normalize();
-        num *= f;
+        final long s_num = Math.addExact(Math.multiplyExact(num / f, d / g), Math.multiplyExact(n / f, den / g));
+        if (s_num == 0) {
+            set_small(0, 1);
+            return;
+        }
+        final long s_den = Math.multiplyExact(den / g, d);
+        final long c_gcd = gcd(s_num, s_den);
+        set_small(Math.multiplyExact(s_num / c_gcd, f), s_den / c_gcd);
     }
 
-    public void sub(final Rational rhs) {
-        add(rhs.minus());
+    private void add(final BigInteger n, final BigInteger d) {
+        set(big_num().multiply(d).add(n.multiply(big_den())), big_den().multiply(d));
+    }
+
+    /**
+     * Adds the product of the finite rationals {@code a} and {@code b} to this
+     * (finite) rational, without allocating intermediate rationals.
+     *
+     * @param a the first factor.
+     * @param b the second factor.
+     */
+    public void addMul(final Rational a, final Rational b) {
+        assert !isInfinite() && !a.isInfinite() && !b.isInfinite();
+        if (a.eq(0) || b.eq(0)) {
+            return;
+        }
+        if ((den | a.den | b.den) >= 0) {
+            try {
+                if (a.den == 1 && b.den == 1) {
+                    add(Math.multiplyExact(a.num, b.num), 1);
+                } else {
+                    final long g_ab = gcd(a.num, b.den);
+                    final long g_ba = gcd(b.num, a.den);
+                    add(Math.multiplyExact(a.num / g_ab, b.num / g_ba), Math.multiplyExact(a.den / g_ba, b.den / g_ab));
+                }
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        }
+        add(a.big_num().multiply(b.big_num()), a.big_den().multiply(b.big_den()));
     }
 
     public void mult(final Rational rhs) {
-        assert num != 0 || rhs.den != 0; // 0*inf..
-        assert den != 0 || rhs.num != 0; // inf*0..
+        assert !eq(0) || !rhs.isInfinite(); // 0*inf..
+        assert !isInfinite() || !rhs.eq(0); // inf*0..
 
         // special cases..
         if (rhs.eq(1)) {
             return;
         }
         if (eq(1)) {
-            num = rhs.num;
-            den = rhs.den;
-            return;
-        }
-        if (den == 1 && rhs.den == 1) {
-            num *= rhs.num;
+            set(rhs);
             return;
         }
         if (isInfinite() || rhs.isInfinite()) {
-            num = ((num >= 0 && rhs.num >= 0) || (num <= 0 && rhs.num <= 0)) ? 1 : -1;
+            num = isPositive() == rhs.isPositive() ? 1 : -1;
             den = 0;
+            big_num = big_den = null;
             return;
         }
+        if ((den | rhs.den) >= 0) {
+            try {
+                mult(rhs.num, rhs.den);
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        }
+        set(big_num().multiply(rhs.big_num()), big_den().multiply(rhs.big_den()));
+    }
 
-        Rational c = new Rational(num, rhs.den);
-        Rational d = new Rational(rhs.num, den);
+    public void div(final Rational rhs) {
+        assert !eq(0) || !rhs.eq(0); // 0/0..
+        assert !isInfinite() || !rhs.isInfinite(); // inf/inf..
 
-        num = c.num * d.num;
-        den = c.den * d.den;
-        normalize();
+        // special cases..
+        if (rhs.eq(1)) {
+            return;
+        }
+        if (rhs.eq(0)) {
+            num = isPositive() ? 1 : -1;
+            den = 0;
+            big_num = big_den = null;
+            return;
+        }
+        if (rhs.isInfinite()) {
+            set_small(0, 1);
+            return;
+        }
+        if (isInfinite()) {
+            num = isPositive() == rhs.isPositive() ? 1 : -1;
+            return;
+        }
+        if ((den | rhs.den) >= 0) {
+            try {
+                mult(rhs.num > 0 ? rhs.den : -rhs.den, Math.abs(rhs.num));
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        }
+        set(big_num().multiply(rhs.big_den()), big_den().multiply(rhs.big_num()));
     }
 
-    public void div(final Rational rhs) {
-        Rational rec = new Rational();
-        rec.num = rhs.den;
-        rec.den = rhs.num;
-        if (rhs.num >= 0) {
-            rec.num = rhs.den;
-            rec.den = rhs.num;
-        } else {
-            rec.num = -rhs.den;
-            rec.den = -rhs.num;
+    /**
+     * Multiplies this small and finite rational by the finite and normalized
+     * fraction {@code n/d}.
+     *
+     * @param n the numerator of the fraction.
+     * @param d the (positive) denominator of the fraction.
+     * @throws ArithmeticException if the result does not fit into
+     * {@code long}s, in which case this rational is left unchanged.
+     */
+    private void mult(final long n, final long d) {
+        if (den == 1 && d == 1) {
+            set_small(Math.multiplyExact(num, n), 1);
+            return;
         }
-        Rational.this.mult(rec);
+
+        final long g_lr = gcd(num, d);
+        final long g_rl = gcd(n, den);
+        set_small(Math.multiplyExact(num / g_lr, n / g_rl), Math.multiplyExact(den / g_rl, d / g_lr));
     }
 
     public void add(final long rhs) {
         // special cases..
-        if (num == 0) {
-            num = rhs;
-            return;
-        }
         if (rhs == 0 || isInfinite()) {
             return;
         }
-        if (den == 1) {
-            num += rhs;
-            return;
+        if (den >= 0 && rhs != Long.MIN_VALUE) {
+            try {
+                add(rhs, 1);
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
         }
-
-        num += rhs * den;
+        add(BigInteger.valueOf(rhs), BigInteger.ONE);
     }
 
     public void sub(final long rhs) {
-        add(-rhs);
+        // special cases..
+        if (rhs == 0 || isInfinite()) {
+            return;
+        }
+        if (den >= 0 && rhs != Long.MIN_VALUE) {
+            try {
+                add(-rhs, 1);
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
+        }
+        add(BigInteger.valueOf(rhs).negate(), BigInteger.ONE);
     }
 
     public void mult(final long rhs) {
-        assert den != 0 || rhs != 0; // inf*0..
+        assert !isInfinite() || rhs != 0; // inf*0..
 
         // special cases..
         if (rhs == 1) {
             return;
         }
-        if (eq(1)) {
-            num = rhs;
-            return;
-        }
         if (isInfinite()) {
-            num = ((num >= 0 && rhs >= 0) || (num <= 0 && rhs <= 0)) ? 1 : -1;
+            num = (num > 0) == (rhs > 0) ? 1 : -1;
             return;
         }
-
-        num *= rhs;
-        if (den != 1) {
-            normalize();
+        if (den >= 0 && rhs != Long.MIN_VALUE) {
+            try {
+                mult(rhs, 1);
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
         }
+        set(big_num().multiply(BigInteger.valueOf(rhs)), big_den());
     }
 
     public void div(final long rhs) {
-        Rational rec = new Rational();
-        rec.num = 1;
-        rec.den = rhs;
-        if (rhs >= 0) {
-            rec.num = 1;
-            rec.den = rhs;
-        } else {
-            rec.num = -1;
-            rec.den = -rhs;
-        }
-        Rational.this.mult(rec);
-    }
-
-    public Rational plus(final Rational rhs) {
-        assert den != 0 || rhs.den != 0 || num == rhs.num; // inf + -inf or -inf + inf..
+        assert !eq(0) || rhs != 0; // 0/0..
 
         // special cases..
-        if (num == 0 || rhs.isInfinite()) {
-            return rhs;
+        if (rhs == 1) {
+            return;
+        }
+        if (rhs == 0) {
+            num = isPositive() ? 1 : -1;
+            den = 0;
+            big_num = big_den = null;
+            return;
         }
-        if (rhs.num == 0 || isInfinite()) {
-            return this;
+        if (isInfinite()) {
+            num = (num > 0) == (rhs > 0) ? 1 : -1;
+            return;
         }
-        if (den == 1 && rhs.den == 1) {
-            return new Rational(num + rhs.num);
+        if (den >= 0 && rhs != Long.MIN_VALUE) {
+            try {
+                mult(rhs > 0 ? 1 : -1, Math.abs(rhs));
+                return;
+            } catch (ArithmeticException e) {
+                // we fall back to big integers..
+            }
         }
+        set(big_num(), big_den().multiply(BigInteger.valueOf(rhs)));
+    }
 
-        long f = gcd(num, rhs.num);
-        long g = gcd(den, rhs.den);
-
-        Rational res = new Rational((num / f) * (rhs.den / g) + (rhs.num / f) * (den / g), lcm(den, rhs.den));
-        res.num *= f;
+    public Rational plus(final Rational rhs) {
+        final Rational res = new Rational(this);
+        res.add(rhs);
         return res;
     }
 
     public Rational minus(final Rational rhs) {
-        return plus(rhs.minus());
+        final Rational res = new Rational(this);
+        res.sub(rhs);
+        return res;
     }
 
     public Rational times(final Rational rhs) {
-        assert num != 0 || rhs.den != 0; // 0*inf..
-        assert den != 0 || rhs.num != 0; // inf*0..
-
-        // special cases..
-        if (rhs.eq(1)) {
-            return this;
-        }
-        if (eq(1)) {
-            return rhs;
-        }
-        if (den == 1 && rhs.den == 1) {
-            return new Rational(num * rhs.num);
-        }
-        if (isInfinite() || rhs.isInfinite()) {
-            return ((num >= 0 && rhs.num >= 0) || (num <= 0 && rhs.num <= 0)) ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
-        }
-
-        Rational c = new Rational(num, rhs.den);
-        Rational d = new Rational(rhs.num, den);
-        return new Rational(c.num * d.num, c.den * d.den);
+        final Rational res = new Rational(this);
+        res.mult(rhs);
+        return res;
     }
 
     public Rational divide(final Rational rhs) {
-        Rational rec = new Rational();
-        if (rhs.num >= 0) {
-            rec.num = rhs.den;
-            rec.den = rhs.num;
-        } else {
-            rec.num = -rhs.den;
-            rec.den = -rhs.num;
-        }
-        return times(rec);
+        final Rational res = new Rational(this);
+        res.div(rhs);
+        return res;
     }
 
     public Rational plus(final long rhs) {
-        // special cases..
-        if (num == 0) {
-            return new Rational(rhs);
-        }
-        if (rhs == 0 || isInfinite()) {
-            return this;
-        }
-        if (den == 1) {
-            return new Rational(num + rhs);
-        }
-
-        Rational res = new Rational();
-        res.num = num + rhs * den;
-        res.den = den;
+        final Rational res = new Rational(this);
+        res.add(rhs);
         return res;
     }
 
     public Rational minus(final long rhs) {
-        return plus(-rhs);
+        final Rational res = new Rational(this);
+        res.sub(rhs);
+        return res;
     }
 
     public Rational times(final long rhs) {
-        assert den != 0 || rhs != 0; // inf*0..
+        final Rational res = new Rational(this);
+        res.mult(rhs);
+        return res;
+    }
 
-        // special cases..
-        if (rhs == 1) {
-            return this;
+    public Rational divide(final long rhs) {
+        final Rational res = new Rational(this);
+        res.div(rhs);
+        return res;
+    }
+
+    public Rational minus() {
+        final Rational neg = new Rational();
+        if (den >= 0) {
+            neg.num = -num;
+            neg.den = den;
+        } else {
+            neg.set(big_num.negate(), big_den);
         }
-        if (eq(1)) {
-            return new Rational(rhs);
+        return neg;
+    }
+
+    /**
+     * Sets the value of this rational to the value of {@code r}.
+     *
+     * @param r the rational whose value is copied.
+     */
+    void set(final Rational r) {
+        this.num = r.num;
+        this.den = r.den;
+        this.big_num = r.big_num;
+        this.big_den = r.big_den;
+    }
+
+    private void set_small(final long n, final long d) {
+        if (n == Long.MIN_VALUE) {
+            // negating the numerator would overflow..
+            throw new ArithmeticException("long overflow");
         }
-        if (den == 1) {
-            return new Rational(num * rhs);
+        if (den < 0) {
+            this.big_num = null;
+            this.big_den = null;
         }
-        if (isInfinite()) {
-            return ((num >= 0 && rhs >= 0) || (num <= 0 && rhs <= 0)) ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
+        this.num = n;
+        this.den = d;
+    }
+
+    /**
+     * Sets the value of this rational to the finite fraction {@code n/d},
+     * normalizing it and storing it as a small rational, if it fits.
+     *
+     * @param n the numerator.
+     * @param d the (non zero) denominator.
+     */
+    private void set(BigInteger n, BigInteger d) {
+        assert d.signum() != 0;
+        if (d.signum() < 0) {
+            n = n.negate();
+            d = d.negate();
+        }
+        final BigInteger c_gcd = n.gcd(d);
+        if (!c_gcd.equals(BigInteger.ONE)) {
+            n = n.divide(c_gcd);
+            d = d.divide(c_gcd);
+        }
+        if (fits(n) && fits(d)) {
+            this.num = n.longValue();
+            this.den = d.longValue();
+            this.big_num = null;
+            this.big_den = null;
+        } else {
+            this.num = 0;
+            this.den = -1;
+            this.big_num = n;
+            this.big_den = d;
         }
+    }
 
-        return new Rational(num * rhs, den);
+    private static boolean fits(final BigInteger n) {
+        return n.bitLength() < 64 && !n.equals(LONG_MIN);
     }
 
-    public Rational divide(final long rhs) {
-        Rational rec = new Rational();
-        rec.num = 1;
-        rec.den = rhs;
-        if (rhs >= 0) {
-            rec.num = 1;
-            rec.den = rhs;
+    private BigInteger big_num() {
+        return den >= 0 ? BigInteger.valueOf(num) : big_num;
+    }
+
+    private BigInteger big_den() {
+        return den >= 0 ? BigInteger.valueOf(den) : big_den;
+    }
+
+    /**
+     * Returns the number of integers used by {@link #key(int[], int)} for
+     * encoding this rational.
+     *
+     * @return the size of the structural key of this rational.
+     */
+    int key_size() {
+        return den >= 0 ? 5 : 3 + (big_num.bitLength() / 8 + 4) / 4 + (big_den.bitLength() / 8 + 4) / 4;
+    }
+
+    /**
+     * Writes the structural key of this rational into {@code key}, starting
+     * from position {@code i}. Small rationals are encoded as a {@code 0}
+     * followed by the halves of their numerator and of their denominator, big
+     * rationals as a {@code 1} followed by the size and the bytes of their
+     * numerator and of their denominator.
+     *
+     * @param key the structural key being built.
+     * @param i the position of the first integer to write.
+     * @return the position following the last written integer.
+     */
+    int key(final int[] key, int i) {
+        if (den >= 0) {
+            key[i++] = 0;
+            key[i++] = (int) (num >>> 32);
+            key[i++] = (int) num;
+            key[i++] = (int) (den >>> 32);
+            key[i++] = (int) den;
         } else {
-            rec.num = -1;
-            rec.den = -rhs;
+            key[i++] = 1;
+            i = key(key, i, big_num);
+            i = key(key, i, big_den);
         }
-        return times(rec);
+        return i;
     }
 
-    public Rational minus() {
-        Rational neg = new Rational();
-        neg.num = -num;
-        neg.den = den;
-        return neg;
+    private static int key(final int[] key, int i, final BigInteger n) {
+        final byte[] bytes = n.toByteArray();
+        key[i++] = bytes.length;
+        for (int j = 0; j < bytes.length; j += 4) {
+            int word = 0;
+            for (int k = j; k < j + 4; k++) {
+                word = (word << 8) | (k < bytes.length ? bytes[k] & 0xFF : 0);
+            }
+            key[i++] = word;
+        }
+        return i;
     }
 
     @Override
     public int hashCode() {
+        if (den < 0) {
+            return Objects.hash(big_num, big_den);
+        }
         int hash = 5;
         hash = 29 * hash + (int) (this.num ^ (this.num >>> 32));
         hash = 29 * hash + (int) (this.den ^ (this.den >>> 32));
@@ -405,13 +686,14 @@ public class Rational extends Number implements Comparable<Rational> {
         if (getClass() != obj.getClass()) {
             return false;
         }
-        final Rational other = (Rational) obj;
-        return this.num == other.num && this.den == other.den;
+        return eq((Rational) obj);
     }
 
     @Override
     public String toString() {
-        if (den == 0) {
+        if (den < 0) {
+            return big_den.equals(BigInteger.ONE) ? big_num.toString() : big_num + "/" + big_den;
+        } else if (den == 0) {
             return num > 0 ? "+inf" : "-inf";
         } else if (den == 1) {
             return Long.toString(num);
@@ -420,39 +702,24 @@ public class Rational extends Number implements Comparable<Rational> {
         }
     }
 
-    private void normalize() {
-        if (den != 1) {
-            long c_gcd = gcd(num, den);
-            if (den < 0) {
-                c_gcd = -c_gcd;
-            }
-            num /= c_gcd;
-            den /= c_gcd;
-        }
-        if (den < 0) {
-            den = -den;
-            num = -num;
-        }
-    }
-
     @Override
     public int intValue() {
-        return (int) (num / den);
+        return (int) longValue();
     }
 
     @Override
     public long longValue() {
-        return num / den;
+        return den >= 0 ? num / den : big_num.divide(big_den).longValue();
     }
 
     @Override
     public float floatValue() {
-        return (float) num / den;
+        return (float) doubleValue();
     }
 
     @Override
     public double doubleValue() {
-        return (double) num / den;
+        return den >= 0 ? (double) num / den : new BigDecimal(big_num).divide(new BigDecimal(big_den), MathContext.DECIMAL64).doubleValue();
     }
 
     /**
@@ -461,13 +728,15 @@ public class Rational extends Number implements Comparable<Rational> {
      * @param u
      * @param v
      * @return the greatest common divisor.
+     * @throws ArithmeticException if either {@code u} or {@code v} is
+     * {@link Long#MIN_VALUE}.
      */
     private static long gcd(long u, long v) {
         if (u < 0) {
-            u = -u;
+            u = Math.negateExact(u);
         }
         if (v < 0) {
-            v = -v;
+            v = Math.negateExact(v);
         }
         while (v != 0) {
             long r = u % v;
@@ -476,21 +745,4 @@ public class Rational extends Number implements Comparable<Rational> {
         }
         return u;
     }
-
-    /**
-     * Computes the least common multiplier.
-     *
-     * @param u
-     * @param v
-     * @return the least common multiplier.
-     */
-    private static long lcm(long u, long v) {
-        if (u < 0) {
-            u = -u;
-        }
-        if (v < 0) {
-            v = -v;
-        }
-        return u * (v / gcd(u, v));
-    }
 }
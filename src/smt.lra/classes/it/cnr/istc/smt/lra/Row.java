@@ -19,7 +19,6 @@ package it.cnr.istc.smt.lra;
 import it.cnr.istc.smt.Lit;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class is used for representing tableau rows.
@@ -36,8 +35,8 @@ class Row {
         this.th = th;
         this.x = x;
         this.l = l;
-        for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-            th.t_watches.get(term.getKey()).add(this);
+        for (int i = 0; i < l.size(); i++) {
+            th.t_watches.get(l.var(i)).add(this);
         }
     }
 
@@ -53,26 +52,28 @@ class Row {
         assert cnfl.isEmpty();
         // we make room for the first literal..
         cnfl.add(new Lit(0));
-        if (l.vars.get(x_i).isPositive()) {
+        if (l.get(x_i).isPositive()) {
             InfRational lb = new InfRational();
-            for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-                if (term.getValue().isPositive()) {
-                    if (th.lb(term.getKey()).rat.isNegativeInfinite()) {
+            for (int i = 0; i < l.size(); i++) {
+                final int x_j = l.var(i);
+                final Rational c = l.coeff(i);
+                if (c.isPositive()) {
+                    if (th.lb(x_j).rat.isNegativeInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        lb.add(th.lb(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.lb_index(term.getKey())).reason.not());
+                        lb.add(th.lb(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.lb_index(x_j)).not());
                     }
-                } else if (term.getValue().isNegative()) {
-                    if (th.ub(term.getKey()).rat.isPositiveInfinite()) {
+                } else if (c.isNegative()) {
+                    if (th.ub(x_j).rat.isPositiveInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        lb.add(th.ub(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.ub_index(term.getKey())).reason.not());
+                        lb.add(th.ub(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.ub_index(x_j)).not());
                     }
                 }
             }
@@ -105,24 +106,26 @@ class Row {
             }
         } else {
             InfRational ub = new InfRational();
-            for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-                if (term.getValue().isPositive()) {
-                    if (th.ub(term.getKey()).rat.isPositiveInfinite()) {
+            for (int i = 0; i < l.size(); i++) {
+                final int x_j = l.var(i);
+                final Rational c = l.coeff(i);
+                if (c.isPositive()) {
+                    if (th.ub(x_j).rat.isPositiveInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        ub.add(th.ub(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.ub_index(term.getKey())).reason.not());
+                        ub.add(th.ub(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.ub_index(x_j)).not());
                     }
-                } else if (term.getValue().isNegative()) {
-                    if (th.lb(term.getKey()).rat.isNegativeInfinite()) {
+                } else if (c.isNegative()) {
+                    if (th.lb(x_j).rat.isNegativeInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        ub.add(th.lb(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.lb_index(term.getKey())).reason.not());
+                        ub.add(th.lb(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.lb_index(x_j)).not());
                     }
                 }
             }
@@ -171,26 +174,28 @@ class Row {
         assert cnfl.isEmpty();
         // we make room for the first literal..
         cnfl.add(new Lit(0));
-        if (l.vars.get(x_i).isPositive()) {
+        if (l.get(x_i).isPositive()) {
             InfRational ub = new InfRational();
-            for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-                if (term.getValue().isPositive()) {
-                    if (th.ub(term.getKey()).rat.isPositiveInfinite()) {
+            for (int i = 0; i < l.size(); i++) {
+                final int x_j = l.var(i);
+                final Rational c = l.coeff(i);
+                if (c.isPositive()) {
+                    if (th.ub(x_j).rat.isPositiveInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        ub.add(th.ub(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.ub_index(term.getKey())).reason.not());
+                        ub.add(th.ub(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.ub_index(x_j)).not());
                     }
-                } else if (term.getValue().isNegative()) {
-                    if (th.lb(term.getKey()).rat.isNegativeInfinite()) {
+                } else if (c.isNegative()) {
+                    if (th.lb(x_j).rat.isNegativeInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        ub.add(th.lb(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.lb_index(term.getKey())).reason.not());
+                        ub.add(th.lb(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.lb_index(x_j)).not());
                     }
                 }
             }
@@ -223,24 +228,26 @@ class Row {
             }
         } else {
             InfRational lb = new InfRational();
-            for (Map.Entry<Integer, Rational> term : l.vars.entrySet()) {
-                if (term.getValue().isPositive()) {
-                    if (th.lb(term.getKey()).rat.isNegativeInfinite()) {
+            for (int i = 0; i < l.size(); i++) {
+                final int x_j = l.var(i);
+                final Rational c = l.coeff(i);
+                if (c.isPositive()) {
+                    if (th.lb(x_j).rat.isNegativeInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        lb.add(th.lb(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.lb_index(term.getKey())).reason.not());
+                        lb.add(th.lb(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.lb_index(x_j)).not());
                     }
-                } else if (term.getValue().isNegative()) {
-                    if (th.ub(term.getKey()).rat.isPositiveInfinite()) {
+                } else if (c.isNegative()) {
+                    if (th.ub(x_j).rat.isPositiveInfinite()) {
                         // nothing to propagate..
                         cnfl.clear();
                         return true;
                     } else {
-                        lb.add(th.ub(term.getKey()).times(term.getValue()));
-                        cnfl.add(th.assigns.get(LRATheory.ub_index(term.getKey())).reason.not());
+                        lb.add(th.ub(x_j).times(c));
+                        cnfl.add(th.reason(LRATheory.ub_index(x_j)).not());
                     }
                 }
             }
@@ -0,0 +1,564 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt.lra;
+
+import it.cnr.istc.smt.LBool;
+import it.cnr.istc.smt.Lit;
+import it.cnr.istc.smt.SatCore;
+import static it.cnr.istc.smt.SatCore.FALSE_var;
+import static it.cnr.istc.smt.SatCore.TRUE_var;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A reader of QF_LRA problems in the SMT-LIB 2 format. Real constants are
+ * mapped to new variables of the given linear real arithmetic theory, boolean
+ * constants to new variables of its SAT core, arithmetic relations to the
+ * atoms created through {@link LRATheory#newLEq(Lin, Lin)},
+ * {@link LRATheory#newGEq(Lin, Lin)}, {@link LRATheory#newLt(Lin, Lin)} and
+ * {@link LRATheory#newGt(Lin, Lin)} and each asserted formula to a unit
+ * clause of the SAT core.
+ * <p>
+ * Only the subset of the language needed by the standard benchmarks is
+ * supported: constants (i.e., nullary functions) can be declared and defined,
+ * terms can be built through the core and the arithmetic operators,
+ * {@code ite} (on formulas), {@code let} and annotations, while the commands
+ * which do not affect the formula (e.g., {@code check-sat}) are ignored.
+ * Solving the formula is up to the caller.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class SMTLIBReader {
+
+    private final SatCore core;
+    private final LRATheory la;
+    private final Map<String, Object> consts = new HashMap<>(); // the declared (and defined) constants, either literals or linear expressions..
+    private final Deque<Map<String, Object>> lets = new ArrayDeque<>(); // the scopes of the let terms, innermost first..
+    private final List<Atom> atoms = new ArrayList<>(); // the created arithmetic atoms, for verifying the models..
+    private LBool status = LBool.Undefined; // the status of the problem, as declared by the problem itself..
+    private boolean consistent = true; // whether the assertions have not been found trivially inconsistent..
+
+    public SMTLIBReader(final LRATheory la) {
+        this.core = la.sat_core;
+        this.la = la;
+    }
+
+    /**
+     * Reads the problem from the given reader, adding its constants and its
+     * assertions to the theory and to its SAT core.
+     *
+     * @param reader the reader of the problem.
+     * @return {@code false} if the assertions are trivially inconsistent
+     * (i.e., a conflict has been found at root level while adding them).
+     * @throws IOException if an I/O error occurs or if the problem is not a
+     * (supported) QF_LRA problem.
+     */
+    public boolean read(final Reader reader) throws IOException {
+        assert core.rootLevel();
+        final Tokenizer tokenizer = new Tokenizer(reader);
+        Object cmd;
+        while ((cmd = tokenizer.next()) != null) {
+            if (!(cmd instanceof List) || ((List<?>) cmd).isEmpty()) {
+                throw new IOException("invalid command: " + cmd);
+            }
+            command((List<?>) cmd);
+        }
+        return consistent;
+    }
+
+    private void command(final List<?> cmd) throws IOException {
+        switch (symbol(cmd.get(0))) {
+            case "set-logic":
+                final String logic = symbol(arg(cmd, 1));
+                if (!logic.equals("QF_LRA") && !logic.equals("QF_RDL")) {
+                    throw new IOException("unsupported logic: " + logic);
+                }
+                break;
+            case "set-info":
+                if (symbol(arg(cmd, 1)).equals(":status")) {
+                    switch (symbol(arg(cmd, 2))) {
+                        case "sat":
+                            status = LBool.True;
+                            break;
+                        case "unsat":
+                            status = LBool.False;
+                            break;
+                        default:
+                            status = LBool.Undefined;
+                    }
+                }
+                break;
+            case "declare-fun":
+                if (!(arg(cmd, 2) instanceof List) || !((List<?>) arg(cmd, 2)).isEmpty()) {
+                    throw new IOException("unsupported function: " + cmd);
+                }
+                declare(symbol(arg(cmd, 1)), symbol(arg(cmd, 3)));
+                break;
+            case "declare-const":
+                declare(symbol(arg(cmd, 1)), symbol(arg(cmd, 2)));
+                break;
+            case "define-fun":
+                if (!(arg(cmd, 2) instanceof List) || !((List<?>) arg(cmd, 2)).isEmpty()) {
+                    throw new IOException("unsupported function: " + cmd);
+                }
+                final Object val = term(arg(cmd, 4));
+                if ((val instanceof Lit) != symbol(arg(cmd, 3)).equals("Bool")) {
+                    throw new IOException("sort mismatch: " + cmd);
+                }
+                consts.put(symbol(arg(cmd, 1)), val);
+                break;
+            case "assert":
+                final Lit l = formula(arg(cmd, 1));
+                if (consistent && !core.newClause(l)) {
+                    consistent = false;
+                }
+                break;
+            case "set-option":
+            case "get-info":
+            case "get-option":
+            case "get-model":
+            case "get-value":
+            case "check-sat":
+            case "exit":
+                break;
+            default:
+                throw new IOException("unsupported command: " + cmd.get(0));
+        }
+    }
+
+    private void declare(final String name, final String sort) throws IOException {
+        switch (sort) {
+            case "Bool":
+                consts.put(name, new Lit(core.newVar()));
+                break;
+            case "Real":
+                consts.put(name, new Lin(la.newVar()));
+                break;
+            default:
+                throw new IOException("unsupported sort: " + sort);
+        }
+    }
+
+    private Lit formula(final Object t) throws IOException {
+        final Object val = term(t);
+        if (!(val instanceof Lit)) {
+            throw new IOException("not a formula: " + t);
+        }
+        return (Lit) val;
+    }
+
+    private Lin expression(final Object t) throws IOException {
+        final Object val = term(t);
+        if (!(val instanceof Lin)) {
+            throw new IOException("not an arithmetic term: " + t);
+        }
+        return (Lin) val;
+    }
+
+    /**
+     * Evaluates the given term, returning either a {@link Lit}, for formulas,
+     * or a {@link Lin}, for arithmetic terms.
+     *
+     * @param t the term to evaluate.
+     * @return the value of the term.
+     * @throws IOException if the term is not valid or not supported.
+     */
+    private Object term(final Object t) throws IOException {
+        if (t instanceof String) {
+            final String s = (String) t;
+            for (Map<String, Object> let : lets) {
+                final Object val = let.get(s);
+                if (val != null) {
+                    return val;
+                }
+            }
+            final Object val = consts.get(s);
+            if (val != null) {
+                return val;
+            }
+            switch (s) {
+                case "true":
+                    return new Lit(TRUE_var);
+                case "false":
+                    return new Lit(FALSE_var);
+                default:
+                    if (!Character.isDigit(s.charAt(0))) {
+                        throw new IOException("undeclared symbol: " + s);
+                    }
+                    return new Lin(number(s));
+            }
+        }
+
+        final List<?> xpr = (List<?>) t;
+        if (xpr.isEmpty()) {
+            throw new IOException("invalid term: " + t);
+        }
+        final String op = symbol(xpr.get(0));
+        switch (op) {
+            case "not":
+                return formula(arg(xpr, 1)).not();
+            case "and":
+                return new Lit(core.newConj(formulas(xpr, 1)));
+            case "or":
+                return new Lit(core.newDisj(formulas(xpr, 1)));
+            case "=>": {
+                // (=> a b c) is (=> a (=> b c)), that is, (or (not a) (not b) c)..
+                final Lit[] ls = formulas(xpr, 1);
+                for (int i = 0; i < ls.length - 1; i++) {
+                    ls[i] = ls[i].not();
+                }
+                return new Lit(core.newDisj(ls));
+            }
+            case "xor": {
+                final Lit[] ls = formulas(xpr, 1);
+                Lit c_xor = ls[0];
+                for (int i = 1; i < ls.length; i++) {
+                    c_xor = new Lit(core.newEq(c_xor, ls[i]), false);
+                }
+                return c_xor;
+            }
+            case "ite": {
+                final Lit cond = formula(arg(xpr, 1));
+                final Object then_val = term(arg(xpr, 2));
+                if (!(then_val instanceof Lit)) {
+                    throw new IOException("unsupported arithmetic ite: " + t);
+                }
+                final Lit else_val = formula(arg(xpr, 3));
+                return new Lit(core.newDisj(new Lit(core.newConj(cond, (Lit) then_val)), new Lit(core.newConj(cond.not(), else_val))));
+            }
+            case "=":
+            case "distinct": {
+                final Object[] args = new Object[xpr.size() - 1];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = term(xpr.get(i + 1));
+                }
+                final List<Lit> ls = new ArrayList<>();
+                for (int i = 0; i < args.length - 1; i++) {
+                    // '=' is chainable while 'distinct' is pairwise..
+                    for (int j = i + 1; j < (op.equals("=") ? i + 2 : args.length); j++) {
+                        final Lit eq;
+                        if (args[i] instanceof Lit && args[j] instanceof Lit) {
+                            eq = new Lit(core.newEq((Lit) args[i], (Lit) args[j]));
+                        } else if (args[i] instanceof Lin && args[j] instanceof Lin) {
+                            eq = atom(op, (Lin) args[i], (Lin) args[j]);
+                        } else {
+                            throw new IOException("sort mismatch: " + t);
+                        }
+                        ls.add(op.equals("=") ? eq : eq.not());
+                    }
+                }
+                return ls.size() == 1 ? ls.get(0) : new Lit(core.newConj(ls.toArray(new Lit[ls.size()])));
+            }
+            case "<=":
+            case "<":
+            case ">=":
+            case ">": {
+                // arithmetic relations are chainable..
+                final Lit[] ls = new Lit[xpr.size() - 2];
+                Lin left = expression(arg(xpr, 1));
+                for (int i = 0; i < ls.length; i++) {
+                    final Lin right = expression(xpr.get(i + 2));
+                    ls[i] = atom(op, left, right);
+                    left = right;
+                }
+                return ls.length == 1 ? ls[0] : new Lit(core.newConj(ls));
+            }
+            case "+": {
+                Lin sum = expression(arg(xpr, 1));
+                for (int i = 2; i < xpr.size(); i++) {
+                    sum = sum.plus(expression(xpr.get(i)));
+                }
+                return sum;
+            }
+            case "-": {
+                Lin diff = expression(arg(xpr, 1));
+                if (xpr.size() == 2) {
+                    return diff.minus();
+                }
+                for (int i = 2; i < xpr.size(); i++) {
+                    diff = diff.minus(expression(xpr.get(i)));
+                }
+                return diff;
+            }
+            case "*": {
+                // at most one of the factors can be a non-constant term..
+                Lin prod = expression(arg(xpr, 1));
+                for (int i = 2; i < xpr.size(); i++) {
+                    final Lin factor = expression(xpr.get(i));
+                    if (factor.isEmpty()) {
+                        prod = prod.times(factor.known_term);
+                    } else if (prod.isEmpty()) {
+                        prod = factor.times(prod.known_term);
+                    } else {
+                        throw new IOException("non-linear term: " + t);
+                    }
+                }
+                return prod;
+            }
+            case "/": {
+                Lin quot = expression(arg(xpr, 1));
+                for (int i = 2; i < xpr.size(); i++) {
+                    final Lin divisor = expression(xpr.get(i));
+                    if (!divisor.isEmpty() || divisor.known_term.eq(0)) {
+                        throw new IOException("non-linear term: " + t);
+                    }
+                    quot = quot.divide(divisor.known_term);
+                }
+                return quot;
+            }
+            case "let": {
+                if (!(arg(xpr, 1) instanceof List)) {
+                    throw new IOException("invalid let: " + t);
+                }
+                // let bindings are parallel, hence they are evaluated in the enclosing scope..
+                final Map<String, Object> let = new HashMap<>();
+                for (Object binding : (List<?>) arg(xpr, 1)) {
+                    if (!(binding instanceof List) || ((List<?>) binding).size() != 2) {
+                        throw new IOException("invalid binding: " + binding);
+                    }
+                    let.put(symbol(((List<?>) binding).get(0)), term(((List<?>) binding).get(1)));
+                }
+                lets.push(let);
+                try {
+                    return term(arg(xpr, 2));
+                } finally {
+                    lets.pop();
+                }
+            }
+            case "!":
+                return term(arg(xpr, 1));
+            default:
+                throw new IOException("unsupported operator: " + op);
+        }
+    }
+
+    private Lit[] formulas(final List<?> xpr, final int from) throws IOException {
+        if (xpr.size() <= from) {
+            throw new IOException("missing arguments: " + xpr);
+        }
+        final Lit[] ls = new Lit[xpr.size() - from];
+        for (int i = 0; i < ls.length; i++) {
+            ls[i] = formula(xpr.get(i + from));
+        }
+        return ls;
+    }
+
+    private Lit atom(final String op, final Lin left, final Lin right) {
+        final Lit l;
+        switch (op) {
+            case "<=":
+                l = new Lit(la.newLEq(left, right));
+                break;
+            case "<":
+                l = new Lit(la.newLt(left, right));
+                break;
+            case ">=":
+                l = new Lit(la.newGEq(left, right));
+                break;
+            case ">":
+                l = new Lit(la.newGt(left, right));
+                break;
+            case "=":
+                l = new Lit(la.newEq(left, right));
+                break;
+            default:
+                throw new AssertionError(op);
+        }
+        atoms.add(new Atom(op, l.v, left.minus(right)));
+        return l;
+    }
+
+    private static Rational number(final String s) throws IOException {
+        try {
+            final BigDecimal dec = new BigDecimal(s);
+            if (dec.scale() <= 0) {
+                return new Rational(dec.toBigIntegerExact(), BigInteger.ONE);
+            }
+            return new Rational(dec.unscaledValue(), BigInteger.TEN.pow(dec.scale()));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IOException("invalid constant: " + s, e);
+        }
+    }
+
+    private static Object arg(final List<?> xpr, final int i) throws IOException {
+        if (i >= xpr.size()) {
+            throw new IOException("missing argument: " + xpr);
+        }
+        return xpr.get(i);
+    }
+
+    private static String symbol(final Object t) throws IOException {
+        if (!(t instanceof String)) {
+            throw new IOException("not a symbol: " + t);
+        }
+        return (String) t;
+    }
+
+    /**
+     * Returns the status of the problem, as declared through the
+     * {@code :status} attribute of the problem.
+     *
+     * @return {@link LBool#True} if the problem is declared satisfiable,
+     * {@link LBool#False} if it is declared unsatisfiable and
+     * {@link LBool#Undefined} if its status is unknown.
+     */
+    public LBool getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns whether the current assignment of the SAT core is consistent
+     * with the current values of the theory, that is, whether each assigned
+     * arithmetic atom holds if, and only if, it is true.
+     *
+     * @return whether the current values satisfy the assigned atoms.
+     */
+    public boolean isSatisfied() {
+        for (Atom atom : atoms) {
+            final LBool val = core.value(atom.v);
+            if (val != LBool.Undefined && atom.holds() != (val == LBool.True)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class Atom {
+
+        private final String op; // the relation of the atom..
+        private final int v; // the boolean variable of the atom..
+        private final Lin xpr; // the difference between the left and the right term of the atom..
+
+        private Atom(final String op, final int v, final Lin xpr) {
+            this.op = op;
+            this.v = v;
+            this.xpr = xpr;
+        }
+
+        private boolean holds() {
+            final InfRational val = la.value(xpr);
+            switch (op) {
+                case "<=":
+                    return val.leq(new InfRational(0));
+                case "<":
+                    return val.lt(new InfRational(0));
+                case ">=":
+                    return val.geq(new InfRational(0));
+                case ">":
+                    return val.gt(new InfRational(0));
+                case "=":
+                    return val.eq(new InfRational(0));
+                default:
+                    throw new AssertionError(op);
+            }
+        }
+    }
+
+    /**
+     * Splits a stream of characters into s-expressions, represented either as
+     * strings, for symbols, keywords and constants, or as lists of
+     * s-expressions.
+     */
+    private static class Tokenizer {
+
+        private final BufferedReader reader;
+
+        private Tokenizer(final Reader reader) {
+            this.reader = new BufferedReader(reader);
+        }
+
+        /**
+         * Returns the next s-expression, or {@code null} at the end of the
+         * stream.
+         */
+        private Object next() throws IOException {
+            int c = skip();
+            if (c == -1) {
+                return null;
+            }
+            return next(c);
+        }
+
+        private Object next(int c) throws IOException {
+            switch (c) {
+                case '(': {
+                    final List<Object> xpr = new ArrayList<>();
+                    while ((c = skip()) != ')') {
+                        if (c == -1) {
+                            throw new IOException("unbalanced parentheses..");
+                        }
+                        xpr.add(next(c));
+                    }
+                    return xpr;
+                }
+                case ')':
+                    throw new IOException("unbalanced parentheses..");
+                case '|':
+                case '"': {
+                    // quoted symbols and strings..
+                    final int q = c;
+                    final StringBuilder sb = new StringBuilder();
+                    while ((c = reader.read()) != q) {
+                        if (c == -1) {
+                            throw new IOException("unterminated " + (q == '|' ? "symbol.." : "string.."));
+                        }
+                        sb.append((char) c);
+                    }
+                    return sb.toString();
+                }
+                default: {
+                    final StringBuilder sb = new StringBuilder();
+                    sb.append((char) c);
+                    while (true) {
+                        reader.mark(1);
+                        c = reader.read();
+                        if (c == -1 || c == '(' || c == ')' || c == ';' || Character.isWhitespace(c)) {
+                            reader.reset();
+                            return sb.toString();
+                        }
+                        sb.append((char) c);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Skips whitespaces and comments, returning the next character.
+         */
+        private int skip() throws IOException {
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == ';') {
+                    while ((c = reader.read()) != -1 && c != '\n') {
+                    }
+                } else if (!Character.isWhitespace(c)) {
+                    return c;
+                }
+            }
+            return -1;
+        }
+    }
+}
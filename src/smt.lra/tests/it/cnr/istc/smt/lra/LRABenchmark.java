@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt.lra;
+
+import it.cnr.istc.smt.LBool;
+import it.cnr.istc.smt.RestartPolicy;
+import it.cnr.istc.smt.SatCore;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A standalone benchmark of the linear real arithmetic theory. Each SMT-LIB 2
+ * QF_LRA file of a given directory (or the given file itself) is read through
+ * a {@link SMTLIBReader} into a fresh {@link LRATheory} and solved through
+ * {@link SatCore#solve(long)}, reporting, for each instance, the result, the
+ * solving time, the number of conflicts, the number of (exact) pivots, the
+ * number of pivots per second, the number of double-precision pivots and the
+ * number of performed and skipped theory checks (see
+ * {@link SatCore#getTheoryChecks()} and
+ * {@link SatCore#getSkippedTheoryChecks()}). Models are verified against the
+ * arithmetic atoms and results are checked against the declared status of the
+ * instance, if any.
+ * <p>
+ * Usage:
+ * {@code LRABenchmark [-final] <file or directory> [timeout in ms] [fp threshold]},
+ * the default timeout being 60 seconds. With {@code -final}, theories are
+ * checked only at the decision points (see
+ * {@link SatCore#setFinalCheckOnly(boolean)}). If a threshold is given, the
+ * double-precision simplex is enabled (see
+ * {@link LRATheory#setFloatingPointThreshold(int)}). The instances in
+ * {@code benchmarks/lra} are meant to be run through this class.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class LRABenchmark {
+
+    private static final long DEFAULT_TIMEOUT = 60000;
+
+    private LRABenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final boolean final_check_only = args.length > 0 && args[0].equals("-final");
+        if (final_check_only) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("usage: LRABenchmark [-final] <file or directory> [timeout in ms] [fp threshold]");
+            System.exit(1);
+        }
+        final File path = new File(args[0]);
+        final long timeout = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TIMEOUT;
+        final int fp_threshold = args.length > 2 ? Integer.parseInt(args[2]) : -1;
+        final File[] files = path.isDirectory() ? path.listFiles((dir, name) -> name.endsWith(".smt2")) : new File[]{path};
+        if (files == null || files.length == 0) {
+            System.err.println("no SMT-LIB files found in " + path);
+            System.exit(1);
+        }
+        Arrays.sort(files);
+
+        System.out.println(String.format("%-24s %-8s %10s %10s %10s %10s %10s %10s %10s", "instance", "result", "time (ms)", "conflicts", "pivots", "pivots/s", "fp pivots", "checks", "skipped"));
+        long tot_time = 0, tot_conflicts = 0, tot_pivots = 0, tot_fp_pivots = 0, tot_checks = 0, tot_skipped_checks = 0;
+        boolean wrong = false;
+        for (File file : files) {
+            final Result r;
+            try (Reader reader = new FileReader(file)) {
+                r = run(reader, timeout, fp_threshold, final_check_only);
+            }
+            tot_time += r.time;
+            tot_conflicts += r.conflicts;
+            tot_pivots += r.pivots;
+            tot_fp_pivots += r.fp_pivots;
+            tot_checks += r.checks;
+            tot_skipped_checks += r.skipped_checks;
+            if (!r.verified) {
+                wrong = true;
+            }
+            System.out.println(String.format("%-24s %-8s %10d %10d %10d %10.0f %10d %10d %10d", file.getName(), r.verified ? label(r.result) : "WRONG", r.time, r.conflicts, r.pivots, per_second(r.pivots, r.time), r.fp_pivots, r.checks, r.skipped_checks));
+        }
+        System.out.println(String.format("%-24s %-8s %10d %10d %10d %10.0f %10d %10d %10d", "total", "", tot_time, tot_conflicts, tot_pivots, per_second(tot_pivots, tot_time), tot_fp_pivots, tot_checks, tot_skipped_checks));
+        if (wrong) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Reads a QF_LRA problem in the SMT-LIB 2 format and solves it within the
+     * given timeout.
+     *
+     * @param reader the reader of the problem.
+     * @param timeout the maximum number of milliseconds of the search (no
+     * limit if not positive).
+     * @return the outcome of the search.
+     * @throws IOException if an I/O error occurs or if the problem is not a
+     * (supported) QF_LRA problem.
+     */
+    public static Result run(final Reader reader, final long timeout) throws IOException {
+        return run(reader, timeout, -1);
+    }
+
+    /**
+     * Reads a QF_LRA problem in the SMT-LIB 2 format and solves it within the
+     * given timeout, possibly with the help of the double-precision simplex.
+     *
+     * @param reader the reader of the problem.
+     * @param timeout the maximum number of milliseconds of the search (no
+     * limit if not positive).
+     * @param fp_threshold the number of exact pivots of a check after which
+     * the double-precision simplex is tried (never, if negative).
+     * @return the outcome of the search.
+     * @throws IOException if an I/O error occurs or if the problem is not a
+     * (supported) QF_LRA problem.
+     */
+    public static Result run(final Reader reader, final long timeout, final int fp_threshold) throws IOException {
+        return run(reader, timeout, fp_threshold, false);
+    }
+
+    /**
+     * Reads a QF_LRA problem in the SMT-LIB 2 format and solves it within the
+     * given timeout, possibly with the help of the double-precision simplex
+     * and possibly checking the theories only at the decision points.
+     *
+     * @param reader the reader of the problem.
+     * @param timeout the maximum number of milliseconds of the search (no
+     * limit if not positive).
+     * @param fp_threshold the number of exact pivots of a check after which
+     * the double-precision simplex is tried (never, if negative).
+     * @param final_check_only whether the theories are checked only at the
+     * decision points.
+     * @return the outcome of the search.
+     * @throws IOException if an I/O error occurs or if the problem is not a
+     * (supported) QF_LRA problem.
+     */
+    public static Result run(final Reader reader, final long timeout, final int fp_threshold, final boolean final_check_only) throws IOException {
+        final long start = System.nanoTime();
+        final SatCore core = new SatCore();
+        core.setRestartPolicy(new RestartPolicy.Luby(100));
+        core.setFinalCheckOnly(final_check_only);
+        final LRATheory la = new LRATheory(core);
+        la.setFloatingPointThreshold(fp_threshold);
+        final SMTLIBReader smtlib = new SMTLIBReader(la);
+        final LBool result = smtlib.read(reader) ? core.solve(timeout) : LBool.False;
+        final long time = (System.nanoTime() - start) / 1000000;
+
+        boolean verified = result != LBool.True || smtlib.isSatisfied();
+        if (result != LBool.Undefined && smtlib.getStatus() != LBool.Undefined && result != smtlib.getStatus()) {
+            verified = false;
+        }
+        return new Result(result, verified, time, core.getConflicts(), la.getPivots(), la.getFloatingPointPivots(), core.getTheoryChecks(), core.getSkippedTheoryChecks());
+    }
+
+    private static String label(final LBool result) {
+        switch (result) {
+            case True:
+                return "SAT";
+            case False:
+                return "UNSAT";
+            default:
+                return "TIMEOUT";
+        }
+    }
+
+    private static double per_second(final long n, final long time) {
+        return time == 0 ? 0 : n * 1000.0 / time;
+    }
+
+    /**
+     * The outcome of solving a single instance.
+     */
+    public static class Result {
+
+        /**
+         * {@link LBool#True} if the instance is satisfiable,
+         * {@link LBool#False} if it is unsatisfiable and
+         * {@link LBool#Undefined} if the search has timed out.
+         */
+        public final LBool result;
+        /**
+         * Whether the found model, if any, satisfies the instance and the
+         * result agrees with the declared status of the instance, if any.
+         */
+        public final boolean verified;
+        public final long time; // the solving time, in milliseconds (parsing included)..
+        public final long conflicts; // the number of conflicts found while solving..
+        public final long pivots; // the number of (exact) pivots performed while solving..
+        public final long fp_pivots; // the number of double-precision pivots performed while solving..
+        public final long checks; // the number of theory checks performed while solving..
+        public final long skipped_checks; // the number of theory checks skipped (or deferred) while solving..
+
+        private Result(final LBool result, final boolean verified, final long time, final long conflicts, final long pivots, final long fp_pivots, final long checks, final long skipped_checks) {
+            this.result = result;
+            this.verified = verified;
+            this.time = time;
+            this.conflicts = conflicts;
+            this.pivots = pivots;
+            this.fp_pivots = fp_pivots;
+            this.checks = checks;
+            this.skipped_checks = skipped_checks;
+        }
+    }
+}
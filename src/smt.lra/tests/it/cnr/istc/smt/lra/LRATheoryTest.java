@@ -16,10 +16,15 @@
  */
 package it.cnr.istc.smt.lra;
 
+import it.cnr.istc.smt.LBool;
 import it.cnr.istc.smt.Lit;
 import it.cnr.istc.smt.SatCore;
 import static it.cnr.istc.smt.lra.Rational.NEGATIVE_INFINITY;
 import static it.cnr.istc.smt.lra.Rational.POSITIVE_INFINITY;
+import java.io.FileReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -48,6 +53,40 @@ public class LRATheoryTest {
         Assert.assertTrue(NEGATIVE_INFINITY.leq(POSITIVE_INFINITY));
         Assert.assertTrue(POSITIVE_INFINITY.geq(NEGATIVE_INFINITY));
         Assert.assertTrue(POSITIVE_INFINITY.gt(NEGATIVE_INFINITY));
+        Assert.assertFalse(POSITIVE_INFINITY.leq(NEGATIVE_INFINITY));
+    }
+
+    @Test
+    public void testRationalOverflow() {
+        // overflowing values are promoted to big integers..
+        Rational r0 = new Rational(Long.MAX_VALUE);
+        r0.add(1);
+        Assert.assertTrue(r0.isBig());
+        Assert.assertEquals("9223372036854775808", r0.toString());
+        Assert.assertTrue(r0.gt(Long.MAX_VALUE));
+        Assert.assertTrue(r0.gt(new Rational(Long.MAX_VALUE)));
+
+        // .. and are demoted as soon as they fit into longs..
+        r0.sub(1);
+        Assert.assertFalse(r0.isBig());
+        Assert.assertTrue(r0.eq(Long.MAX_VALUE));
+
+        // (1/(2^62 + 1) - 1/2^62) * 2^62 * (2^62 + 1) == -1..
+        Rational r1 = new Rational(1, (1L << 62) + 1);
+        r1.sub(new Rational(1, 1L << 62));
+        Assert.assertTrue(r1.isBig());
+        Assert.assertTrue(r1.isNegative());
+        Assert.assertTrue(r1.gt(new Rational(-1, 1L << 62)));
+        r1.mult(new Rational(1L << 62));
+        r1.mult((1L << 62) + 1);
+        Assert.assertTrue(r1.eq(-1));
+
+        // comparisons whose cross products overflow..
+        Rational r2 = new Rational(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        Rational r3 = new Rational(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+        Assert.assertTrue(r2.gt(r3));
+        Assert.assertTrue(r3.lt(r2));
+        Assert.assertEquals(new Rational(Long.MIN_VALUE), new Rational(Long.MIN_VALUE, 1));
     }
 
     @Test
@@ -61,6 +100,26 @@ public class LRATheoryTest {
         l1.add(2, new Rational(2));
 
         Lin l2 = l0.plus(l1);
+        Assert.assertArrayEquals(new int[]{0, 1, 2}, l2.vars());
+        Assert.assertTrue(l2.get(1).eq(3));
+        Assert.assertArrayEquals(new int[]{0, 1}, l0.vars());
+
+        // terms cancelling out are removed..
+        Lin l3 = l2.minus(l0);
+        Assert.assertArrayEquals(new int[]{1, 2}, l3.vars());
+        Assert.assertTrue(l3.get(1).eq(1));
+        Assert.assertNull(l3.get(0));
+
+        // x0 + 2*x1 + 1/2 * (-2*x0 + x3 + 1) == 2*x1 + 1/2*x3 + 1/2..
+        Lin l4 = new Lin(0, new Rational(-2));
+        l4.add(3, new Rational(1));
+        l4.add(1);
+        l0.axpy(new Rational(1, 2), l4);
+        Assert.assertArrayEquals(new int[]{1, 3}, l0.vars());
+        Assert.assertTrue(l0.get(3).eq(new Rational(1, 2)));
+        Assert.assertTrue(l0.known_term.eq(new Rational(1, 2)));
+        Assert.assertTrue(l0.remove(1).eq(2));
+        Assert.assertArrayEquals(new int[]{3}, l0.vars());
     }
 
     @Test
@@ -145,4 +204,168 @@ public class LRATheoryTest {
         y_val = lra.value(y);
         Assert.assertTrue(y_val.eq(1));
     }
+
+    @Test
+    public void testFloatingPoint() {
+        SatCore core = new SatCore();
+        LRATheory lra = new LRATheory(core);
+        lra.setFloatingPointThreshold(0);
+
+        int x = lra.newVar();
+        int y = lra.newVar();
+        Lin x_plus_y = new Lin(x);
+        x_plus_y.add(new Lin(y));
+        Lin x_minus_y = new Lin(x);
+        x_minus_y.sub(new Lin(y));
+
+        // x + y >= 1/3, x - y <= 1/7, y <= 1/5
+        boolean nc = core.newClause(new Lit(lra.newGEq(x_plus_y, new Lin(new Rational(1, 3))))) && core.newClause(new Lit(lra.newLEq(x_minus_y, new Lin(new Rational(1, 7))))) && core.newClause(new Lit(lra.newLEq(new Lin(y), new Lin(new Rational(1, 5))))) && core.check();
+        Assert.assertTrue(nc);
+        Assert.assertTrue(lra.value(x_plus_y).geq(new Rational(1, 3)));
+        Assert.assertTrue(lra.value(x_minus_y).leq(new Rational(1, 7)));
+        Assert.assertTrue(lra.value(y).leq(new Rational(1, 5)));
+
+        // x + y <= 333333333333/1000000000000 (feasible, up to rounding errors, with doubles)
+        nc = core.newClause(new Lit(lra.newLEq(x_plus_y, new Lin(new Rational(333333333333L, 1000000000000L))))) && core.check();
+        Assert.assertFalse(nc);
+    }
+
+    @Test
+    public void testProbe() {
+        SatCore core = new SatCore();
+        LRATheory lra = new LRATheory(core);
+
+        int x = lra.newVar();
+        int y = lra.newVar();
+
+        // x >= y;
+        boolean nc = core.newClause(new Lit(lra.newGEq(new Lin(x), new Lin(y)))) && core.check();
+        Assert.assertTrue(nc);
+
+        int x_leq_0 = lra.newLEq(new Lin(x), new Lin(new Rational()));
+        int y_geq_1 = lra.newGEq(new Lin(y), new Lin(new Rational(1)));
+        int[] changes = new int[1];
+        core.listen(x_leq_0, v -> changes[0]++);
+
+        // x <= 0 and y >= 1 are not compatible with x >= y..
+        Collection<Lit> cnfl = new ArrayList<>();
+        Assert.assertFalse(core.probe(cnfl, new Lit(x_leq_0), new Lit(y_geq_1)));
+        Assert.assertEquals(2, cnfl.size());
+        Assert.assertEquals(0, changes[0]);
+
+        // the bounds have been restored..
+        Assert.assertTrue(lra.ub(x).eq(new InfRational(POSITIVE_INFINITY)));
+        Assert.assertTrue(lra.lb(y).eq(new InfRational(NEGATIVE_INFINITY)));
+
+        Assert.assertTrue(core.probe(null, new Lit(x_leq_0)));
+        Assert.assertTrue(lra.ub(x).eq(new InfRational(POSITIVE_INFINITY)));
+    }
+
+    @Test
+    public void testFork() {
+        SatCore core = new SatCore();
+        LRATheory lra = new LRATheory(core);
+
+        int x = lra.newVar();
+        int y = lra.newVar();
+
+        // x >= y;
+        boolean nc = core.newClause(new Lit(lra.newGEq(new Lin(x), new Lin(y)))) && core.check();
+        Assert.assertTrue(nc);
+
+        int x_leq_0 = lra.newLEq(new Lin(x), new Lin(new Rational()));
+        int y_geq_1 = lra.newGEq(new Lin(y), new Lin(new Rational(1)));
+
+        // the fork is checked as the original core..
+        SatCore fork = core.fork();
+        Collection<Lit> cnfl = new ArrayList<>();
+        Assert.assertFalse(fork.check(cnfl, new Lit(x_leq_0), new Lit(y_geq_1)));
+        Assert.assertEquals(2, cnfl.size());
+
+        // the fork can be modified without affecting the original core..
+        nc = fork.newClause(new Lit(y_geq_1)) && fork.check();
+        Assert.assertTrue(nc);
+        Assert.assertFalse(fork.check(new Lit(x_leq_0)));
+        Assert.assertEquals(LBool.Undefined, core.value(y_geq_1));
+        Assert.assertTrue(lra.lb(y).eq(new InfRational(NEGATIVE_INFINITY)));
+        Assert.assertTrue(core.check(new Lit(x_leq_0)));
+
+        // ..and vice versa..
+        nc = core.newClause(new Lit(x_leq_0)) && core.check();
+        Assert.assertTrue(nc);
+        Assert.assertEquals(LBool.Undefined, fork.value(x_leq_0));
+        Assert.assertTrue(lra.ub(x).eq(new InfRational(new Rational())));
+    }
+
+    @Test
+    public void testFinalCheckOnly() {
+        SatCore core = new SatCore();
+        LRATheory lra = new LRATheory(core);
+        core.setFinalCheckOnly(true);
+
+        int x = lra.newVar();
+        int y = lra.newVar();
+
+        // x >= y;
+        boolean nc = core.newClause(new Lit(lra.newGEq(new Lin(x), new Lin(y)))) && core.check();
+        Assert.assertTrue(nc);
+        Assert.assertFalse(lra.isDirty());
+
+        int x_leq_0 = lra.newLEq(new Lin(x), new Lin(new Rational()));
+        int y_geq_1 = lra.newGEq(new Lin(y), new Lin(new Rational(1)));
+
+        // the conflict is found by the final check..
+        long skipped = core.getSkippedTheoryChecks();
+        Collection<Lit> cnfl = new ArrayList<>();
+        Assert.assertFalse(core.check(cnfl, new Lit(x_leq_0), new Lit(y_geq_1)));
+        Assert.assertEquals(2, cnfl.size());
+        Assert.assertTrue(core.getSkippedTheoryChecks() > skipped);
+
+        // check() performs the checks at each fixpoint, hence nothing is deferred..
+        skipped = core.getSkippedTheoryChecks();
+        nc = core.assume(new Lit(x_leq_0)) && core.check();
+        Assert.assertTrue(nc);
+        nc = core.assume(new Lit(y_geq_1)) && core.check();
+        Assert.assertTrue(nc);
+        Assert.assertEquals(LBool.False, core.value(y_geq_1));
+        Assert.assertEquals(skipped, core.getSkippedTheoryChecks());
+        Assert.assertFalse(lra.isDirty());
+    }
+
+    @Test
+    public void testSMTLIB() throws Exception {
+        SatCore core = new SatCore();
+        LRATheory lra = new LRATheory(core);
+        SMTLIBReader reader = new SMTLIBReader(lra);
+        Assert.assertTrue(reader.read(new StringReader("(set-logic QF_LRA) ; a comment\n"
+                + "(set-info :status sat)\n"
+                + "(declare-fun x () Real)\n"
+                + "(declare-const y Real)\n"
+                + "(declare-fun b () Bool)\n"
+                + "(define-fun z () Real (+ x (* 2 y)))\n"
+                + "(assert (let ((c (/ 1 2))) (and (< x c) (>= y 0.5))))\n"
+                + "(assert (=> b (> z 10)))\n"
+                + "(assert (or b (= x (- y 1))))\n"
+                + "(check-sat)\n")));
+        Assert.assertEquals(LBool.True, reader.getStatus());
+
+        Assert.assertEquals(LBool.True, core.solve(0));
+        Assert.assertTrue(reader.isSatisfied());
+        Assert.assertTrue(lra.value(0).lt(new InfRational(new Rational(1, 2))));
+        Assert.assertTrue(lra.value(1).geq(new InfRational(new Rational(1, 2))));
+    }
+
+    @Test
+    public void testLRABenchmarks() throws Exception {
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/polytope10-15-sat.smt2"), 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/polytope10-15-unsat.smt2"), 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/jobshop4x4-loose.smt2"), 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/pack5-4.smt2"), 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/polytope30-45-unsat.smt2"), 0).verified);
+        // the double-precision simplex must not change the outcome..
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/polytope20-30-sat.smt2"), 0, 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/polytope30-45-unsat.smt2"), 0, 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/jobshop6x4-tight.smt2"), 0, 0).verified);
+        Assert.assertTrue(LRABenchmark.run(new FileReader("benchmarks/lra/pack5-4.smt2"), 0, 0).verified);
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt.lra;
+
+import java.util.Random;
+
+/**
+ * A micro-benchmark of the rational arithmetic. Each operation is repeatedly
+ * applied to a fixed set of small random fractions, the kind of values which
+ * populate the tableau of temporal problems, reporting the best time, over a
+ * number of rounds, in nanoseconds per operation.
+ * <p>
+ * Usage: {@code RationalBenchmark [rounds]}, the default number of rounds
+ * being 20.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class RationalBenchmark {
+
+    private static final int N = 1024; // the number of fractions..
+    private static final int REPS = 200; // the number of passes over the fractions, for each round..
+    private static long sink = 0; // prevents the computations from being optimized away..
+
+    private RationalBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final Random rnd = new Random(0);
+        final Rational[] rs = new Rational[N];
+        for (int i = 0; i < N; i++) {
+            final long den = rnd.nextInt(4) == 0 ? 1 + rnd.nextInt(20) : 1;
+            long num = rnd.nextInt(201) - 100;
+            if (num == 0) {
+                num = 1;
+            }
+            rs[i] = new Rational(num, den);
+        }
+
+        System.out.println(String.format("%-12s %10s", "operation", "ns/op"));
+        final Op[] ops = new Op[]{
+            new Op("add/sub") {
+                @Override
+                long run(final Rational[] rs) {
+                    final Rational acc = new Rational();
+                    for (int i = 0; i < N; i++) {
+                        acc.add(rs[i]);
+                        acc.sub(rs[(i + 1) & (N - 1)]);
+                    }
+                    return acc.hashCode();
+                }
+            },
+            new Op("mult/div") {
+                @Override
+                long run(final Rational[] rs) {
+                    final Rational acc = new Rational(1);
+                    for (int i = 0; i < N; i++) {
+                        acc.mult(rs[i]);
+                        acc.div(rs[i]);
+                    }
+                    return acc.hashCode();
+                }
+            },
+            new Op("addMul") {
+                @Override
+                long run(final Rational[] rs) {
+                    final Rational acc = new Rational();
+                    for (int i = 0; i < N; i++) {
+                        acc.addMul(rs[i], rs[(i + 1) & (N - 1)]);
+                        acc.addMul(rs[i], rs[(i + 1) & (N - 1)].minus());
+                    }
+                    return acc.hashCode();
+                }
+            },
+            new Op("plus/times") {
+                @Override
+                long run(final Rational[] rs) {
+                    long h = 0;
+                    for (int i = 0; i < N; i++) {
+                        h += rs[i].plus(rs[(i + 1) & (N - 1)]).hashCode();
+                        h += rs[i].times(rs[(i + 1) & (N - 1)]).hashCode();
+                    }
+                    return h;
+                }
+            },
+            new Op("compare") {
+                @Override
+                long run(final Rational[] rs) {
+                    long h = 0;
+                    for (int i = 0; i < N; i++) {
+                        if (rs[i].lt(rs[(i + 1) & (N - 1)])) {
+                            h++;
+                        }
+                        if (rs[i].geq(rs[(i + 7) & (N - 1)])) {
+                            h++;
+                        }
+                    }
+                    return h;
+                }
+            }
+        };
+        for (Op op : ops) {
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < rounds; r++) {
+                final long start = System.nanoTime();
+                for (int rep = 0; rep < REPS; rep++) {
+                    sink += op.run(rs);
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.println(String.format("%-12s %10.2f", op.name, best / (2.0 * N * REPS)));
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static abstract class Op {
+
+        private final String name;
+
+        private Op(final String name) {
+            this.name = name;
+        }
+
+        abstract long run(final Rational[] rs);
+    }
+}
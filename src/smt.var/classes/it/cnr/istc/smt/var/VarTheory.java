@@ -17,16 +17,15 @@
 package it.cnr.istc.smt.var;
 
 import static it.cnr.istc.smt.LBool.False;
+import it.cnr.istc.smt.ExprTable;
 import it.cnr.istc.smt.Lit;
 import it.cnr.istc.smt.SatCore;
 import static it.cnr.istc.smt.SatCore.FALSE_var;
 import static it.cnr.istc.smt.SatCore.TRUE_var;
 import it.cnr.istc.smt.Theory;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -43,16 +42,34 @@ public class VarTheory implements Theory {
 
     private final SatCore sat_core;
     private final List<Map<IVarVal, Integer>> assigns = new ArrayList<>(); // the current assignments (val to bool variable)..
-    private final Map<String, Integer> exprs = new HashMap<>(); // the already existing expressions (string to bool variable)..
+    private final ExprTable exprs; // the already existing expressions (structural key to bool variable)..
     private final Map<Integer, Collection<Integer>> is_contained_in = new HashMap<>(); // the boolean variable contained in the object variables (bool variable to vector of object variables)..
-    private final Deque<Set<Integer>> layers = new ArrayDeque<>(); // we store the updated variables..
+    private int[] trail = new int[16]; // the updated variables, in chronological order..
+    private int trail_sz = 0; // the number of updated variables..
+    private int[] trail_lim = new int[16]; // for each layer, the size of the trail when the layer has been pushed..
+    private int trail_lim_sz = 0; // the number of layers..
     private final Map<Integer, Collection<VarValueListener>> listeners = new HashMap<>();
 
     public VarTheory(final SatCore core) {
         this.sat_core = core;
+        this.exprs = new ExprTable();
         core.addTheory(this);
     }
 
+    private VarTheory(final SatCore core, final VarTheory th) {
+        this.sat_core = core;
+        // the allowed values of the object variables are never modified, hence they can be shared..
+        assigns.addAll(th.assigns);
+        this.exprs = new ExprTable(th.exprs);
+        for (Map.Entry<Integer, Collection<Integer>> ici : th.is_contained_in.entrySet()) {
+            is_contained_in.put(ici.getKey(), new ArrayList<>(ici.getValue()));
+        }
+        this.trail = Arrays.copyOf(th.trail, th.trail.length);
+        this.trail_sz = th.trail_sz;
+        this.trail_lim = Arrays.copyOf(th.trail_lim, th.trail_lim.length);
+        this.trail_lim_sz = th.trail_lim_sz;
+    }
+
     /**
      * Creates and returns a new object variable having the {@code vals} allowed
      * values.
@@ -130,9 +147,9 @@ public class VarTheory implements Theory {
             return newEq(r, l);
         }
 
-        String s_expr = "e" + l + " == e" + r;
-        Integer b_var = exprs.get(s_expr);
-        if (b_var != null) {
+        final int[] key = new int[]{l, r};
+        int b_var = exprs.get(key, key.length);
+        if (b_var != -1) {
             return b_var;
         } else {
             Set<IVarVal> intersection = new HashSet<>();
@@ -178,7 +195,7 @@ public class VarTheory implements Theory {
                 nc = sat_core.newClause(new Lit(b_var), new Lit(assigns.get(l).get(val), false), new Lit(assigns.get(r).get(val), false));
                 assert nc;
             }
-            exprs.put(s_expr, b_var);
+            exprs.put(key, key.length, b_var);
             return b_var;
         }
     }
@@ -193,6 +210,13 @@ public class VarTheory implements Theory {
         for (Integer v : is_contained_in.get(p.v)) {
             Collection<VarValueListener> ls = listeners.get(v);
             if (ls != null) {
+                if (trail_lim_sz > 0) {
+                    // we store the updated variable for notifying the listeners upon backtracking..
+                    if (trail_sz == trail.length) {
+                        trail = Arrays.copyOf(trail, trail_sz << 1);
+                    }
+                    trail[trail_sz++] = v;
+                }
                 for (VarValueListener l : ls) {
                     l.varValueChange(v);
                 }
@@ -207,14 +231,29 @@ public class VarTheory implements Theory {
         return true;
     }
 
+    /**
+     * This theory never finds inconsistencies, hence it needs not be checked.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isDirty() {
+        return false;
+    }
+
     @Override
     public void push() {
-        layers.addFirst(new HashSet<>());
+        if (trail_lim_sz == trail_lim.length) {
+            trail_lim = Arrays.copyOf(trail_lim, trail_lim_sz << 1);
+        }
+        trail_lim[trail_lim_sz++] = trail_sz;
     }
 
     @Override
     public void pop() {
-        for (Integer v : layers.pollFirst()) {
+        final int lim = trail_lim[--trail_lim_sz];
+        while (trail_sz > lim) {
+            final int v = trail[--trail_sz];
             Collection<VarValueListener> ls = listeners.get(v);
             if (ls != null) {
                 for (VarValueListener l : ls) {
@@ -224,6 +263,30 @@ public class VarTheory implements Theory {
         }
     }
 
+    /**
+     * The object variables' domains are restored along with the propositional
+     * assignments, hence this theory, which never finds inconsistencies, needs
+     * not be involved while probing.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isProbeRelevant() {
+        return false;
+    }
+
+    /**
+     * Returns a copy of this theory working on the given fork of its SAT core.
+     * The listeners are not copied.
+     *
+     * @param core the fork of the SAT core this theory works on.
+     * @return a copy of this theory.
+     */
+    @Override
+    public VarTheory fork(final SatCore core) {
+        return new VarTheory(core, this);
+    }
+
     public void listen(final int v, final VarValueListener l) {
         Collection<VarValueListener> ls = listeners.get(v);
         if (ls == null) {
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reader of propositional formulas in the DIMACS CNF format. Each DIMACS
+ * variable is mapped to a new variable of the given SAT core and each clause
+ * is added to the core through {@link SatCore#newClause(it.cnr.istc.smt.Lit...)}.
+ * Comment lines (starting with 'c') are skipped, as well as anything following
+ * a '%' line (as in the SATLIB benchmarks).
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class DIMACSReader {
+
+    private final SatCore core;
+    private int[] vars = new int[1]; // for each DIMACS variable, the corresponding variable of the core..
+    private final List<Lit[]> clauses = new ArrayList<>(); // the read clauses, as they appear in the formula..
+    private boolean consistent = true; // whether the clauses have not been found trivially inconsistent..
+
+    public DIMACSReader(final SatCore core) {
+        this.core = core;
+    }
+
+    /**
+     * Reads the formula from the given reader, adding its variables and its
+     * clauses to the core.
+     *
+     * @param reader the reader of the formula.
+     * @return {@code false} if the clauses are trivially inconsistent (i.e.,
+     * a conflict has been found at root level while adding them).
+     * @throws IOException if an I/O error occurs or if the formula is not in
+     * the DIMACS CNF format.
+     */
+    public boolean read(final Reader reader) throws IOException {
+        assert core.rootLevel();
+        final BufferedReader br = new BufferedReader(reader);
+        int n_clauses = -1;
+        int[] lits = new int[16];
+        int lits_sz = 0;
+        String line;
+        while ((line = br.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == 'c') {
+                continue;
+            }
+            if (line.charAt(0) == '%') {
+                break;
+            }
+            final String[] tokens = line.split("\\s+");
+            if (tokens[0].equals("p")) {
+                if (n_clauses != -1 || tokens.length != 4 || !tokens[1].equals("cnf")) {
+                    throw new IOException("invalid problem line: " + line);
+                }
+                final int n_vars = Integer.parseInt(tokens[2]);
+                n_clauses = Integer.parseInt(tokens[3]);
+                vars = new int[n_vars + 1];
+                for (int i = 1; i <= n_vars; i++) {
+                    vars[i] = core.newVar();
+                }
+                continue;
+            }
+            if (n_clauses == -1) {
+                throw new IOException("missing problem line..");
+            }
+            for (String token : tokens) {
+                final int lit;
+                try {
+                    lit = Integer.parseInt(token);
+                } catch (NumberFormatException e) {
+                    throw new IOException("invalid literal: " + token, e);
+                }
+                if (lit == 0) {
+                    newClause(lits, lits_sz);
+                    lits_sz = 0;
+                } else {
+                    if (Math.abs(lit) >= vars.length) {
+                        throw new IOException("undeclared variable: " + token);
+                    }
+                    if (lits_sz == lits.length) {
+                        lits = Arrays.copyOf(lits, lits_sz << 1);
+                    }
+                    lits[lits_sz++] = lit;
+                }
+            }
+        }
+        if (lits_sz > 0) {
+            // the last clause might not be terminated by a zero..
+            newClause(lits, lits_sz);
+        }
+        return consistent;
+    }
+
+    private void newClause(final int[] lits, final int size) {
+        final Lit[] c_lits = new Lit[size];
+        for (int i = 0; i < size; i++) {
+            c_lits[i] = new Lit(vars[Math.abs(lits[i])], lits[i] > 0);
+        }
+        clauses.add(c_lits);
+        if (consistent && !core.newClause(c_lits)) {
+            consistent = false;
+        }
+    }
+
+    /**
+     * Returns the variable of the core corresponding to the given DIMACS
+     * variable.
+     *
+     * @param v a (positive) DIMACS variable.
+     * @return the variable of the core corresponding to the DIMACS variable.
+     */
+    public int variable(final int v) {
+        return vars[v];
+    }
+
+    /**
+     * Returns the number of variables declared by the formula.
+     *
+     * @return the number of variables of the formula.
+     */
+    public int getVarCount() {
+        return vars.length - 1;
+    }
+
+    /**
+     * Returns the clauses read so far, as they appear in the formula (i.e.,
+     * before any simplification performed by the core), so that a model
+     * found by the core can be verified.
+     *
+     * @return the read clauses.
+     */
+    public List<Lit[]> getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns whether the current assignment of the core satisfies all the
+     * read clauses.
+     *
+     * @return whether the current assignment satisfies the formula.
+     */
+    public boolean isSatisfied() {
+        for (Lit[] c : clauses) {
+            if (Arrays.stream(c).noneMatch(l -> core.value(l) == LBool.True)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt;
+
+import java.util.Arrays;
+
+/**
+ * A hash-consing table mapping structural keys, encoded as arrays of integers,
+ * to (non negative) variables. Keys are compared element by element, hence
+ * they must be built in a canonical form (e.g., with sorted literals) by the
+ * caller. The keys are copied, one after the other, into a single pool so
+ * that neither lookups nor insertions allocate objects.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class ExprTable {
+
+    private int[] pool = new int[256]; // the stored keys, each one as its size followed by its elements..
+    private int pool_sz = 0; // the number of used slots in 'pool'..
+    private int[] slots = new int[64]; // for each slot, the offset of its key within 'pool' (-1 if the slot is empty)..
+    private int[] vals = new int[64]; // for each slot, the variable associated to its key..
+    private int size = 0; // the number of stored keys..
+
+    public ExprTable() {
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Creates a copy of the given table, which can be subsequently modified
+     * independently of the original one.
+     *
+     * @param table the table to copy.
+     */
+    public ExprTable(final ExprTable table) {
+        this.pool = Arrays.copyOf(table.pool, table.pool.length);
+        this.pool_sz = table.pool_sz;
+        this.slots = Arrays.copyOf(table.slots, table.slots.length);
+        this.vals = Arrays.copyOf(table.vals, table.vals.length);
+        this.size = table.size;
+    }
+
+    /**
+     * Returns the variable associated to the first {@code size} elements of
+     * {@code key}, or {@code -1} if no such key has been stored.
+     *
+     * @param key the elements of the key.
+     * @param size the number of elements of the key.
+     * @return the variable associated to the key, or {@code -1} if the key is
+     * not in the table.
+     */
+    public int get(final int[] key, final int size) {
+        final int slot = slot(key, size, slots);
+        return slots[slot] == -1 ? -1 : vals[slot];
+    }
+
+    /**
+     * Associates the variable {@code val} to the first {@code size} elements
+     * of {@code key}.
+     *
+     * @param key the elements of the key.
+     * @param size the number of elements of the key.
+     * @param val the (non negative) variable to associate to the key.
+     */
+    public void put(final int[] key, final int size, final int val) {
+        assert val >= 0;
+        final int slot = slot(key, size, slots);
+        if (slots[slot] == -1) {
+            if (pool_sz + size + 1 > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length << 1, pool_sz + size + 1));
+            }
+            slots[slot] = pool_sz;
+            pool[pool_sz] = size;
+            System.arraycopy(key, 0, pool, pool_sz + 1, size);
+            pool_sz += size + 1;
+            vals[slot] = val;
+            if (++this.size << 1 > slots.length) {
+                grow();
+            }
+        } else {
+            vals[slot] = val;
+        }
+    }
+
+    /**
+     * Returns the number of keys stored in this table.
+     *
+     * @return the number of keys stored in this table.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of {@code c_slots} which either contains the given key
+     * or is the empty slot where the key should be stored.
+     */
+    private int slot(final int[] key, final int size, final int[] c_slots) {
+        final int mask = c_slots.length - 1;
+        int slot = hash(key, 0, size) & mask;
+        while (c_slots[slot] != -1 && !matches(c_slots[slot], key, size)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean matches(final int offset, final int[] key, final int size) {
+        if (pool[offset] != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (pool[offset + 1 + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        final int[] c_slots = new int[slots.length << 1];
+        final int[] c_vals = new int[vals.length << 1];
+        Arrays.fill(c_slots, -1);
+        final int mask = c_slots.length - 1;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != -1) {
+                int slot = hash(pool, slots[i] + 1, pool[slots[i]]) & mask;
+                while (c_slots[slot] != -1) {
+                    slot = (slot + 1) & mask;
+                }
+                c_slots[slot] = slots[i];
+                c_vals[slot] = vals[i];
+            }
+        }
+        slots = c_slots;
+        vals = c_vals;
+    }
+
+    private static int hash(final int[] key, final int from, final int size) {
+        int h = size;
+        for (int i = from; i < from + size; i++) {
+            h = 31 * h + key[i];
+        }
+        h *= 0x9E3779B9; // we spread the bits of the hash (Fibonacci hashing)..
+        return h ^ (h >>> 16);
+    }
+}
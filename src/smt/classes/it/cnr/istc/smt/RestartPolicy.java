@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt;
+
+/**
+ * A policy which decides when the search should be restarted. The policy is
+ * notified about each conflict, along with the literal block distance of the
+ * learnt no-good, and about each restart.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public interface RestartPolicy {
+
+    /**
+     * Notifies the policy that a conflict has been found.
+     *
+     * @param lbd the literal block distance of the no-good learnt from the
+     * conflict.
+     */
+    void conflict(final int lbd);
+
+    /**
+     * Returns whether the search should be restarted.
+     *
+     * @return true if the search should be restarted.
+     */
+    boolean shouldRestart();
+
+    /**
+     * Notifies the policy that the search has been restarted.
+     */
+    void restart();
+
+    /**
+     * Restarts the search after a number of conflicts which follows the Luby
+     * sequence (i.e., 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ..)
+     * multiplied by a unit.
+     */
+    public static class Luby implements RestartPolicy {
+
+        private final int unit; // the number of conflicts corresponding to a unit of the Luby sequence..
+        private int n_restarts = 0; // the number of restarts so far..
+        private long n_conflicts = 0; // the number of conflicts since the last restart..
+        private long limit; // the number of conflicts before the next restart..
+
+        public Luby(final int unit) {
+            assert unit > 0;
+            this.unit = unit;
+            this.limit = unit * luby(0);
+        }
+
+        @Override
+        public void conflict(final int lbd) {
+            n_conflicts++;
+        }
+
+        @Override
+        public boolean shouldRestart() {
+            return n_conflicts >= limit;
+        }
+
+        @Override
+        public void restart() {
+            n_conflicts = 0;
+            limit = unit * luby(++n_restarts);
+        }
+
+        /**
+         * Returns the {@code i}-th element (starting from 0) of the Luby
+         * sequence.
+         */
+        static long luby(int i) {
+            // we find the finite subsequence containing 'i' and its size..
+            int size = 1, seq = 0;
+            while (size < i + 1) {
+                seq++;
+                size = (size << 1) + 1;
+            }
+            // we move to the position of 'i' within the subsequence..
+            while (size - 1 != i) {
+                size = (size - 1) >> 1;
+                seq--;
+                i = i % size;
+            }
+            return 1L << seq;
+        }
+    }
+
+    /**
+     * Restarts the search after a number of conflicts which grows
+     * geometrically.
+     */
+    public static class Geometric implements RestartPolicy {
+
+        private final double factor; // the growth factor of the number of conflicts between two consecutive restarts..
+        private long n_conflicts = 0; // the number of conflicts since the last restart..
+        private double limit; // the number of conflicts before the next restart..
+
+        public Geometric(final int first, final double factor) {
+            assert first > 0;
+            assert factor >= 1;
+            this.factor = factor;
+            this.limit = first;
+        }
+
+        @Override
+        public void conflict(final int lbd) {
+            n_conflicts++;
+        }
+
+        @Override
+        public boolean shouldRestart() {
+            return n_conflicts >= limit;
+        }
+
+        @Override
+        public void restart() {
+            n_conflicts = 0;
+            limit *= factor;
+        }
+    }
+
+    /**
+     * Restarts the search, as in Glucose, when the average literal block
+     * distance of the recently learnt no-goods gets larger than the overall
+     * average literal block distance (i.e., when the recently learnt no-goods
+     * are of poor quality).
+     */
+    public static class Glucose implements RestartPolicy {
+
+        private final int[] recent; // the literal block distances of the recently learnt no-goods, as a circular queue..
+        private final double margin; // the recent average is multiplied by this before being compared to the overall average..
+        private int recent_head = 0; // the next position of the circular queue..
+        private int recent_sz = 0; // the number of literal block distances in the queue..
+        private long recent_sum = 0; // the sum of the literal block distances in the queue..
+        private long n_conflicts = 0; // the overall number of conflicts..
+        private long sum = 0; // the sum of all the literal block distances..
+
+        public Glucose(final int window, final double margin) {
+            assert window > 0;
+            this.recent = new int[window];
+            this.margin = margin;
+        }
+
+        @Override
+        public void conflict(final int lbd) {
+            n_conflicts++;
+            sum += lbd;
+            if (recent_sz == recent.length) {
+                recent_sum -= recent[recent_head];
+            } else {
+                recent_sz++;
+            }
+            recent[recent_head] = lbd;
+            recent_sum += lbd;
+            recent_head = (recent_head + 1) % recent.length;
+        }
+
+        @Override
+        public boolean shouldRestart() {
+            return recent_sz == recent.length && recent_sum * margin / recent_sz > (double) sum / n_conflicts;
+        }
+
+        @Override
+        public void restart() {
+            recent_head = 0;
+            recent_sz = 0;
+            recent_sum = 0;
+        }
+    }
+}
@@ -16,23 +16,56 @@
  */
 package it.cnr.istc.smt;
 
-import static it.cnr.istc.smt.LBool.False;
-import static it.cnr.istc.smt.LBool.True;
-import static it.cnr.istc.smt.LBool.Undefined;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
+ * A propositional satisfiability core. Internally, literals are encoded as
+ * integers (i.e., {@code v << 1} for the positive literal and
+ * {@code (v << 1) ^ 1} for the negative one) and the assignments, the decision
+ * levels, the reasons and the trail are kept in primitive arrays. The
+ * {@link Lit} based public methods are a thin adapter over this
+ * representation.
+ * <p>
+ * Clauses are stored contiguously in a single {@code int[]} arena and are
+ * addressed by their offset within it. Each clause is laid out as a header,
+ * holding its size, its flags, its literal block distance and its activity,
+ * followed by its literals. Watch lists store, for each clause, its offset and
+ * a blocker literal (i.e., one of the other literals of the clause) so that a
+ * clause which is already satisfied by its blocker can be skipped without
+ * accessing the arena.
+ * <p>
+ * Learnt clauses (i.e., the no-goods resulting from conflict analysis and the
+ * explanations recorded by the theories) are periodically reduced, removing
+ * half of them (the ones having the highest literal block distance and, among
+ * these, the lowest activity), while keeping glue clauses and the clauses which
+ * are currently reasons for some assignment. The arena is compacted after each
+ * reduction and whenever the database is simplified at root level.
+ * <p>
+ * At-most-one constraints, conditioned on an activation literal, are
+ * propagated natively rather than being encoded into a quadratic number of
+ * ternary clauses. They are stored in their own arena and watched by each of
+ * their literals and by their activation literal. The reason for a literal
+ * implied by such a constraint is the ternary clause made by the literal and
+ * by the negations of its two antecedents, which are kept for each variable.
+ * <p>
+ * Binary clauses are not stored in the arena either: for each literal
+ * {@code p}, an implication list holds the literals which become true as soon
+ * as {@code p} becomes true. Implication lists are propagated before the
+ * clauses watching the same literal and the reason for a literal implied by a
+ * binary clause is just the literal which implied it.
+ * <p>
+ * Optionally (see {@link #setChronoBacktracking(int)}), conflicts can be
+ * resolved by backtracking chronologically (i.e., by a single decision level)
+ * rather than by backjumping to the asserting level of the learnt no-good. In
+ * such case, implied literals are assigned at the highest decision level among
+ * their antecedents, hence the trail is no longer sorted by decision level and
+ * backtracking keeps, and propagates again, the literals assigned at lower
+ * decision levels.
  *
  * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
  */
@@ -40,197 +73,657 @@ public class SatCore {
 
     public static final int FALSE_var = 0;
     public static final int TRUE_var = 1;
-    final List<Clause> clauses = new ArrayList<>(); // collection of problem constraints..
-    final List<List<Clause>> watches = new ArrayList<>(); // for each literal 'p', a list of constraints watching 'p'..
-    final Deque<Lit> prop_q = new ArrayDeque<>(); // propagation queue..
-    final List<LBool> assigns = new ArrayList<>(); // the current assignments..
-    final Deque<Lit> trail = new ArrayDeque<>(); // the list of assignment in chronological order..
-    final List<Integer> trail_lim = new ArrayList<>(); // separator indices for different decision levels in 'trail'..
-    final List<Clause> reason = new ArrayList<>(); // for each variable, the constraint that implied its value..
-    final List<Integer> level = new ArrayList<>(); // for each variable, the decision level it was assigned..
-    final Map<String, Integer> exprs = new HashMap<>(); // the already existing expressions (string to bool variable)..
+    static final byte FALSE = 0; // the encoding of LBool.False..
+    static final byte TRUE = 1; // the encoding of LBool.True..
+    static final byte UNDEFINED = 2; // the encoding of LBool.Undefined..
+    private static final LBool[] L_BOOLS = LBool.values();
+    static final int C_SIZE = 0; // the offset, within a clause, of its size..
+    static final int C_FLAGS = 1; // the offset, within a clause, of its flags..
+    static final int C_LBD = 2; // the offset, within a clause, of its literal block distance..
+    static final int C_ACT = 3; // the offset, within a clause, of its activity (stored as the raw bits of a float)..
+    static final int C_LITS = 4; // the offset, within a clause, of its first literal..
+    static final int LEARNT = 1; // the flag of the learnt clauses..
+    private static final byte SEEN_UNDEF = 0; // the variable has not been seen during conflict analysis..
+    private static final byte SEEN_SOURCE = 1; // the variable has been seen while computing the first UIP..
+    private static final byte SEEN_REMOVABLE = 2; // the variable is implied by the no-good and can be removed from it..
+    private static final byte SEEN_FAILED = 3; // the variable cannot be removed from the no-good (poison)..
+    static final int DELETED = 2; // the flag of the clauses which have been removed from the database..
+    static final int AMO_REASON = -2; // the reason of the literals implied by an at-most-one constraint..
+    static final int BIN_REASON = -3; // the reason of the literals implied by a binary clause..
+    static final int A_SIZE = 0; // the offset, within an at-most-one constraint, of the number of its literals..
+    static final int A_ACT = 1; // the offset, within an at-most-one constraint, of its activation literal..
+    static final int A_LITS = 2; // the offset, within an at-most-one constraint, of its first literal..
+    private static final float CLA_DECAY = 0.999f; // the decay factor of the clause activities..
+    private static final double VAR_DECAY = 0.95; // the decay factor of the variable activities..
+    private static final int EQ = 0; // the operator of the equality expressions..
+    private static final int CONJ = 1; // the operator of the conjunction expressions..
+    private static final int DISJ = 2; // the operator of the disjunction expressions..
+    private static final int EXCT_ONE = 3; // the operator of the exactly-one expressions..
+    int[] arena = new int[1024]; // the clauses, stored contiguously as a header followed by their literals..
+    int arena_sz = 0; // the number of used slots in 'arena'..
+    int[][] watches = new int[32][]; // for each literal 'p', a list of (clause offset, blocker literal) pairs of the clauses watching 'p'..
+    int[] watches_sz = new int[32]; // for each literal 'p', the number of used slots in 'watches[p]'..
+    int[][] bins = new int[32][]; // for each literal 'p', the literals implied by 'p' through binary clauses..
+    int[] bins_sz = new int[32]; // for each literal 'p', the number of used slots in 'bins[p]'..
+    int[] amos = new int[256]; // the at-most-one constraints, stored contiguously as a header followed by their literals..
+    int amos_sz = 0; // the number of used slots in 'amos'..
+    int[][] amo_watches = new int[32][]; // for each literal 'p', the offsets of the at-most-one constraints watching 'p'..
+    int[] amo_watches_sz = new int[32]; // for each literal 'p', the number of used slots in 'amo_watches[p]'..
+    int[] learnts = new int[64]; // the offsets of the learnt clauses..
+    int learnts_sz = 0; // the number of learnt clauses..
+    private float cla_inc = 1; // the amount to bump the activity of a learnt clause with..
+    private double[] activity = new double[16]; // for each variable, its activity (i.e., how much it has been involved in recent conflicts)..
+    private double var_inc = 1; // the amount to bump the activity of a variable with..
+    private int[] order = new int[16]; // a binary max-heap of the variables, ordered by decreasing activity (and increasing index), containing (at least) all the unassigned variables..
+    private int order_sz = 0; // the number of variables in 'order'..
+    private int[] order_idx = new int[16]; // for each variable, its position within 'order' (-1 if not in the heap)..
+    private int[] lbd_stamps = new int[16]; // for each decision level, the last time it has been counted while computing a literal block distance..
+    private int lbd_stamp = 0; // the current stamp for computing literal block distances..
+    private int first_reduce = 2000; // the number of conflicts before the first reduction of the learnt clauses..
+    private int reduce_inc = 300; // the increment of the number of conflicts between two consecutive reductions..
+    private int glue_lbd = 2; // learnt clauses having a literal block distance not greater than this are never removed..
+    private long next_reduce = first_reduce; // the number of conflicts at which the next reduction takes place..
+    long n_conflicts = 0; // the number of conflicts..
+    long n_restarts = 0; // the number of restarts..
+    private RestartPolicy restart_policy = null; // the policy which decides when the search should be restarted (no restarts if null)..
+    private int chrono_threshold = -1; // the backjump distance beyond which conflicts are resolved by backtracking chronologically (never if negative)..
+    long n_chrono_backtracks = 0; // the number of conflicts resolved by backtracking chronologically..
+    int n_reductions = 0; // the number of reductions of the learnt clauses..
+    long n_deleted = 0; // the number of learnt clauses removed by the reductions..
+    long n_bin_props = 0; // the number of literals propagated by binary clauses..
+    long n_long_props = 0; // the number of literals propagated by (non binary) clauses..
+    long n_amo_props = 0; // the number of literals propagated by at-most-one constraints..
+    int n_eq_vars = 0; // the number of variables which have been found equivalent to some other variable by the last simplification..
+    long n_learnt_lits = 0; // the number of literals of the learnt no-goods before their minimization..
+    long n_minimized_lits = 0; // the number of literals of the learnt no-goods after their minimization..
+    private int n_vars = 0; // the number of variables..
+    byte[] assigns = new byte[16]; // for each variable, its current assignment..
+    private byte[] phases = new byte[16]; // for each variable, the assignment it had when it has been last unassigned (i.e., its saved phase)..
+    int[] level = new int[16]; // for each variable, the decision level it was assigned..
+    int[] reason = new int[16]; // for each variable, the identifier of the constraint that implied its value (-1 if none, AMO_REASON if an at-most-one constraint, BIN_REASON if a binary clause)..
+    int[] repr = new int[32]; // for each literal, its representative among the literals equivalent to it..
+    int[] antecedents = new int[32]; // for each variable implied by an at-most-one constraint (or a binary clause), the two (the one) true literals that implied its value..
+    int[] trail = new int[16]; // the list of assigned literals in chronological order..
+    int trail_sz = 0; // the number of literals in 'trail'..
+    int q_head = 0; // the head of the propagation queue (i.e., the literals in 'trail' from 'q_head' on are still to be propagated)..
+    int[] trail_lim = new int[16]; // separator indices for different decision levels in 'trail'..
+    int trail_lim_sz = 0; // the number of separators in 'trail_lim'..
+    private byte[] seen = new byte[16]; // for each variable, its state during conflict analysis..
+    private int[] to_clear = new int[16]; // the variables whose state, within 'seen', has to be cleared after conflict analysis..
+    private int to_clear_sz = 0; // the number of variables in 'to_clear'..
+    private int[] an_stack = new int[32]; // the (index, literal) pairs of the stack used by the recursive minimization..
+    private final int[] imp_reason = new int[3]; // the reason, during conflict analysis, of a literal implied by an at-most-one constraint or by a binary clause..
+    private int[] cnfl; // the last conflicting constraint..
+    private int cnfl_c = -1; // the offset of the last conflicting clause (-1 if the conflict comes from a theory)..
+    private final List<Lit> th_cnfl = new ArrayList<>(); // the conflicting constraint returned by the theories..
+    private ExprTable exprs = new ExprTable(); // the already existing expressions (structural key to bool variable)..
+    private boolean shared = false; // whether the binary clauses, the at-most-one constraints and the expressions are shared with a fork (hence they have to be copied before being modified)..
     private final Collection<Theory> theories = new ArrayList<>();
-    private final Map<Integer, Collection<Theory>> binds = new HashMap<>();
-    private final Map<Integer, Collection<SatValueListener>> listeners = new HashMap<>();
+    private boolean final_check_only = false; // whether the consistency of the theories is checked only before returning from the checks (rather than at each propagation fixpoint)..
+    long n_th_checks = 0; // the number of consistency checks performed by the theories..
+    long n_skipped_th_checks = 0; // the number of consistency checks of the theories which have been skipped, either because their state has not changed or because they have been deferred..
+    private boolean probing = false; // whether we are probing some assumptions, hence listeners and theories not relevant for probing are not notified..
+    private Theory[][] binds = new Theory[16][]; // for each variable, the theories bound to it (null if none)..
+    private SatValueListener[][] listeners = new SatValueListener[16][]; // for each variable, the listeners listening to it (null if none)..
+    private boolean[] changed = new boolean[16]; // for each variable, whether it is in 'changed_vars'..
+    private int[] changed_vars = new int[16]; // the variables, having some listeners, whose value has changed since the listeners have been last notified..
+    private int changed_vars_sz = 0; // the number of variables in 'changed_vars'..
+    private SatValueListener[] batch_ls = new SatValueListener[4]; // the listeners to be notified, in the order of their first changed variable..
+    private int[][] batch_vars = new int[4][]; // for each listener to be notified, the variables whose value has changed..
+    private int[] batch_szs = new int[4]; // for each listener to be notified, the number of variables in 'batch_vars'..
+    private boolean notifying = false; // whether the listeners are being notified..
 
     public SatCore() {
         int c_false = newVar();
         int c_true = newVar();
         assert c_false == FALSE_var;
         assert c_true == TRUE_var;
-        assigns.set(FALSE_var, False);
-        assigns.set(TRUE_var, True);
+        assigns[FALSE_var] = FALSE;
+        assigns[TRUE_var] = TRUE;
+    }
+
+    private SatCore(final SatCore core) {
+        assert !core.probing;
+        // the structures which are not modified by propagation are shared, copy-on-write, with the original core..
+        core.shared = true;
+        this.shared = true;
+        this.bins = core.bins;
+        this.bins_sz = core.bins_sz;
+        this.amos = core.amos;
+        this.amos_sz = core.amos_sz;
+        this.amo_watches = core.amo_watches;
+        this.amo_watches_sz = core.amo_watches_sz;
+        this.repr = core.repr;
+        this.exprs = core.exprs;
+        // the structures which are modified by propagation are copied..
+        this.arena = Arrays.copyOf(core.arena, core.arena.length);
+        this.arena_sz = core.arena_sz;
+        this.watches = new int[core.watches.length][];
+        for (int p = 0; p < core.n_vars << 1; p++) {
+            this.watches[p] = Arrays.copyOf(core.watches[p], core.watches[p].length);
+        }
+        this.watches_sz = Arrays.copyOf(core.watches_sz, core.watches_sz.length);
+        this.learnts = Arrays.copyOf(core.learnts, core.learnts.length);
+        this.learnts_sz = core.learnts_sz;
+        this.cla_inc = core.cla_inc;
+        this.activity = Arrays.copyOf(core.activity, core.activity.length);
+        this.var_inc = core.var_inc;
+        this.order = Arrays.copyOf(core.order, core.order.length);
+        this.order_sz = core.order_sz;
+        this.order_idx = Arrays.copyOf(core.order_idx, core.order_idx.length);
+        this.lbd_stamps = new int[core.lbd_stamps.length];
+        this.first_reduce = core.first_reduce;
+        this.reduce_inc = core.reduce_inc;
+        this.glue_lbd = core.glue_lbd;
+        this.next_reduce = core.next_reduce;
+        this.n_conflicts = core.n_conflicts;
+        this.n_restarts = core.n_restarts;
+        this.chrono_threshold = core.chrono_threshold;
+        this.n_chrono_backtracks = core.n_chrono_backtracks;
+        this.n_reductions = core.n_reductions;
+        this.n_deleted = core.n_deleted;
+        this.n_bin_props = core.n_bin_props;
+        this.n_long_props = core.n_long_props;
+        this.n_amo_props = core.n_amo_props;
+        this.n_eq_vars = core.n_eq_vars;
+        this.n_learnt_lits = core.n_learnt_lits;
+        this.n_minimized_lits = core.n_minimized_lits;
+        this.final_check_only = core.final_check_only;
+        this.n_th_checks = core.n_th_checks;
+        this.n_skipped_th_checks = core.n_skipped_th_checks;
+        this.n_vars = core.n_vars;
+        this.assigns = Arrays.copyOf(core.assigns, core.assigns.length);
+        this.phases = Arrays.copyOf(core.phases, core.phases.length);
+        this.level = Arrays.copyOf(core.level, core.level.length);
+        this.reason = Arrays.copyOf(core.reason, core.reason.length);
+        this.antecedents = Arrays.copyOf(core.antecedents, core.antecedents.length);
+        this.trail = Arrays.copyOf(core.trail, core.trail.length);
+        this.trail_sz = core.trail_sz;
+        this.q_head = core.q_head;
+        this.trail_lim = Arrays.copyOf(core.trail_lim, core.trail_lim.length);
+        this.trail_lim_sz = core.trail_lim_sz;
+        this.seen = new byte[core.seen.length];
+        this.to_clear = new int[core.to_clear.length];
+        this.an_stack = new int[core.an_stack.length];
+        this.listeners = new SatValueListener[core.listeners.length][];
+        this.changed = new boolean[core.changed.length];
+        // we fork the theories, binding their copies to the same variables..
+        final Map<Theory, Theory> c_ths = new IdentityHashMap<>();
+        for (Theory th : core.theories) {
+            final Theory c_th = th.fork(this);
+            if (c_th != null) {
+                c_ths.put(th, c_th);
+                theories.add(c_th);
+            }
+        }
+        this.binds = new Theory[core.binds.length][];
+        for (int v = 0; v < n_vars; v++) {
+            if (core.binds[v] != null) {
+                for (Theory th : core.binds[v]) {
+                    final Theory c_th = c_ths.get(th);
+                    if (c_th != null) {
+                        bind(v, c_th);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a fork of this core, that is, a copy of its clauses, of its
+     * current assignments and decision levels and of the theories which can
+     * be forked (see {@link Theory#fork(it.cnr.istc.smt.SatCore)}). The
+     * listeners are not copied. The structures which are not modified by
+     * propagation (i.e., the binary clauses, the at-most-one constraints and
+     * the expressions) are shared, copy-on-write, between the two cores,
+     * hence forking costs little more than copying the long clauses and the
+     * trail.
+     * <p>
+     * Once returned, the fork and this core can be used by different threads
+     * (e.g., for checking some assumptions in parallel through
+     * {@link #check(java.util.Collection, it.cnr.istc.smt.Lit...)}), merging
+     * the results back into this core on its own thread.
+     *
+     * @return a fork of this core.
+     */
+    public SatCore fork() {
+        return new SatCore(this);
+    }
+
+    /**
+     * Copies the structures shared with a fork, if any, so that they can be
+     * modified without affecting the fork.
+     */
+    private void own() {
+        if (shared) {
+            bins = Arrays.copyOf(bins, bins.length);
+            amo_watches = Arrays.copyOf(amo_watches, amo_watches.length);
+            for (int p = 0; p < n_vars << 1; p++) {
+                bins[p] = Arrays.copyOf(bins[p], bins[p].length);
+                amo_watches[p] = Arrays.copyOf(amo_watches[p], amo_watches[p].length);
+            }
+            bins_sz = Arrays.copyOf(bins_sz, bins_sz.length);
+            amos = Arrays.copyOf(amos, amos.length);
+            amo_watches_sz = Arrays.copyOf(amo_watches_sz, amo_watches_sz.length);
+            repr = Arrays.copyOf(repr, repr.length);
+            exprs = new ExprTable(exprs);
+            shared = false;
+        }
     }
 
     public int newVar() {
-        final int id = assigns.size();
-        assigns.add(Undefined);
-        watches.add(new ArrayList<>());
-        watches.add(new ArrayList<>());
-        exprs.put("b" + id, id);
-        level.add(-1);
-        reason.add(null);
+        own();
+        final int id = n_vars++;
+        if (id == assigns.length) {
+            final int c_size = id << 1;
+            assigns = Arrays.copyOf(assigns, c_size);
+            phases = Arrays.copyOf(phases, c_size);
+            level = Arrays.copyOf(level, c_size);
+            reason = Arrays.copyOf(reason, c_size);
+            activity = Arrays.copyOf(activity, c_size);
+            order = Arrays.copyOf(order, c_size);
+            order_idx = Arrays.copyOf(order_idx, c_size);
+            antecedents = Arrays.copyOf(antecedents, c_size << 1);
+            repr = Arrays.copyOf(repr, c_size << 1);
+            trail = Arrays.copyOf(trail, c_size);
+            seen = Arrays.copyOf(seen, c_size);
+            to_clear = Arrays.copyOf(to_clear, c_size);
+            an_stack = Arrays.copyOf(an_stack, c_size << 1);
+            watches = Arrays.copyOf(watches, c_size << 1);
+            watches_sz = Arrays.copyOf(watches_sz, c_size << 1);
+            bins = Arrays.copyOf(bins, c_size << 1);
+            bins_sz = Arrays.copyOf(bins_sz, c_size << 1);
+            amo_watches = Arrays.copyOf(amo_watches, c_size << 1);
+            amo_watches_sz = Arrays.copyOf(amo_watches_sz, c_size << 1);
+            binds = Arrays.copyOf(binds, c_size);
+            listeners = Arrays.copyOf(listeners, c_size);
+            changed = Arrays.copyOf(changed, c_size);
+        }
+        assigns[id] = UNDEFINED;
+        phases[id] = UNDEFINED;
+        level[id] = -1;
+        reason[id] = -1;
+        watches[id << 1] = new int[8];
+        watches[(id << 1) ^ 1] = new int[8];
+        repr[id << 1] = id << 1;
+        repr[(id << 1) ^ 1] = (id << 1) ^ 1;
+        bins[id << 1] = new int[4];
+        bins[(id << 1) ^ 1] = new int[4];
+        amo_watches[id << 1] = new int[4];
+        amo_watches[(id << 1) ^ 1] = new int[4];
+        order_idx[id] = -1;
+        order_insert(id);
         return id;
     }
 
     public boolean newClause(final Lit... lits) {
-        final List<Lit> c_lits = new ArrayList<>();
-        for (Lit lit : lits) {
-            switch (value(lit)) {
-                case True:
+        return newClause(toInts(lits));
+    }
+
+    boolean newClause(final int... lits) {
+        final int[] c_lits = new int[lits.length];
+        int c_size = 0;
+        for (int lit : lits) {
+            switch (lit_value(lit)) {
+                case TRUE:
                     return true; // the clause is already satisfied..
-                case Undefined:
+                case UNDEFINED:
                     boolean found = false;
-                    for (Lit c_lit : c_lits) {
-                        if (c_lit.v == lit.v) {
-                            if (c_lit.sign == lit.sign) {
-                                found = true;
-                                break;
-                            } else {
-                                return true; // the clause represents a tautology..
-                            }
+                    for (int i = 0; i < c_size; i++) {
+                        if (c_lits[i] == lit) {
+                            found = true;
+                            break;
+                        } else if (c_lits[i] == not(lit)) {
+                            return true; // the clause represents a tautology..
                         }
                     }
                     if (!found) {
-                        c_lits.add(lit);
+                        c_lits[c_size++] = lit;
                     }
                     break;
             }
         }
-        switch (c_lits.size()) {
+        switch (c_size) {
             case 0:
                 return false;
             case 1:
-                return enqueue(c_lits.get(0), null);
+                return enqueue(c_lits[0], -1);
+            case 2:
+                newBinary(c_lits[0], c_lits[1]);
+                return true;
             default:
-                clauses.add(new Clause(this, c_lits.toArray(new Lit[c_lits.size()])));
+                newClause(c_lits, c_size, false);
                 return true;
         }
     }
 
+    /**
+     * Stores the first {@code size} literals of {@code lits} as a new clause
+     * within the arena and starts watching its first two literals.
+     *
+     * @param lits the literals of the new clause.
+     * @param size the number of literals of the new clause.
+     * @param learnt whether the new clause is a learnt one.
+     * @return the offset of the new clause within the arena.
+     */
+    private int newClause(final int[] lits, final int size, final boolean learnt) {
+        assert size >= 2;
+        final int c = arena_sz;
+        if (arena_sz + C_LITS + size > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length << 1, arena_sz + C_LITS + size));
+        }
+        arena[c + C_SIZE] = size;
+        arena[c + C_FLAGS] = learnt ? LEARNT : 0;
+        arena[c + C_LBD] = 0;
+        arena[c + C_ACT] = Float.floatToRawIntBits(0);
+        if (learnt) {
+            if (learnts_sz == learnts.length) {
+                learnts = Arrays.copyOf(learnts, learnts_sz << 1);
+            }
+            learnts[learnts_sz++] = c;
+        }
+        System.arraycopy(lits, 0, arena, c + C_LITS, size);
+        arena_sz += C_LITS + size;
+        watch(not(lits[0]), c, lits[1]);
+        watch(not(lits[1]), c, lits[0]);
+        return c;
+    }
+
+    /**
+     * Stores the binary clause {@code l0 | l1} into the implication lists of
+     * the negations of its literals.
+     *
+     * @param l0 the first literal of the binary clause.
+     * @param l1 the second literal of the binary clause.
+     */
+    private void newBinary(final int l0, final int l1) {
+        imply(not(l0), l1);
+        imply(not(l1), l0);
+    }
+
+    private void imply(final int p, final int q) {
+        own();
+        int[] bs = bins[p];
+        final int bs_sz = bins_sz[p];
+        if (bs_sz == bs.length) {
+            bs = Arrays.copyOf(bs, bs.length << 1);
+            bins[p] = bs;
+        }
+        bs[bs_sz] = q;
+        bins_sz[p] = bs_sz + 1;
+    }
+
+    private void watch(final int p, final int c, final int blocker) {
+        int[] ws = watches[p];
+        final int ws_sz = watches_sz[p];
+        if (ws_sz + 2 > ws.length) {
+            ws = Arrays.copyOf(ws, ws.length << 1);
+            watches[p] = ws;
+        }
+        ws[ws_sz] = c;
+        ws[ws_sz + 1] = blocker;
+        watches_sz[p] = ws_sz + 2;
+    }
+
+    /**
+     * Returns the literals of the clause stored at offset {@code c} within the
+     * arena.
+     *
+     * @param c the offset of the clause within the arena.
+     * @return the literals of the clause.
+     */
+    int[] lits(final int c) {
+        return Arrays.copyOfRange(arena, c + C_LITS, c + C_LITS + arena[c + C_SIZE]);
+    }
+
     public int newEq(final Lit l, final Lit r) {
         assert rootLevel();
-        if (l == r) {
+        final int c_l = index(l);
+        final int c_r = index(r);
+        if (c_l == c_r) {
             return TRUE_var;
         }
-        if (l.v > r.v) {
-            return newEq(r, l);
-        }
-        String s_expr = (l.sign ? "b" : "!b") + l.v + " == " + (r.sign ? "b" : "!b") + r.v;
-        Integer expr = exprs.get(s_expr);
-        if (expr != null) {
+        final int[] key = c_l < c_r ? new int[]{EQ, c_l, c_r} : new int[]{EQ, c_r, c_l};
+        final int expr = exprs.get(key, key.length);
+        if (expr != -1) { // the expression already exists..
             return expr;
         } else {
             // we need to create a new variable..
             final int e = newVar();
             boolean nc;
-            nc = newClause(new Lit(e, false), l.not(), r);
+            nc = newClause(lit(e, false), not(c_l), c_r);
             assert nc;
-            nc = newClause(new Lit(e, false), l, r.not());
+            nc = newClause(lit(e, false), c_l, not(c_r));
             assert nc;
-            nc = newClause(new Lit(e), l.not(), r.not());
+            nc = newClause(lit(e, true), not(c_l), not(c_r));
             assert nc;
-            exprs.put(s_expr, e);
+            exprs.put(key, key.length, e);
             return e;
         }
     }
 
     public int newConj(final Lit... ls) {
         assert rootLevel();
-        Arrays.sort(ls, (Lit l0, Lit l1) -> Integer.compare(l0.v, l1.v));
-        String s_expr = Stream.of(ls).map(l -> l.toString()).collect(Collectors.joining(" & "));
-        Integer expr = exprs.get(s_expr);
-        if (expr != null) { // the expression already exists..
+        final int[] key = key(CONJ, ls);
+        final int expr = exprs.get(key, key.length);
+        if (expr != -1) { // the expression already exists..
             return expr;
         } else {
             // we need to create a new variable..
             int cnj = newVar();
-            Lit[] c_lits = new Lit[ls.length + 1];
-            c_lits[0] = new Lit(cnj);
+            int[] c_lits = new int[key.length];
+            c_lits[0] = lit(cnj, true);
             boolean nc;
             for (int i = 1; i < c_lits.length; i++) {
-                nc = newClause(new Lit(cnj, false), ls[i - 1]);
+                nc = newClause(lit(cnj, false), key[i]);
                 assert nc;
-                c_lits[i] = ls[i - 1].not();
+                c_lits[i] = not(key[i]);
             }
             nc = newClause(c_lits);
             assert nc;
-            exprs.put(s_expr, cnj);
+            exprs.put(key, key.length, cnj);
             return cnj;
         }
     }
 
     public int newDisj(final Lit... ls) {
         assert rootLevel();
-        Arrays.sort(ls, (Lit l0, Lit l1) -> Integer.compare(l0.v, l1.v));
-        String s_expr = Stream.of(ls).map(l -> l.toString()).collect(Collectors.joining(" | "));
-        Integer expr = exprs.get(s_expr);
-        if (expr != null) { // the expression already exists..
+        final int[] key = key(DISJ, ls);
+        final int expr = exprs.get(key, key.length);
+        if (expr != -1) { // the expression already exists..
             return expr;
         } else {
             // we need to create a new variable..
             int dsj = newVar();
-            Lit[] c_lits = new Lit[ls.length + 1];
-            c_lits[0] = new Lit(dsj, false);
+            int[] c_lits = new int[key.length];
+            c_lits[0] = lit(dsj, false);
             boolean nc;
             for (int i = 1; i < c_lits.length; i++) {
-                nc = newClause(ls[i - 1].not(), new Lit(dsj));
+                nc = newClause(not(key[i]), lit(dsj, true));
                 assert nc;
-                c_lits[i] = ls[i - 1];
+                c_lits[i] = key[i];
             }
             nc = newClause(c_lits);
             assert nc;
-            exprs.put(s_expr, dsj);
+            exprs.put(key, key.length, dsj);
             return dsj;
         }
     }
 
     public int newExctOne(final Lit... ls) {
         assert rootLevel();
-        Arrays.sort(ls, (Lit l0, Lit l1) -> Integer.compare(l0.v, l1.v));
-        String s_expr = Stream.of(ls).map(l -> l.toString()).collect(Collectors.joining(" ^ "));
-        Integer expr = exprs.get(s_expr);
-        if (expr != null) { // the expression already exists..
+        final int[] key = key(EXCT_ONE, ls);
+        final int expr = exprs.get(key, key.length);
+        if (expr != -1) { // the expression already exists..
             return expr;
         } else {
             // we need to create a new variable..
             int eo = newVar();
-            Lit[] c_lits = new Lit[ls.length + 1];
-            c_lits[0] = new Lit(eo, false);
-            boolean nc;
-            for (int i = 1; i < c_lits.length; i++) {
-                for (int j = i + 1; j < c_lits.length; j++) {
-                    nc = newClause(ls[i - 1].not(), ls[j - 1].not(), c_lits[0]);
-                    assert nc;
-                }
-                c_lits[i] = ls[i - 1];
-            }
+            boolean nc = newAMO(lit(eo, true), key, 1, key.length);
+            assert nc;
+            int[] c_lits = new int[key.length];
+            c_lits[0] = lit(eo, false);
+            System.arraycopy(key, 1, c_lits, 1, key.length - 1);
             nc = newClause(c_lits);
             assert nc;
-            exprs.put(s_expr, eo);
+            exprs.put(key, key.length, eo);
             return eo;
         }
     }
 
-    public LBool value(final int x) {
-        return assigns.get(x);
+    /**
+     * Returns the structural key of the expression obtained by applying the
+     * {@code op} operator to the {@code ls} literals (i.e., the operator
+     * followed by the sorted integer literals).
+     *
+     * @param op the operator of the expression.
+     * @param ls the literals of the expression.
+     * @return the structural key of the expression.
+     */
+    private static int[] key(final int op, final Lit... ls) {
+        final int[] key = new int[ls.length + 1];
+        key[0] = op;
+        for (int i = 0; i < ls.length; i++) {
+            key[i + 1] = index(ls[i]);
+        }
+        Arrays.sort(key, 1, key.length);
+        return key;
     }
 
-    public LBool value(final Lit p) {
-        switch (value(p.v)) {
-            case False:
-                return p.sign ? False : True;
-            case True:
-                return p.sign ? True : False;
-            case Undefined:
-                return Undefined;
+    /**
+     * Creates a new constraint enforcing, whenever the {@code act} literal is
+     * true, that at most one among the literals of {@code lits}, from index
+     * {@code from} (included) to index {@code to} (excluded), is true.
+     *
+     * @param act the activation literal of the new constraint.
+     * @param lits an array of literals.
+     * @param from the first literal of the new constraint.
+     * @param to the (excluded) last literal of the new constraint.
+     * @return {@code false} if the new constraint is trivially conflicting.
+     */
+    boolean newAMO(final int act, final int[] lits, final int from, final int to) {
+        assert rootLevel();
+        if (lit_value(act) == FALSE) {
+            return true; // the constraint is trivially satisfied..
+        }
+        // a literal which appears more than once cannot be true..
+        final int[] c_lits = Arrays.copyOfRange(lits, from, to);
+        Arrays.sort(c_lits);
+        int size = 0;
+        for (int i = 0; i < c_lits.length; i++) {
+            if (size > 0 && c_lits[size - 1] == c_lits[i]) {
+                if (!newClause(not(act), not(c_lits[i]))) {
+                    return false;
+                }
+            } else {
+                c_lits[size++] = c_lits[i];
+            }
+        }
+        if (size < 2) {
+            return true; // the constraint is trivially satisfied..
+        }
+        own();
+        final int a = amos_sz;
+        if (amos_sz + A_LITS + size > amos.length) {
+            amos = Arrays.copyOf(amos, Math.max(amos.length << 1, amos_sz + A_LITS + size));
+        }
+        amos[a + A_SIZE] = size;
+        amos[a + A_ACT] = act;
+        System.arraycopy(c_lits, 0, amos, a + A_LITS, size);
+        amos_sz += A_LITS + size;
+        amo_watch(act, a);
+        int n_true = 0;
+        for (int i = 0; i < size; i++) {
+            amo_watch(c_lits[i], a);
+            if (lit_value(c_lits[i]) == TRUE) {
+                n_true++;
+            }
+        }
+        // the literals which are already true will not be propagated again..
+        switch (n_true) {
+            case 0:
+                return true;
+            case 1:
+                return lit_value(act) != TRUE || propagate_amo(act);
             default:
-                throw new AssertionError(value(p.v).name());
+                return enqueue(not(act), -1);
         }
     }
 
+    private void amo_watch(final int p, final int a) {
+        int[] ws = amo_watches[p];
+        final int ws_sz = amo_watches_sz[p];
+        if (ws_sz == ws.length) {
+            ws = Arrays.copyOf(ws, ws.length << 1);
+            amo_watches[p] = ws;
+        }
+        ws[ws_sz] = a;
+        amo_watches_sz[p] = ws_sz + 1;
+    }
+
+    public LBool value(final int x) {
+        return L_BOOLS[assigns[x]];
+    }
+
+    public LBool value(final Lit p) {
+        return L_BOOLS[lit_value(index(p))];
+    }
+
+    /**
+     * Returns the saved phase of the variable {@code x}, that is, the value
+     * the variable had when it has been last unassigned by backtracking.
+     * Assignments retracted while probing do not affect the saved phases.
+     *
+     * @param x the variable whose saved phase we are interested in.
+     * @return the saved phase of the variable, or {@link LBool#Undefined} if
+     * the variable has never been unassigned.
+     */
+    public LBool phase(final int x) {
+        return L_BOOLS[phases[x]];
+    }
+
+    /**
+     * Returns the encoded value (i.e., one among {@link #FALSE}, {@link #TRUE}
+     * and {@link #UNDEFINED}) of the given integer literal.
+     *
+     * @param p the integer literal whose value we are interested in.
+     * @return the encoded value of the literal.
+     */
+    byte lit_value(final int p) {
+        final byte val = assigns[p >>> 1];
+        return val == UNDEFINED ? UNDEFINED : (byte) (val ^ (p & 1));
+    }
+
+    static int lit(final int v, final boolean sign) {
+        return sign ? v << 1 : (v << 1) ^ 1;
+    }
+
+    static int variable(final int p) {
+        return p >>> 1;
+    }
+
+    static boolean sign(final int p) {
+        return (p & 1) == 0;
+    }
+
+    static int not(final int p) {
+        return p ^ 1;
+    }
+
     static int index(final Lit p) {
-        return p.sign ? p.v << 1 : (p.v << 1) ^ 1;
+        return lit(p.v, p.sign);
+    }
+
+    static int[] toInts(final Lit... ls) {
+        final int[] c_lits = new int[ls.length];
+        for (int i = 0; i < ls.length; i++) {
+            c_lits[i] = index(ls[i]);
+        }
+        return c_lits;
+    }
+
+    static String toString(final int p) {
+        return (sign(p) ? "b" : "¬b") + variable(p);
     }
 
     /**
@@ -239,7 +732,7 @@ public class SatCore {
      * @return the current decision level.
      */
     public int decisionLevel() {
-        return trail_lim.size();
+        return trail_lim_sz;
     }
 
     /**
@@ -248,43 +741,95 @@ public class SatCore {
      * @return whether this decision level is root level.
      */
     public boolean rootLevel() {
-        return trail_lim.isEmpty();
+        return trail_lim_sz == 0;
     }
 
     public boolean assume(final Lit p) {
-        trail_lim.add(trail.size());
+        return assume(index(p));
+    }
+
+    boolean assume(final int p) {
+        if (trail_lim_sz == trail_lim.length) {
+            trail_lim = Arrays.copyOf(trail_lim, trail_lim_sz << 1);
+        }
+        trail_lim[trail_lim_sz++] = trail_sz;
+        if (trail_lim_sz == lbd_stamps.length) {
+            lbd_stamps = Arrays.copyOf(lbd_stamps, trail_lim_sz << 1);
+        }
         for (Theory th : theories) {
-            th.push();
+            if (!probing || th.isProbeRelevant()) {
+                th.push();
+            }
         }
-        return enqueue(p, null);
+        return enqueue(p, -1);
     }
 
     public void pop() {
-        while (trail_lim.get(trail_lim.size() - 1) < trail.size()) {
-            popOne();
+        final int lim = trail_lim[--trail_lim_sz];
+        // the literals assigned at lower decision levels (if backtracking chronologically) are kept..
+        int j = lim;
+        for (int i = lim; i < trail_sz; i++) {
+            final int v = variable(trail[i]);
+            if (level[v] <= trail_lim_sz) {
+                trail[j++] = trail[i];
+            } else {
+                unassign(v);
+            }
+        }
+        trail_sz = j;
+        // ..and propagated again, since the theories are going to forget about them..
+        if (q_head > lim) {
+            q_head = lim;
         }
-        trail_lim.remove(trail_lim.size() - 1);
         for (Theory th : theories) {
-            th.pop();
+            if (!probing || th.isProbeRelevant()) {
+                th.pop();
+            }
         }
+        notify_listeners();
     }
 
     public boolean check() {
-        final List<Lit> cnfl = new ArrayList<>();
         while (true) {
-            if (!propagate(cnfl)) {
-                if (rootLevel()) {
+            if (!propagate() || (final_check_only && !check_theories())) {
+                // the conflict might involve only literals assigned at lower decision levels..
+                int c_level = 0;
+                for (int l : cnfl) {
+                    c_level = Math.max(c_level, level[variable(l)]);
+                }
+                if (c_level == 0) {
+                    while (!rootLevel()) {
+                        pop();
+                    }
                     return false;
                 }
-                List<Lit> no_good = new ArrayList<>();
+                while (decisionLevel() > c_level) {
+                    pop();
+                }
                 // we analyze the conflict..
-                int bt_level = analyze(cnfl, no_good);
+                final int[] no_good = analyze(cnfl);
+                int bt_level = 0; // the backtracking level..
+                for (int i = 1; i < no_good.length; i++) {
+                    bt_level = Math.max(bt_level, level[variable(no_good[i])]);
+                }
+                if (no_good.length > 1 && chrono_threshold >= 0 && decisionLevel() - bt_level > chrono_threshold) {
+                    // we backtrack chronologically (unit no-goods, however, always bring back to root level)..
+                    bt_level = decisionLevel() - 1;
+                    n_chrono_backtracks++;
+                }
+                if (restart_policy != null) {
+                    restart_policy.conflict(lbd(no_good, 0, no_good.length));
+                }
                 while (decisionLevel() > bt_level) {
                     pop();
                 }
                 // we record the no-good..
-                record(no_good.toArray(new Lit[no_good.size()]));
-                cnfl.clear();
+                record(no_good);
+                cla_inc /= CLA_DECAY;
+                var_inc /= VAR_DECAY;
+                if (++n_conflicts >= next_reduce) {
+                    reduce_db();
+                }
             } else {
                 return true;
             }
@@ -292,201 +837,1576 @@ public class SatCore {
     }
 
     public boolean check(final Lit... ls) {
-        int c_level = decisionLevel();
-        final List<Lit> cnfl = new ArrayList<>();
+        return check(null, ls);
+    }
+
+    /**
+     * Checks whether the given literals can be assumed, one after the other,
+     * without resulting in a conflict. The state of the core is restored
+     * before returning. In case of conflict, the subset of the given literals
+     * which is responsible for it is added to {@code core}: any other set of
+     * assumptions including such a subset would result in a conflict as well,
+     * hence it needs not be checked.
+     *
+     * @param core the collection in which to store the failed assumptions, or
+     * {@code null} if we are not interested in them.
+     * @param ls the literals to assume.
+     * @return {@code true} if the literals can be assumed without conflicts.
+     */
+    public boolean check(final Collection<Lit> core, final Lit... ls) {
+        final int c_level = decisionLevel();
+        boolean consistent = true;
         for (Lit l : ls) {
+            final int p = index(l);
             // notice that these literals can be modified by propagation..
-            if (!assume(l) || !propagate(cnfl)) {
-                while (decisionLevel() > c_level) {
-                    pop();
+            if (lit_value(p) == FALSE) {
+                if (core != null) {
+                    core.add(l);
+                    analyze_final(c_level, new int[]{p}, core);
                 }
-                return false;
+                consistent = false;
+                break;
+            }
+            if (!assume(p) || !propagate()) {
+                if (core != null) {
+                    analyze_final(c_level, cnfl, core);
+                }
+                consistent = false;
+                break;
+            }
+            if (final_check_only) {
+                // the consistency checks are deferred, bound propagation takes care of the intermediate steps..
+                for (Theory th : theories) {
+                    if ((!probing || th.isProbeRelevant()) && th.isDirty()) {
+                        n_skipped_th_checks++;
+                    }
+                }
+            }
+        }
+        if (consistent && final_check_only && !check_theories()) {
+            if (core != null) {
+                analyze_final(c_level, cnfl, core);
             }
+            consistent = false;
         }
         while (decisionLevel() > c_level) {
             pop();
         }
-        return true;
+        return consistent;
     }
 
-    private boolean propagate(final List<Lit> cnfl) {
-        while (!prop_q.isEmpty()) {
-            // we propagate sat constraints..
-            Lit p = prop_q.pollFirst();
-            final List<Clause> tmp = watches.set(index(p), new ArrayList<>());
-            for (int i = 0; i < tmp.size(); i++) {
-                final Clause cl = tmp.get(i);
-                if (!cl.propagate(p)) {
-                    // constraint is conflicting..
-                    for (int j = i + 1; j < tmp.size(); j++) {
-                        watches.get(index(p)).add(tmp.get(j));
+    /**
+     * Checks, as {@link #check(java.util.Collection, it.cnr.istc.smt.Lit...)},
+     * whether the given literals can be assumed without resulting in a
+     * conflict, without notifying the listeners and involving only the
+     * theories which are relevant for probing. Since the state of the core is
+     * restored before returning, the listeners and the other theories need
+     * not be aware of the probed assignments.
+     *
+     * @param core the collection in which to store the failed assumptions, or
+     * {@code null} if we are not interested in them.
+     * @param ls the literals to assume.
+     * @return {@code true} if the literals can be assumed without conflicts.
+     */
+    public boolean probe(final Collection<Lit> core, final Lit... ls) {
+        assert !probing;
+        probing = true;
+        try {
+            return check(core, ls);
+        } finally {
+            probing = false;
+        }
+    }
+
+    /**
+     * Collects, into {@code core}, the decisions taken after the decision
+     * level {@code c_level} which imply the negations of the given literals.
+     *
+     * @param c_level the decision level before the assumptions.
+     * @param lits the false literals whose decisions we are interested in.
+     * @param core the collection in which to store the decisions.
+     */
+    private void analyze_final(final int c_level, final int[] lits, final Collection<Lit> core) {
+        for (int p : lits) {
+            final int v = variable(p);
+            if (level[v] > c_level && seen[v] == SEEN_UNDEF) {
+                seen[v] = SEEN_SOURCE;
+                to_clear[to_clear_sz++] = v;
+            }
+        }
+        final int start = c_level < trail_lim_sz ? trail_lim[c_level] : trail_sz;
+        for (int i = trail_sz - 1; i >= start; i--) {
+            final int v = variable(trail[i]);
+            if (seen[v] == SEEN_UNDEF) {
+                continue;
+            }
+            if (reason[v] == -1) {
+                // 'v' is one of the assumptions..
+                core.add(new Lit(v, sign(trail[i])));
+            } else {
+                for (int j = 1; j < reason_size(v); j++) {
+                    final int q = variable(reason_lit(v, j));
+                    if (level[q] > c_level && seen[q] == SEEN_UNDEF) {
+                        seen[q] = SEEN_SOURCE;
+                        to_clear[to_clear_sz++] = q;
                     }
-                    assert Stream.of(cl.lits).filter(l -> watches.get(index(l.not())).contains(cl)).count() == 2;
-                    cnfl.addAll(Arrays.asList(cl.lits));
-                    prop_q.clear();
-                    return false;
                 }
-                assert Stream.of(cl.lits).filter(l -> watches.get(index(l.not())).contains(cl)).count() == 2;
+            }
+        }
+        for (int i = 0; i < to_clear_sz; i++) {
+            seen[to_clear[i]] = SEEN_UNDEF;
+        }
+        to_clear_sz = 0;
+    }
+
+    private boolean propagate() {
+        while (q_head < trail_sz) {
+            // we propagate sat constraints..
+            final int p = trail[q_head++];
+            if (!propagate_bin(p) || !propagate(p) || !propagate_amo(p)) {
+                q_head = trail_sz;
+                return false;
             }
 
             // we perform theory propagation..
-            Collection<Theory> ths = binds.get(p.v);
+            final Theory[] ths = binds[variable(p)];
             if (ths != null) {
+                final Lit c_p = new Lit(variable(p), sign(p));
                 for (Theory th : ths) {
-                    if (!th.propagate(p, cnfl)) {
-                        assert !cnfl.isEmpty();
-                        prop_q.clear();
+                    if (probing && !th.isProbeRelevant()) {
+                        continue;
+                    }
+                    if (!th.propagate(c_p, th_cnfl)) {
+                        assert !th_cnfl.isEmpty();
+                        cnfl = toInts(th_cnfl.toArray(new Lit[th_cnfl.size()]));
+                        cnfl_c = -1;
+                        th_cnfl.clear();
+                        q_head = trail_sz;
                         return false;
                     }
                 }
             }
         }
 
-        // we check the theories..
-        for (Theory th : theories) {
-            if (!th.check(cnfl)) {
-                assert !cnfl.isEmpty();
-                return false;
-            }
+        if (!final_check_only && !check_theories()) {
+            return false;
         }
 
+        // we have reached a fixpoint: we notify the listeners..
+        notify_listeners();
         return true;
     }
 
-    private int analyze(final List<Lit> cnfl, final List<Lit> no_good) {
-        assert cnfl.stream().allMatch(l -> value(l) != Undefined); // all these literals must have been assigned for belonging to a conflict..
-        Set<Integer> seen = new HashSet<>();
-        int counter = 0; // this is the number of variables of the current decision level that have already been seen..
-        Lit p = new Lit(-1);
-        List<Lit> p_reason = cnfl;
-        no_good.add(p);
-        int bt_level = 0; // the backtracking level..
-        do {
-            // trace reason for 'p'..
-            for (Lit q : p_reason) { // the order in which these literals are visited is not relevant..
-                if (seen.add(q.v)) {
-                    assert value(q) == False; // this literal should have propagated the clause..
-                    if (level.get(q.v) == decisionLevel()) {
-                        counter++;
-                    } else if (level.get(q.v) > 0) { // exclude variables from decision level 0..
-                        no_good.add(q); // this literal has been assigned in a previous decision level..
-                        bt_level = Math.max(bt_level, level.get(q.v));
-                    }
-                }
+    /**
+     * Checks the consistency of the theories whose state has changed since
+     * their last successful check.
+     *
+     * @return {@code false} if a theory is inconsistent, in which case the
+     * conflicting constraint is stored in {@code cnfl}.
+     */
+    private boolean check_theories() {
+        for (Theory th : theories) {
+            if (probing && !th.isProbeRelevant()) {
+                continue;
+            }
+            if (!th.isDirty()) {
+                n_skipped_th_checks++;
+                continue;
+            }
+            n_th_checks++;
+            if (!th.check(th_cnfl)) {
+                assert !th_cnfl.isEmpty();
+                cnfl = toInts(th_cnfl.toArray(new Lit[th_cnfl.size()]));
+                cnfl_c = -1;
+                th_cnfl.clear();
+                return false;
             }
-            // select next literal to look at..
-            do {
-                p = trail.peekFirst();
-                assert level.get(p.v) == decisionLevel(); // this variable must have been assigned at the current decision level..
-                if (reason.get(p.v) != null) // 'p' can be the asserting literal..
-                {
-                    assert reason.get(p.v).lits[0].equals(p); // a consequence of propagating the clause is the assignment of literal 'p'..
-                    assert value(p) == True; // 'p' has been propagated as true..
-                    assert Stream.of(reason.get(p.v).lits).skip(1).allMatch(l -> value(l) == False); // all these literals must have been assigned as false for propagating 'p'..
-                    p_reason = Stream.of(reason.get(p.v).lits).skip(1).collect(Collectors.toList());
-                }
-                popOne();
-            } while (!seen.contains(p.v));
-            counter--;
-        } while (counter > 0);
-        // 'p' is now the first Unique Implication Point (UIP), possibly the asserting literal, that led to the conflict..
-        assert value(p) == Undefined;
-        assert no_good.stream().skip(1).allMatch(l -> value(l) == False); // all these literals must have been assigned as false for propagating 'p'..
-        no_good.set(0, p.not());
-        return bt_level;
-    }
-
-    public void record(final Lit... lits) {
-        assert value(lits[0]) == Undefined;
-        assert Stream.of(lits).noneMatch(l -> value(l) == True);
-        assert Stream.of(lits).filter(l -> value(l) == Undefined).count() == 1;
-        assert Stream.of(lits).filter(l -> value(l) == False).count() == lits.length - 1;
-        if (lits.length == 1) {
-            assert rootLevel();
-            boolean e = enqueue(lits[0], null);
-            assert e;
-        } else {
-            // we sort literals according to descending order of variable assignment (except for the first literal which is now unassigned)..
-            Arrays.sort(lits, 1, lits.length - 1, (Lit l0, Lit l1) -> -Integer.compare(level.get(l0.v), level.get(l1.v)));
-            Clause c = new Clause(this, lits);
-            boolean e = enqueue(lits[0], c);
-            assert e;
-            clauses.add(c);
         }
+        return true;
     }
 
-    boolean enqueue(final Lit p, final Clause c) {
-        switch (value(p)) {
-            case False:
-                return false;
-            case True:
-                return true;
-            case Undefined:
-                assigns.set(p.v, p.sign ? True : False);
-                level.set(p.v, decisionLevel());
-                reason.set(p.v, c);
-                trail.addFirst(p);
-                prop_q.addLast(p);
-                Collection<SatValueListener> ls = listeners.get(p.v);
-                if (ls != null) {
-                    for (SatValueListener l : ls) {
-                        l.satValueChange(p.v);
-                    }
-                }
-                return true;
-            default:
-                throw new AssertionError(value(p).name());
-        }
+    /**
+     * Sets whether the consistency of the theories should be checked only
+     * before returning from {@link #check()} and from
+     * {@link #check(java.util.Collection, it.cnr.istc.smt.Lit...)} (i.e., at
+     * the decision points), rather than at each propagation fixpoint. In the
+     * former case, theory propagation is the only reasoning performed after
+     * each of the checked assumptions but the last one. Since {@link #check()}
+     * checks the theories at each propagation fixpoint anyway, the mode has
+     * no effect on it.
+     *
+     * @param final_check_only whether the consistency of the theories should
+     * be checked only at the decision points.
+     */
+    public void setFinalCheckOnly(final boolean final_check_only) {
+        this.final_check_only = final_check_only;
     }
 
-    public void popOne() {
-        int v = trail.pollFirst().v;
-        assigns.set(v, Undefined);
-        reason.set(v, null);
-        level.set(v, -1);
-        Collection<SatValueListener> ls = listeners.get(v);
-        if (ls != null) {
-            for (SatValueListener l : ls) {
-                l.satValueChange(v);
-            }
-        }
+    public boolean isFinalCheckOnly() {
+        return final_check_only;
     }
 
-    public void addTheory(final Theory th) {
-        theories.add(th);
+    /**
+     * Returns the number of consistency checks performed by the theories.
+     *
+     * @return the number of consistency checks performed by the theories.
+     */
+    public long getTheoryChecks() {
+        return n_th_checks;
     }
 
-    public void bind(final int v, final Theory th) {
-        Collection<Theory> ths = binds.get(v);
-        if (ths == null) {
-            ths = new ArrayList<>();
-            binds.put(v, ths);
-        }
-        ths.add(th);
+    /**
+     * Returns the number of consistency checks of the theories which have
+     * been skipped, either because the state of the theories has not changed
+     * since their last successful check or, in final-check-only mode, because
+     * they have been deferred to the last of the checked assumptions.
+     *
+     * @return the number of skipped consistency checks.
+     */
+    public long getSkippedTheoryChecks() {
+        return n_skipped_th_checks;
     }
 
-    public void unbind(final int v, final Theory th) {
-        Collection<Theory> ths = binds.get(v);
-        ths.remove(th);
-        if (ths.isEmpty()) {
-            listeners.remove(v);
+    /**
+     * Propagates the implication list of literal {@code p}, which has just
+     * become true.
+     *
+     * @param p the literal which has become true.
+     * @return {@code false} if a binary clause is conflicting, in which case
+     * the conflicting clause is stored in {@code cnfl}.
+     */
+    private boolean propagate_bin(final int p) {
+        final int[] bs = bins[p];
+        final int bs_sz = bins_sz[p];
+        for (int i = 0; i < bs_sz; i++) {
+            final int q = bs[i];
+            switch (lit_value(q)) {
+                case UNDEFINED:
+                    antecedents[variable(q) << 1] = p;
+                    enqueue(q, BIN_REASON);
+                    n_bin_props++;
+                    break;
+                case FALSE:
+                    cnfl = new int[]{q, not(p)};
+                    cnfl_c = -1;
+                    return false;
+            }
         }
+        return true;
     }
 
-    public void listen(final int v, final SatValueListener l) {
-        Collection<SatValueListener> ls = listeners.get(v);
-        if (ls == null) {
-            ls = new ArrayList<>();
-            listeners.put(v, ls);
+    /**
+     * Propagates the clauses watching literal {@code p}, which has just become
+     * true, compacting its watch list in place.
+     *
+     * @param p the literal which has become true.
+     * @return {@code false} if a clause is conflicting, in which case the
+     * conflicting clause is stored in {@code cnfl}.
+     */
+    private boolean propagate(final int p) {
+        final int false_lit = not(p);
+        final int[] ws = watches[p];
+        final int ws_sz = watches_sz[p];
+        int i = 0, j = 0;
+        while (i < ws_sz) {
+            final int c = ws[i];
+            final int blocker = ws[i + 1];
+            i += 2;
+            if (lit_value(blocker) == TRUE) {
+                // the clause is satisfied by its blocker..
+                ws[j++] = c;
+                ws[j++] = blocker;
+                continue;
+            }
+
+            // make sure false literal is the second one..
+            final int[] a = arena;
+            if (a[c + C_LITS] == false_lit) {
+                a[c + C_LITS] = a[c + C_LITS + 1];
+                a[c + C_LITS + 1] = false_lit;
+            }
+            assert a[c + C_LITS + 1] == false_lit;
+
+            // if 0th watch is true, the clause is already satisfied..
+            final int first = a[c + C_LITS];
+            if (first != blocker && lit_value(first) == TRUE) {
+                ws[j++] = c;
+                ws[j++] = first;
+                continue;
+            }
+
+            // we look for a new literal to watch..
+            boolean found = false;
+            final int end = c + C_LITS + a[c + C_SIZE];
+            for (int k = c + C_LITS + 2; k < end; k++) {
+                if (lit_value(a[k]) != FALSE) {
+                    a[c + C_LITS + 1] = a[k];
+                    a[k] = false_lit;
+                    watch(not(a[c + C_LITS + 1]), c, first);
+                    found = true;
+                    break;
+                }
+            }
+            if (found) {
+                continue;
+            }
+
+            // clause is unit under assignment..
+            ws[j++] = c;
+            ws[j++] = first;
+            if (lit_value(first) == UNDEFINED) {
+                n_long_props++;
+            }
+            if (!enqueue(first, c)) {
+                // constraint is conflicting..
+                while (i < ws_sz) {
+                    ws[j++] = ws[i++];
+                }
+                watches_sz[p] = j;
+                cnfl = lits(c);
+                cnfl_c = c;
+                return false;
+            }
         }
-        ls.add(l);
+        watches_sz[p] = j;
+        return true;
     }
 
-    public void forget(final int v, final SatValueListener l) {
-        Collection<SatValueListener> ls = listeners.get(v);
-        ls.remove(l);
-        if (ls.isEmpty()) {
-            listeners.remove(v);
+    /**
+     * Propagates the at-most-one constraints watching literal {@code p}, which
+     * has just become true.
+     *
+     * @param p the literal which has become true.
+     * @return {@code false} if a constraint is conflicting, in which case the
+     * conflicting clause is stored in {@code cnfl}.
+     */
+    private boolean propagate_amo(final int p) {
+        final int[] ws = amo_watches[p];
+        final int ws_sz = amo_watches_sz[p];
+        for (int i = 0; i < ws_sz; i++) {
+            final int a = ws[i];
+            final int act = amos[a + A_ACT];
+            final int end = a + A_LITS + amos[a + A_SIZE];
+            if (p == act) {
+                // the constraint has become active: if one of its literals is true, the others become false..
+                int t = -1;
+                for (int k = a + A_LITS; k < end; k++) {
+                    if (lit_value(amos[k]) == TRUE) {
+                        if (t != -1) {
+                            cnfl = new int[]{not(act), not(t), not(amos[k])};
+                            cnfl_c = -1;
+                            return false;
+                        }
+                        t = amos[k];
+                    }
+                }
+                if (t != -1) {
+                    for (int k = a + A_LITS; k < end; k++) {
+                        if (amos[k] != t) {
+                            enqueue(not(amos[k]), t, act);
+                        }
+                    }
+                }
+            } else {
+                switch (lit_value(act)) {
+                    case TRUE:
+                        // the other literals become false..
+                        for (int k = a + A_LITS; k < end; k++) {
+                            final int l = amos[k];
+                            if (l != p && !enqueue(not(l), p, act)) {
+                                cnfl = new int[]{not(act), not(p), not(l)};
+                                cnfl_c = -1;
+                                return false;
+                            }
+                        }
+                        break;
+                    case UNDEFINED:
+                        // if another literal is true, the constraint cannot be active..
+                        for (int k = a + A_LITS; k < end; k++) {
+                            final int l = amos[k];
+                            if (l != p && lit_value(l) == TRUE) {
+                                enqueue(not(act), p, l);
+                                break;
+                            }
+                        }
+                        break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of literals of the reason for the assignment of the
+     * variable {@code v}, including the implied literal.
+     *
+     * @param v a variable implied by some constraint.
+     * @return the number of literals of the reason for the assignment of the
+     * variable.
+     */
+    private int reason_size(final int v) {
+        final int c = reason[v];
+        assert c != -1;
+        switch (c) {
+            case AMO_REASON:
+                return 3;
+            case BIN_REASON:
+                return 2;
+            default:
+                return arena[c + C_SIZE];
+        }
+    }
+
+    /**
+     * Returns the {@code i}-th literal of the reason for the assignment of the
+     * variable {@code v}. The first literal is the implied one, while all the
+     * others are false.
+     *
+     * @param v a variable implied by some constraint.
+     * @param i the index of the literal.
+     * @return the {@code i}-th literal of the reason.
+     */
+    private int reason_lit(final int v, final int i) {
+        final int c = reason[v];
+        assert c != -1;
+        if (c == AMO_REASON || c == BIN_REASON) {
+            return i == 0 ? trail_lit(v) : not(antecedents[(v << 1) + i - 1]);
+        }
+        return arena[c + C_LITS + i];
+    }
+
+    private int trail_lit(final int v) {
+        return assigns[v] == TRUE ? lit(v, true) : lit(v, false);
+    }
+
+    private int[] analyze(final int[] cnfl) {
+        assert Arrays.stream(cnfl).allMatch(l -> lit_value(l) != UNDEFINED); // all these literals must have been assigned for belonging to a conflict..
+        int counter = 0; // this is the number of variables of the current decision level that have already been seen..
+        int p = -1;
+        int[] p_reason = cnfl;
+        int p_start = 0; // the first literal of 'p_reason' which has to be traced..
+        int p_end = cnfl.length; // the (excluded) last literal of 'p_reason' which has to be traced..
+        int idx = trail_sz; // the position, within the trail, of the next literal to look at..
+        int[] no_good = new int[8];
+        int no_good_sz = 1; // we make room for the asserting literal..
+        if (cnfl_c != -1 && (arena[cnfl_c + C_FLAGS] & LEARNT) != 0) {
+            bump(cnfl_c);
+        }
+        do {
+            // trace reason for 'p'..
+            for (int i = p_start; i < p_end; i++) { // the order in which these literals are visited is not relevant..
+                final int q = p_reason[i];
+                if (seen[variable(q)] == SEEN_UNDEF) {
+                    seen[variable(q)] = SEEN_SOURCE;
+                    to_clear[to_clear_sz++] = variable(q);
+                    assert lit_value(q) == FALSE; // this literal should have propagated the clause..
+                    if (level[variable(q)] > 0) {
+                        bump_var(variable(q));
+                    }
+                    if (level[variable(q)] == decisionLevel()) {
+                        counter++;
+                    } else if (level[variable(q)] > 0) { // exclude variables from decision level 0..
+                        if (no_good_sz == no_good.length) {
+                            no_good = Arrays.copyOf(no_good, no_good_sz << 1);
+                        }
+                        no_good[no_good_sz++] = q; // this literal has been assigned in a previous decision level..
+                    }
+                }
+            }
+            // select next literal to look at..
+            do {
+                p = trail[--idx];
+                if (level[variable(p)] != decisionLevel()) {
+                    continue; // a literal assigned at a lower decision level (if backtracking chronologically)..
+                }
+                if (reason[variable(p)] == AMO_REASON || reason[variable(p)] == BIN_REASON) {
+                    final int v = variable(p);
+                    assert lit_value(p) == TRUE; // 'p' has been propagated as true..
+                    p_end = reason_size(v);
+                    for (int i = 1; i < p_end; i++) {
+                        imp_reason[i] = reason_lit(v, i);
+                        assert lit_value(imp_reason[i]) == FALSE; // the antecedents of 'p' must be true..
+                    }
+                    p_reason = imp_reason;
+                    p_start = 1;
+                } else if (reason[variable(p)] != -1) // 'p' can be the asserting literal..
+                {
+                    final int c = reason[variable(p)];
+                    assert arena[c + C_LITS] == p; // a consequence of propagating the clause is the assignment of literal 'p'..
+                    assert lit_value(p) == TRUE; // 'p' has been propagated as true..
+                    assert Arrays.stream(lits(c)).skip(1).allMatch(l -> lit_value(l) == FALSE); // all these literals must have been assigned as false for propagating 'p'..
+                    if ((arena[c + C_FLAGS] & LEARNT) != 0) {
+                        bump(c);
+                    }
+                    p_reason = arena;
+                    p_start = c + C_LITS + 1;
+                    p_end = c + C_LITS + arena[c + C_SIZE];
+                }
+            } while (seen[variable(p)] == SEEN_UNDEF || level[variable(p)] != decisionLevel());
+            counter--;
+        } while (counter > 0);
+        // 'p' is now the first Unique Implication Point (UIP), possibly the asserting literal, that led to the conflict..
+        assert lit_value(p) == TRUE;
+        no_good[0] = not(p);
+        assert Arrays.stream(no_good, 1, no_good_sz).allMatch(l -> lit_value(l) == FALSE); // all these literals must have been assigned as false for propagating 'p'..
+
+        // we remove the literals which are implied by the other literals of the no-good..
+        n_learnt_lits += no_good_sz;
+        int j = 1;
+        for (int i = 1; i < no_good_sz; i++) {
+            if (reason[variable(no_good[i])] == -1 || !lit_redundant(no_good[i])) {
+                no_good[j++] = no_good[i];
+            }
+        }
+        n_minimized_lits += j;
+
+        // we clear the state of the seen variables..
+        for (int i = 0; i < to_clear_sz; i++) {
+            seen[to_clear[i]] = SEEN_UNDEF;
+        }
+        to_clear_sz = 0;
+        return Arrays.copyOf(no_good, j);
+    }
+
+    /**
+     * Checks whether the literal {@code p}, belonging to the no-good being
+     * learnt, is implied by the other literals of the no-good (i.e., whether
+     * all the paths in the implication graph from the decisions to {@code p}
+     * go through the other literals of the no-good), in which case it can be
+     * removed from the no-good. The outcome of the visit is cached in
+     * {@code seen} so that each variable is visited at most once per conflict.
+     *
+     * @param p a literal of the no-good, implied by some clause.
+     * @return whether the literal {@code p} can be removed from the no-good.
+     */
+    private boolean lit_redundant(int p) {
+        assert seen[variable(p)] == SEEN_UNDEF || seen[variable(p)] == SEEN_SOURCE;
+        assert reason[variable(p)] != -1;
+        int an_stack_sz = 0;
+        for (int i = 1;; i++) {
+            if (i < reason_size(variable(p))) {
+                // we check the 'i'-th antecedent of 'p'..
+                final int l = reason_lit(variable(p), i);
+                final int v = variable(l);
+                if (level[v] <= 0 || seen[v] == SEEN_SOURCE || seen[v] == SEEN_REMOVABLE) {
+                    // the antecedent is either a root level literal or a literal of the no-good or a literal already known to be implied..
+                    continue;
+                }
+                if (reason[v] == -1 || seen[v] == SEEN_FAILED) {
+                    // the antecedent is a decision or cannot be removed, hence neither can be the literals on the stack..
+                    if (seen[variable(p)] == SEEN_UNDEF) {
+                        seen[variable(p)] = SEEN_FAILED;
+                        to_clear[to_clear_sz++] = variable(p);
+                    }
+                    for (int k = 1; k < an_stack_sz; k += 2) {
+                        final int s_v = variable(an_stack[k]);
+                        if (seen[s_v] == SEEN_UNDEF) {
+                            seen[s_v] = SEEN_FAILED;
+                            to_clear[to_clear_sz++] = s_v;
+                        }
+                    }
+                    return false;
+                }
+                // we recursively check the antecedent..
+                an_stack[an_stack_sz++] = i;
+                an_stack[an_stack_sz++] = p;
+                i = 0;
+                p = l;
+            } else {
+                // all the antecedents of 'p' are implied by the no-good..
+                if (seen[variable(p)] == SEEN_UNDEF) {
+                    seen[variable(p)] = SEEN_REMOVABLE;
+                    to_clear[to_clear_sz++] = variable(p);
+                }
+                if (an_stack_sz == 0) {
+                    return true;
+                }
+                // we go on with the element on top of the stack..
+                p = an_stack[--an_stack_sz];
+                i = an_stack[--an_stack_sz];
+            }
+        }
+    }
+
+    public void record(final Lit... lits) {
+        record(toInts(lits));
+    }
+
+    void record(final int... lits) {
+        assert lit_value(lits[0]) == UNDEFINED;
+        assert Arrays.stream(lits).noneMatch(l -> lit_value(l) == TRUE);
+        assert Arrays.stream(lits).filter(l -> lit_value(l) == UNDEFINED).count() == 1;
+        assert Arrays.stream(lits).filter(l -> lit_value(l) == FALSE).count() == lits.length - 1;
+        if (lits.length == 1) {
+            assert rootLevel();
+            boolean e = enqueue(lits[0], -1);
+            assert e;
+        } else {
+            // we move the literal with the highest decision level in second position (the first literal is now unassigned)..
+            int max_i = 1;
+            for (int i = 2; i < lits.length; i++) {
+                if (level[variable(lits[i])] > level[variable(lits[max_i])]) {
+                    max_i = i;
+                }
+            }
+            final int tmp = lits[1];
+            lits[1] = lits[max_i];
+            lits[max_i] = tmp;
+            if (lits.length == 2) {
+                newBinary(lits[0], lits[1]);
+                antecedents[variable(lits[0]) << 1] = not(lits[1]);
+                boolean e = enqueue(lits[0], BIN_REASON);
+                assert e;
+                return;
+            }
+            final int c = newClause(lits, lits.length, true);
+            arena[c + C_LBD] = lbd(arena, c + C_LITS, c + C_LITS + lits.length);
+            boolean e = enqueue(lits[0], c);
+            assert e;
+        }
+    }
+
+    /**
+     * Computes the literal block distance (i.e., the number of distinct
+     * decision levels) of the assigned literals of {@code lits} from index
+     * {@code from} (included) to index {@code to} (excluded).
+     *
+     * @param lits an array of literals.
+     * @param from the first literal to consider.
+     * @param to the (excluded) last literal to consider.
+     * @return the literal block distance of the considered literals.
+     */
+    private int lbd(final int[] lits, final int from, final int to) {
+        if (++lbd_stamp == Integer.MAX_VALUE) {
+            Arrays.fill(lbd_stamps, 0);
+            lbd_stamp = 1;
+        }
+        int lbd = 0;
+        for (int i = from; i < to; i++) {
+            final int l = level[variable(lits[i])];
+            if (l >= 0 && lbd_stamps[l] != lbd_stamp) {
+                lbd_stamps[l] = lbd_stamp;
+                lbd++;
+            }
+        }
+        return lbd;
+    }
+
+    /**
+     * Returns the activity of the variable {@code v}, that is, the number of
+     * the conflicts in which the variable has been involved, each one weighted
+     * by how recent it is (i.e., the weight decays geometrically with the
+     * number of subsequent conflicts). Activities can be used by the clients
+     * for driving their decisions towards (or away from) the variables which
+     * are more frequently involved in conflicts.
+     *
+     * @param v the variable whose activity we are interested in.
+     * @return the activity of the variable.
+     */
+    public double activity(final int v) {
+        return activity[v] / var_inc;
+    }
+
+    private void bump_var(final int v) {
+        if ((activity[v] += var_inc) > 1e100) {
+            // we rescale the activities (which does not change their order)..
+            for (int i = 0; i < n_vars; i++) {
+                activity[i] *= 1e-100;
+            }
+            var_inc *= 1e-100;
+        }
+        if (order_idx[v] >= 0) {
+            order_up(order_idx[v]);
+        }
+    }
+
+    /**
+     * Returns whether variable {@code u} precedes variable {@code v} in the
+     * branching order (i.e., it has a higher activity or, with the same
+     * activity, a lower index).
+     */
+    private boolean order_lt(final int u, final int v) {
+        return activity[u] > activity[v] || (activity[u] == activity[v] && u < v);
+    }
+
+    private void order_insert(final int v) {
+        if (order_idx[v] < 0) {
+            order[order_sz] = v;
+            order_idx[v] = order_sz;
+            order_up(order_sz++);
+        }
+    }
+
+    /**
+     * Removes and returns the first variable of the branching order.
+     *
+     * @return the variable with the highest activity.
+     */
+    private int order_remove_first() {
+        final int v = order[0];
+        order_idx[v] = -1;
+        if (--order_sz > 0) {
+            order[0] = order[order_sz];
+            order_idx[order[0]] = 0;
+            order_down(0);
+        }
+        return v;
+    }
+
+    private void order_up(int i) {
+        final int v = order[i];
+        while (i > 0) {
+            final int parent = (i - 1) >> 1;
+            if (!order_lt(v, order[parent])) {
+                break;
+            }
+            order[i] = order[parent];
+            order_idx[order[i]] = i;
+            i = parent;
+        }
+        order[i] = v;
+        order_idx[v] = i;
+    }
+
+    private void order_down(int i) {
+        final int v = order[i];
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= order_sz) {
+                break;
+            }
+            if (child + 1 < order_sz && order_lt(order[child + 1], order[child])) {
+                child++;
+            }
+            if (!order_lt(order[child], v)) {
+                break;
+            }
+            order[i] = order[child];
+            order_idx[order[i]] = i;
+            i = child;
+        }
+        order[i] = v;
+        order_idx[v] = i;
+    }
+
+    /**
+     * Bumps the activity of the learnt clause stored at offset {@code c} and,
+     * if it gets smaller, updates its literal block distance.
+     *
+     * @param c the offset of the learnt clause within the arena.
+     */
+    private void bump(final int c) {
+        final float act = Float.intBitsToFloat(arena[c + C_ACT]) + cla_inc;
+        arena[c + C_ACT] = Float.floatToRawIntBits(act);
+        if (act > 1e20f) {
+            // we rescale the activities of all the learnt clauses..
+            for (int i = 0; i < learnts_sz; i++) {
+                arena[learnts[i] + C_ACT] = Float.floatToRawIntBits(Float.intBitsToFloat(arena[learnts[i] + C_ACT]) * 1e-20f);
+            }
+            cla_inc *= 1e-20f;
+        }
+        if (arena[c + C_LBD] > glue_lbd) {
+            // all the literals of a clause involved in a conflict are assigned..
+            final int c_lbd = lbd(arena, c + C_LITS, c + C_LITS + arena[c + C_SIZE]);
+            if (c_lbd < arena[c + C_LBD]) {
+                arena[c + C_LBD] = c_lbd;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the clause stored at offset {@code c} is currently the
+     * reason for the assignment of its first literal.
+     *
+     * @param c the offset of the clause within the arena.
+     * @return whether the clause is the reason for some assignment.
+     */
+    private boolean locked(final int c) {
+        final int p = arena[c + C_LITS];
+        return lit_value(p) == TRUE && reason[variable(p)] == c;
+    }
+
+    /**
+     * Sets the policy for reducing the learnt clauses. The first reduction
+     * takes place after {@code first} conflicts and the number of conflicts
+     * between two consecutive reductions is increased by {@code inc} at each
+     * reduction. Learnt clauses whose literal block distance is not greater
+     * than {@code glue} are never removed.
+     *
+     * @param first the number of conflicts before the first reduction.
+     * @param inc the increment of the number of conflicts between two
+     * consecutive reductions.
+     * @param glue the literal block distance of the learnt clauses which are
+     * never removed.
+     */
+    public void setReducePolicy(final int first, final int inc, final int glue) {
+        first_reduce = first;
+        reduce_inc = inc;
+        glue_lbd = glue;
+        next_reduce = n_conflicts + first_reduce + (long) reduce_inc * n_reductions;
+    }
+
+    /**
+     * Sets the policy which decides when the search should be restarted.
+     * Notice that the core never restarts by itself: it is up to the client to
+     * check, through {@link #shouldRestart()}, whether the search should be
+     * restarted and, in case, to call {@link #restart(int)}.
+     *
+     * @param policy the restart policy, or {@code null} for never restarting.
+     */
+    public void setRestartPolicy(final RestartPolicy policy) {
+        restart_policy = policy;
+    }
+
+    /**
+     * Sets the backjump distance beyond which conflicts are resolved by
+     * backtracking chronologically. Whenever the asserting level of a learnt
+     * no-good is more than {@code threshold} decision levels below the level
+     * of the conflict, the core backtracks just one decision level, keeping
+     * the no-good, so that the state of the theories (and of the solver) for
+     * the levels in between needs not be rebuilt. Unit no-goods always bring
+     * the core back to root level.
+     *
+     * @param threshold the maximum backjump distance, or a negative value for
+     * always backjumping to the asserting level.
+     */
+    public void setChronoBacktracking(final int threshold) {
+        chrono_threshold = threshold;
+    }
+
+    /**
+     * Returns the number of conflicts which have been resolved by
+     * backtracking chronologically.
+     *
+     * @return the number of chronological backtracks.
+     */
+    public long getChronoBacktracks() {
+        return n_chrono_backtracks;
+    }
+
+    /**
+     * Returns whether, according to the current restart policy, the search
+     * should be restarted.
+     *
+     * @return true if the search should be restarted.
+     */
+    public boolean shouldRestart() {
+        return restart_policy != null && restart_policy.shouldRestart();
+    }
+
+    /**
+     * Restarts the search by backjumping to the given decision level. The
+     * learnt clauses are kept. If the current decision level is not above
+     * {@code lvl} there is nothing to restart: the restart is neither counted
+     * nor notified to the restart policy, which, hence, still asks for it.
+     *
+     * @param lvl the decision level to backjump to.
+     */
+    public void restart(final int lvl) {
+        if (decisionLevel() <= lvl) {
+            return;
+        }
+        while (decisionLevel() > lvl) {
+            pop();
+        }
+        n_restarts++;
+        if (restart_policy != null) {
+            restart_policy.restart();
+        }
+    }
+
+    /**
+     * Searches for an assignment of all the variables which satisfies the
+     * clauses and the theories, branching on the unassigned variable having
+     * the highest activity with its saved phase (false, if the variable has
+     * never been assigned). The search is restarted according to the current
+     * restart policy, if any. The core is, in fact, just a propagation engine
+     * for the solver, which takes its own decisions: this method is meant for
+     * solving pure SAT problems (e.g., read through {@link DIMACSReader}) and,
+     * hence, it must be called at root level.
+     * <p>
+     * If a solution is found, the variables are left assigned, so that the
+     * model can be retrieved through {@link #value(int)}, and popping back to
+     * root level is up to the caller. In any other case, the core is left at
+     * root level.
+     *
+     * @param timeout the maximum number of milliseconds of the search (no
+     * limit if not positive).
+     * @return {@link LBool#True} if a solution has been found,
+     * {@link LBool#False} if the problem is unsatisfiable and
+     * {@link LBool#Undefined} if the search has timed out.
+     */
+    public LBool solve(final long timeout) {
+        assert rootLevel();
+        final long deadline = System.nanoTime() + timeout * 1000000;
+        if (!check()) {
+            return LBool.False;
+        }
+        while (true) {
+            if (timeout > 0 && System.nanoTime() > deadline) {
+                while (!rootLevel()) {
+                    pop();
+                }
+                return LBool.Undefined;
+            }
+            if (shouldRestart()) {
+                restart(0);
+            }
+            // we select the next variable to branch on (assigned variables are lazily removed from the heap)..
+            int next = -1;
+            while (order_sz > 0 && next == -1) {
+                final int v = order_remove_first();
+                if (assigns[v] == UNDEFINED) {
+                    next = v;
+                }
+            }
+            if (next == -1) {
+                return LBool.True; // all the variables have been assigned..
+            }
+            if (!assume(lit(next, phases[next] == TRUE)) || !check()) {
+                // we have a conflict at root level..
+                return LBool.False;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of conflicts found so far.
+     *
+     * @return the number of conflicts.
+     */
+    public long getConflicts() {
+        return n_conflicts;
+    }
+
+    /**
+     * Returns the overall number of literals of the no-goods learnt so far,
+     * before their minimization.
+     *
+     * @return the number of learnt literals.
+     */
+    public long getLearntLiterals() {
+        return n_learnt_lits;
+    }
+
+    /**
+     * Returns the overall number of literals of the no-goods learnt so far,
+     * after the removal of the literals implied by the other literals of the
+     * no-goods.
+     *
+     * @return the number of learnt literals surviving the minimization.
+     */
+    public long getMinimizedLiterals() {
+        return n_minimized_lits;
+    }
+
+    /**
+     * Returns the number of literals propagated so far by the clauses and by
+     * the at-most-one constraints.
+     *
+     * @return the number of propagated literals.
+     */
+    public long getPropagations() {
+        return n_bin_props + n_long_props + n_amo_props;
+    }
+
+    /**
+     * Returns the number of restarts performed so far.
+     *
+     * @return the number of restarts.
+     */
+    public long getRestarts() {
+        return n_restarts;
+    }
+
+    /**
+     * Removes half of the learnt clauses, starting from those having the
+     * highest literal block distance and, among these, the lowest activity.
+     * Glue clauses and clauses which are currently reasons for some assignment
+     * are never removed.
+     */
+    private void reduce_db() {
+        sort_learnts(0, learnts_sz - 1);
+        final int lim = learnts_sz / 2;
+        for (int i = 0; i < lim; i++) {
+            final int c = learnts[i];
+            if (arena[c + C_LBD] > glue_lbd && !locked(c)) {
+                arena[c + C_FLAGS] |= DELETED;
+                n_deleted++;
+            }
+        }
+        n_reductions++;
+        next_reduce = n_conflicts + first_reduce + (long) reduce_inc * n_reductions;
+        collect();
+    }
+
+    /**
+     * Sorts the learnt clauses from index {@code lo} to index {@code hi}
+     * (both included) so that the less useful ones come first.
+     */
+    private void sort_learnts(int lo, int hi) {
+        while (lo < hi) {
+            final int pivot = learnts[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (worse(learnts[i], pivot)) {
+                    i++;
+                }
+                while (worse(pivot, learnts[j])) {
+                    j--;
+                }
+                if (i <= j) {
+                    final int tmp = learnts[i];
+                    learnts[i++] = learnts[j];
+                    learnts[j--] = tmp;
+                }
+            }
+            // we recur on the smaller partition and iterate on the larger one..
+            if (j - lo < hi - i) {
+                sort_learnts(lo, j);
+                lo = i;
+            } else {
+                sort_learnts(i, hi);
+                hi = j;
+            }
+        }
+    }
+
+    private boolean worse(final int c0, final int c1) {
+        final int lbd0 = arena[c0 + C_LBD];
+        final int lbd1 = arena[c1 + C_LBD];
+        return lbd0 > lbd1 || (lbd0 == lbd1 && Float.intBitsToFloat(arena[c0 + C_ACT]) < Float.intBitsToFloat(arena[c1 + C_ACT]));
+    }
+
+    /**
+     * Simplifies the clause database at root level. Clauses which are
+     * satisfied by the root level assignments are removed, equivalent literals
+     * (i.e., the strongly connected components of the binary implication
+     * graph) are substituted by their representatives within the clauses,
+     * false literals are removed from the clauses and, finally, the arena is
+     * compacted. Variables which are not representatives are kept equivalent
+     * to their representatives through binary clauses, hence their values, as
+     * well as the notifications to the theories and to the listeners bound to
+     * them, remain consistent.
+     *
+     * @return {@code false} if a conflict has been found at root level.
+     */
+    public boolean simplifyDB() {
+        assert rootLevel();
+        own();
+        do {
+            if (!check()) {
+                return false;
+            }
+            // root level assignments are never retracted, hence they need no reason..
+            for (int i = 0; i < trail_sz; i++) {
+                reason[variable(trail[i])] = -1;
+            }
+            for (int c = 0; c < arena_sz; c += C_LITS + arena[c + C_SIZE]) {
+                final int end = c + C_LITS + arena[c + C_SIZE];
+                for (int k = c + C_LITS; k < end; k++) {
+                    if (lit_value(arena[k]) == TRUE) {
+                        arena[c + C_FLAGS] |= DELETED;
+                        break;
+                    }
+                }
+            }
+            // we remove the binary clauses satisfied at root level..
+            for (int p = 0; p < n_vars << 1; p++) {
+                final int[] bs = bins[p];
+                final int bs_sz = bins_sz[p];
+                if (lit_value(p) != UNDEFINED) {
+                    bins_sz[p] = 0;
+                } else {
+                    int j = 0;
+                    for (int i = 0; i < bs_sz; i++) {
+                        if (lit_value(bs[i]) != TRUE) {
+                            bs[j++] = bs[i];
+                        }
+                    }
+                    bins_sz[p] = j;
+                }
+            }
+            if (!substitute_eqs()) {
+                return false;
+            }
+            collect();
+        } while (q_head < trail_sz); // new unit clauses might have been found..
+        return true;
+    }
+
+    /**
+     * Returns the representative of the literal {@code p} as computed by the
+     * last simplification of the clause database. The literal and its
+     * representative always have the same value.
+     *
+     * @param p the literal whose representative we are interested in.
+     * @return the representative of the literal.
+     */
+    public Lit representative(final Lit p) {
+        final int r = repr[index(p)];
+        return new Lit(variable(r), sign(r));
+    }
+
+    /**
+     * Computes the strongly connected components of the binary implication
+     * graph, restricted to the unassigned literals, choosing as representative
+     * of each component the literal having the lowest variable, and
+     * substitutes the literals with their representatives. Must be called at
+     * root level after propagation.
+     *
+     * @return {@code false} if a literal is equivalent to its negation or if
+     * the substitution results in an empty clause.
+     */
+    private boolean substitute_eqs() {
+        final int n_lits = n_vars << 1;
+        // we compute the strongly connected components through an iterative version of Tarjan's algorithm..
+        final int[] idx = new int[n_lits];
+        final int[] low = new int[n_lits];
+        final boolean[] on_stack = new boolean[n_lits];
+        final int[] stack = new int[n_lits];
+        final int[] cs_lit = new int[n_lits];
+        final int[] cs_edge = new int[n_lits];
+        Arrays.fill(idx, -1);
+        int counter = 0, sp = 0;
+        for (int s = 0; s < n_lits; s++) {
+            repr[s] = s;
+        }
+        for (int s = 0; s < n_lits; s++) {
+            if (idx[s] != -1 || lit_value(s) != UNDEFINED) {
+                continue;
+            }
+            int csp = 0;
+            idx[s] = low[s] = counter++;
+            stack[sp++] = s;
+            on_stack[s] = true;
+            cs_lit[csp] = s;
+            cs_edge[csp++] = 0;
+            while (csp > 0) {
+                final int v = cs_lit[csp - 1];
+                final int e = cs_edge[csp - 1];
+                if (e < bins_sz[v]) {
+                    cs_edge[csp - 1]++;
+                    final int w = bins[v][e];
+                    if (lit_value(w) != UNDEFINED) {
+                        continue;
+                    }
+                    if (idx[w] == -1) {
+                        idx[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        on_stack[w] = true;
+                        cs_lit[csp] = w;
+                        cs_edge[csp++] = 0;
+                    } else if (on_stack[w]) {
+                        low[v] = Math.min(low[v], idx[w]);
+                    }
+                } else {
+                    csp--;
+                    if (low[v] == idx[v]) {
+                        // 'v' is the root of a strongly connected component..
+                        int first = sp;
+                        int r = v;
+                        do {
+                            first--;
+                            if (variable(stack[first]) < variable(r)) {
+                                r = stack[first];
+                            }
+                        } while (stack[first] != v);
+                        for (int i = first; i < sp; i++) {
+                            on_stack[stack[i]] = false;
+                            repr[stack[i]] = r;
+                        }
+                        sp = first;
+                    }
+                    if (csp > 0) {
+                        final int u = cs_lit[csp - 1];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                }
+            }
+        }
+
+        n_eq_vars = 0;
+        for (int p = 0; p < n_lits; p += 2) {
+            if (repr[p] == repr[not(p)]) {
+                return false; // a literal is equivalent to its negation..
+            }
+            if (repr[p] != p) {
+                n_eq_vars++;
+            }
+        }
+        if (n_eq_vars == 0) {
+            return true; // there are no equivalent literals..
+        }
+
+        // we rewrite the binary implications in terms of the representatives..
+        final int[][] c_bins = new int[bins.length][];
+        final int[] c_bins_sz = new int[bins.length];
+        for (int p = 0; p < n_lits; p++) {
+            c_bins[p] = new int[Math.max(4, bins_sz[p])];
+        }
+        final int[] stamps = new int[n_lits];
+        for (int p = 0; p < n_lits; p++) {
+            final int r_p = repr[p];
+            final int[] bs = bins[p];
+            for (int i = 0; i < bins_sz[p]; i++) {
+                final int r_q = repr[bs[i]];
+                if (r_q != r_p && stamps[r_q] != r_p + 1) {
+                    // the stamps avoid most of the duplicates..
+                    stamps[r_q] = r_p + 1;
+                    add(c_bins, c_bins_sz, r_p, r_q);
+                }
+            }
+        }
+        for (int p = 0; p < n_lits; p++) {
+            if (repr[p] != p) {
+                // we keep the literal equivalent to its representative..
+                add(c_bins, c_bins_sz, p, repr[p]);
+                add(c_bins, c_bins_sz, repr[p], p);
+            }
+        }
+        for (int p = n_lits; p < bins.length; p++) {
+            c_bins[p] = bins[p];
+        }
+        bins = c_bins;
+        bins_sz = c_bins_sz;
+
+        // we rewrite the clauses in terms of the representatives, removing the false literals..
+        final int end = arena_sz;
+        for (int c = 0; c < end; c += C_LITS + arena[c + C_SIZE]) {
+            if ((arena[c + C_FLAGS] & DELETED) != 0) {
+                continue;
+            }
+            final int size = arena[c + C_SIZE];
+            boolean changed = false;
+            for (int k = c + C_LITS; k < c + C_LITS + size; k++) {
+                if (repr[arena[k]] != arena[k] || lit_value(arena[k]) == FALSE) {
+                    changed = true;
+                    break;
+                }
+            }
+            if (!changed) {
+                continue;
+            }
+            arena[c + C_FLAGS] |= DELETED;
+            final int[] c_lits = new int[size];
+            int c_size = 0;
+            boolean satisfied = false;
+            for (int k = c + C_LITS; k < c + C_LITS + size && !satisfied; k++) {
+                final int l = repr[arena[k]];
+                switch (lit_value(l)) {
+                    case TRUE:
+                        satisfied = true;
+                        break;
+                    case UNDEFINED:
+                        boolean found = false;
+                        for (int i = 0; i < c_size; i++) {
+                            if (c_lits[i] == l) {
+                                found = true;
+                                break;
+                            } else if (c_lits[i] == not(l)) {
+                                satisfied = true; // the clause has become a tautology..
+                                break;
+                            }
+                        }
+                        if (!found) {
+                            c_lits[c_size++] = l;
+                        }
+                        break;
+                }
+            }
+            if (satisfied) {
+                continue;
+            }
+            switch (c_size) {
+                case 0:
+                    return false;
+                case 1:
+                    if (!enqueue(c_lits[0], -1)) {
+                        return false;
+                    }
+                    break;
+                case 2:
+                    newBinary(c_lits[0], c_lits[1]);
+                    break;
+                default:
+                    final boolean learnt = (arena[c + C_FLAGS] & LEARNT) != 0;
+                    final int lbd = arena[c + C_LBD];
+                    final int act = arena[c + C_ACT];
+                    final int n_c = newClause(c_lits, c_size, learnt);
+                    arena[n_c + C_LBD] = Math.min(lbd, c_size);
+                    arena[n_c + C_ACT] = act;
+            }
+        }
+        return true;
+    }
+
+    private static void add(final int[][] lists, final int[] lists_sz, final int p, final int q) {
+        if (lists_sz[p] == lists[p].length) {
+            lists[p] = Arrays.copyOf(lists[p], lists[p].length << 1);
+        }
+        lists[p][lists_sz[p]++] = q;
+    }
+
+    /**
+     * Compacts the arena, getting rid of the deleted clauses and updating the
+     * offsets stored in the reasons, in the watch lists and in the learnt
+     * clauses.
+     */
+    private void collect() {
+        final int[] from = arena;
+        final int[] to = new int[from.length];
+        int to_sz = 0;
+        for (int c = 0; c < arena_sz;) {
+            final int c_sz = C_LITS + from[c + C_SIZE];
+            if ((from[c + C_FLAGS] & DELETED) == 0) {
+                System.arraycopy(from, c, to, to_sz, c_sz);
+                from[c + C_LBD] = to_sz; // the old arena keeps the forwarding offset..
+                to_sz += c_sz;
+            } else {
+                from[c + C_LBD] = -1;
+            }
+            c += c_sz;
+        }
+
+        // we update the reasons..
+        for (int i = 0; i < trail_sz; i++) {
+            final int v = variable(trail[i]);
+            if (reason[v] >= 0) {
+                reason[v] = from[reason[v] + C_LBD];
+                assert reason[v] != -1;
+            }
+        }
+
+        // we update the watch lists..
+        for (int p = 0; p < n_vars << 1; p++) {
+            final int[] ws = watches[p];
+            final int ws_sz = watches_sz[p];
+            int j = 0;
+            for (int i = 0; i < ws_sz; i += 2) {
+                final int c = from[ws[i] + C_LBD];
+                if (c != -1) {
+                    ws[j++] = c;
+                    ws[j++] = ws[i + 1];
+                }
+            }
+            watches_sz[p] = j;
+        }
+
+        // we update the learnt clauses..
+        int j = 0;
+        for (int i = 0; i < learnts_sz; i++) {
+            final int c = from[learnts[i] + C_LBD];
+            if (c != -1) {
+                learnts[j++] = c;
+            }
+        }
+        learnts_sz = j;
+
+        arena = to;
+        arena_sz = to_sz;
+    }
+
+    boolean enqueue(final int p, final int c) {
+        switch (lit_value(p)) {
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            case UNDEFINED:
+                final int v = variable(p);
+                assigns[v] = sign(p) ? TRUE : FALSE;
+                reason[v] = c;
+                level[v] = c != -1 && chrono_threshold >= 0 ? reason_level(v) : decisionLevel();
+                trail[trail_sz++] = p;
+                if (!probing && listeners[v] != null) {
+                    changed(v);
+                }
+                return true;
+            default:
+                throw new AssertionError(lit_value(p));
+        }
+    }
+
+    /**
+     * Enqueues the literal {@code p}, implied by an at-most-one constraint
+     * because of the {@code a} and {@code b} true literals.
+     */
+    private boolean enqueue(final int p, final int a, final int b) {
+        if (lit_value(p) != UNDEFINED) {
+            return lit_value(p) == TRUE;
+        }
+        antecedents[variable(p) << 1] = a;
+        antecedents[(variable(p) << 1) + 1] = b;
+        n_amo_props++;
+        return enqueue(p, AMO_REASON);
+    }
+
+    /**
+     * Returns the highest decision level among the antecedents of the implied
+     * variable {@code v}, that is, the decision level at which the variable
+     * would have been assigned by a complete propagation.
+     *
+     * @param v a variable implied by some constraint.
+     * @return the decision level of the antecedents of the variable.
+     */
+    private int reason_level(final int v) {
+        int lvl = 0;
+        final int size = reason_size(v);
+        for (int i = 1; i < size; i++) {
+            lvl = Math.max(lvl, level[variable(reason_lit(v, i))]);
+        }
+        return lvl;
+    }
+
+    public void popOne() {
+        final int v = variable(trail[--trail_sz]);
+        if (q_head > trail_sz) {
+            q_head = trail_sz;
+        }
+        unassign(v);
+    }
+
+    private void unassign(final int v) {
+        if (!probing) {
+            phases[v] = assigns[v];
+        }
+        assigns[v] = UNDEFINED;
+        reason[v] = -1;
+        level[v] = -1;
+        order_insert(v);
+        if (!probing && listeners[v] != null) {
+            changed(v);
+        }
+    }
+
+    /**
+     * Stores the variable {@code v}, whose value has changed, so that its
+     * listeners are notified, just once, at the next call of
+     * {@link #notify_listeners()}.
+     *
+     * @param v the variable whose value has changed.
+     */
+    private void changed(final int v) {
+        if (!changed[v]) {
+            changed[v] = true;
+            if (changed_vars_sz == changed_vars.length) {
+                changed_vars = Arrays.copyOf(changed_vars, changed_vars_sz << 1);
+            }
+            changed_vars[changed_vars_sz++] = v;
+        }
+    }
+
+    /**
+     * Notifies the listeners of the variables whose value has changed since
+     * the last notification. Listeners are notified once per propagation
+     * fixpoint and once per backtracking step, rather than once per
+     * assignment, hence they always see a consistent state of the core. Each
+     * listener receives, through
+     * {@link SatValueListener#satValuesChange(int[], int)}, all of its changed
+     * variables at once. The changes caused by the listeners themselves are
+     * notified once the current listeners have returned.
+     */
+    private void notify_listeners() {
+        if (probing || notifying) {
+            return; // the changes will be notified once the probed assignments have been retracted (or by the ongoing notification)..
+        }
+        notifying = true;
+        try {
+            // notice that listeners might change the values of some other variables..
+            while (changed_vars_sz > 0) {
+                // we collect the changed variables of each listener..
+                int n_ls = 0;
+                for (int i = 0; i < changed_vars_sz; i++) {
+                    final int v = changed_vars[i];
+                    changed[v] = false;
+                    final SatValueListener[] ls = listeners[v];
+                    if (ls != null) {
+                        for (SatValueListener l : ls) {
+                            // the listeners notified at once are usually few, hence we look for 'l' through a linear scan..
+                            int j = 0;
+                            while (j < n_ls && batch_ls[j] != l) {
+                                j++;
+                            }
+                            if (j == n_ls) {
+                                n_ls++;
+                                if (j == batch_ls.length) {
+                                    batch_ls = Arrays.copyOf(batch_ls, j << 1);
+                                    batch_vars = Arrays.copyOf(batch_vars, j << 1);
+                                    batch_szs = Arrays.copyOf(batch_szs, j << 1);
+                                }
+                                if (batch_vars[j] == null) {
+                                    batch_vars[j] = new int[16];
+                                }
+                                batch_ls[j] = l;
+                                batch_szs[j] = 0;
+                            }
+                            if (batch_szs[j] == batch_vars[j].length) {
+                                batch_vars[j] = Arrays.copyOf(batch_vars[j], batch_szs[j] << 1);
+                            }
+                            batch_vars[j][batch_szs[j]++] = v;
+                        }
+                    }
+                }
+                changed_vars_sz = 0;
+
+                // we notify the listeners..
+                for (int j = 0; j < n_ls; j++) {
+                    final SatValueListener l = batch_ls[j];
+                    batch_ls[j] = null;
+                    l.satValuesChange(batch_vars[j], batch_szs[j]);
+                }
+            }
+        } finally {
+            notifying = false;
+        }
+    }
+
+    public void addTheory(final Theory th) {
+        theories.add(th);
+    }
+
+    public void bind(final int v, final Theory th) {
+        binds[v] = binds[v] == null ? new Theory[]{th} : add(binds[v], th);
+    }
+
+    public void unbind(final int v, final Theory th) {
+        binds[v] = remove(binds[v], th);
+    }
+
+    public void listen(final int v, final SatValueListener l) {
+        listeners[v] = listeners[v] == null ? new SatValueListener[]{l} : add(listeners[v], l);
+    }
+
+    public void forget(final int v, final SatValueListener l) {
+        listeners[v] = remove(listeners[v], l);
+    }
+
+    /**
+     * Returns a copy of the {@code xs} array with the {@code x} element
+     * appended. Arrays are never modified in place, hence they can be safely
+     * iterated while elements are added or removed.
+     */
+    private static <T> T[] add(final T[] xs, final T x) {
+        final T[] c_xs = Arrays.copyOf(xs, xs.length + 1);
+        c_xs[xs.length] = x;
+        return c_xs;
+    }
+
+    /**
+     * Returns a copy of the {@code xs} array without the {@code x} element, or
+     * {@code null} if no element remains.
+     */
+    private static <T> T[] remove(final T[] xs, final T x) {
+        int i = 0;
+        while (xs[i] != x) {
+            i++;
+        }
+        if (xs.length == 1) {
+            return null;
         }
+        final T[] c_xs = Arrays.copyOf(xs, xs.length - 1);
+        System.arraycopy(xs, i + 1, c_xs, i, xs.length - i - 1);
+        return c_xs;
     }
 }
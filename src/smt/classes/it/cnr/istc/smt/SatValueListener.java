@@ -23,4 +23,22 @@ package it.cnr.istc.smt;
 public interface SatValueListener {
 
     void satValueChange(final int v);
+
+    /**
+     * Notifies the listener that the values of the first {@code n} variables
+     * of {@code vars}, among the ones it listens to, have changed. The core
+     * calls this method once per propagation fixpoint (or backtracking step)
+     * with all the changed variables, so that listeners can process them as
+     * a whole. The array is reused by the core, hence it should not be
+     * retained after returning. By default, {@link #satValueChange(int)} is
+     * called for each variable.
+     *
+     * @param vars the variables whose value has changed.
+     * @param n the number of variables in {@code vars}.
+     */
+    default void satValuesChange(final int[] vars, final int n) {
+        for (int i = 0; i < n; i++) {
+            satValueChange(vars[i]);
+        }
+    }
 }
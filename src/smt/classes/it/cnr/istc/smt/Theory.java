@@ -51,6 +51,17 @@ public interface Theory {
      */
     public boolean check(final Collection<Lit> cnfl);
 
+    /**
+     * Returns whether the state of the theory might have changed since its
+     * last successful consistency check. Theories which are not dirty are not
+     * checked, since their check would certainly succeed.
+     *
+     * @return true if the theory has to be checked.
+     */
+    public default boolean isDirty() {
+        return true;
+    }
+
     /**
      * Notifies the theory that some information for subsequent backtracking
      * might need to be stored.
@@ -61,4 +72,33 @@ public interface Theory {
      * Notifies the theory that a backtracking step is required.
      */
     public void pop();
+
+    /**
+     * Returns whether the theory has to be involved while probing some
+     * assumptions through {@link SatCore#probe(java.util.Collection, it.cnr.istc.smt.Lit...)}.
+     * Theories which never find inconsistencies, and which are interested in
+     * the assignments just for bookkeeping purposes, can be left out, since
+     * the probed assignments are retracted before returning.
+     *
+     * @return true if the theory has to be involved while probing.
+     */
+    public default boolean isProbeRelevant() {
+        return true;
+    }
+
+    /**
+     * Returns a copy of this theory working on {@code core}, a fork of the
+     * SAT core this theory works on (see {@link SatCore#fork()}), or
+     * {@code null} if the theory cannot be forked. The copy must not be added
+     * to {@code core}, since the fork takes care of it, and must not notify
+     * the listeners of this theory. Theories which cannot be forked are left
+     * out of the fork which, hence, behaves as while probing.
+     *
+     * @param core the fork of the SAT core this theory works on.
+     * @return a copy of this theory, or {@code null} if the theory cannot be
+     * forked.
+     */
+    public default Theory fork(final SatCore core) {
+        return null;
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class ExprTableTest {
+
+    @Test
+    public void testExprTable() {
+        ExprTable table = new ExprTable();
+        for (int i = 0; i < 1000; i++) {
+            table.put(new int[]{i, i + 1, -1}, 3, i);
+            table.put(new int[]{i, i + 1}, 2, i + 1000);
+        }
+        Assert.assertEquals(2000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, table.get(new int[]{i, i + 1, -1}, 3));
+            Assert.assertEquals(i + 1000, table.get(new int[]{i, i + 1, 7}, 2));
+            Assert.assertEquals(-1, table.get(new int[]{i + 1, i}, 2));
+        }
+
+        SatCore core = new SatCore();
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        Assert.assertEquals(core.newConj(new Lit(b0), new Lit(b1, false)), core.newConj(new Lit(b1, false), new Lit(b0)));
+        Assert.assertNotEquals(core.newConj(new Lit(b0), new Lit(b1)), core.newDisj(new Lit(b0), new Lit(b1)));
+        Assert.assertEquals(core.newEq(new Lit(b0), new Lit(b1)), core.newEq(new Lit(b1), new Lit(b0)));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2017 Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.cnr.istc.smt;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+
+/**
+ * A standalone benchmark of the SAT core. Each DIMACS CNF file of a given
+ * directory (or the given CNF file itself) is read through a
+ * {@link DIMACSReader} into a fresh {@link SatCore} and solved through
+ * {@link SatCore#solve(long)}, reporting, for each instance, the result, the
+ * solving time, the number of conflicts per second, the number of
+ * propagations per second, the share of the propagations performed by the
+ * binary implication lists and the peak heap usage. Models are verified
+ * against the clauses of the formula.
+ * <p>
+ * Usage: {@code SatBenchmark <file or directory> [timeout in ms]}, the
+ * default timeout being 60 seconds. The instances in {@code benchmarks/sat}
+ * are meant to be run through this class.
+ *
+ * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
+ */
+public class SatBenchmark {
+
+    private static final long DEFAULT_TIMEOUT = 60000;
+
+    private SatBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: SatBenchmark <file or directory> [timeout in ms]");
+            System.exit(1);
+        }
+        final File path = new File(args[0]);
+        final long timeout = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TIMEOUT;
+        final File[] files = path.isDirectory() ? path.listFiles((dir, name) -> name.endsWith(".cnf")) : new File[]{path};
+        if (files == null || files.length == 0) {
+            System.err.println("no CNF files found in " + path);
+            System.exit(1);
+        }
+        Arrays.sort(files);
+
+        System.out.println(String.format("%-24s %-8s %10s %10s %12s %14s %10s %10s", "instance", "result", "time (ms)", "conflicts", "conflicts/s", "propagations/s", "binary (%)", "heap (MB)"));
+        long tot_time = 0, tot_conflicts = 0, tot_propagations = 0, tot_bin_propagations = 0;
+        boolean wrong = false;
+        for (File file : files) {
+            final Result r;
+            try (Reader reader = new FileReader(file)) {
+                r = run(reader, timeout);
+            }
+            tot_time += r.time;
+            tot_conflicts += r.conflicts;
+            tot_propagations += r.propagations;
+            tot_bin_propagations += r.bin_propagations;
+            if (!r.verified) {
+                wrong = true;
+            }
+            System.out.println(String.format("%-24s %-8s %10d %10d %12.0f %14.0f %10.1f %10.1f", file.getName(), r.verified ? label(r.result) : "WRONG", r.time, r.conflicts, per_second(r.conflicts, r.time), per_second(r.propagations, r.time), percent(r.bin_propagations, r.propagations), r.peak_heap / (1024.0 * 1024.0)));
+        }
+        System.out.println(String.format("%-24s %-8s %10d %10d %12.0f %14.0f %10.1f", "total", "", tot_time, tot_conflicts, per_second(tot_conflicts, tot_time), per_second(tot_propagations, tot_time), percent(tot_bin_propagations, tot_propagations)));
+        if (wrong) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Reads a formula in the DIMACS CNF format and solves it within the given
+     * timeout.
+     *
+     * @param reader the reader of the formula.
+     * @param timeout the maximum number of milliseconds of the search (no
+     * limit if not positive).
+     * @return the outcome of the search.
+     * @throws IOException if an I/O error occurs or if the formula is not in
+     * the DIMACS CNF format.
+     */
+    public static Result run(final Reader reader, final long timeout) throws IOException {
+        final MemoryPoolMXBean[] pools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).toArray(MemoryPoolMXBean[]::new);
+        System.gc();
+        for (MemoryPoolMXBean pool : pools) {
+            pool.resetPeakUsage();
+        }
+
+        final long start = System.nanoTime();
+        final SatCore core = new SatCore();
+        core.setRestartPolicy(new RestartPolicy.Luby(100));
+        final DIMACSReader dimacs = new DIMACSReader(core);
+        final LBool result = dimacs.read(reader) ? core.solve(timeout) : LBool.False;
+        final long time = (System.nanoTime() - start) / 1000000;
+
+        long peak_heap = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            peak_heap += pool.getPeakUsage().getUsed();
+        }
+        return new Result(result, result != LBool.True || dimacs.isSatisfied(), time, core.getConflicts(), core.getPropagations(), core.n_bin_props, peak_heap);
+    }
+
+    private static String label(final LBool result) {
+        switch (result) {
+            case True:
+                return "SAT";
+            case False:
+                return "UNSAT";
+            default:
+                return "TIMEOUT";
+        }
+    }
+
+    private static double per_second(final long n, final long time) {
+        return time == 0 ? 0 : n * 1000.0 / time;
+    }
+
+    private static double percent(final long n, final long tot) {
+        return tot == 0 ? 0 : n * 100.0 / tot;
+    }
+
+    /**
+     * The outcome of solving a single instance.
+     */
+    public static class Result {
+
+        /**
+         * {@link LBool#True} if the instance is satisfiable,
+         * {@link LBool#False} if it is unsatisfiable and
+         * {@link LBool#Undefined} if the search has timed out.
+         */
+        public final LBool result;
+        /**
+         * Whether the found model, if any, satisfies the instance.
+         */
+        public final boolean verified;
+        public final long time; // the solving time, in milliseconds (parsing included)..
+        public final long conflicts; // the number of conflicts found while solving..
+        public final long propagations; // the number of propagations performed while solving..
+        public final long bin_propagations; // the number of propagations performed by the binary implication lists while solving..
+        public final long peak_heap; // the peak heap usage, in bytes..
+
+        private Result(final LBool result, final boolean verified, final long time, final long conflicts, final long propagations, final long bin_propagations, final long peak_heap) {
+            this.result = result;
+            this.verified = verified;
+            this.time = time;
+            this.conflicts = conflicts;
+            this.propagations = propagations;
+            this.bin_propagations = bin_propagations;
+            this.peak_heap = peak_heap;
+        }
+    }
+}
@@ -16,6 +16,14 @@
  */
 package it.cnr.istc.smt;
 
+import java.io.FileReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -90,4 +98,489 @@ public class SatCoreTest {
         asm = core.assume(new Lit(b0, false)) && core.check();
         Assert.assertTrue(asm);
     }
+
+    @Test
+    public void testMinimization() {
+        SatCore core = new SatCore();
+
+        int a = core.newVar();
+        int b = core.newVar();
+        int c = core.newVar();
+        int x = core.newVar();
+        Assert.assertTrue(core.newClause(new Lit(a, false), new Lit(b)));
+        Assert.assertTrue(core.newClause(new Lit(c, false), new Lit(a, false), new Lit(b, false), new Lit(x)));
+        Assert.assertTrue(core.newClause(new Lit(c, false), new Lit(a, false), new Lit(b, false), new Lit(x, false)));
+
+        Assert.assertTrue(core.assume(new Lit(a)) && core.check());
+        Assert.assertEquals(LBool.True, core.value(b));
+        // assuming c results in a conflict whose no-good is (¬c ∨ ¬a ∨ ¬b)..
+        Assert.assertTrue(core.assume(new Lit(c)) && core.check());
+        Assert.assertEquals(1, core.decisionLevel());
+        Assert.assertEquals(LBool.False, core.value(c));
+        Assert.assertEquals(1, core.getConflicts());
+
+        // ..yet ¬b is implied by ¬a, hence the learnt no-good is (¬c ∨ ¬a)..
+        Assert.assertEquals(3, core.getLearntLiterals());
+        Assert.assertEquals(2, core.getMinimizedLiterals());
+        Assert.assertEquals(0, core.learnts_sz);
+        core.pop();
+        Assert.assertTrue(core.assume(new Lit(c)) && core.check());
+        Assert.assertEquals(LBool.False, core.value(a));
+        Assert.assertEquals(LBool.Undefined, core.value(b));
+    }
+
+    @Test
+    public void testReduceDB() {
+        SatCore core = new SatCore();
+        core.setReducePolicy(10, 5, 2);
+
+        // we place 6 pigeons into 5 holes..
+        final int n_pigeons = 6, n_holes = 5;
+        int[][] ph = new int[n_pigeons][n_holes];
+        for (int i = 0; i < n_pigeons; i++) {
+            Lit[] holes = new Lit[n_holes];
+            for (int j = 0; j < n_holes; j++) {
+                ph[i][j] = core.newVar();
+                holes[j] = new Lit(ph[i][j]);
+            }
+            Assert.assertTrue(core.newClause(holes));
+        }
+        for (int j = 0; j < n_holes; j++) {
+            for (int i = 0; i < n_pigeons; i++) {
+                for (int k = i + 1; k < n_pigeons; k++) {
+                    Assert.assertTrue(core.newClause(new Lit(ph[i][j], false), new Lit(ph[k][j], false)));
+                }
+            }
+        }
+
+        boolean sat = core.check();
+        while (sat) {
+            int next = -1;
+            for (int i = 0; i < n_pigeons && next == -1; i++) {
+                for (int j = 0; j < n_holes && next == -1; j++) {
+                    if (core.value(ph[i][j]) == LBool.Undefined) {
+                        next = ph[i][j];
+                    }
+                }
+            }
+            Assert.assertNotEquals(-1, next);
+            sat = core.assume(new Lit(next, false)) && core.check();
+        }
+        Assert.assertTrue(core.n_reductions > 0);
+        Assert.assertTrue(core.n_deleted > 0);
+    }
+
+    @Test
+    public void testExctOne() {
+        SatCore core = new SatCore();
+
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        int b2 = core.newVar();
+        int b3 = core.newVar();
+
+        int eo = core.newExctOne(new Lit(b0), new Lit(b1), new Lit(b2));
+        boolean nc = core.newClause(new Lit(b1), new Lit(b2), new Lit(b3));
+        Assert.assertTrue(nc);
+        nc = core.newClause(new Lit(b1), new Lit(b3, false));
+        Assert.assertTrue(nc);
+
+        boolean asm = core.assume(new Lit(eo)) && core.check();
+        Assert.assertTrue(asm);
+        Assert.assertEquals(LBool.Undefined, core.value(b0));
+
+        // b0 excludes b1 and b2, hence b3 must hold, which, in turn, requires b1..
+        asm = core.assume(new Lit(b0)) && core.check();
+        Assert.assertTrue(asm);
+        Assert.assertEquals(1, core.decisionLevel());
+        Assert.assertEquals(LBool.False, core.value(b0));
+
+        // b1 excludes b2 through the at-most-one constraint..
+        long props = core.getPropagations();
+        asm = core.assume(new Lit(b1)) && core.check();
+        Assert.assertTrue(asm);
+        Assert.assertEquals(LBool.False, core.value(b2));
+        Assert.assertEquals(props + 1, core.getPropagations());
+    }
+
+    @Test
+    public void testExctOneAgainstClauses() {
+        // the at-most-one constraints must agree with the pairwise clause encoding..
+        final Random rnd = new Random(2017);
+        int n_sat = 0, n_unsat = 0;
+        for (int t = 0; t < 300; t++) {
+            final int n_vars = 12;
+            final int[][] groups = new int[1 + rnd.nextInt(3)][];
+            for (int g = 0; g < groups.length; g++) {
+                groups[g] = new int[2 + rnd.nextInt(4)];
+                for (int i = 0; i < groups[g].length; i++) {
+                    groups[g][i] = rnd.nextInt(n_vars); // repeated literals are allowed..
+                }
+            }
+            final int[][] clauses = new int[20 + rnd.nextInt(20)][3];
+            for (int[] clause : clauses) {
+                for (int i = 0; i < clause.length; i++) {
+                    clause[i] = rnd.nextBoolean() ? rnd.nextInt(n_vars) + 1 : -rnd.nextInt(n_vars) - 1;
+                }
+            }
+
+            final SatCore amo_core = new SatCore();
+            final SatCore cls_core = new SatCore();
+            final int[] amo_vars = new int[n_vars];
+            final int[] cls_vars = new int[n_vars];
+            for (int v = 0; v < n_vars; v++) {
+                amo_vars[v] = amo_core.newVar();
+                cls_vars[v] = cls_core.newVar();
+            }
+            boolean amo_nc = true, cls_nc = true;
+            for (int[] group : groups) {
+                final Lit[] amo_lits = new Lit[group.length];
+                final Lit[] cls_lits = new Lit[group.length];
+                for (int i = 0; i < group.length; i++) {
+                    amo_lits[i] = new Lit(amo_vars[group[i]]);
+                    cls_lits[i] = new Lit(cls_vars[group[i]]);
+                }
+                amo_nc &= amo_core.newClause(new Lit(amo_core.newExctOne(amo_lits)));
+                cls_nc &= cls_core.newClause(cls_lits);
+                for (int i = 0; i < group.length; i++) {
+                    for (int j = i + 1; j < group.length; j++) {
+                        cls_nc &= cls_core.newClause(new Lit(cls_vars[group[i]], false), new Lit(cls_vars[group[j]], false));
+                    }
+                }
+            }
+            for (int[] clause : clauses) {
+                final Lit[] amo_lits = new Lit[clause.length];
+                final Lit[] cls_lits = new Lit[clause.length];
+                for (int i = 0; i < clause.length; i++) {
+                    amo_lits[i] = new Lit(amo_vars[Math.abs(clause[i]) - 1], clause[i] > 0);
+                    cls_lits[i] = new Lit(cls_vars[Math.abs(clause[i]) - 1], clause[i] > 0);
+                }
+                amo_nc &= amo_core.newClause(amo_lits);
+                cls_nc &= cls_core.newClause(cls_lits);
+            }
+
+            final LBool amo_res = amo_nc ? search(amo_core, amo_vars) : LBool.False;
+            final LBool cls_res = cls_nc ? search(cls_core, cls_vars) : LBool.False;
+            Assert.assertEquals(cls_res, amo_res);
+            if (amo_res == LBool.True) {
+                n_sat++;
+                // the model of the at-most-one encoding must satisfy the clause encoding..
+                for (int[] group : groups) {
+                    final Collection<Integer> trues = new HashSet<>();
+                    for (int v : group) {
+                        if (amo_core.value(amo_vars[v]) == LBool.True) {
+                            trues.add(v);
+                        }
+                    }
+                    Assert.assertEquals(1, trues.size());
+                }
+                for (int[] clause : clauses) {
+                    boolean sat = false;
+                    for (int l : clause) {
+                        sat |= amo_core.value(amo_vars[Math.abs(l) - 1]) == (l > 0 ? LBool.True : LBool.False);
+                    }
+                    Assert.assertTrue(sat);
+                }
+            } else {
+                n_unsat++;
+            }
+        }
+        Assert.assertTrue(n_sat > 0 && n_unsat > 0);
+    }
+
+    /**
+     * Searches for a model of the clauses of {@code core}, assuming the given
+     * variables, negated, in order.
+     */
+    private static LBool search(final SatCore core, final int[] vars) {
+        boolean sat = core.check();
+        while (sat) {
+            int next = -1;
+            for (int i = 0; i < vars.length && next == -1; i++) {
+                if (core.value(vars[i]) == LBool.Undefined) {
+                    next = vars[i];
+                }
+            }
+            if (next == -1) {
+                return LBool.True;
+            }
+            sat = core.assume(new Lit(next, false)) && core.check();
+        }
+        return LBool.False;
+    }
+
+    @Test
+    public void testEquivalentLits() {
+        SatCore core = new SatCore();
+
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        int b2 = core.newVar();
+        int b3 = core.newVar();
+
+        // b0 -> b1 -> !b2 -> b0, hence b0, b1 and !b2 are equivalent..
+        Assert.assertTrue(core.newClause(new Lit(b0, false), new Lit(b1)));
+        Assert.assertTrue(core.newClause(new Lit(b1, false), new Lit(b2, false)));
+        Assert.assertTrue(core.newClause(new Lit(b2), new Lit(b0)));
+        Assert.assertTrue(core.newClause(new Lit(b1), new Lit(b2, false), new Lit(b3)));
+
+        Assert.assertTrue(core.simplifyDB());
+        Assert.assertEquals(2, core.n_eq_vars);
+        Assert.assertEquals(new Lit(b0), core.representative(new Lit(b1)));
+        Assert.assertEquals(new Lit(b0), core.representative(new Lit(b2, false)));
+        Assert.assertEquals(new Lit(b3), core.representative(new Lit(b3)));
+
+        // the long clause has become the binary clause b0 | b3..
+        boolean asm = core.assume(new Lit(b3, false)) && core.check();
+        Assert.assertTrue(asm);
+        Assert.assertEquals(LBool.True, core.value(b0));
+        Assert.assertEquals(LBool.True, core.value(b1));
+        Assert.assertEquals(LBool.False, core.value(b2));
+    }
+
+    @Test
+    public void testFailedAssumptions() {
+        SatCore core = new SatCore();
+
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        int b2 = core.newVar();
+        int b3 = core.newVar();
+
+        // b3 and b2 cannot be both true, while b0 is irrelevant..
+        Assert.assertTrue(core.newClause(new Lit(b0, false), new Lit(b1)));
+        Assert.assertTrue(core.newClause(new Lit(b1, false), new Lit(b2, false), new Lit(b3)));
+        Assert.assertTrue(core.newClause(new Lit(b3, false), new Lit(b2, false)));
+
+        Collection<Lit> c = new ArrayList<>();
+        Assert.assertFalse(core.check(c, new Lit(b3), new Lit(b0), new Lit(b2)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(new Lit(b3), new Lit(b2))), new HashSet<>(c));
+        Assert.assertEquals(0, core.decisionLevel());
+        Assert.assertEquals(LBool.Undefined, core.value(b1));
+
+        c.clear();
+        Assert.assertTrue(core.check(c, new Lit(b0), new Lit(b2, false)));
+        Assert.assertTrue(c.isEmpty());
+    }
+
+    @Test
+    public void testRestartPolicies() {
+        long[] luby = new long[]{1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1};
+        for (int i = 0; i < luby.length; i++) {
+            Assert.assertEquals(luby[i], RestartPolicy.Luby.luby(i));
+        }
+
+        RestartPolicy rp = new RestartPolicy.Luby(2);
+        rp.conflict(3);
+        Assert.assertFalse(rp.shouldRestart());
+        rp.conflict(3);
+        Assert.assertTrue(rp.shouldRestart());
+        rp.restart();
+        Assert.assertFalse(rp.shouldRestart());
+
+        // the recently learnt no-goods are worse than the average..
+        rp = new RestartPolicy.Glucose(2, 0.8);
+        for (int i = 0; i < 10; i++) {
+            rp.conflict(2);
+        }
+        Assert.assertFalse(rp.shouldRestart());
+        rp.conflict(10);
+        rp.conflict(10);
+        Assert.assertTrue(rp.shouldRestart());
+        rp.restart();
+        Assert.assertFalse(rp.shouldRestart());
+
+        SatCore core = new SatCore();
+        core.setRestartPolicy(new RestartPolicy.Geometric(1, 2));
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        int b2 = core.newVar();
+        Assert.assertTrue(core.newClause(new Lit(b1, false), new Lit(b2)));
+        Assert.assertTrue(core.newClause(new Lit(b1, false), new Lit(b2, false)));
+
+        Assert.assertTrue(core.assume(new Lit(b0)) && core.check());
+        Assert.assertFalse(core.shouldRestart());
+        // assuming b1 results in a conflict..
+        Assert.assertTrue(core.assume(new Lit(b1)) && core.check());
+        Assert.assertEquals(LBool.False, core.value(b1));
+        Assert.assertTrue(core.shouldRestart());
+        // the learnt no-good has brought us back to root level, hence there is nothing to restart..
+        Assert.assertEquals(0, core.decisionLevel());
+        core.restart(0);
+        Assert.assertEquals(0, core.getRestarts());
+        Assert.assertTrue(core.shouldRestart());
+        Assert.assertTrue(core.assume(new Lit(b0)) && core.check());
+        core.restart(0);
+        Assert.assertEquals(1, core.getRestarts());
+        Assert.assertFalse(core.shouldRestart());
+        Assert.assertEquals(LBool.False, core.value(b1));
+        Assert.assertEquals(LBool.Undefined, core.value(b0));
+    }
+
+    @Test
+    public void testPhaseSaving() {
+        SatCore core = new SatCore();
+
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        Assert.assertTrue(core.newClause(new Lit(b0, false), new Lit(b1, false)));
+        Assert.assertEquals(LBool.Undefined, core.phase(b0));
+
+        Assert.assertTrue(core.assume(new Lit(b0)) && core.check());
+        core.pop();
+        Assert.assertEquals(LBool.True, core.phase(b0));
+        Assert.assertEquals(LBool.False, core.phase(b1));
+
+        // probing does not affect the saved phases..
+        Assert.assertTrue(core.probe(null, new Lit(b1)));
+        Assert.assertEquals(LBool.True, core.phase(b0));
+        Assert.assertEquals(LBool.False, core.phase(b1));
+    }
+
+    @Test
+    public void testListeners() {
+        SatCore core = new SatCore();
+
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        int b2 = core.newVar();
+        Assert.assertTrue(core.newClause(new Lit(b0, false), new Lit(b1)));
+        Assert.assertTrue(core.newClause(new Lit(b1, false), new Lit(b2)));
+
+        int[] changes = new int[3];
+        core.listen(b0, v -> changes[0]++);
+        // listeners are notified once propagation has reached a fixpoint..
+        core.listen(b1, v -> {
+            changes[1]++;
+            Assert.assertEquals(core.value(b0), core.value(b2));
+        });
+        core.listen(b2, v -> changes[2]++);
+
+        Assert.assertTrue(core.assume(new Lit(b0)) && core.check());
+        Assert.assertArrayEquals(new int[]{1, 1, 1}, changes);
+        core.pop();
+        Assert.assertArrayEquals(new int[]{2, 2, 2}, changes);
+
+        // listeners are not notified while probing..
+        Assert.assertTrue(core.probe(null, new Lit(b0)));
+        Assert.assertArrayEquals(new int[]{2, 2, 2}, changes);
+    }
+
+    @Test
+    public void testBatchListeners() {
+        SatCore core = new SatCore();
+
+        int b0 = core.newVar();
+        int b1 = core.newVar();
+        int b2 = core.newVar();
+        int b3 = core.newVar();
+        Assert.assertTrue(core.newClause(new Lit(b0, false), new Lit(b1)));
+        Assert.assertTrue(core.newClause(new Lit(b1, false), new Lit(b2)));
+
+        List<int[]> batches = new ArrayList<>();
+        SatValueListener l = new SatValueListener() {
+            @Override
+            public void satValueChange(int v) {
+                Assert.fail();
+            }
+
+            @Override
+            public void satValuesChange(int[] vars, int n) {
+                batches.add(Arrays.copyOf(vars, n));
+            }
+        };
+        core.listen(b0, l);
+        core.listen(b1, l);
+        core.listen(b2, l);
+        core.listen(b3, l);
+
+        // the variables changed at a fixpoint are notified at once..
+        Assert.assertTrue(core.assume(new Lit(b0)) && core.check());
+        Assert.assertEquals(1, batches.size());
+        Assert.assertArrayEquals(new int[]{b0, b1, b2}, batches.get(0));
+        core.pop();
+        Assert.assertEquals(2, batches.size());
+        int[] unassigned = batches.get(1);
+        Arrays.sort(unassigned);
+        Assert.assertArrayEquals(new int[]{b0, b1, b2}, unassigned);
+
+        // the changes caused by the listeners are notified once they have returned..
+        int[] values = new int[1];
+        core.listen(b3, v -> {
+            if (core.value(b3) == LBool.True) {
+                Assert.assertTrue(core.newClause(new Lit(b0)) && core.check());
+            }
+            values[0]++;
+        });
+        Assert.assertTrue(core.newClause(new Lit(b3)) && core.check());
+        Assert.assertEquals(1, values[0]);
+        Assert.assertEquals(4, batches.size());
+        Assert.assertArrayEquals(new int[]{b3}, batches.get(2));
+        Assert.assertArrayEquals(new int[]{b0, b1, b2}, batches.get(3));
+    }
+
+    @Test
+    public void testDIMACS() throws Exception {
+        SatCore core = new SatCore();
+        DIMACSReader reader = new DIMACSReader(core);
+        Assert.assertTrue(reader.read(new StringReader("c a simple formula\np cnf 3 3\n1 -2 0\n2 -3\n0 3 -1 0\n")));
+        Assert.assertEquals(3, reader.getVarCount());
+        Assert.assertEquals(3, reader.getClauses().size());
+
+        Assert.assertEquals(LBool.True, core.solve(0));
+        Assert.assertTrue(reader.isSatisfied());
+        Assert.assertEquals(core.value(reader.variable(1)), core.value(reader.variable(2)));
+        Assert.assertEquals(core.value(reader.variable(2)), core.value(reader.variable(3)));
+    }
+
+    @Test
+    public void testSatBenchmarks() throws Exception {
+        Assert.assertEquals(LBool.True, SatBenchmark.run(new FileReader("benchmarks/sat/uf50-01.cnf"), 0).result);
+        Assert.assertTrue(SatBenchmark.run(new FileReader("benchmarks/sat/uf75-01.cnf"), 0).verified);
+        Assert.assertEquals(LBool.True, SatBenchmark.run(new FileReader("benchmarks/sat/queens8.cnf"), 0).result);
+        Assert.assertEquals(LBool.False, SatBenchmark.run(new FileReader("benchmarks/sat/uuf50-01.cnf"), 0).result);
+        Assert.assertEquals(LBool.False, SatBenchmark.run(new FileReader("benchmarks/sat/hole6.cnf"), 0).result);
+    }
+
+    @Test
+    public void testChronoBacktracking() throws Exception {
+        SatCore core = new SatCore();
+        core.setChronoBacktracking(0);
+
+        int a = core.newVar();
+        int b = core.newVar();
+        int c = core.newVar();
+        int x = core.newVar();
+        Assert.assertTrue(core.newClause(new Lit(a, false), new Lit(c, false), new Lit(x)));
+        Assert.assertTrue(core.newClause(new Lit(a, false), new Lit(c, false), new Lit(x, false)));
+
+        Assert.assertTrue(core.assume(new Lit(a)) && core.check());
+        Assert.assertTrue(core.assume(new Lit(b)) && core.check());
+        // the no-good (¬a ∨ ¬c) is asserting at level 1, yet we backtrack to level 2..
+        Assert.assertTrue(core.assume(new Lit(c)) && core.check());
+        Assert.assertEquals(2, core.decisionLevel());
+        Assert.assertEquals(1, core.getChronoBacktracks());
+        Assert.assertEquals(LBool.True, core.value(b));
+        Assert.assertEquals(LBool.False, core.value(c));
+
+        // ¬c has been assigned at level 1, hence it survives the backtracking..
+        core.pop();
+        Assert.assertEquals(LBool.Undefined, core.value(b));
+        Assert.assertEquals(LBool.False, core.value(c));
+        core.pop();
+        Assert.assertEquals(LBool.Undefined, core.value(c));
+
+        core = new SatCore();
+        core.setChronoBacktracking(0);
+        DIMACSReader reader = new DIMACSReader(core);
+        Assert.assertTrue(reader.read(new FileReader("benchmarks/sat/uf75-01.cnf")));
+        Assert.assertEquals(LBool.True, core.solve(0));
+        Assert.assertTrue(reader.isSatisfied());
+        Assert.assertTrue(core.getChronoBacktracks() > 0);
+
+        core = new SatCore();
+        core.setChronoBacktracking(0);
+        Assert.assertTrue(new DIMACSReader(core).read(new FileReader("benchmarks/sat/hole6.cnf")));
+        Assert.assertEquals(LBool.False, core.solve(0));
+    }
 }
@@ -95,7 +95,7 @@ public abstract class Flaw {
                     slv.phis.put(phi, fls);
                     if (!slv.rhos.containsKey(phi)) {
                         // the rho variable is neither in the phis nor in the rhos..
-                        slv.sat_core.bind(phi, slv);
+                        slv.bind(phi);
                     }
                 }
                 fls.add(this);
@@ -144,19 +144,21 @@ public abstract class Flaw {
     }
 
     public Rational getEstimatedCost() {
-        Optional<Resolver> best_resolver = getBestResolver();
-        return best_resolver.isPresent() ? best_resolver.get().getEstimatedCost() : POSITIVE_INFINITY;
+        return resolvers.stream().filter(res -> slv.sat_core.value(res.rho) != False).map(res -> res.getEstimatedCost()).min((Rational c0, Rational c1) -> c0.compareTo(c1)).orElse(POSITIVE_INFINITY);
     }
 
     /**
      * Returns an optional representing the least expensive resolver, if any,
-     * according to their estimated cost. This method can be overridden in order
-     * to further refine the resolver selection procedure.
+     * according to their estimated cost blended with the conflict activity of
+     * their variables (see {@link Solver#setActivityWeight(double)}) and
+     * preferring the resolvers which have been last applied (see
+     * {@link Solver#setPhaseSaving(boolean)}). This method can be overridden in
+     * order to further refine the resolver selection procedure.
      *
      * @return an optional representing the least expensive resolver.
      */
     public Optional<Resolver> getBestResolver() {
-        return resolvers.stream().filter(res -> slv.sat_core.value(res.rho) != False).min((Resolver r0, Resolver r1) -> r0.getEstimatedCost().compareTo(r1.getEstimatedCost()));
+        return resolvers.stream().filter(res -> slv.sat_core.value(res.rho) != False).min((Resolver r0, Resolver r1) -> slv.compare_resolvers(r0, r1));
     }
 
     public abstract String getLabel();
@@ -28,6 +28,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -62,6 +64,7 @@ class HyperFlaw extends Flaw {
                 q.addLast(cause.effect);
             }
         }
+        Collection<Collection<Lit>> cores = new ArrayList<>(); // the sets of literals which have been found inconsistent..
         for (Resolver[] c_res : new CartesianProductGenerator<>(all_res)) {
             // the resolver's intrinsic cost is given by the maximum of the enclosing resolvers' intrinsic costs..
             Rational cst = Rational.NEGATIVE_INFINITY;
@@ -74,12 +77,18 @@ class HyperFlaw extends Flaw {
                     cst = c_cst;
                 }
             }
-            int cnj_var = slv.sat_core.newConj(cnj);
-            check_lits.addLast(new Lit(cnj_var));
-            if (slv.sat_core.check(check_lits.toArray(new Lit[check_lits.size()]))) {
-                add_resolver(new HyperResolver(slv, cnj_var, cst, this, c_res));
+            Set<Lit> asms = new LinkedHashSet<>(check_lits);
+            asms.addAll(Arrays.asList(cnj));
+            if (cores.stream().anyMatch(core -> asms.containsAll(core))) {
+                // these resolvers include an inconsistent set of literals, hence there is no need to check them..
+                continue;
+            }
+            Collection<Lit> core = new ArrayList<>();
+            if (slv.sat_core.probe(core, asms.toArray(new Lit[asms.size()]))) {
+                add_resolver(new HyperResolver(slv, slv.sat_core.newConj(cnj), cst, this, c_res));
+            } else {
+                cores.add(core);
             }
-            check_lits.pollLast();
         }
     }
 
@@ -63,7 +63,7 @@ public abstract class Resolver {
                 slv.rhos.put(rho, ress);
                 if (!slv.phis.containsKey(rho)) {
                     // the rho variable is neither in the rhos nor in the phis..
-                    slv.sat_core.bind(rho, slv);
+                    slv.bind(rho);
                 }
             }
             ress.add(this);
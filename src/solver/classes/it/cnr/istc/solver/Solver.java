@@ -33,6 +33,8 @@ import static it.cnr.istc.smt.LBool.False;
 import static it.cnr.istc.smt.LBool.True;
 import static it.cnr.istc.smt.LBool.Undefined;
 import it.cnr.istc.smt.Lit;
+import it.cnr.istc.smt.RestartPolicy;
+import it.cnr.istc.smt.SatValueListener;
 import it.cnr.istc.smt.Theory;
 import it.cnr.istc.solver.types.ReusableResource;
 import it.cnr.istc.solver.types.StateVariable;
@@ -57,10 +59,14 @@ import java.util.stream.Collectors;
  *
  * @author Riccardo De Benedictis <riccardo.debenedictis@istc.cnr.it>
  */
-public class Solver extends Core implements Theory {
+public class Solver extends Core implements Theory, SatValueListener {
 
     private Resolver res = null;
     private int accuracy = 1; // the current heuristic accuracy..
+    private double activity_weight = 0; // the weight of the conflict activity, with respect to the estimated cost, in the selection of flaws and resolvers..
+    private boolean phase_saving = false; // whether the resolvers which have been last applied are preferred to the others..
+    private long probing_budget = 100000; // the maximum number of propagations performed by each failed-literal probing pass..
+    private long n_pruned = 0; // the number of resolvers pruned by failed-literal probing..
     private final Map<Set<Flaw>, HyperFlaw> hyper_flaws = new HashMap<>(); // the enclosing flaws for each hyper-flaw..
     private int gamma; // this variable represents the validity of the current graph..
     private Deque<Flaw> flaw_q = new ArrayDeque<>();
@@ -84,10 +90,118 @@ public class Solver extends Core implements Theory {
         }
     }
 
+    /**
+     * Sets the policy which decides when the search within the current graph
+     * should be restarted. After a resolver has been applied, if the policy
+     * says so, the search backjumps to the decision level at which the graph
+     * variable is assumed, keeping the learnt clauses. By default, the search
+     * is never restarted.
+     *
+     * @param policy the restart policy, or {@code null} for never restarting.
+     */
+    public void setRestartPolicy(final RestartPolicy policy) {
+        sat_core.setRestartPolicy(policy);
+    }
+
     public int getAccuracy() {
         return accuracy;
     }
 
+    public double getActivityWeight() {
+        return activity_weight;
+    }
+
+    /**
+     * Sets the weight of the conflict activity of the flaws' and of the
+     * resolvers' variables, with respect to their estimated costs, in the
+     * selection of the next flaw and of its resolver. Flaws and resolvers are
+     * ranked according to their estimated cost plus their activity multiplied
+     * by this weight: the flaw having the highest rank and the resolver having
+     * the lowest rank are selected. A zero weight (the default) uses the
+     * activity only for breaking ties among equally expensive flaws and
+     * resolvers.
+     *
+     * @param weight the weight of the conflict activity.
+     */
+    public void setActivityWeight(final double weight) {
+        assert weight >= 0;
+        this.activity_weight = weight;
+    }
+
+    public boolean isPhaseSaving() {
+        return phase_saving;
+    }
+
+    /**
+     * Sets whether the resolvers which were applied when they have been last
+     * retracted (e.g., because of a backjump or of the extension of the
+     * graph) should be preferred to the other resolvers, provided their
+     * estimated cost is finite. Preferring these resolvers retains the work
+     * done before the retraction. Phase saving is disabled by default.
+     *
+     * @param phase_saving whether the last applied resolvers should be
+     * preferred.
+     */
+    public void setPhaseSaving(final boolean phase_saving) {
+        this.phase_saving = phase_saving;
+    }
+
+    public long getProbingBudget() {
+        return probing_budget;
+    }
+
+    /**
+     * Sets the maximum number of propagations performed by each failed-literal
+     * probing pass, run at root level whenever the causal graph is built or
+     * extended. A zero budget disables probing.
+     *
+     * @param budget the maximum number of propagations of each probing pass.
+     */
+    public void setProbingBudget(final long budget) {
+        this.probing_budget = budget;
+    }
+
+    /**
+     * Returns the number of resolvers which have been found infeasible, so
+     * far, by failed-literal probing.
+     *
+     * @return the number of pruned resolvers.
+     */
+    public long getPrunedResolvers() {
+        return n_pruned;
+    }
+
+    /**
+     * Compares the resolvers {@code r0} and {@code r1}, preferring, if phase
+     * saving is enabled, the ones which have been last applied and, then,
+     * according to their estimated costs blended with their conflict
+     * activity.
+     */
+    int compare_resolvers(final Resolver r0, final Resolver r1) {
+        if (phase_saving) {
+            final boolean p0 = sat_core.phase(r0.rho) == True && !r0.getEstimatedCost().isPositiveInfinite();
+            final boolean p1 = sat_core.phase(r1.rho) == True && !r1.getEstimatedCost().isPositiveInfinite();
+            if (p0 != p1) {
+                return p0 ? -1 : 1;
+            }
+        }
+        return compare_costs(r0.getEstimatedCost(), r0.rho, r1.getEstimatedCost(), r1.rho);
+    }
+
+    /**
+     * Compares the estimated cost {@code c0}, associated to the variable
+     * {@code v0}, with the estimated cost {@code c1}, associated to the
+     * variable {@code v1}, blending them with the conflict activity of the
+     * variables.
+     */
+    int compare_costs(final Rational c0, final int v0, final Rational c1, final int v1) {
+        if (activity_weight == 0 || c0.isInfinite() || c1.isInfinite()) {
+            final int c = c0.compareTo(c1);
+            return c != 0 ? c : Double.compare(sat_core.activity(v0), sat_core.activity(v1));
+        }
+        return Double.compare(c0.doubleValue() + activity_weight * sat_core.activity(v0), c1.doubleValue() + activity_weight * sat_core.activity(v1));
+    }
+
     @Override
     public Item newEnum(Type type, Set<Item> vals) {
         assert !vals.isEmpty();
@@ -178,23 +292,29 @@ public class Solver extends Core implements Theory {
                     }
 
                     res = null;
-                    while (sat_core.rootLevel()) {
-                        if (sat_core.value(gamma) == Undefined) {
-                            // we have learnt a unit clause! thus, we reassume the graph var and restart the search..
-                            if (!sat_core.assume(new Lit(gamma)) || !sat_core.check()) {
-                                throw new UnsolvableException();
-                            }
-                        } else {
-                            // we have exhausted the search within the graph: we extend the graph..
-                            assert sat_core.value(gamma) == False;
-                            add_layer();
-                        }
+                    if (!sat_core.rootLevel() && sat_core.shouldRestart()) {
+                        // we restart the search within the current graph, keeping the learnt clauses (the graph var is assumed at the first decision level)..
+                        sat_core.restart(1);
+                        assert sat_core.value(gamma) == True;
                     }
                 }
             } else if (!hasInconsistencies()) { // we run out of structural flaws, we check for inconsistencies one last time..
                 // Hurray!! we have found a solution..
                 return;
             }
+
+            while (sat_core.rootLevel()) {
+                if (sat_core.value(gamma) == Undefined) {
+                    // we have learnt a unit clause! thus, we reassume the graph var and restart the search..
+                    if (!sat_core.assume(new Lit(gamma)) || !sat_core.check()) {
+                        throw new UnsolvableException();
+                    }
+                } else {
+                    // we have exhausted the search within the graph: we extend the graph..
+                    assert sat_core.value(gamma) == False;
+                    add_layer();
+                }
+            }
         }
     }
 
@@ -218,6 +338,12 @@ public class Solver extends Core implements Theory {
                 throw new UnsolvableException();
             }
         }
+        // we simplify the clauses, substituting the equivalent literals..
+        if (!sat_core.simplifyDB()) {
+            throw new UnsolvableException();
+        }
+        // we get rid of the resolvers which cannot be applied..
+        probe_vars();
         // we assume the new graph var to allow search within the current graph..
         if (!sat_core.assume(new Lit(gamma)) || !sat_core.check()) {
             throw new UnsolvableException();
@@ -245,12 +371,64 @@ public class Solver extends Core implements Theory {
                 throw new UnsolvableException();
             }
         }
+        // we get rid of the clauses which have been satisfied by the previous layers and substitute the equivalent literals..
+        if (!sat_core.simplifyDB()) {
+            throw new UnsolvableException();
+        }
+        // we get rid of the resolvers which cannot be applied..
+        probe_vars();
         // we assume the new graph var to allow search within the current graph..
         if (!sat_core.assume(new Lit(gamma)) || !sat_core.check()) {
             throw new UnsolvableException();
         }
     }
 
+    /**
+     * Probes, at root level, the undecided flaws' phis and resolvers' rhos,
+     * permanently falsifying those whose assumption results in a conflict and
+     * setting the estimated costs of the resolvers which are consequently
+     * found infeasible to infinity. The pass stops as soon as the probing
+     * budget is exhausted.
+     */
+    private void probe_vars() throws CoreException {
+        assert sat_core.rootLevel();
+        if (probing_budget == 0) {
+            return;
+        }
+        // these are the resolvers which might be pruned..
+        Collection<Resolver> c_rs = new ArrayList<>();
+        for (Collection<Resolver> rs : rhos.values()) {
+            for (Resolver r : rs) {
+                if (sat_core.value(r.rho) == Undefined) {
+                    c_rs.add(r);
+                }
+            }
+        }
+        Collection<Integer> vars = new ArrayList<>(phis.keySet().size() + rhos.keySet().size());
+        vars.addAll(phis.keySet());
+        vars.addAll(rhos.keySet());
+
+        final long limit = sat_core.getPropagations() + probing_budget;
+        for (Integer v : vars) {
+            if (sat_core.getPropagations() >= limit) {
+                break;
+            }
+            if (sat_core.value(v) == Undefined && !sat_core.probe(null, new Lit(v))) {
+                // the variable cannot be true: we learn a unit clause..
+                if (!sat_core.newClause(new Lit(v, false)) || !sat_core.check()) {
+                    throw new UnsolvableException();
+                }
+            }
+        }
+
+        for (Resolver r : c_rs) {
+            if (sat_core.value(r.rho) == False) {
+                setEstimatedCost(r, POSITIVE_INFINITY);
+                n_pruned++;
+            }
+        }
+    }
+
     private boolean isDeferrable(final Flaw f) {
         Deque<Flaw> q = new ArrayDeque<>();
         q.addLast(f);
@@ -378,8 +556,8 @@ public class Solver extends Core implements Theory {
                 }
                 expandFlaw(f);
             }
-            // we re-assume the current graph var to allow search within the current graph..
-            if (!sat_core.assume(new Lit(gamma)) || !sat_core.check()) {
+            // we re-assume the current graph var to allow search within the current graph (if the graph var is false, the graph will be extended)..
+            if (sat_core.value(gamma) == Undefined && (!sat_core.assume(new Lit(gamma)) || !sat_core.check())) {
                 throw new UnsolvableException();
             }
             return true;
@@ -404,6 +582,18 @@ public class Solver extends Core implements Theory {
         return hyper_flaws.get(new HashSet<>(Arrays.asList(fs)));
     }
 
+    /**
+     * Binds this solver to the variable {@code v}, which is either a flaw's
+     * phi or a resolver's rho, so that the solver keeps track of its
+     * assignments and, if someone is listening to the solver, of its changes.
+     */
+    void bind(final int v) {
+        sat_core.bind(v, this);
+        if (!listeners.isEmpty()) {
+            sat_core.listen(v, this);
+        }
+    }
+
     void newResolver(final Resolver r) {
         r.init(); // resolvers' initialization requires being at root-level..
         // we notify the listeners that a new resolver has arised..
@@ -494,7 +684,7 @@ public class Solver extends Core implements Theory {
                 // the current flaw is not trivial nor already solved: let's see if it's better than the previous one..
                 if (f_next == null /* this is the first flaw we see.. */
                         || f_next.structural && !next.structural /* we prefere non-structural flaws (i.e., inconsistencies) to structural ones.. */
-                        || f_next.structural == next.structural && f_next.getEstimatedCost().lt(next.getEstimatedCost()) /* this flaw is actually better than the previous one.. */) {
+                        || f_next.structural == next.structural && compare_costs(f_next.getEstimatedCost(), f_next.getPhi(), next.getEstimatedCost(), next.getPhi()) < 0 /* this flaw is actually better than the previous one.. */) {
                     f_next = next;
                 }
             }
@@ -540,6 +730,47 @@ public class Solver extends Core implements Theory {
         return true;
     }
 
+    /**
+     * This theory never finds inconsistencies through its checks, hence it
+     * needs not be checked.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isDirty() {
+        return false;
+    }
+
+    @Override
+    public void satValueChange(final int v) {
+        satValuesChange(new int[]{v}, 1);
+    }
+
+    /**
+     * Notifies the solver's listeners about the flaws and the resolvers whose
+     * phis and rhos have changed at the last propagation fixpoint (or
+     * backtracking step), one listener after the other.
+     */
+    @Override
+    public void satValuesChange(final int[] vars, final int n) {
+        for (SolverListener l : listeners) {
+            for (int i = 0; i < n; i++) {
+                Collection<Flaw> fs = phis.get(vars[i]);
+                if (fs != null) {
+                    for (Flaw f : fs) {
+                        l.flawStateChanged(f);
+                    }
+                }
+                Collection<Resolver> rs = rhos.get(vars[i]);
+                if (rs != null) {
+                    for (Resolver r : rs) {
+                        l.resolverStateChanged(r);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void push() {
         Layer layer = new Layer(res);
@@ -575,12 +806,46 @@ public class Solver extends Core implements Theory {
         }
     }
 
+    /**
+     * Probing assignments are retracted before any flaw is selected, hence
+     * there is no need to keep track of the flaws and of the resolvers'
+     * estimated costs while probing.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isProbeRelevant() {
+        return false;
+    }
+
     public void listen(final SolverListener l) {
+        if (listeners.isEmpty()) {
+            // we start listening to the phis and to the rhos..
+            for (Integer v : phis.keySet()) {
+                sat_core.listen(v, this);
+            }
+            for (Integer v : rhos.keySet()) {
+                if (!phis.containsKey(v)) {
+                    sat_core.listen(v, this);
+                }
+            }
+        }
         listeners.add(l);
     }
 
     public void forget(final SolverListener l) {
         listeners.remove(l);
+        if (listeners.isEmpty()) {
+            // we stop listening to the phis and to the rhos..
+            for (Integer v : phis.keySet()) {
+                sat_core.forget(v, this);
+            }
+            for (Integer v : rhos.keySet()) {
+                if (!phis.containsKey(v)) {
+                    sat_core.forget(v, this);
+                }
+            }
+        }
     }
 
     static class Layer {
@@ -23,7 +23,6 @@ package it.cnr.istc.solver;
 public interface SolverListener {
 
     default void newFlaw(final Flaw f) {
-        f.slv.sat_core.listen(f.getPhi(), (int v) -> flawStateChanged(f));
         flawCreated(f);
     }
 
@@ -34,7 +33,6 @@ public interface SolverListener {
     void currentFlaw(final Flaw f);
 
     default void newResolver(final Resolver r) {
-        r.slv.sat_core.listen(r.rho, (int v) -> resolverStateChanged(r));
         resolverCreated(r);
     }
 
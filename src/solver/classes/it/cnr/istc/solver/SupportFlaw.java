@@ -32,6 +32,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -77,6 +78,7 @@ public class SupportFlaw extends Flaw {
                 }
             }
 
+            Collection<Collection<Lit>> cores = new ArrayList<>(); // the sets of literals which have been found inconsistent..
             for (Object inst : atom.type.getInstances()) {
                 if (inst == atom) {
                     // the current atom cannot unify with itself..
@@ -104,7 +106,7 @@ public class SupportFlaw extends Flaw {
                 }
 
                 // since atom 'target_atom' is a good candidate for unification, we build the unification literals..
-                Collection<Lit> unif_lits = new ArrayList<>();
+                Set<Lit> unif_lits = new LinkedHashSet<>();
                 q.addLast(this);
                 q.addLast(target_flaw);
                 unif_lits.add(new Lit(atom.sigma, false)); // we force the state of this atom to be 'unified' within the unification literals..
@@ -124,14 +126,22 @@ public class SupportFlaw extends Flaw {
                     unif_lits.add(new Lit(eq_v));
                 }
 
+                if (cores.stream().anyMatch(core -> unif_lits.containsAll(core))) {
+                    // the unification literals include an inconsistent set of literals, hence there is no need to check them..
+                    continue;
+                }
+
                 Lit[] unif_lits_arr = unif_lits.toArray(new Lit[unif_lits.size()]);
-                if (slv.sat_core.check(unif_lits_arr)) {
+                Collection<Lit> core = new ArrayList<>();
+                if (slv.sat_core.probe(core, unif_lits_arr)) {
                     // unification is actually possible!
                     Unify unify = new Unify(slv, this, atom, target_atom, unif_lits_arr);
                     assert slv.sat_core.value(unify.rho) != False;
                     add_resolver(unify);
                     slv.newCausalLink(target_flaw, unify);
                     slv.setEstimatedCost(unify, target_flaw.getEstimatedCost());
+                } else {
+                    cores.add(core);
                 }
             }
         }
@@ -20,8 +20,16 @@ import it.cnr.istc.smt.lra.InfRational;
 import it.cnr.istc.core.CoreException;
 import it.cnr.istc.core.Item;
 import it.cnr.istc.core.UnsolvableException;
+import static it.cnr.istc.smt.LBool.False;
+import static it.cnr.istc.smt.LBool.True;
+import it.cnr.istc.smt.Lit;
+import it.cnr.istc.smt.RestartPolicy;
+import it.cnr.istc.smt.lra.Rational;
 import java.io.File;
 import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -62,6 +70,130 @@ public class SolverTest {
         s.read(new FileReader(new File(Solver.class.getResource("test_2.rddl").toURI())));
     }
 
+    @Test
+    public void testSolver3() throws Exception {
+        Solver s = new Solver();
+        s.read(new FileReader(new File(Solver.class.getResource("test_3.rddl").toURI())));
+        s.solve();
+        Assert.assertEquals(0, s.sat_core.getRestarts());
+        checkSchedule(s, 7);
+    }
+
+    @Test
+    public void testRestarts() throws Exception {
+        Solver s = new Solver();
+        s.setRestartPolicy(new RestartPolicy.Luby(1));
+        s.read(new FileReader(new File(Solver.class.getResource("test_3.rddl").toURI())));
+        s.solve();
+        Assert.assertTrue(s.sat_core.getRestarts() > 0);
+        checkSchedule(s, 7);
+    }
+
+    @Test
+    public void testPhaseSavingRestarts() throws Exception {
+        Solver s = new Solver();
+        s.setPhaseSaving(true);
+        s.setRestartPolicy(new RestartPolicy.Luby(1));
+        s.read(new FileReader(new File(Solver.class.getResource("test_3.rddl").toURI())));
+        s.solve();
+        Assert.assertTrue(s.sat_core.getRestarts() > 0);
+        checkSchedule(s, 7);
+    }
+
+    @Test
+    public void testProbing() throws Exception {
+        Solver s = new Solver();
+        s.read(new FileReader(new File(Solver.class.getResource("test_4.rddl").toURI())));
+        s.solve();
+        // the refuted resolvers are pruned before the search starts, hence no conflict is found..
+        Assert.assertEquals(2, s.getPrunedResolvers());
+        Assert.assertEquals(0, s.sat_core.getConflicts());
+        Assert.assertEquals(True, s.value((Item.BoolItem) s.get("b1")));
+        Assert.assertEquals(True, s.value((Item.BoolItem) s.get("b3")));
+        while (!s.sat_core.rootLevel()) {
+            s.sat_core.pop();
+        }
+        Assert.assertEquals(2, refuted(s));
+    }
+
+    @Test
+    public void testProbingBudget() throws Exception {
+        Solver s = new Solver();
+        s.setProbingBudget(0);
+        s.read(new FileReader(new File(Solver.class.getResource("test_4.rddl").toURI())));
+        s.solve();
+        // the refuted resolvers are found by the search..
+        Assert.assertEquals(0, s.getPrunedResolvers());
+        Assert.assertTrue(s.sat_core.getConflicts() > 0);
+        Assert.assertEquals(True, s.value((Item.BoolItem) s.get("b1")));
+        Assert.assertEquals(True, s.value((Item.BoolItem) s.get("b3")));
+
+        // a failed probe exhausts a budget of a single propagation..
+        s = new Solver();
+        s.setProbingBudget(1);
+        s.read(new FileReader(new File(Solver.class.getResource("test_4.rddl").toURI())));
+        s.solve();
+        Assert.assertEquals(1, s.getPrunedResolvers());
+        Assert.assertEquals(True, s.value((Item.BoolItem) s.get("b1")));
+        Assert.assertEquals(True, s.value((Item.BoolItem) s.get("b3")));
+    }
+
+    @Test
+    public void testListeners() throws Exception {
+        Solver s = new Solver();
+        int[] changes = new int[2];
+        SolverListener l = new SolverListener() {
+            @Override
+            public void flawCreated(Flaw f) {
+            }
+
+            @Override
+            public void flawStateChanged(Flaw f) {
+                changes[0]++;
+            }
+
+            @Override
+            public void currentFlaw(Flaw f) {
+            }
+
+            @Override
+            public void resolverCreated(Resolver r) {
+            }
+
+            @Override
+            public void resolverStateChanged(Resolver r) {
+                Assert.assertTrue(s.rhos.get(r.rho).contains(r));
+                changes[1]++;
+            }
+
+            @Override
+            public void resolverCostChanged(Resolver r) {
+            }
+
+            @Override
+            public void currentResolver(Resolver r) {
+            }
+
+            @Override
+            public void newCausalLink(Flaw f, Resolver r) {
+            }
+        };
+        s.listen(l);
+        s.read(new FileReader(new File(Solver.class.getResource("test_3.rddl").toURI())));
+        s.solve();
+        // a resolver of each of the 21 disjunctions has been applied..
+        Assert.assertTrue(changes[1] >= 21);
+        checkSchedule(s, 7);
+
+        // once forgotten, the listener is not notified anymore..
+        s.forget(l);
+        int[] c_changes = changes.clone();
+        while (!s.sat_core.rootLevel()) {
+            s.sat_core.pop();
+        }
+        Assert.assertArrayEquals(c_changes, changes);
+    }
+
     @Test
     public void testRR0() throws Exception {
         Solver s = new Solver();
@@ -125,4 +257,191 @@ public class SolverTest {
         s.read(new FileReader("domains/logistics_state_variables/logistics_domain.rddl"), new FileReader("domains/logistics_state_variables/logistics_problem_1.rddl"));
         s.solve();
     }
+
+    @Test
+    public void testCompareCosts() {
+        Solver s = new Solver();
+        int v0 = s.sat_core.newVar();
+        int v1 = s.sat_core.newVar();
+        bump(s, v0);
+        bump(s, v0);
+        Assert.assertTrue(s.sat_core.activity(v0) > 1);
+        Assert.assertEquals(0, s.sat_core.activity(v1), 0);
+
+        // with a zero weight, the activity only breaks ties (the less active variable being preferred)..
+        Assert.assertTrue(s.compare_costs(new Rational(1), v0, new Rational(1), v1) > 0);
+        Assert.assertTrue(s.compare_costs(new Rational(1), v1, new Rational(1), v0) < 0);
+        Assert.assertTrue(s.compare_costs(new Rational(1), v0, new Rational(2), v1) < 0);
+        Assert.assertEquals(0, s.compare_costs(new Rational(1), v1, new Rational(1), v1));
+
+        // with a positive weight, the activity is added to the cost..
+        s.setActivityWeight(1);
+        Assert.assertTrue(s.compare_costs(new Rational(1), v0, new Rational(2), v1) > 0);
+        Assert.assertTrue(s.compare_costs(new Rational(1), v1, new Rational(2), v0) < 0);
+        // ..unless any of the costs is infinite..
+        Assert.assertTrue(s.compare_costs(new Rational(1), v0, Rational.POSITIVE_INFINITY, v1) < 0);
+    }
+
+    @Test
+    public void testBestResolver() throws CoreException {
+        Solver s = new Solver();
+        TestFlaw f = new TestFlaw(s, new Rational(1), new Rational(1), new Rational(2));
+        Iterator<Resolver> rs = f.getResolvers().iterator();
+        Resolver r0 = rs.next(), r1 = rs.next(), r2 = rs.next();
+
+        // equally expensive resolvers are ranked according to their activity..
+        bump(s, r0.rho);
+        Assert.assertSame(r1, f.getBestResolver().get());
+        bump(s, r1.rho);
+        bump(s, r1.rho);
+        Assert.assertSame(r0, f.getBestResolver().get());
+
+        // a positive weight steers away from the most active resolvers..
+        s.setActivityWeight(2);
+        Assert.assertSame(r2, f.getBestResolver().get());
+        s.setActivityWeight(0);
+        Assert.assertSame(r0, f.getBestResolver().get());
+
+        // refuted resolvers are never selected..
+        Assert.assertTrue(s.sat_core.newClause(new Lit(r0.rho, false)) && s.sat_core.check());
+        Assert.assertSame(r1, f.getBestResolver().get());
+    }
+
+    @Test
+    public void testFlawEstimatedCost() throws CoreException {
+        Solver s = new Solver();
+        TestFlaw f = new TestFlaw(s, new Rational(3), new Rational(1), new Rational(2));
+        Iterator<Resolver> rs = f.getResolvers().iterator();
+        Resolver r0 = rs.next(), r1 = rs.next(), r2 = rs.next();
+        Assert.assertTrue(f.getEstimatedCost().eq(1));
+
+        // the estimated cost of a flaw is the minimum cost of its resolvers, regardless of their activity..
+        bump(s, r1.rho);
+        bump(s, r1.rho);
+        s.setActivityWeight(1);
+        Assert.assertSame(r2, f.getBestResolver().get());
+        Assert.assertTrue(f.getEstimatedCost().eq(1));
+
+        // refuted resolvers are not taken into account..
+        Assert.assertTrue(s.sat_core.newClause(new Lit(r1.rho, false)) && s.sat_core.check());
+        Assert.assertTrue(f.getEstimatedCost().eq(2));
+        s.setEstimatedCost(r2, Rational.POSITIVE_INFINITY);
+        Assert.assertTrue(f.getEstimatedCost().eq(3));
+        Assert.assertTrue(s.sat_core.newClause(new Lit(r0.rho, false)) && s.sat_core.check());
+        Assert.assertTrue(f.getEstimatedCost().isPositiveInfinite());
+    }
+
+    @Test
+    public void testPhaseSaving() throws CoreException {
+        Solver s = new Solver();
+        Assert.assertFalse(s.isPhaseSaving());
+        TestFlaw f = new TestFlaw(s, new Rational(1), new Rational(2));
+        Iterator<Resolver> rs = f.getResolvers().iterator();
+        Resolver r0 = rs.next(), r1 = rs.next();
+        Assert.assertSame(r0, f.getBestResolver().get());
+
+        // we apply the most expensive resolver and, then, we retract it..
+        Assert.assertTrue(s.sat_core.assume(new Lit(r1.rho)) && s.sat_core.check());
+        s.sat_core.pop();
+        Assert.assertSame(r0, f.getBestResolver().get());
+
+        // the retracted resolver is preferred only if phase saving is enabled..
+        s.setPhaseSaving(true);
+        Assert.assertSame(r1, f.getBestResolver().get());
+
+        // ..and as long as its estimated cost is finite..
+        s.setEstimatedCost(r1, Rational.POSITIVE_INFINITY);
+        Assert.assertSame(r0, f.getBestResolver().get());
+    }
+
+    /**
+     * Returns the number of resolvers which are refuted and have an infinite
+     * estimated cost.
+     */
+    private static int refuted(final Solver s) {
+        int n = 0;
+        for (Collection<Resolver> rs : s.rhos.values()) {
+            for (Resolver r : rs) {
+                if (s.sat_core.value(r.rho) == False) {
+                    Assert.assertTrue(r.getEstimatedCost().isPositiveInfinite());
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Checks that the {@code n} tasks {@code x0}, {@code x1}, .. of a schedule
+     * (see {@code test_3.rddl}) have unit duration, start within
+     * {@code [0, n - 1]} and do not overlap.
+     */
+    private static void checkSchedule(final Solver s, final int n) throws CoreException {
+        InfRational[] xs = new InfRational[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = s.value((Item.ArithItem) s.get("x" + i));
+            Assert.assertTrue(xs[i].geq(0) && xs[i].leq(n - 1));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                Assert.assertTrue(xs[i].plus(1).leq(xs[j]) || xs[j].plus(1).leq(xs[i]));
+            }
+        }
+    }
+
+    /**
+     * Bumps the activity of the variable {@code v} by making it take part in a
+     * conflict (above root level, so that the variable is not refuted).
+     */
+    private static void bump(final Solver s, final int v) {
+        int a = s.sat_core.newVar();
+        int b = s.sat_core.newVar();
+        Assert.assertTrue(s.sat_core.newClause(new Lit(a, false), new Lit(v, false), new Lit(b)));
+        Assert.assertTrue(s.sat_core.newClause(new Lit(a, false), new Lit(v, false), new Lit(b, false)));
+        Assert.assertTrue(s.sat_core.assume(new Lit(a)) && s.sat_core.check());
+        Assert.assertTrue(s.sat_core.assume(new Lit(v)) && s.sat_core.check());
+        Assert.assertEquals(False, s.sat_core.value(v));
+        while (!s.sat_core.rootLevel()) {
+            s.sat_core.pop();
+        }
+    }
+
+    /**
+     * A flaw whose resolvers have the given costs and no preconditions.
+     */
+    private static class TestFlaw extends Flaw {
+
+        private final Rational[] costs;
+
+        TestFlaw(final Solver slv, final Rational... costs) throws CoreException {
+            super(slv, new ArrayList<>());
+            this.costs = costs;
+            init();
+            expand();
+            for (Resolver r : resolvers) {
+                slv.setEstimatedCost(r, new Rational());
+            }
+        }
+
+        @Override
+        protected void compute_resolvers() {
+            for (Rational cost : costs) {
+                add_resolver(new Resolver(slv, cost, this) {
+                    @Override
+                    protected void expand() {
+                    }
+
+                    @Override
+                    public String getLabel() {
+                        return "cost " + cost;
+                    }
+                });
+            }
+        }
+
+        @Override
+        public String getLabel() {
+            return "test flaw";
+        }
+    }
 }